@@ -0,0 +1,66 @@
+package battleship.board;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Misst die Suche auf einem `PackedBoard` wortweise und mit der Vector API
+ * (siehe `VectorBoardScan`). Die Variante wird wie im Spiel über
+ * `-Dbattleship.vectorApi` gewählt, jede läuft in einer eigenen JVM.
+ *
+ * Gesucht wird wie in `OpposingPlayingField.getNextField()` gegen Ende eines
+ * Spieles: nur das letzte Feld ist noch unbekannt. Außerdem wird wie in
+ * `DensityMap` der Unterschied zu einer Kopie gesucht, die sich ebenfalls nur
+ * im letzten Feld unterscheidet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PackedBoardScanBenchmark {
+    private static final int UNKNOWN = 0;
+    private static final int WATER = 1;
+
+    @Param({ "19", "64", "256" })
+    private int size;
+
+    private PackedBoard board;
+    private PackedBoard copy;
+
+    @Setup
+    public void setup() {
+        this.board = new PackedBoard(this.size, WATER);
+        this.copy = this.board.copy();
+        this.board.set(this.size * this.size - 1, UNKNOWN);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector", "-Dbattleship.vectorApi=false" })
+    public void scalar(final Blackhole blackhole) {
+        this.scan(blackhole);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+    public void vector(final Blackhole blackhole) {
+        this.scan(blackhole);
+    }
+
+    private void scan(final Blackhole blackhole) {
+        blackhole.consume(this.board.nextCell(0, UNKNOWN));
+        blackhole.consume(this.board.nextDifference(0, this.copy));
+    }
+}
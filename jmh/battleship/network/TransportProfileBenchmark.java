@@ -0,0 +1,132 @@
+package battleship.network;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import battleship.network.commands.HitStatus;
+
+/**
+ * Vergleicht die beiden `TransportProfile` über eine echte TCP-Verbindung auf
+ * dem Loopback-Interface. Ein Peer beantwortet jedes SHOOT-Paket mit einem
+ * HIT-Paket und sendet, sobald alle erwarteten Antworten geschrieben sind.
+ *
+ * `singleCommand` misst einzelne Runden (Befehle pro Sekunde und mit
+ * `SampleTime` die Perzentile der Latenz, u. a. p99), `batch` misst viele
+ * Befehle pro Rundengrenze.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportProfileBenchmark {
+    private static final int BATCH_SIZE = 64;
+
+    @Param({ "LATENCY", "THROUGHPUT" })
+    private TransportProfile profile;
+
+    private ServerSocket serverSocket;
+    private Connection client;
+    private Connection peer;
+    private Thread clientReader;
+    private Thread peerReader;
+    private final Semaphore hits = new Semaphore(0);
+    /* Anzahl der Antworten, welche der Peer noch schreiben soll, bevor er sendet. */
+    private final AtomicInteger pendingReplies = new AtomicInteger();
+
+    @Setup
+    public void setup() throws IOException {
+        this.serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        final Socket clientSocket = new Socket(InetAddress.getLoopbackAddress(), this.serverSocket.getLocalPort());
+        this.client = new Connection(clientSocket, this.profile);
+        this.peer = new Connection(this.serverSocket.accept(), this.profile);
+
+        this.peer.setEventHandler((event, eventObject) -> {
+            if (event == ConnectionEvent.SHOOT_COMMAND_RECEIVED) {
+                this.peer.writeHit(0, 0, HitStatus.WATER);
+                if (this.pendingReplies.decrementAndGet() == 0) {
+                    this.peer.flush();
+                }
+            }
+        });
+        this.client.setEventHandler((event, eventObject) -> {
+            if (event == ConnectionEvent.HIT_COMMAND_RECEIVED) {
+                this.hits.release();
+            }
+        });
+        this.clientReader = startReader(this.client);
+        this.peerReader = startReader(this.peer);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.clientReader.interrupt();
+        this.peerReader.interrupt();
+        this.client.close();
+        this.peer.close();
+        this.serverSocket.close();
+    }
+
+    /**
+     * Ein SHOOT-Paket pro Rundengrenze, wie im interaktiven Spiel.
+     */
+    @Benchmark
+    @BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void singleCommand() throws InterruptedException {
+        this.roundTrip(1);
+    }
+
+    /**
+     * Viele SHOOT-Pakete pro Rundengrenze, wie bei Bots oder im Simulator.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void batch() throws InterruptedException {
+        this.roundTrip(BATCH_SIZE);
+    }
+
+    private void roundTrip(final int commands) throws InterruptedException {
+        this.pendingReplies.set(commands);
+        for (int i = 0; i < commands; i++) {
+            this.client.writeShoot(i % 10, i / 10 % 10);
+        }
+        this.client.flush();
+        this.hits.acquire(commands);
+    }
+
+    private static Thread startReader(final Connection connection) {
+        final Thread reader = new Thread(() -> {
+            try {
+                while (connection.isConnected() && !Thread.currentThread().isInterrupted()) {
+                    connection.readCommand();
+                }
+            } catch (final IOException | RuntimeException e) {
+                /* Verbindung wurde beim Aufräumen geschlossen */
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+        return reader;
+    }
+}
@@ -0,0 +1,94 @@
+package battleship.network.commands;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import battleship.utils.Utils;
+
+/**
+ * Vergleicht das Dekodieren empfangener Zeilen über Strings (wie bisher in
+ * `Connection`) mit dem `CommandDecoder`. Mit dem GC-Profiler (`make bench`)
+ * wird zusätzlich die Allokation pro Befehl ausgegeben.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandDecoderBenchmark {
+    @Param({ "SHOOT J10", "HIT J10 2", "COIN 1" })
+    private String line;
+
+    private byte[] bytes;
+    private ByteBuffer buffer;
+    private CommandDecoder decoder;
+
+    @Setup
+    public void setup() {
+        this.bytes = this.line.getBytes(StandardCharsets.UTF_8);
+        this.buffer = ByteBuffer.allocate(256);
+        this.buffer.put(this.bytes);
+        this.decoder = new CommandDecoder();
+    }
+
+    /**
+     * Der bisherige Weg: Zeile als String, Aufteilen in Schlüsselwort und
+     * Parameter, `fromString()` und erneutes Serialisieren für die
+     * Strukturprüfung.
+     */
+    @Benchmark
+    public void stringPath(final Blackhole blackhole) {
+        final String received = new String(this.bytes, StandardCharsets.UTF_8);
+        final String keyword = Utils.getFirstWordOrLine(received).strip();
+        final String payload = Utils.getStringAfterFirstSpace(received);
+        final Command command;
+        switch (keyword) {
+            case "SHOOT":
+                command = Shoot.fromString(payload);
+                break;
+
+            case "HIT":
+                command = Hit.fromString(payload);
+                break;
+
+            case "COIN":
+                command = Coin.fromString(payload);
+                break;
+
+            default:
+                throw new IllegalStateException("Unexpected command: " + keyword);
+        }
+        blackhole.consume(command.isValid());
+        blackhole.consume(command.getFullCommand().equals(received + "\r\n"));
+        blackhole.consume(command);
+    }
+
+    /**
+     * Der neue Weg: Dekodieren direkt aus dem Empfangspuffer.
+     */
+    @Benchmark
+    public void decoderPath(final Blackhole blackhole) {
+        blackhole.consume(this.decoder.decode(this.buffer, 0, this.bytes.length));
+        blackhole.consume(this.decoder.isValid());
+        blackhole.consume(this.decoder.isWellStructured());
+        blackhole.consume(this.decoder.getX());
+        blackhole.consume(this.decoder.getY());
+        blackhole.consume(this.decoder.getHitStatus());
+        blackhole.consume(this.decoder.getCoin());
+    }
+}
@@ -0,0 +1,115 @@
+package battleship.opposingthings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import battleship.Constants;
+import battleship.board.PackedBoard;
+
+/**
+ * Misst die Kosten eines Zuges von `TargetingStrategy.PROBABILITY_DENSITY`
+ * mit der skalaren Zählung und mit der Vector API (siehe `LineCounter`). Die
+ * Variante wird wie im Spiel über `-Dbattleship.vectorApi` gewählt, jede läuft
+ * in einer eigenen JVM.
+ *
+ * Das Brett ist zu 30 % mit Wasser belegt, die Flotte ist die des höchsten
+ * Levels. `*Move` misst einen gewöhnlichen Zug: ein Feld ändert sich, dessen
+ * Zeile und Spalte werden neu gezählt und das beste Feld gewählt. Damit der
+ * Zustand gleich bleibt, wird das Feld danach zurückgesetzt, was ebenfalls als
+ * Zug zählt. `*Recount` misst einen Zug, nach dem alles neu gezählt wird (der
+ * erste Zug und jeder Zug nach einem versenkten Schiff). 19 ist die Größe des
+ * höchsten Levels, die anderen Größen stehen für eigene Spielfelder.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DensityMapBenchmark {
+    private static final int UNKNOWN = OpposingFieldStatus.UNKNOWN.ordinal();
+    private static final int WATER = OpposingFieldStatus.WATER.ordinal();
+
+    @Param({ "19", "64", "256" })
+    private int size;
+
+    private PackedBoard board;
+    private FleetInference inference;
+    private DensityMap density;
+    private SplittableRandom random;
+    /* Die unbekannten Felder, welche nacheinander beschossen werden. */
+    private int[] targets;
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.random = new SplittableRandom(1);
+        this.board = new PackedBoard(this.size, UNKNOWN);
+        final List<Integer> unknown = new ArrayList<>();
+        for (int cell = 0; cell < this.size * this.size; cell++) {
+            if (this.random.nextInt(10) < 3) {
+                this.board.set(cell, WATER);
+            } else {
+                unknown.add(cell);
+            }
+        }
+        this.targets = unknown.stream().mapToInt(Integer::intValue).toArray();
+        this.inference = new FleetInference(this.board, Constants.LEVELS.get(Constants.NUMBER_OF_LEVELS - 1));
+        this.density = new DensityMap(this.board, this.inference);
+        this.density.nextMove(this.random);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    @Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector", "-Dbattleship.vectorApi=false" })
+    public void scalarMove(final Blackhole blackhole) {
+        this.move(blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    @Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+    public void vectorMove(final Blackhole blackhole) {
+        this.move(blackhole);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector", "-Dbattleship.vectorApi=false" })
+    public int scalarRecount() {
+        return this.recount();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+    public int vectorRecount() {
+        return this.recount();
+    }
+
+    private void move(final Blackhole blackhole) {
+        final int cell = this.targets[this.next];
+        this.next = (this.next + 1) % this.targets.length;
+        this.board.set(cell, WATER);
+        blackhole.consume(this.density.nextMove(this.random));
+        this.board.set(cell, UNKNOWN);
+        blackhole.consume(this.density.nextMove(this.random));
+    }
+
+    private int recount() {
+        return new DensityMap(this.board, this.inference).nextMove(this.random);
+    }
+}
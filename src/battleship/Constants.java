@@ -80,6 +80,81 @@ public final class Constants {
      */
     public static final int NUMBER_OF_LEVELS = LEVELS.size();
 
+    /**
+     * Gibt an, ob der Handshake in einem Zug gesendet werden soll. Dabei werden
+     * VERSION, IAM, IAMU und COIN gemeinsam gesendet, ohne auf das IAM-Paket des
+     * Gegners zu warten. Die Schiffe werden dafür vorab für jedes mögliche Level
+     * platziert. Die Reihenfolge IAM vor COIN bleibt erhalten.
+     */
+    public static final boolean PIPELINED_HANDSHAKE = true;
+
+    /**
+     * Maximale Zeit in Millisekunden, welche beim Schließen einer Verbindung auf
+     * das Senden noch ausstehender Befehle gewartet wird.
+     */
+    public static final long CLOSE_TIMEOUT_MILLIS = 2_000;
+
+    /**
+     * Höchste Anzahl an Lagen der noch schwimmenden Schiffe, bei welcher der
+     * Computer den optimalen Schuss exakt berechnet (siehe `EndgameSolver`).
+     * Größere Werte übernehmen früher, benötigen aber deutlich mehr Rechenzeit.
+     */
+    public static final int ENDGAME_MAX_PLACEMENTS = 12;
+
+    /**
+     * Anzahl der Einträge der Tabelle, in welcher der Endspiel-Solver bereits
+     * berechnete Spielstände speichert. Muss eine Zweierpotenz sein.
+     */
+    public static final int ENDGAME_TABLE_SIZE = 1 << 14;
+
+    /**
+     * Gibt an, ob der Computer am `BotServer` seine ersten Züge aus dem
+     * Eröffnungsbuch des Levels nimmt (siehe `OpeningBook`), solange der
+     * Spielstand darin steht. Im Spiel mit Oberfläche wird das Buch nie
+     * verwendet, da der Computer sonst jedes Spiel gleich eröffnet.
+     */
+    public static final boolean OPENING_BOOK = true;
+
+    /**
+     * Gibt an, ob der Computer am `BotServer` berechnete Züge über Spiele hinweg
+     * speichert und bei gleichem Spielstand wiederverwendet (siehe `MoveCache`).
+     * Im Spiel mit Oberfläche wird der Cache nie verwendet, da der Computer bei
+     * gleichem Spielstand sonst immer gleich zieht.
+     */
+    public static final boolean MOVE_CACHE = true;
+
+    /**
+     * Höchste Anzahl an Zügen im `MoveCache`. Ein Eintrag belegt etwa 150 Byte.
+     */
+    public static final long MOVE_CACHE_SIZE = 1 << 16;
+
+    /**
+     * Gibt an, ob der Computer seine Züge im Hintergrund vorausberechnen soll,
+     * während auf die Antwort des Gegners gewartet wird oder der Gegner am Zug
+     * ist (siehe `SpeculativeMoves`). Dies geschieht nur, wenn der vorherige Zug
+     * vom Computer gespielt wurde.
+     */
+    public static final boolean SPECULATIVE_MOVES = true;
+
+    /**
+     * Anzahl der Lagen, welche bei `TargetingStrategy.MONTE_CARLO` je Zug
+     * höchstens gezogen werden. Läuft die Bedenkzeit vorher ab, werden weniger
+     * Lagen ausgewertet.
+     */
+    public static final int MONTE_CARLO_SAMPLES = 2_000;
+
+    /**
+     * Gibt an, ob die Zählung der Lagen und die Suche auf dem Spielbrett die
+     * Vector API verwenden, sofern die JVM sie lädt (siehe
+     * `battleship.board.VectorSupport`).
+     */
+    public static final boolean VECTOR_API = true;
+
+    /**
+     * Größe des Ringpuffers des Ereignis-Busses einer Spiele-Sitzung.
+     */
+    public static final int EVENT_BUS_CAPACITY = 1024;
+
     /**
      * Standardloglevel
      */
@@ -0,0 +1,67 @@
+package battleship.board;
+
+/**
+ * Packt die Koordinaten eines Feldes in einen einzigen `int`: die X-Koordinate
+ * in die oberen und die Y-Koordinate in die unteren 16 Bit. Damit lassen sich
+ * Koordinaten ohne ein Objekt je Feld zurückgeben und speichern (siehe z. B.
+ * `OpposingPlayingField.getComputerMoveCoordinates()`).
+ */
+public final class Coordinates {
+    /**
+     * Steht für "kein Feld". Keine gültige Koordinate wird so gepackt.
+     */
+    public static final int NONE = -1;
+
+    /* Größte erlaubte Koordinate + 1, damit gepackte Werte nie negativ sind. */
+    private static final int LIMIT = 1 << 15;
+    private static final int SHIFT = 16;
+    private static final int MASK = 0xFFFF;
+
+    private Coordinates() {
+        throw new UnsupportedOperationException("Coordinates cannot be instantiated");
+    }
+
+    /**
+     * Packt zwei Koordinaten.
+     *
+     * @param x X-Koordinate, 0 bis 32767
+     * @param y Y-Koordinate, 0 bis 32767
+     * @return Die gepackten Koordinaten
+     */
+    public static int pack(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= LIMIT || y >= LIMIT) {
+            throw new IllegalArgumentException("Coordinates (" + x + ", " + y + ") cannot be packed.");
+        }
+        return x << SHIFT | y;
+    }
+
+    /**
+     * Gibt die X-Koordinate gepackter Koordinaten zurück.
+     *
+     * @param packed Die gepackten Koordinaten
+     * @return X-Koordinate
+     */
+    public static int x(final int packed) {
+        return packed >>> SHIFT;
+    }
+
+    /**
+     * Gibt die Y-Koordinate gepackter Koordinaten zurück.
+     *
+     * @param packed Die gepackten Koordinaten
+     * @return Y-Koordinate
+     */
+    public static int y(final int packed) {
+        return packed & MASK;
+    }
+
+    /**
+     * Gibt gepackte Koordinaten lesbar zurück, z. B. für Log-Meldungen.
+     *
+     * @param packed Die gepackten Koordinaten
+     * @return Zum Beispiel `(3, 7)`
+     */
+    public static String toString(final int packed) {
+        return packed == NONE ? "(none)" : "(" + x(packed) + ", " + y(packed) + ")";
+    }
+}
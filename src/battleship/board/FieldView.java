@@ -0,0 +1,40 @@
+package battleship.board;
+
+/**
+ * Darstellung eines Spielfeldes, in welche die Spielbretter eingezeichnet
+ * werden. Die Spiellogik kennt nur diese Schnittstelle und hängt damit nicht
+ * von einer bestimmten Oberfläche ab (siehe `PlaygroundMatrix`).
+ */
+public interface FieldView {
+    /**
+     * Markiert ein Feld als Schiff.
+     *
+     * @param col Zeilennummer des Feldes (beginnend bei 0)
+     * @param row Spaltennummer des Feldes (beginnend bei 0)
+     */
+    void setShip(int col, int row);
+
+    /**
+     * Markiert ein Feld als versunkenes Schiff.
+     *
+     * @param col Zeilennummer des Feldes (beginnend bei 0)
+     * @param row Spaltennummer des Feldes (beginnend bei 0)
+     */
+    void setSunk(int col, int row);
+
+    /**
+     * Markiert ein Feld als unbekannt.
+     *
+     * @param col Zeilennummer des Feldes (beginnend bei 0)
+     * @param row Spaltennummer des Feldes (beginnend bei 0)
+     */
+    void setUnknown(int col, int row);
+
+    /**
+     * Markiert ein Feld als Wasser.
+     *
+     * @param col Zeilennummer des Feldes (beginnend bei 0)
+     * @param row Spaltennummer des Feldes (beginnend bei 0)
+     */
+    void setWater(int col, int row);
+}
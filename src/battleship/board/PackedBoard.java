@@ -0,0 +1,327 @@
+package battleship.board;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Ein quadratisches Spielbrett mit 2 Bit je Feld, also vier möglichen
+ * Zuständen (0 bis 3). Was die Zustände bedeuten, legt der Verwender fest
+ * (siehe `OpposingPlayingField` und `PlayersPlayingField`).
+ *
+ * Die Felder liegen zeilenweise (Index `y * size + x`) zu je 32 in einem
+ * `long`. Ein Brett der Größe 19 belegt damit 96 Byte statt mehrerer
+ * Kilobyte. Die Anzahl der Felder je Zustand wird mitgezählt, die Suche nach
+ * einem Zustand arbeitet wortweise mit `Long.numberOfTrailingZeros` und
+ * überspringt mit der Vector API mehrere Wörter auf einmal, sofern diese
+ * geladen ist (siehe `VectorSupport`).
+ *
+ * Zusätzlich wird bei jeder Änderung ein Zobrist-Hash des Brettes
+ * nachgeführt: das XOR eines Schlüssels je Feld und Zustand. Die Schlüssel
+ * hängen nur von Feld und Zustand ab, gleiche Bretter haben also auch in
+ * verschiedenen Spielen und Prozessen denselben Hash.
+ */
+public final class PackedBoard {
+    /**
+     * Anzahl der möglichen Zustände eines Feldes.
+     */
+    public static final int STATES = 4;
+
+    private static final int BITS_PER_CELL = 2;
+    private static final int CELLS_PER_WORD = Long.SIZE / BITS_PER_CELL;
+    private static final long CELL_MASK = 0b11L;
+    /* Das untere Bit jedes Feldes. */
+    static final long LOW_BITS = 0x5555_5555_5555_5555L;
+    /* Ob die Suche mehrere Wörter auf einmal überspringt (siehe `VectorBoardScan`). */
+    private static final boolean VECTOR = VectorSupport.isEnabled();
+
+    private final int size;
+    private final long[] words;
+    private final int[] counts;
+    /* Das XOR der Schlüssel aller Felder mit ihrem Zustand. */
+    private long hash;
+
+    /**
+     * Erstellt ein Brett, auf dem alle Felder denselben Zustand haben.
+     *
+     * @param size    Breite und Höhe des Brettes
+     * @param initial Zustand aller Felder (0 bis 3)
+     */
+    public PackedBoard(final int size, final int initial) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The board must have at least one field.");
+        }
+        checkState(initial);
+        this.size = size;
+        final int cells = size * size;
+        this.words = new long[(cells + CELLS_PER_WORD - 1) / CELLS_PER_WORD];
+        this.counts = new int[STATES];
+        if (initial != 0) {
+            Arrays.fill(this.words, initial * LOW_BITS);
+            /* Die Bits hinter dem letzten Feld bleiben 0, damit `equals` nur Felder vergleicht. */
+            final int tail = cells % CELLS_PER_WORD;
+            if (tail != 0) {
+                this.words[this.words.length - 1] &= (1L << tail * BITS_PER_CELL) - 1;
+            }
+        }
+        this.counts[initial] = cells;
+        for (int cell = 0; cell < cells; cell++) {
+            this.hash ^= key(cell, initial);
+        }
+    }
+
+    private PackedBoard(final PackedBoard other) {
+        this.size = other.size;
+        this.words = other.words.clone();
+        this.counts = other.counts.clone();
+        this.hash = other.hash;
+    }
+
+    /**
+     * Gibt die Breite und Höhe des Brettes zurück.
+     *
+     * @return Die Größe
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Gibt den Zustand eines Feldes zurück.
+     *
+     * @param x X-Koordinate
+     * @param y Y-Koordinate
+     * @return Der Zustand (0 bis 3)
+     */
+    public int get(final int x, final int y) {
+        return this.get(this.index(x, y));
+    }
+
+    /**
+     * Gibt den Zustand eines Feldes zurück.
+     *
+     * @param cell Index des Feldes (`y * size + x`)
+     * @return Der Zustand (0 bis 3)
+     */
+    public int get(final int cell) {
+        return (int) (this.words[cell / CELLS_PER_WORD] >>> cell % CELLS_PER_WORD * BITS_PER_CELL & CELL_MASK);
+    }
+
+    /**
+     * Setzt den Zustand eines Feldes.
+     *
+     * @param x     X-Koordinate
+     * @param y     Y-Koordinate
+     * @param state Der neue Zustand (0 bis 3)
+     * @return Der vorherige Zustand
+     */
+    public int set(final int x, final int y, final int state) {
+        return this.set(this.index(x, y), state);
+    }
+
+    /**
+     * Setzt den Zustand eines Feldes.
+     *
+     * @param cell  Index des Feldes (`y * size + x`)
+     * @param state Der neue Zustand (0 bis 3)
+     * @return Der vorherige Zustand
+     */
+    public int set(final int cell, final int state) {
+        checkState(state);
+        final int word = cell / CELLS_PER_WORD;
+        final int shift = cell % CELLS_PER_WORD * BITS_PER_CELL;
+        final int previous = (int) (this.words[word] >>> shift & CELL_MASK);
+        this.words[word] = this.words[word] & ~(CELL_MASK << shift) | (long) state << shift;
+        this.counts[previous]--;
+        this.counts[state]++;
+        this.hash ^= key(cell, previous) ^ key(cell, state);
+        return previous;
+    }
+
+    /**
+     * Gibt die Anzahl der Felder mit einem Zustand zurück.
+     *
+     * @param state Der Zustand (0 bis 3)
+     * @return Anzahl der Felder
+     */
+    public int count(final int state) {
+        return this.counts[state];
+    }
+
+    /**
+     * Gibt den Zobrist-Hash des Brettes zurück. Er wird bei jedem `set()`
+     * nachgeführt und kostet daher nichts. Verschiedene Bretter haben nur mit
+     * verschwindend geringer Wahrscheinlichkeit denselben Hash.
+     *
+     * @return Der Hash
+     */
+    public long getZobristHash() {
+        return this.hash;
+    }
+
+    /**
+     * Sucht das nächste Feld mit einem Zustand ab einem Feld (einschließlich).
+     *
+     * @param from  Index des ersten zu prüfenden Feldes
+     * @param state Der gesuchte Zustand
+     * @return Index des Feldes oder -1, wenn es ab `from` kein solches Feld gibt
+     */
+    public int nextCell(final int from, final int state) {
+        final int cells = this.size * this.size;
+        if (from >= cells || this.counts[state] == 0) {
+            return -1;
+        }
+        int word = from / CELLS_PER_WORD;
+        /* Felder vor `from` im ersten Wort ausblenden. */
+        long matches = this.matches(word, state) & -1L << from % CELLS_PER_WORD * BITS_PER_CELL;
+        while (true) {
+            if (matches != 0) {
+                return word * CELLS_PER_WORD + Long.numberOfTrailingZeros(matches) / BITS_PER_CELL;
+            }
+            word++;
+            if (word == this.words.length) {
+                return -1;
+            }
+            if (VECTOR) {
+                /* Das letzte Wort enthält Bits hinter dem letzten Feld, es prüft nur `matches()`. */
+                word = VectorBoardScan.skipMismatches(this.words, word, this.words.length - 1, state * LOW_BITS);
+            }
+            matches = this.matches(word, state);
+        }
+    }
+
+    /**
+     * Sucht das nächste Feld ab einem Feld (einschließlich), dessen Zustand sich
+     * von dem auf einem anderen, gleich großen Brett unterscheidet. Damit lässt
+     * sich wortweise feststellen, was sich seit einer Kopie geändert hat.
+     *
+     * @param from  Index des ersten zu prüfenden Feldes
+     * @param other Das zu vergleichende Brett
+     * @return Index des Feldes oder -1, wenn es ab `from` keinen Unterschied gibt
+     */
+    public int nextDifference(final int from, final PackedBoard other) {
+        if (other.size != this.size) {
+            throw new IllegalArgumentException("Cannot compare a board of a different size.");
+        }
+        if (from >= this.size * this.size) {
+            return -1;
+        }
+        int word = from / CELLS_PER_WORD;
+        long diff = (this.words[word] ^ other.words[word]) & -1L << from % CELLS_PER_WORD * BITS_PER_CELL;
+        while (diff == 0) {
+            word++;
+            if (VECTOR) {
+                word = VectorBoardScan.skipEqual(this.words, other.words, word, this.words.length);
+            }
+            if (word == this.words.length) {
+                return -1;
+            }
+            diff = this.words[word] ^ other.words[word];
+        }
+        return word * CELLS_PER_WORD + Long.numberOfTrailingZeros(diff) / BITS_PER_CELL;
+    }
+
+    /**
+     * Gibt das n-te Feld (in Zeilenreihenfolge) mit einem Zustand zurück, z. B.
+     * um gleichverteilt ein Feld mit diesem Zustand zu ziehen.
+     *
+     * @param n     Nummer des Feldes, 0 bis `count(state) - 1`
+     * @param state Der gesuchte Zustand
+     * @return Index des Feldes
+     */
+    public int nthCell(final int n, final int state) {
+        Objects.checkIndex(n, this.counts[state]);
+        int remaining = n;
+        for (int word = 0; word < this.words.length; word++) {
+            long matches = this.matches(word, state);
+            final int found = Long.bitCount(matches);
+            if (remaining < found) {
+                /* Die ersten `remaining` Treffer im Wort überspringen. */
+                for (int i = 0; i < remaining; i++) {
+                    matches &= matches - 1;
+                }
+                return word * CELLS_PER_WORD + Long.numberOfTrailingZeros(matches) / BITS_PER_CELL;
+            }
+            remaining -= found;
+        }
+        throw new IllegalStateException("The field counts of the board are inconsistent.");
+    }
+
+    /**
+     * Erstellt eine unabhängige Kopie des Brettes.
+     *
+     * @return Die Kopie
+     */
+    public PackedBoard copy() {
+        return new PackedBoard(this);
+    }
+
+    /**
+     * Überschreibt dieses Brett mit dem Inhalt eines gleich großen Brettes, ohne
+     * neuen Speicher anzulegen.
+     *
+     * @param other Das zu kopierende Brett
+     */
+    public void copyFrom(final PackedBoard other) {
+        if (other.size != this.size) {
+            throw new IllegalArgumentException("Cannot copy a board of a different size.");
+        }
+        System.arraycopy(other.words, 0, this.words, 0, this.words.length);
+        System.arraycopy(other.counts, 0, this.counts, 0, STATES);
+        this.hash = other.hash;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        /* Verschiedene Hashes schließen gleiche Bretter ohne Vergleich der Felder aus. */
+        return other instanceof final PackedBoard board && board.hash == this.hash && board.size == this.size
+                && Arrays.equals(board.words, this.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.hash);
+    }
+
+    /**
+     * Gibt die Felder eines Wortes mit einem Zustand zurück. Für jedes Feld ist
+     * sein unteres Bit gesetzt, wenn es den Zustand hat. Bits hinter dem
+     * letzten Feld des Brettes werden nie gesetzt.
+     */
+    private long matches(final int word, final int state) {
+        /* Nach dem XOR sind genau die Felder mit dem Zustand 00. */
+        final long diff = this.words[word] ^ state * LOW_BITS;
+        long result = ~(diff | diff >>> 1) & LOW_BITS;
+        if (word == this.words.length - 1) {
+            final int tail = this.size * this.size % CELLS_PER_WORD;
+            if (tail != 0) {
+                result &= (1L << tail * BITS_PER_CELL) - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gibt den Zobrist-Schlüssel eines Feldes mit einem Zustand zurück. Statt
+     * einer Tabelle von Zufallszahlen wird der Index mit dem Finalisierer von
+     * SplitMix64 gemischt, das liefert für jede Brettgröße feste Schlüssel.
+     */
+    private static long key(final int cell, final int state) {
+        long z = (cell * STATES + state + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+
+    private int index(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= this.size || y >= this.size) {
+            throw new IndexOutOfBoundsException("Field (" + x + ", " + y + ") is outside the board.");
+        }
+        return y * this.size + x;
+    }
+
+    private static void checkState(final int state) {
+        if (state < 0 || state >= STATES) {
+            throw new IllegalArgumentException("Invalid field state " + state + ".");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package battleship.board;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Überspringt bei der Suche auf einem `PackedBoard` mehrere Wörter auf einmal
+ * (bei AVX2 vier Wörter, also 128 Felder je Vergleich). Gefunden wird nur der
+ * Block, in dem ein Treffer liegt; das genaue Feld bestimmt danach die
+ * wortweise Suche. Darf nur verwendet werden, wenn `VectorSupport.isEnabled()`
+ * gilt.
+ */
+final class VectorBoardScan {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private VectorBoardScan() {
+        throw new UnsupportedOperationException("VectorBoardScan cannot be instantiated");
+    }
+
+    /**
+     * Überspringt Wörter ohne Feld mit einem Zustand.
+     *
+     * @param words   Die Wörter des Brettes
+     * @param from    Erstes zu prüfendes Wort
+     * @param to      Erstes nicht mehr zu prüfendes Wort
+     * @param pattern Der gesuchte Zustand in jedem Feld eines Wortes
+     * @return Ein Wort ab `from`, vor dem kein Wort ab `from` ein solches Feld
+     *         hat
+     */
+    static int skipMismatches(final long[] words, final int from, final int to, final long pattern) {
+        int word = from;
+        for (final int bound = from + SPECIES.loopBound(to - from); word < bound; word += SPECIES.length()) {
+            /* Wie `PackedBoard.matches()`: nach dem XOR sind genau die Felder mit dem Zustand 00. */
+            final LongVector diff = LongVector.fromArray(SPECIES, words, word).lanewise(VectorOperators.XOR, pattern);
+            final LongVector matches = diff.or(diff.lanewise(VectorOperators.LSHR, 1)).not()
+                    .and(PackedBoard.LOW_BITS);
+            if (matches.compare(VectorOperators.NE, 0).anyTrue()) {
+                break;
+            }
+        }
+        return word;
+    }
+
+    /**
+     * Überspringt Wörter, die auf beiden Brettern gleich sind.
+     *
+     * @param words Die Wörter des einen Brettes
+     * @param other Die Wörter des anderen Brettes
+     * @param from  Erstes zu prüfendes Wort
+     * @param to    Erstes nicht mehr zu prüfendes Wort
+     * @return Ein Wort ab `from`, vor dem alle Wörter ab `from` gleich sind
+     */
+    static int skipEqual(final long[] words, final long[] other, final int from, final int to) {
+        int word = from;
+        for (final int bound = from + SPECIES.loopBound(to - from); word < bound; word += SPECIES.length()) {
+            final LongVector a = LongVector.fromArray(SPECIES, words, word);
+            if (a.compare(VectorOperators.NE, LongVector.fromArray(SPECIES, other, word)).anyTrue()) {
+                break;
+            }
+        }
+        return word;
+    }
+}
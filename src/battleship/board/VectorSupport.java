@@ -0,0 +1,59 @@
+package battleship.board;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import battleship.Constants;
+
+/**
+ * Entscheidet, ob die Schleifen über Zeilen des Spielbrettes mit der Vector
+ * API (`jdk.incubator.vector`) berechnet werden. Das Modul ist in Java 21 noch
+ * ein Inkubator und nur geladen, wenn die JVM mit
+ * `--add-modules jdk.incubator.vector` gestartet wurde (so in `build.gradle`
+ * für `run`, `simulate` und die Benchmarks). Fehlt es, etwa beim Start aus dem
+ * JAR, wird die skalare Variante verwendet.
+ *
+ * Abschalten lässt sich die Vector API über `Constants.VECTOR_API` oder zur
+ * Laufzeit mit `-Dbattleship.vectorApi=false`. Die Entscheidung fällt einmal
+ * beim Laden dieser Klasse.
+ */
+public final class VectorSupport {
+    /**
+     * Name der Systemeigenschaft, mit der die Vector API abgeschaltet werden
+     * kann.
+     */
+    public static final String PROPERTY = "battleship.vectorApi";
+
+    private static final String MODULE = "jdk.incubator.vector";
+    private static final boolean ENABLED = detect();
+
+    private VectorSupport() {
+        throw new UnsupportedOperationException("VectorSupport cannot be instantiated");
+    }
+
+    /**
+     * Gibt an, ob die Vector API verwendet werden soll.
+     *
+     * @return true, wenn sie eingeschaltet und das Modul geladen ist
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    private static boolean detect() {
+        final Logger logger = Logger.getLogger(VectorSupport.class.getName());
+        logger.setLevel(Constants.LOG_LEVEL);
+
+        if (!Constants.VECTOR_API || !Boolean.parseBoolean(System.getProperty(PROPERTY, "true"))) {
+            logger.log(Level.FINE, "Vector API disabled, using scalar board loops.");
+            return false;
+        }
+        /* Ohne `--add-modules` fehlt das Modul in der Boot-Schicht, die Klassen wären nicht ladbar. */
+        if (ModuleLayer.boot().findModule(MODULE).isEmpty()) {
+            logger.log(Level.FINE, "Module " + MODULE + " not loaded, using scalar board loops.");
+            return false;
+        }
+        logger.log(Level.FINE, "Using the Vector API for board loops.");
+        return true;
+    }
+}
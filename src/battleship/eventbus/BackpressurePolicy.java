@@ -0,0 +1,28 @@
+package battleship.eventbus;
+
+/**
+ * Legt fest, wie sich ein Abonnent eines `EventBus` verhält, wenn er mit dem
+ * Verarbeiten der Ereignisse nicht hinterherkommt.
+ */
+public enum BackpressurePolicy {
+    /**
+     * Der Veröffentlichende wartet nie auf diesen Abonnenten. Ereignisse, welche
+     * im Ringpuffer bereits überschrieben wurden, gehen für ihn verloren. Er
+     * erhält danach die ältesten noch vorhandenen Ereignisse.
+     */
+    DROP,
+
+    /**
+     * Der Veröffentlichende wartet, bis der Abonnent wieder Platz im Ringpuffer
+     * geschaffen hat. Es gehen keine Ereignisse verloren, ein langsamer Abonnent
+     * bremst aber den Veröffentlichenden (z. B. den Lese-Thread der Verbindung).
+     */
+    BLOCK,
+
+    /**
+     * Der Veröffentlichende wartet nie auf diesen Abonnenten. Liegen beim
+     * Abonnenten mehrere Ereignisse vor, erhält er nur das neueste. Geeignet für
+     * Abonnenten, welche nur den aktuellen Zustand anzeigen (z. B. die GUI).
+     */
+    COALESCE
+}
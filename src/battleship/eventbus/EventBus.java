@@ -0,0 +1,263 @@
+package battleship.eventbus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import battleship.Constants;
+
+/**
+ * Verteilt Ereignisse an beliebig viele Abonnenten, ohne dass der
+ * Veröffentlichende (z. B. der Lese-Thread der Verbindung) auf deren
+ * Verarbeitung warten muss.
+ *
+ * Die Ereignisse liegen in einem begrenzten Ringpuffer. Jeder Abonnent liest
+ * mit einem eigenen Cursor und wird in einem eigenen virtuellen Thread
+ * bedient. Was passiert, wenn ein Abonnent zu langsam ist, legt seine
+ * `BackpressurePolicy` fest. Das Veröffentlichen selbst erzeugt keine
+ * Objekte, sodass sich Enum-Ereignisse ohne Allokation verteilen lassen.
+ *
+ * @param <E> Typ der Ereignisse
+ */
+public final class EventBus<E> implements AutoCloseable {
+    private final String name;
+    private final Object[] slots;
+    private final int mask;
+    private final List<Subscription<E>> subscriptions;
+    private final ReentrantLock lock;
+    /* Signalisiert den Abonnenten neue Ereignisse. */
+    private final Condition published;
+    /* Signalisiert wartenden Veröffentlichenden, dass Abonnenten weitergelesen haben. */
+    private final Condition consumed;
+    /* Nummer des nächsten zu schreibenden Ereignisses. Wird nur unter der Sperre verändert. */
+    private long sequence;
+    private boolean closed;
+    private final Logger logger;
+
+    /**
+     * Erstellt einen Bus.
+     *
+     * @param name     Name des Busses, wird für die Namen der Threads verwendet
+     * @param capacity Mindestgröße des Ringpuffers. Wird auf die nächste
+     *                 Zweierpotenz aufgerundet.
+     */
+    public EventBus(final String name, final int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid event bus capacity: " + capacity);
+        }
+        this.logger = Logger.getLogger(EventBus.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+
+        this.name = name;
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity
+                : Integer.highestOneBit(capacity) << 1;
+        this.slots = new Object[size];
+        this.mask = size - 1;
+        this.subscriptions = new CopyOnWriteArrayList<>();
+        this.lock = new ReentrantLock();
+        this.published = this.lock.newCondition();
+        this.consumed = this.lock.newCondition();
+    }
+
+    /**
+     * Abonniert alle ab jetzt veröffentlichten Ereignisse.
+     *
+     * @param subscriberName Name des Abonnenten
+     * @param policy         Verhalten, wenn der Abonnent nicht hinterherkommt
+     * @param subscriber     Wird für jedes zugestellte Ereignis aufgerufen
+     * @return Das Abonnement
+     */
+    public Subscription<E> subscribe(
+            final String subscriberName, final BackpressurePolicy policy, final EventSubscriber<? super E> subscriber
+    ) {
+        final Subscription<E> subscription;
+        this.lock.lock();
+        try {
+            if (this.closed) {
+                throw new IllegalStateException("Event bus " + this.name + " is closed.");
+            }
+            subscription = new Subscription<>(this, subscriberName, policy, subscriber, this.sequence);
+            this.subscriptions.add(subscription);
+        } finally {
+            this.lock.unlock();
+        }
+        Thread.ofVirtual().name("battleship-bus-" + this.name + "-" + subscriberName)
+                .start(() -> this.consume(subscription));
+        return subscription;
+    }
+
+    /**
+     * Veröffentlicht ein Ereignis. Wartet nur, wenn ein Abonnent mit
+     * `BackpressurePolicy.BLOCK` den Ringpuffer gefüllt hat.
+     *
+     * @param event Das Ereignis
+     * @return false, wenn der Bus geschlossen ist oder der Thread beim Warten
+     *         unterbrochen wurde
+     */
+    public boolean publish(final E event) {
+        this.lock.lock();
+        try {
+            while (!this.closed && this.isBlocked()) {
+                this.consumed.await();
+            }
+            if (this.closed) {
+                return false;
+            }
+            this.slots[(int) (this.sequence & this.mask)] = event;
+            this.sequence++;
+            this.published.signalAll();
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gibt die Größe des Ringpuffers zurück.
+     *
+     * @return Anzahl der Ereignisse, welche gleichzeitig vorgehalten werden
+     */
+    public int getCapacity() {
+        return this.slots.length;
+    }
+
+    /**
+     * Gibt die Anzahl der bisher veröffentlichten Ereignisse zurück.
+     *
+     * @return Anzahl der Ereignisse
+     */
+    public long getPublished() {
+        this.lock.lock();
+        try {
+            return this.sequence;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Schließt den Bus. Es werden keine Ereignisse mehr angenommen. Die
+     * Abonnenten erhalten noch die bereits veröffentlichten Ereignisse (gemäß
+     * ihrer Policy) und beenden sich dann.
+     */
+    @Override
+    public void close() {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.published.signalAll();
+            this.consumed.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Beendet ein Abonnement.
+     */
+    void cancel(final Subscription<E> subscription) {
+        this.lock.lock();
+        try {
+            subscription.deactivate();
+            this.subscriptions.remove(subscription);
+            this.published.signalAll();
+            this.consumed.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Prüft, ob ein blockierender Abonnent den Ringpuffer gefüllt hat. Muss unter
+     * der Sperre aufgerufen werden.
+     */
+    private boolean isBlocked() {
+        for (final Subscription<E> subscription : this.subscriptions) {
+            if (
+                subscription.getPolicy() == BackpressurePolicy.BLOCK
+                        && this.sequence - subscription.getCursor() >= this.slots.length
+            ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stellt einem Abonnenten die Ereignisse zu. Läuft im Thread des Abonnenten.
+     * Die vorliegenden Ereignisse werden unter der Sperre kopiert und ohne Sperre
+     * zugestellt, sodass der Veröffentlichende nicht auf den Abonnenten wartet.
+     */
+    @SuppressWarnings("unchecked")
+    private void consume(final Subscription<E> subscription) {
+        final Object[] batch = new Object[this.slots.length];
+        while (true) {
+            final long first;
+            final int count;
+            this.lock.lock();
+            try {
+                while (subscription.isActive() && !this.closed && subscription.getCursor() == this.sequence) {
+                    this.published.await();
+                }
+                long cursor = subscription.getCursor();
+                long available = this.sequence - cursor;
+                if (!subscription.isActive() || available == 0) {
+                    /* Abonnement beendet oder Bus geschlossen und alles zugestellt */
+                    break;
+                }
+                final long keep = subscription.getPolicy() == BackpressurePolicy.COALESCE ? 1 : this.slots.length;
+                if (available > keep) {
+                    subscription.addDropped(available - keep);
+                    cursor = this.sequence - keep;
+                    available = keep;
+                }
+                first = cursor;
+                count = (int) available;
+                for (int i = 0; i < count; i++) {
+                    batch[i] = this.slots[(int) (first + i & this.mask)];
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                this.lock.unlock();
+            }
+
+            for (int i = 0; i < count; i++) {
+                try {
+                    subscription.getSubscriber().onEvent((E) batch[i], first + i);
+                } catch (final RuntimeException e) {
+                    this.logger.log(
+                            Level.WARNING, e, () -> "Subscriber " + subscription.getName() + " of event bus "
+                                    + this.name + " failed."
+                    );
+                }
+                batch[i] = null;
+            }
+
+            this.lock.lock();
+            try {
+                subscription.setCursor(first + count);
+                subscription.addDelivered(count);
+                this.consumed.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        subscription.deactivate();
+        this.subscriptions.remove(subscription);
+        this.lock.lock();
+        try {
+            /* Ein beendeter blockierender Abonnent darf niemanden mehr aufhalten. */
+            this.consumed.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
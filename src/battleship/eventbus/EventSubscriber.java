@@ -0,0 +1,19 @@
+package battleship.eventbus;
+
+/**
+ * Empfängt die Ereignisse eines `EventBus`. Wird immer im eigenen Thread des
+ * Abonnenten aufgerufen, nie gleichzeitig.
+ *
+ * @param <E> Typ der Ereignisse
+ */
+@FunctionalInterface
+public interface EventSubscriber<E> {
+    /**
+     * Wird für jedes zugestellte Ereignis aufgerufen.
+     *
+     * @param event    Das Ereignis
+     * @param sequence Fortlaufende Nummer des Ereignisses im Bus. Lücken zeigen
+     *                 verworfene oder zusammengefasste Ereignisse an.
+     */
+    void onEvent(E event, long sequence);
+}
@@ -0,0 +1,113 @@
+package battleship.eventbus;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ein Abonnement eines `EventBus`. Jedes Abonnement liest mit einem eigenen
+ * Cursor aus dem Ringpuffer und wird von einem eigenen virtuellen Thread
+ * bedient.
+ *
+ * @param <E> Typ der Ereignisse
+ */
+public final class Subscription<E> {
+    private final EventBus<E> bus;
+    private final String name;
+    private final BackpressurePolicy policy;
+    private final EventSubscriber<? super E> subscriber;
+    /* Nummer des nächsten zu lesenden Ereignisses. Wird nur unter der Sperre des Busses verändert. */
+    private volatile long cursor;
+    private final AtomicLong delivered;
+    private final AtomicLong dropped;
+    private volatile boolean active;
+
+    Subscription(
+            final EventBus<E> bus, final String name, final BackpressurePolicy policy,
+            final EventSubscriber<? super E> subscriber, final long cursor
+    ) {
+        this.bus = bus;
+        this.name = name;
+        this.policy = policy;
+        this.subscriber = subscriber;
+        this.cursor = cursor;
+        this.delivered = new AtomicLong();
+        this.dropped = new AtomicLong();
+        this.active = true;
+    }
+
+    /**
+     * Beendet das Abonnement. Ein gerade zugestelltes Ereignis wird noch
+     * verarbeitet, danach werden keine weiteren zugestellt.
+     */
+    public void cancel() {
+        this.bus.cancel(this);
+    }
+
+    /**
+     * Gibt den Namen des Abonnenten zurück.
+     *
+     * @return Der Name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gibt das Verhalten bei einem vollen Ringpuffer zurück.
+     *
+     * @return Die Policy
+     */
+    public BackpressurePolicy getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * Gibt die Anzahl der zugestellten Ereignisse zurück.
+     *
+     * @return Anzahl der Ereignisse
+     */
+    public long getDelivered() {
+        return this.delivered.get();
+    }
+
+    /**
+     * Gibt die Anzahl der verworfenen bzw. zusammengefassten Ereignisse zurück.
+     *
+     * @return Anzahl der Ereignisse
+     */
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Gibt an, ob das Abonnement noch Ereignisse erhält.
+     *
+     * @return true, solange weder das Abonnement noch der Bus beendet wurde
+     */
+    public boolean isActive() {
+        return this.active;
+    }
+
+    EventSubscriber<? super E> getSubscriber() {
+        return this.subscriber;
+    }
+
+    long getCursor() {
+        return this.cursor;
+    }
+
+    void setCursor(final long cursor) {
+        this.cursor = cursor;
+    }
+
+    void addDelivered(final long count) {
+        this.delivered.addAndGet(count);
+    }
+
+    void addDropped(final long count) {
+        this.dropped.addAndGet(count);
+    }
+
+    void deactivate() {
+        this.active = false;
+    }
+}
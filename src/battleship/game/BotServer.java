@@ -0,0 +1,192 @@
+package battleship.game;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import battleship.Constants;
+import battleship.network.Connection;
+import battleship.network.SelectorServer;
+import battleship.opposingthings.Difficulty;
+import battleship.opposingthings.MoveCache;
+import battleship.opposingthings.ThinkTimeStats;
+
+/**
+ * Server ohne Oberfläche, an welchem beliebig viele Clients gleichzeitig gegen
+ * den Computer spielen können. Die Verbindungen werden von einem
+ * `SelectorServer` bedient, jedes Spiel ist eine `GameEngine`, deren Züge der
+ * Computer spielt.
+ */
+public final class BotServer {
+    /* Name des Computers gegenüber den Clients. */
+    private static final String BOT_NAME = "Computer";
+
+    private final SelectorServer server;
+    private final int level;
+    /* Schwierigkeitsstufe des Computers in allen Spielen. */
+    private final Difficulty difficulty;
+    /*
+     * Spielt die Züge des Computers. Diese werden nicht im Beobachter selbst
+     * gespielt, da dieser unter der Sperre des Spiels aufgerufen wird.
+     */
+    private final ExecutorService moves;
+    /* Anzahl der beendeten Spiele je `GameEndStatus`. */
+    private final AtomicLongArray results;
+    /* Bedenkzeit aller Züge des Computers auf diesem Server. */
+    private final ThinkTimeStats thinkTimeStats;
+    private final Logger logger;
+
+    /**
+     * Erstellt einen Server, dessen Computer mit `Difficulty.DEFAULT` spielt.
+     * Dieser muss mit `start()` gestartet werden. Die Züge werden in eigenen
+     * Threads berechnet, daher sind auch aufwändige Stufen möglich.
+     *
+     * @param port       Port, auf dem der Server lauschen soll (0 für einen
+     *                   beliebigen freien Port)
+     * @param eventLoops Anzahl der Event-Loops
+     * @param level      Level, welches der Computer spielen möchte
+     * @throws IOException
+     */
+    public BotServer(final int port, final int eventLoops, final int level) throws IOException {
+        this(port, eventLoops, level, Difficulty.DEFAULT);
+    }
+
+    /**
+     * Erstellt einen Server. Dieser muss mit `start()` gestartet werden.
+     *
+     * @param port       Port, auf dem der Server lauschen soll (0 für einen
+     *                   beliebigen freien Port)
+     * @param eventLoops Anzahl der Event-Loops
+     * @param level      Level, welches der Computer spielen möchte
+     * @param difficulty Schwierigkeitsstufe des Computers in allen Spielen
+     * @throws IOException
+     */
+    public BotServer(final int port, final int eventLoops, final int level, final Difficulty difficulty)
+            throws IOException {
+        if (level < 1 || level > Constants.NUMBER_OF_LEVELS) {
+            throw new IllegalArgumentException("Level must be between 1 and " + Constants.NUMBER_OF_LEVELS + ".");
+        }
+        if (difficulty == null) {
+            throw new IllegalArgumentException("The difficulty must not be null.");
+        }
+        this.logger = Logger.getLogger(BotServer.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+
+        this.level = level;
+        this.difficulty = difficulty;
+        this.thinkTimeStats = new ThinkTimeStats();
+        this.moves = Executors.newCachedThreadPool(Thread.ofPlatform().daemon().name("battleship-bot-", 0).factory());
+        this.results = new AtomicLongArray(GameEndStatus.values().length);
+        this.server = new SelectorServer(port, eventLoops, this::play);
+    }
+
+    /**
+     * Startet den Server.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Beendet den Server und alle laufenden Spiele.
+     *
+     * @throws IOException
+     */
+    public void stop() throws IOException {
+        this.server.stop();
+        this.moves.shutdown();
+    }
+
+    /**
+     * Gibt den Port zurück, auf dem der Server lauscht.
+     *
+     * @return Der lokale Port
+     * @throws IOException
+     */
+    public int getLocalPort() throws IOException {
+        return this.server.getLocalPort();
+    }
+
+    /**
+     * Gibt die Anzahl der Spiele zurück, welche mit einem bestimmten Status
+     * beendet wurden.
+     *
+     * @param status Der Status
+     * @return Anzahl der Spiele
+     */
+    public long getResults(final GameEndStatus status) {
+        return this.results.get(status.ordinal());
+    }
+
+    /**
+     * Gibt die Bedenkzeit aller bisherigen Züge des Computers auf diesem Server
+     * zurück, z. B. um die Perzentile mit der Frist der `Difficulty` zu
+     * vergleichen.
+     *
+     * @return Die Statistik
+     */
+    public ThinkTimeStats getThinkTimeStats() {
+        return this.thinkTimeStats;
+    }
+
+    /**
+     * Gibt die Schwierigkeitsstufe des Computers zurück.
+     *
+     * @return Die Schwierigkeitsstufe
+     */
+    public Difficulty getDifficulty() {
+        return this.difficulty;
+    }
+
+    /**
+     * Beginnt ein Spiel auf einer angenommenen Verbindung.
+     *
+     * @param connection Die Verbindung zum Client
+     */
+    private void play(final Connection connection) {
+        final GameEngine[] engine = new GameEngine[1];
+        final GameObserver observer = new GameObserver() {
+            @Override
+            public void onTurnChanged(final TurnStatus turnstatus) {
+                if (turnstatus == TurnStatus.MY_TURN_FIRST_TURN || turnstatus == TurnStatus.MY_TURN
+                        || turnstatus == TurnStatus.MY_TURN_AFTER_HIT) {
+                    BotServer.this.moves.execute(engine[0]::computerMove);
+                }
+            }
+        };
+        engine[0] = new GameEngine(connection, true, BOT_NAME, this.level, observer, (final GameEndStatus status) -> {
+            this.results.incrementAndGet(status.ordinal());
+            this.logger.log(Level.FINE, "Game ended: {0}", status);
+        });
+        if (Constants.MOVE_CACHE) {
+            engine[0].setMoveCache(MoveCache.getGlobal());
+        }
+        engine[0].setOpeningBookEnabled(Constants.OPENING_BOOK);
+        engine[0].setDifficulty(this.difficulty);
+        engine[0].setThinkTimeStats(this.thinkTimeStats);
+        engine[0].begin();
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        final Logger logger = Logger.getLogger(BotServer.class.getName());
+        logger.setLevel(Constants.LOG_LEVEL);
+
+        final int port = args.length > 0 ? Integer.parseInt(args[0]) : Constants.SERVER_PORT;
+        final int level = args.length > 1 ? Integer.parseInt(args[1]) : Constants.NUMBER_OF_LEVELS;
+        final int eventLoops = args.length > 2
+                ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        final Difficulty difficulty = args.length > 3 ? Difficulty.valueOf(args[3]) : Difficulty.DEFAULT;
+        final BotServer server = new BotServer(port, eventLoops, level, difficulty);
+        server.start();
+        logger.log(
+                Level.INFO, "Bot server on port " + server.getLocalPort() + " with " + eventLoops
+                        + " event loops, level " + level + ", difficulty " + difficulty + "."
+        );
+        /* Die Event-Loops sind Daemon-Threads, daher bis zum Beenden des Prozesses warten. */
+        Thread.currentThread().join();
+    }
+}
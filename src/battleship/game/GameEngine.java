@@ -0,0 +1,1163 @@
+package battleship.game;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import battleship.Constants;
+import battleship.board.Coordinates;
+import battleship.eventbus.EventBus;
+import battleship.network.Connection;
+import battleship.network.ConnectionEvent;
+import battleship.network.ConnectionListener;
+import battleship.network.commands.HitStatus;
+import battleship.opposingthings.Deadline;
+import battleship.opposingthings.Difficulty;
+import battleship.opposingthings.MoveCache;
+import battleship.opposingthings.OpeningBook;
+import battleship.opposingthings.OpposingFieldStatus;
+import battleship.opposingthings.OpposingPlayingField;
+import battleship.opposingthings.ThinkTimeStats;
+import battleship.playersthings.PlayersPlayingField;
+import battleship.playersthings.PlayersShip;
+import battleship.utils.Utils;
+
+/**
+ * Die Spiellogik einer Spiele-Sitzung ohne Oberfläche. Sie führt den Handshake
+ * mit dem Gegner, verwaltet die Spielbretter und den Runden-Status und meldet
+ * alle Änderungen an einen `GameObserver`. Sie hängt nicht von Swing oder
+ * anderen Teilen von `java.desktop` ab und kann daher auch auf einem Server
+ * ohne Bildschirm laufen (z. B. für Bots).
+ *
+ * X- und Y-Koordinaten werden intern mit Zahlen beginnend bei 0 dargestellt.
+ * Für die Kommunikation mit dem Gegner wird dies umgewandelt.
+ */
+public final class GameEngine {
+    /*
+     * Ablauf eines Spielstartes
+     *
+     * NOT_READY_NOT_INITIALIZED
+     * begin() -> initGame() -> Sende version, iam, iamu, Setze
+     * NOT_READY_HANDSHAKE_PHASE1_PERFORMED
+     * Empfange IAM -> prepareGame() -> Sende COIN, Setze
+     * NOT_READY_HANDSHAKE_PHASE2_PERFORMED
+     * Empfange COIN -> startGame() -> Setze MY_TURN_FIRST_TURN oder
+     * YOUR_TURN_FIRST_TURN
+     *
+     * Mit `Constants.PIPELINED_HANDSHAKE` sendet initGame() zusätzlich bereits das
+     * COIN-Paket und platziert die Schiffe für jedes mögliche Level im
+     * Hintergrund. prepareGame() übernimmt dann nur noch die passende Flotte.
+     */
+
+    /* Speichert die von uns gewürfelte Münze. */
+    private String myCoin;
+    /* Speichert den Namen von unserem Spieler. */
+    private final String playersName;
+    /* Speichert das Spielelevel, was unser Spieler spielen möchte. */
+    private final int playersLevel;
+    /*
+     * Speichert die Spielbretter (nicht die GUI, sondern das eigentliche
+     * Spielbrett).
+     */
+    private OpposingPlayingField opposing;
+    /* Speichert das Feld, welches wir als letzter angegriffen hatten (siehe `Coordinates`). */
+    private int lastShoot = Coordinates.NONE;
+    /* Im Hintergrund vorausberechnete Züge des Computers. */
+    private final SpeculativeMoves speculation;
+    /* Cache für die Züge des Computers über Spiele hinweg, null für keinen. */
+    private volatile MoveCache moveCache;
+    /* Speichert, ob der Computer seine ersten Züge aus dem Eröffnungsbuch nimmt. */
+    private volatile boolean openingBook;
+    /* Speichert die Schwierigkeitsstufe, mit welcher der Computer für uns spielt. */
+    private volatile Difficulty difficulty;
+    /* Nimmt die Bedenkzeit jedes Zuges des Computers auf. */
+    private volatile ThinkTimeStats thinkTimeStats;
+    /*
+     * Speichert, ob unser letzter Zug vom Computer gespielt wurde. Nur dann wird
+     * im Hintergrund vorausberechnet. Wird durch `turnLock` geschützt.
+     */
+    private boolean computerPlays;
+    private PlayersPlayingField players;
+    /*
+     * Beim Handshake in einem Zug: Vorab platzierte Flotten für jedes Level bis zu
+     * unserem (Index ist Level - 1).
+     */
+    private CompletableFuture<List<PlayersPlayingField>> placedFleets;
+    /* Misst die Dauer der Phasen bis zum ersten Schuss. */
+    private HandshakeTimings timings;
+    /* Wird über alle Änderungen des Spiels informiert. */
+    private final GameObserver observer;
+    /* Speichert in welcher Runde wir uns befinden, daher wer aktuell am Zug ist. */
+    private TurnStatus turnstatus;
+    private final Object turnLock;
+    /* Speichert den Thread, welcher Kommandos vom Gegner liest und verarbeitet. */
+    private Thread readThread;
+    /* Speichert die Verbindung zum Gegner. */
+    private Connection connection;
+    /*
+     * Speichert, ob wir in der Verbindung als Server agieren (relevant, um zu
+     * berechnen, wer anfängt).
+     */
+    private final boolean isServer;
+    /*
+     * Speichert, ob das aktuelle Spiel gerade läuft. Sollte während der Spiels und
+     * die meinste Zeit true sein.
+     */
+    private final AtomicBoolean isRunning;
+    /*
+     * Speichert den Handler, welcher aufgerufen wird, wenn das Spiel zu Ende ist.
+     */
+    private final GameExitHandler gameexithandler;
+    /*
+     * Verteilt Verbindungs-Ereignisse, Wechsel des Runden-Status und das
+     * Spielende an weitere Beobachter (z. B. Metriken oder Aufzeichnungen).
+     */
+    private final EventBus<Enum<?>> eventBus;
+    /*
+     * Veröffentlicht die Ereignisse der Reihe nach auf dem Bus. Da dies warten
+     * kann (`BackpressurePolicy.BLOCK`), geschieht es nie unter dem `turnLock`.
+     */
+    private final ExecutorService publisher;
+    /* Speichert unseren Logger. */
+    private final Logger logger;
+    /* Speichert den Zufallsgenerator, um unsere Münze zu werfen. */
+    private static Random random;
+
+    static {
+        random = new Random();
+    }
+
+    /**
+     * Generierte eine zufällige Münze.
+     *
+     * @return "0" oder "1" als String
+     */
+    private static String getCoin() {
+        return random.nextBoolean() ? "0" : "1";
+    }
+
+    /**
+     * Initialisiert die Spiellogik einer Spiele-Sitzung
+     *
+     * @param connection      Verbindung zum Gegner
+     * @param isServer        Angabe darüber, ob die Verbindung mit uns als Server
+     *                        hergestellt wurden ist
+     * @param playersName     Name unseres Spielers
+     * @param level           Level unseres Spielers
+     * @param observer        Wird über alle Änderungen des Spiels informiert, darf
+     *                        null sein
+     * @param gameexithandler Benutzerdefinierte Funktion, welche nach Spielende
+     *                        aufgerufen werden soll
+     */
+    public GameEngine(
+            final Connection connection, final boolean isServer, final String playersName, final int level,
+            final GameObserver observer, final GameExitHandler gameexithandler
+    ) {
+        this.isRunning = new AtomicBoolean(true);
+        this.turnLock = new Object();
+        this.speculation = new SpeculativeMoves();
+        this.difficulty = Difficulty.EASY;
+        this.thinkTimeStats = ThinkTimeStats.getGlobal();
+        this.observer = observer == null ? new GameObserver() {
+        } : observer;
+        this.connection = connection;
+        /* Entferne nicht-lesbare Zeichen aus dem Spielernamen */
+        this.playersName = Utils.sanitizeString(playersName);
+        this.isServer = isServer;
+        this.playersLevel = level;
+        /* Werfe eine Münze für uns */
+        this.myCoin = getCoin();
+        this.logger = Logger.getLogger(GameEngine.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+        /* Setze das Spiel auf Nicht-Bereicht (vor IAM- oder einem COIN-Paket). */
+        synchronized (this.turnLock) {
+            this.turnstatus = TurnStatus.NOT_READY_NOT_INITIALIZED;
+        }
+        this.gameexithandler = gameexithandler;
+        this.eventBus = new EventBus<>("session", Constants.EVENT_BUS_CAPACITY);
+        this.publisher = Executors.newSingleThreadExecutor(
+                Thread.ofVirtual().name("battleship-bus-session-publisher").factory()
+        );
+    }
+
+    /**
+     * Gibt den Ereignis-Bus der Sitzung zurück. Dort werden alle
+     * `ConnectionEvent`s, jeder neue `TurnStatus` und zum Schluss der
+     * `GameEndStatus` veröffentlicht. Nach dem Spielende wird der Bus
+     * geschlossen. Veröffentlicht wird in einem eigenen Thread, ein Abonnent darf
+     * also die Spiellogik aufrufen, ohne dass es zu einem Deadlock kommt.
+     *
+     * @return Der Bus
+     */
+    public EventBus<Enum<?>> getEventBus() {
+        return this.eventBus;
+    }
+
+    /**
+     * Setzt den Cache, in dem die Züge des Computers über Spiele hinweg
+     * gespeichert werden (siehe `MoveCache`). Bei gleichem Spielstand zieht der
+     * Computer dann immer gleich, er ist also vorhersehbar. Daher nur für Spiele
+     * gegen Bots gedacht. Muss vor `begin()` aufgerufen werden.
+     *
+     * @param cache Der Cache, null um keine Züge zu speichern
+     */
+    public void setMoveCache(final MoveCache cache) {
+        this.moveCache = cache;
+    }
+
+    /**
+     * Legt fest, ob der Computer seine ersten Züge aus dem Eröffnungsbuch des
+     * Levels nimmt (siehe `OpeningBook`). Das Buch enthält je Spielstand genau
+     * einen Zug, der Computer eröffnet damit jedes Spiel gleich. Daher nur für
+     * Spiele gegen Bots gedacht. Muss vor `begin()` aufgerufen werden.
+     *
+     * @param enabled true, um das Buch zu verwenden
+     */
+    public void setOpeningBookEnabled(final boolean enabled) {
+        this.openingBook = enabled;
+    }
+
+    /**
+     * Legt die Schwierigkeitsstufe fest, mit welcher der Computer für uns spielt
+     * (siehe `computerMove()`). Ohne Aufruf gilt `Difficulty.EASY`, da der Zug
+     * unter der Sperre des Spiels im Thread des Aufrufers berechnet wird (an der
+     * Oberfläche im Event-Dispatch-Thread). Muss vor `begin()` aufgerufen werden.
+     *
+     * @param difficulty Die Schwierigkeitsstufe
+     */
+    public void setDifficulty(final Difficulty difficulty) {
+        if (difficulty == null) {
+            throw new IllegalArgumentException("The difficulty must not be null.");
+        }
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Legt fest, wo die Bedenkzeit jedes Zuges des Computers aufgenommen wird.
+     * Ohne Aufruf ist dies `ThinkTimeStats.getGlobal()`.
+     *
+     * @param stats Die Statistik
+     */
+    public void setThinkTimeStats(final ThinkTimeStats stats) {
+        if (stats == null) {
+            throw new IllegalArgumentException("The think time statistics must not be null.");
+        }
+        this.thinkTimeStats = stats;
+    }
+
+    /**
+     * Beginnt den Handshake mit dem Gegner und legt verschiedene Verbindungshandler
+     * fest. Setzt des Runden-Status auf "Nicht bereit". Diese Funktion sollte
+     * direkt nach dem Erstellen des Objektes aufgerufen werden.
+     */
+    public void begin() {
+        /*
+         * Während des Handshakes mit dem Gegner (Austausch der IAM-Pakete) könnte der
+         * Spielstatus in Vorbereitet geändert werden. Daher sperre dies. Des Weiteren
+         * verhindert die Sperre das unkontrollierte Mehrfachte aufrufen.
+         */
+        synchronized (this.turnLock) {
+            this.logger.log(Level.FINE, "Determine game information.");
+
+            this.timings = new HandshakeTimings();
+            this.initGame();
+        }
+    }
+
+    /**
+     * Gibt an, ob das eigentliche Spiel läuft, also der Handshake abgeschlossen
+     * ist.
+     *
+     * @return true, wenn das Spiel läuft
+     */
+    public boolean isReady() {
+        switch (this.turnstatus) {
+            case MY_TURN_FIRST_TURN, MY_TURN, MY_TURN_AFTER_HIT, YOUR_TURN_FIRST_TURN, YOUR_TURN, YOUR_TURN_AFTER_HIT,
+                    WAITING_FOR_REPLY_AFTER_HIT:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Gibt den aktuellen Runden-Status zurück.
+     *
+     * @return Der Runden-Status
+     */
+    public TurnStatus getTurnStatus() {
+        synchronized (this.turnLock) {
+            return this.turnstatus;
+        }
+    }
+
+    /**
+     * Gibt den (bereinigten) Namen unseres Spielers zurück.
+     *
+     * @return Der Name
+     */
+    public String getPlayersName() {
+        return this.playersName;
+    }
+
+    /**
+     * Greift einen Gegner an. Dies funktioniert nur, wenn wir an der Reihe sind.
+     * Verändert den Status zu "Warte auf Antwort nach Angriff".
+     *
+     * @param x X-Koordinate des Feldes, welches angegriffen werden soll
+     * @param y Y-Koordinate des Feldes, welches angegriffen werden soll
+     */
+    public void attackOpponent(final int x, final int y) {
+        this.attack(x, y, false);
+    }
+
+    /**
+     * Greift einen Gegner an (siehe `attackOpponent()`).
+     *
+     * @param x          X-Koordinate des Feldes, welches angegriffen werden soll
+     * @param y          Y-Koordinate des Feldes, welches angegriffen werden soll
+     * @param byComputer Ob der Zug vom Computer gespielt wird
+     */
+    private void attack(final int x, final int y, final boolean byComputer) {
+        synchronized (this.turnLock) {
+            switch (this.turnstatus) {
+                /* Ich soll angreifer, aber bin ich überhaupt dran? */
+                case MY_TURN_FIRST_TURN, MY_TURN, MY_TURN_AFTER_HIT:
+                    this.logger.log(Level.INFO, () -> "Attack opponent at x=" + x + " y=" + y);
+                    /*
+                     * Habe ich das Feld bereits einmal angegriffen? / Ist mir bekannt, was der
+                     * Gegner dort hat?
+                     */
+                    if (this.opposing.isUnknown(x, y)) {
+                        this.changeTurn(TurnStatus.WAITING_FOR_REPLY_AFTER_HIT);
+                        /*
+                         * Speichere ab, wo ich den Gegner angegriffen habe, damit dies beim Empfang der
+                         * Antwort validiert werden kann.
+                         */
+                        this.lastShoot = Coordinates.pack(x, y);
+                        /*
+                         * Spielt der Computer für uns, wird er dies vermutlich auch beim nächsten Zug
+                         * tun. Berechne diesen daher für jede mögliche Antwort voraus. Spielt der
+                         * Spieler selbst, wäre dies nur verschwendete Rechenzeit.
+                         */
+                        this.computerPlays = byComputer;
+                        if (byComputer) {
+                            this.speculation.speculate(this.opposing, x, y, this.difficulty);
+                        } else {
+                            this.speculation.clear();
+                        }
+                        this.timings.mark(HandshakePhase.FIRST_SHOT);
+                        /*
+                         * Das Senden erfolgt im Hintergrund, damit ein langsamer Gegner nicht die
+                         * Sperre blockiert. Ein Fehler wird erst danach behandelt.
+                         */
+                        this.connection.writeShoot(x, y).whenComplete((result, e) -> {
+                            if (e != null) {
+                                this.handleFailedAttack(e);
+                            }
+                        });
+                        /* Rundengrenze: Der Gegner ist nun am Zug. */
+                        this.connection.flush();
+                    } else {
+                        this.logger.log(Level.INFO, "Field is not attacked because it has already been attacked once.");
+                    }
+                    break;
+
+                case NOT_READY_NOT_INITIALIZED, NOT_READY_HANDSHAKE_PHASE1_PERFORMED,
+                        NOT_READY_HANDSHAKE_PHASE2_PERFORMED:
+                    /* Das Spiel ist noch nicht bereit, daher kann nicht angegriffen werden. */
+                    this.logger.log(Level.INFO, "Not ready to attack.");
+                    this.notice(Level.INFO, "Not ready to attack", "The game is not ready yet. Please try again in a few moments.");
+                    break;
+
+                case YOUR_TURN_FIRST_TURN, YOUR_TURN, YOUR_TURN_AFTER_HIT, WAITING_FOR_REPLY_AFTER_HIT:
+                    /* Der Gegner ist dran. Ich kann also nicht angreifen. Ignoriere die Anfrage. */
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Lässt den Computer für uns einen Zug spielen. Dies funktioniert nur, wenn wir
+     * an der Reihe sind.
+     */
+    public void computerMove() {
+        synchronized (this.turnLock) {
+            try {
+                final long start = System.nanoTime();
+                /* Die Frist begrenzt, wie lange der Zug die Sperre hält. */
+                final Deadline deadline = this.difficulty.newDeadline();
+                final int speculated = this.speculation.take(this.opposing);
+                final int move = speculated != Coordinates.NONE
+                        ? speculated
+                        : this.opposing.getComputerMoveCoordinates(deadline);
+                final long thought = System.nanoTime() - start;
+                this.thinkTimeStats.record(thought);
+                this.logger.log(
+                        Level.FINE,
+                        () -> "Computer move on " + Coordinates.toString(move) + " after " + thought / 1_000
+                                + " us (budget " + deadline + ", speculated " + (speculated != Coordinates.NONE)
+                                + ")."
+                );
+                this.attack(Coordinates.x(move), Coordinates.y(move), true);
+            } catch (final Exception e) {
+                this.logger.log(Level.SEVERE, "Failed to calculate computer move.");
+                this.logger.log(
+                        Level.FINE,
+                        () -> "Current opposing playing field:\n" + this.opposing.debugPrint() + "\nFields:\n"
+                                + this.opposing.debugPrint2()
+                );
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Sendet dem Gegner eine Chat-Nachricht.
+     *
+     * @param text Die Nachricht
+     */
+    public void sendChat(final String text) {
+        this.connection.writeChat(text);
+        this.connection.flush();
+    }
+
+    /**
+     * Gibt das Spiel auf. Beim Schließen der Verbindung wird das WITHDRAW-Paket
+     * noch gesendet.
+     */
+    public void withdraw() {
+        this.connection.writeWithdraw().whenComplete((result, e) -> {
+            if (e != null) {
+                this.logger.log(Level.SEVERE, "Error in notifying the peer that we have withdrawn.", e);
+            }
+        });
+        this.stopGame(GameEndStatus.SUCCESSFUL_DRAW_FROM_PLAYER);
+    }
+
+    /**
+     * Bricht das Spiel ab, z. B. wenn die Oberfläche nicht angezeigt werden kann.
+     *
+     * @param status Status, mit welchem das Spiel abgebrochen werden soll
+     */
+    public void abort(final GameEndStatus status) {
+        this.stopGame(status);
+    }
+
+    /**
+     * Gibt einen Hinweis für den Nutzer an den Beobachter weiter.
+     *
+     * @param level   Schwere des Hinweises
+     * @param title   Kurze Überschrift
+     * @param message Ausführliche Beschreibung
+     */
+    private void notice(final Level level, final String title, final String message) {
+        this.observer.onNotice(level, title, message);
+    }
+
+    /**
+     * Wird aufgerufen, wenn ein Angriff nicht gesendet werden konnte.
+     *
+     * @param e Der aufgetretene Fehler
+     */
+    private void handleFailedAttack(final Throwable e) {
+        synchronized (this.turnLock) {
+            /*
+             * Wenn das Paket nicht gesendet wurden kann, hat der Gegner das Paket
+             * vermutlich nie erhalten. Daher denkt dieser, dass ich noch dran bin. Daher
+             * darf ich noch einmal versuchen anzugreifen und damit noch einmal versuchen
+             * ein Paket loszusenden.
+             */
+            this.logger.log(Level.SEVERE, "Error when sending the attack.", e);
+            if (this.turnstatus != TurnStatus.WAITING_FOR_REPLY_AFTER_HIT) {
+                /* Das Spiel ist währenddessen weitergelaufen oder wurde beendet. */
+                return;
+            }
+            this.notice(Level.INFO, "Not ready to attack", "The game is not ready yet. Please try again in a few moments.");
+            this.changeTurn(TurnStatus.MY_TURN);
+        }
+    }
+
+    /**
+     * Wird aufgerufen, wenn ein Paket des Handshakes nicht gesendet werden konnte.
+     * Ohne vollständigen Handshake kann das Spiel nicht beginnen.
+     *
+     * @param result Unbenutzt
+     * @param e      Der aufgetretene Fehler oder null, wenn das Senden
+     *               erfolgreich war
+     */
+    private void handleHandshakeSent(final Void result, final Throwable e) {
+        if (e == null) {
+            this.timings.mark(HandshakePhase.HANDSHAKE_SENT);
+        } else {
+            this.logger.log(Level.SEVERE, "Error when sending the handshake.", e);
+            this.stopGame(GameEndStatus.GAME_PREPARATION_OR_START_FAILED);
+        }
+    }
+
+    /**
+     * Platziert unsere Schiffe für jedes Level bis zu unserem. Da das zu spielende
+     * Level das Minimum aus unserem und dem des Gegners ist, liegt damit vor dem
+     * Empfang des IAM-Pakets des Gegners bereits jede mögliche Flotte vor.
+     *
+     * @return Die Spielfelder, indiziert mit Level - 1
+     */
+    private List<PlayersPlayingField> placeFleets() {
+        final List<PlayersPlayingField> fleets = new ArrayList<>(this.playersLevel);
+        for (int level = 1; level <= this.playersLevel; level++) {
+            final PlayersPlayingField field = new PlayersPlayingField(Constants.LEVEL_SIZES.get(level - 1));
+            field.generateShips(Constants.LEVELS.get(level - 1));
+            fleets.add(field);
+        }
+        return fleets;
+    }
+
+    /**
+     * Sendet dem Gegner das Ergebnis seines Angriffs, ohne auf das Netzwerk zu
+     * warten. Schlägt das Senden fehl, wird der Nutzer informiert.
+     *
+     * @param x         X-Koordinate, welche der Gegner angegriffen hat
+     * @param y         Y-Koordinate, welche der Gegner angegriffen hat
+     * @param hitstatus Das Ergebnis des Angriffs
+     */
+    private void sendHit(final int x, final int y, final HitStatus hitstatus) {
+        this.connection.writeHit(x, y, hitstatus).whenComplete((result, e) -> {
+            if (e != null) {
+                this.logger.log(Level.SEVERE, "Error in telling the peer about their attack.", e);
+                this.notice(Level.SEVERE, "Error sending the message", "The opponent has attacked and we wanted to inform them of the result of their attack, but an error has occurred. It is now the opponent's turn.");
+            }
+        });
+        /* Rundengrenze: Der Gegner erfährt das Ergebnis seines Angriffs. */
+        this.connection.flush();
+    }
+
+    /**
+     * Veröffentlicht ein Ereignis auf dem Bus, ohne darauf zu warten. Die
+     * Reihenfolge der Ereignisse bleibt erhalten.
+     *
+     * @param event Das Ereignis
+     */
+    private void publish(final Enum<?> event) {
+        try {
+            this.publisher.execute(() -> this.eventBus.publish(event));
+        } catch (final RejectedExecutionException e) {
+            /* Das Spiel ist bereits beendet und der Bus geschlossen. */
+            this.logger.log(Level.FINER, "Event after the end of the game not published: {0}", event);
+        }
+    }
+
+    /**
+     * Verändert den Runden-Status und informiert den Beobachter.
+     *
+     * @param turnstatus Neuer Runden-Status
+     */
+    private void changeTurn(final TurnStatus turnstatus) {
+        synchronized (this.turnLock) {
+            this.turnstatus = turnstatus;
+            this.logger.log(Level.FINER, "Change turnstatus into: {0}", turnstatus);
+            /*
+             * Spielt der Computer für uns, nutze die Zeit, in welcher der Gegner am Zug
+             * ist, um unseren nächsten Zug zu berechnen.
+             */
+            if (this.computerPlays && this.opposing != null && (turnstatus == TurnStatus.YOUR_TURN_FIRST_TURN
+                    || turnstatus == TurnStatus.YOUR_TURN || turnstatus == TurnStatus.YOUR_TURN_AFTER_HIT)) {
+                this.speculation.prewarm(this.opposing, this.difficulty);
+            }
+            this.publish(turnstatus);
+            this.observer.onTurnChanged(turnstatus);
+        }
+    }
+
+    /**
+     * Reagiert auf ein Ereignis der Verbindung ohne Nutzdaten. Abweichungen von
+     * der genormten Form eines Befehls werden nur protokolliert, da sie für
+     * jede Zeile des Gegners gemeldet werden können.
+     *
+     * @param event Das Ereignis
+     */
+    private void handleConnectionEvent(final ConnectionEvent event) {
+        this.logger.log(Level.FINE, "Event received: {0}", event);
+        this.publish(event);
+        switch (event) {
+            case CHAT_COMMAND_INVALID:
+                break;
+
+            case CHAT_COMMAND_NOT_WELL_STRUCTURED:
+                this.logger.log(Level.WARNING, "The chat command from the peer does not seem to be well structured.");
+                break;
+
+            case CHAT_COMMAND_SENT:
+                break;
+
+            case COIN_COMMAND_NOT_WELL_STRUCTURED:
+                this.logger.log(Level.WARNING, "The coin command from the peer does not seem to be well structured.");
+                break;
+
+            case COIN_COMMAND_SENT:
+                break;
+
+            case NULL_LINE_RECEIVED:
+            case DISCONNECTED_WHILE_WAITING_FOR_COMMAND:
+                synchronized (this.turnLock) {
+                    if (this.isRunning.get()) {
+                        this.logger.log(
+                                Level.SEVERE,
+                                "Disconnected while waiting for command or null line received. The current game will be ended."
+                        );
+                    }
+                    this.stopGame(GameEndStatus.CONNECTION_DISCONNECTED_OR_DISTURBED);
+                }
+                break;
+
+            case HIT_COMMAND_NOT_WELL_STRUCTURED:
+                this.logger.log(Level.WARNING, "The hit command from the peer does not seem to be well structured.");
+                break;
+
+            case HIT_COMMAND_SENT:
+                break;
+
+            case IAMU_COMMAND_INVALID:
+                break;
+
+            case IAMU_COMMAND_NOT_WELL_STRUCTURED:
+                this.logger.log(Level.WARNING, "The IAMU command from the peer does not seem to be well structured.");
+                break;
+
+            case IAMU_COMMAND_RECEIVED:
+                if (!this.connection.getPeersName().equals(this.connection.getPeersUnicodeName())) {
+                    this.observer.onPeerJoined(this.connection.getPeersUnicodeName());
+                }
+                break;
+
+            case IAMU_COMMAND_SENT:
+                break;
+
+            case IAM_COMMAND_NOT_WELL_STRUCTURED:
+                this.logger.log(Level.WARNING, "The IAM command from the peer does not seem to be well structured.");
+                break;
+
+            case IAM_COMMAND_RECEIVED:
+                this.prepareGame();
+                break;
+
+            case IAM_COMMAND_SENT:
+                break;
+
+            case SHOOT_COMMAND_NOT_WELL_STRUCTURED:
+                this.logger.log(Level.WARNING, "The shoot command from the peer does not seem to be well structured.");
+                break;
+
+            case SHOOT_COMMAND_SENT:
+                break;
+
+            case UNKNOWN_COMMAND_RECEIVED:
+                break;
+
+            case VERSION_COMMAND_NOT_WELL_STRUCTURED:
+                this.logger.log(Level.WARNING, "The version command from the peer does not seem to be well structured.");
+                break;
+
+            case VERSION_COMMAND_RECEIVED:
+                break;
+
+            case VERSION_COMMAND_SENT:
+                break;
+
+            case WITHDRAW_COMMAND_NOT_WELL_STRUCTURED:
+                this.logger.log(Level.WARNING, "The withdraw command from the peer does not seem to be well structured.");
+                break;
+
+            case WITHDRAW_COMMAND_RECEIVED:
+                this.stopGame(GameEndStatus.SUCCESSFUL_DRAW_FROM_PEER);
+                break;
+
+            case WITHDRAW_COMMAND_SENT:
+                break;
+
+            default:
+                this.logger.log(
+                        Level.SEVERE,
+                        "Unknown event triggered: {0}", event
+                );
+                this.notice(Level.WARNING, "Unknown event triggered", "An unknown event has been triggered. This is a bug in the implementation. Please report this error to the developers.");
+                break;
+        }
+    }
+
+    /**
+     * Reagiert auf ein empfangenes SHOOT-Paket.
+     */
+    private void handleShoot(final int x, final int y) {
+        this.logger.log(Level.FINE, "Event received: {0}", ConnectionEvent.SHOOT_COMMAND_RECEIVED);
+        this.publish(ConnectionEvent.SHOOT_COMMAND_RECEIVED);
+        if (this.isReady()) {
+            this.receiveAttack(x, y);
+        }
+    }
+
+    /**
+     * Reagiert auf ein empfangenes HIT-Paket.
+     */
+    private void handleHit(final int x, final int y, final HitStatus hitstatus) {
+        this.logger.log(Level.FINE, "Event received: {0}", ConnectionEvent.HIT_COMMAND_RECEIVED);
+        this.publish(ConnectionEvent.HIT_COMMAND_RECEIVED);
+        if (this.isReady()) {
+            this.receiveAnswerToOwnAttack(x, y, hitstatus);
+        }
+    }
+
+    /**
+     * Reagiert auf ein empfangenes COIN-Paket.
+     */
+    private void handleCoin(final String peersCoin) {
+        this.logger.log(Level.FINE, "Event received: {0}", ConnectionEvent.COIN_COMMAND_RECEIVED);
+        this.publish(ConnectionEvent.COIN_COMMAND_RECEIVED);
+        if (
+            this.turnstatus == TurnStatus.NOT_READY_HANDSHAKE_PHASE1_PERFORMED
+                    || this.turnstatus == TurnStatus.NOT_READY_HANDSHAKE_PHASE2_PERFORMED
+        ) {
+            this.startGame(peersCoin);
+        }
+    }
+
+    /**
+     * Reagiert auf ein empfangenes CHAT-Paket.
+     */
+    private void handleChat(final String message) {
+        this.logger.log(Level.FINE, "Event received: {0}", ConnectionEvent.CHAT_COMMAND_RECEIVED);
+        this.publish(ConnectionEvent.CHAT_COMMAND_RECEIVED);
+        if (this.isReady()) {
+            String peerName = this.connection.getPeersUnicodeName();
+            if (peerName == null) {
+                peerName = this.connection.getPeersName();
+            }
+            this.observer.onChatMessage(peerName, message);
+        }
+    }
+
+    /**
+     * Siehe begin()
+     */
+    private void initGame() {
+        try {
+            synchronized (this.turnLock) {
+                if (this.turnstatus != TurnStatus.NOT_READY_NOT_INITIALIZED) {
+                    this.logger.log(
+                            Level.WARNING,
+                            "The game is to be initialized, although it is already initialized. TurnStatus: {0}",
+                            this.turnstatus
+                    );
+                    this.notice(Level.WARNING, "Game already initialized", "The game is to be initialized, although it is already initialized.");
+                    return;
+                }
+                this.logger.log(Level.FINE, "Our coin: {0}", this.myCoin);
+                /* Setzen des Handlers, wenn ein Kommando gelesen wird. */
+                this.connection.setListener(new ConnectionListener() {
+                    @Override
+                    public void onEvent(final ConnectionEvent event) {
+                        GameEngine.this.handleConnectionEvent(event);
+                    }
+
+                    @Override
+                    public void onShoot(final int x, final int y) {
+                        GameEngine.this.handleShoot(x, y);
+                    }
+
+                    @Override
+                    public void onHit(final int x, final int y, final HitStatus hitstatus) {
+                        GameEngine.this.handleHit(x, y, hitstatus);
+                    }
+
+                    @Override
+                    public void onCoin(final String coin) {
+                        GameEngine.this.handleCoin(coin);
+                    }
+
+                    @Override
+                    public void onChat(final String message) {
+                        GameEngine.this.handleChat(message);
+                    }
+                });
+
+                /*
+                 * Der IAM-Name darf nur aus ASCII-Zeichen bestehen und nicht mehr als
+                 * 32-Zeichen beinhalten.
+                 */
+                final String asciiName = Utils.toAscii(this.playersName);
+                final String shortName = asciiName.substring(0, Math.min(32, asciiName.length()));
+                final CompletableFuture<Void> handshakeSent;
+                if (Constants.PIPELINED_HANDSHAKE) {
+                    /*
+                     * Die Schiffe werden parallel zum Warten auf den Gegner platziert. Sie werden
+                     * erst benötigt, wenn der Gegner nach unserem COIN-Paket angreift.
+                     */
+                    this.placedFleets = CompletableFuture.supplyAsync(this::placeFleets);
+                    this.logger.log(Level.FINE, "Share our version, names and coin with the peer.");
+                    handshakeSent = this.connection.writeHandshake(
+                            shortName, String.valueOf(this.playersLevel), this.playersName, this.myCoin
+                    );
+                } else {
+                    this.logger.log(Level.FINE, "Share our version information with the peer.");
+                    this.connection.writeVersion().whenComplete(this::handleHandshakeSent);
+                    this.logger.log(Level.FINE, "Share our name with the peer.");
+                    this.connection.writeIAM(shortName, String.valueOf(this.playersLevel))
+                            .whenComplete(this::handleHandshakeSent);
+                    this.logger.log(Level.FINE, "Share our full name with the peer.");
+                    handshakeSent = this.connection.writeIAMU(this.playersName);
+                }
+                handshakeSent.whenComplete(this::handleHandshakeSent);
+                this.connection.flush();
+
+                /*
+                 * Erst nachdem der Handler oben gesetzt wurden ist bringt der Aufruf von
+                 * `readCommand()` etwas. Da sonst die Pakete zwar empfangen werden, aber mehr
+                 * auch nicht. Erst der Handler bewirkt, dass nach Empfang auch eine Aktion
+                 * folgt. Wird die Verbindung von einem Event-Loop angetrieben, liest dieser
+                 * die Befehle und ein eigener Lese-Thread ist nicht notwendig.
+                 */
+                if (!this.connection.isDrivenByEventLoop()) {
+                    this.readThread = new Thread() {
+                        @Override
+                        public void run() {
+                            try {
+                                GameEngine.this.logger.log(Level.FINE, "Ready to receive commands from the peer.");
+                                while (
+                                    GameEngine.this.connection.isConnected() && !currentThread().isInterrupted()
+                                ) {
+                                    GameEngine.this.connection.readCommand();
+                                }
+                            } catch (final Exception e) {
+                                if (currentThread().isInterrupted()) {
+                                    GameEngine.this.logger.log(
+                                            Level.FINE,
+                                            "Good error when reading a command. The reading thread is now closed."
+                                    );
+                                } else {
+                                    GameEngine.this.logger.log(Level.SEVERE, "Error in reading thread.", e);
+                                    GameEngine.this.notice(Level.SEVERE, "Error", "Error: " + e.getMessage());
+                                    GameEngine.this.stopGame(GameEndStatus.CONNECTION_DISCONNECTED_OR_DISTURBED);
+                                }
+                            }
+                        }
+                    };
+                    this.readThread.start();
+                }
+
+                this.changeTurn(TurnStatus.NOT_READY_HANDSHAKE_PHASE1_PERFORMED);
+            }
+        } catch (final Exception e) {
+            this.logger.log(Level.SEVERE, "Error when preparing the game.", e);
+            this.stopGame(GameEndStatus.GAME_PREPARATION_OR_START_FAILED);
+        }
+    }
+
+    /**
+     * Bereitet das Spiel vor. Dies funktioniert nur nachdem das IAM-Paket empfangen
+     * wurden ist und entsprechende Informationen vom Gegner empfangen wurden sind.
+     */
+    private void prepareGame() {
+        try {
+            synchronized (this.turnLock) {
+                if (this.turnstatus != TurnStatus.NOT_READY_HANDSHAKE_PHASE1_PERFORMED) {
+                    this.logger.log(
+                            Level.WARNING,
+                            "The game is to be prepared, although it is already prepared. TurnStatus: {0}",
+                            this.turnstatus
+                    );
+                    this.notice(Level.WARNING, "Game already prepared", "The game is to be prepared, although it is already prepared.");
+                }
+                /*
+                 * Berechne das Level, was gespielt werden soll. Dies ist das Minimum des
+                 * Levels, welches wir und welches der Gegner spielen wollen.
+                 */
+                this.timings.mark(HandshakePhase.PEER_IAM_RECEIVED);
+                final int level = Math.min(Integer.parseInt(this.connection.getPeersLevel()), this.playersLevel);
+                final int levelSize = Constants.LEVEL_SIZES.get(level - 1);
+                this.logger.log(Level.INFO, "Level: {0}", level);
+                this.logger.log(Level.FINE, "Level size: {0}", levelSize);
+                this.opposing = new OpposingPlayingField(
+                        levelSize, Constants.LEVELS.get(level - 1), this.difficulty.getStrategy(), new Random()
+                );
+                this.opposing.setMoveCache(this.moveCache, level);
+                if (this.openingBook) {
+                    this.opposing.setOpeningBook(OpeningBook.forLevel(level));
+                }
+
+                if (this.placedFleets == null) {
+                    this.players = new PlayersPlayingField(levelSize);
+                    this.logger.log(Level.FINE, "Place our ships.");
+                    this.players.generateShips(Constants.LEVELS.get(level - 1));
+                    this.timings.mark(HandshakePhase.SHIPS_PLACED);
+                    this.logger.log(Level.FINE, "Inform our peer that our ships have been placed.");
+                    this.connection.writeCoin(this.myCoin).whenComplete(this::handleHandshakeSent);
+                    this.connection.flush();
+                } else {
+                    /* Das COIN-Paket wurde bereits mit dem Handshake gesendet. */
+                    this.logger.log(Level.FINE, "Take our pre-placed ships.");
+                    this.players = this.placedFleets.join().get(level - 1);
+                    this.placedFleets = null;
+                    this.timings.mark(HandshakePhase.SHIPS_PLACED);
+                }
+
+                this.observer.onGamePrepared(levelSize, this.players, this.opposing);
+                this.observer.onPeerJoined(this.connection.getPeersName());
+                this.changeTurn(TurnStatus.NOT_READY_HANDSHAKE_PHASE2_PERFORMED);
+            }
+        } catch (final Exception e) {
+            this.logger.log(Level.SEVERE, "Error when preparing the game.", e);
+            this.stopGame(GameEndStatus.GAME_PREPARATION_OR_START_FAILED);
+        }
+    }
+
+    /**
+     * Verarbeitet eine empfangendes HIT-Paket, indem das Resultat eines unserer
+     * Angriffe verbucht wird.
+     *
+     * @param x         X-Koordinate, welche wir angegriffen haben (laut HIT-Paket
+     *                  beziehungsweise Gegner)
+     * @param y         Y-Koordinate, welche wir angegriffen haben (laut HIT-Paket
+     *                  beziehungsweise Gegner)
+     * @param hitstatus Vom Gegner übermittelter Status
+     */
+    private void receiveAnswerToOwnAttack(final int x, final int y, final HitStatus hitstatus) {
+        synchronized (this.turnLock) {
+            switch (this.turnstatus) {
+                case WAITING_FOR_REPLY_AFTER_HIT:
+                    /*
+                     * Überprüfe, ob der Gegner uns eine Rückmeldung zu dem Feld gegeben hat,
+                     * welches wir auch angegriffen haben. Wenn der Gegner eine falsche Rückmeldung
+                     * gibt, können wir leider nicht viel tun. Wir informieren dann den Nutzer. Um
+                     * das Spiel nicht abbrechen zu müssen vertrauen wir in diesem Fall dem Gegner.
+                     */
+                    if (this.lastShoot == Coordinates.NONE || x != Coordinates.x(this.lastShoot)
+                            || y != Coordinates.y(this.lastShoot)) {
+                        this.logger.log(
+                                Level.SEVERE, "The opponent thinks we have attacked a square that we have not attacked."
+                        );
+                        this.logger.log(
+                                Level.FINE,
+                                () -> "lastShoot " + Coordinates.toString(this.lastShoot) + " Hit x=" + x + " y=" + y
+                        );
+                        this.notice(Level.SEVERE, "The opponent thinks we have attacked a square that we have not attacked.", "Our or the peer's instance seems to have a faulty implementation. Or the opponent is cheating. We have attacked one of the opponent's squares, but the opponent thinks we have attacked a different square. This is problematic. To continue the game, we trust the opponent and continue with the opponent's information.");
+                    }
+
+                    /* Schaue nach, wie der Gegner geantwortet hat und handle entsprechend. */
+                    switch (hitstatus) {
+                        case WATER:
+                            this.opposing.hit(x, y, OpposingFieldStatus.WATER);
+                            this.speculation.resolve(OpposingFieldStatus.WATER);
+                            this.observer.onAttackAnswered(x, y, hitstatus);
+                            this.changeTurn(TurnStatus.YOUR_TURN);
+                            break;
+
+                        case HIT:
+                            this.opposing.hit(x, y, OpposingFieldStatus.SHIP);
+                            this.speculation.resolve(OpposingFieldStatus.SHIP);
+                            this.observer.onAttackAnswered(x, y, hitstatus);
+                            this.changeTurn(TurnStatus.MY_TURN_AFTER_HIT);
+                            break;
+
+                        case SUNK:
+                            this.opposing.hit(x, y, OpposingFieldStatus.SUNK);
+                            this.speculation.resolve(OpposingFieldStatus.SUNK);
+                            this.observer.onAttackAnswered(x, y, hitstatus);
+                            this.changeTurn(TurnStatus.MY_TURN_AFTER_HIT);
+                            break;
+
+                        case SUNK_AND_VICTORY:
+                            this.speculation.clear();
+                            this.observer.onAttackAnswered(x, y, hitstatus);
+                            this.stopGame(GameEndStatus.SUCCESSFUL_WON);
+                            break;
+
+                        default:
+                            this.logger.log(Level.SEVERE, "The field we have hit has a unknown status.");
+                            this.notice(Level.SEVERE, "Invalid status", "The field we have hit has a unknown status. The game can be continued. The opponent must send a valid status code.");
+                            break;
+                    }
+                    break;
+
+                default:
+                    /*
+                     * Der Gegner hat uns eine Antwort auf einen Angriff gesendet, welchen wir nie
+                     * gestartet haben.
+                     */
+                    this.logger.log(Level.WARNING, "Peer has sent the result of an attack that we did not carry out.");
+                    this.notice(Level.SEVERE, "Invalid command", "The peer has sent a response to an attack that we never made. This is quite strange and could indicate a faulty implementation of this or the instance of the peer. The command from the peer is ignored. The game can be continued.");
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Verarbeitet einen Angriff des Gegners und antwortet entsprechend mit einem
+     * HIT-Paket.
+     *
+     * @param x X-Koordinate, welche der Gegner angreift
+     * @param y Y-Koordinate, welche der Gegner angreift
+     */
+    private void receiveAttack(final int x, final int y) {
+        synchronized (this.turnLock) {
+            switch (this.turnstatus) {
+                case YOUR_TURN_FIRST_TURN, YOUR_TURN, YOUR_TURN_AFTER_HIT:
+                    this.timings.mark(HandshakePhase.FIRST_SHOT);
+                    try {
+                        if (this.players.isShot(x, y)) {
+                            /* Erlaubt, aber ein Hinweis auf eine fehlerhafte KI des Gegners. */
+                            this.logger.log(Level.FINE, "The opponent attacks a field that has already been attacked.");
+                        }
+                        /* Ermittle das Schiff, welches der Gegner getroffen hat. */
+                        final PlayersShip ship = this.players.hit(x, y);
+                        if (ship == null) {
+                            /* Gegner hat Wasser getroffen */
+                            this.changeTurn(TurnStatus.MY_TURN);
+                            this.sendHit(x, y, HitStatus.WATER);
+                            this.observer.onAttackReceived(x, y, HitStatus.WATER);
+                        } else if (ship.isSunk()) {
+                            if (this.players.allSunk()) {
+                                /* Schiff versenkt und gewonnen */
+                                this.sendHit(x, y, HitStatus.SUNK_AND_VICTORY);
+                                this.observer.onAttackReceived(x, y, HitStatus.SUNK_AND_VICTORY);
+                                this.stopGame(GameEndStatus.SUCCESSFUL_LOST);
+                            } else {
+                                /* Schiff versenkt */
+                                this.sendHit(x, y, HitStatus.SUNK);
+                                this.observer.onAttackReceived(x, y, HitStatus.SUNK);
+                                this.changeTurn(TurnStatus.YOUR_TURN_AFTER_HIT);
+                            }
+                        } else {
+                            /* Schiff getroffen */
+                            this.sendHit(x, y, HitStatus.HIT);
+                            this.observer.onAttackReceived(x, y, HitStatus.HIT);
+                            this.changeTurn(TurnStatus.YOUR_TURN_AFTER_HIT);
+                        }
+                    } catch (final Exception e) {
+                        this.logger.log(Level.SEVERE, "Error in telling the peer about their attack.", e);
+                        this.notice(Level.SEVERE, "Error sending the message", "The opponent has attacked and we wanted to inform them of the result of their attack, but an error has occurred. It is now the opponent's turn.");
+                    }
+                    break;
+
+                default:
+                    this.logger.log(Level.WARNING, "The opponent tries to attack even though it is not his turn.");
+                    this.notice(Level.SEVERE, "Invalid command", "The opponent tries to attack even though it is not their turn. Our implementation or that of the peer could be faulty. Or the opponent is trying to cheat. To continue the game, we ignore this command from the opponent.");
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Startet das Spiel (nach einem COIN-Paket).
+     *
+     * @param peersCoin Die Münze des Gegners (entweder "0" oder "1").
+     */
+    private void startGame(final String peersCoin) {
+        try {
+            synchronized (this.turnLock) {
+                if (this.turnstatus != TurnStatus.NOT_READY_HANDSHAKE_PHASE2_PERFORMED) {
+                    this.logger.log(Level.SEVERE, "The game is to be started, although it has not yet been prepared.");
+                    return;
+                }
+
+                final int peerCoinValue = Integer.parseInt(peersCoin);
+                final int myCoinValue = Integer.parseInt(this.myCoin);
+
+                final int xorResult = peerCoinValue ^ myCoinValue;
+
+                final boolean serverStarts = xorResult == 1;
+
+                final boolean weStart = this.isServer == serverStarts;
+
+                this.logger.log(
+                        Level.FINER,
+                        () -> "XOR COIN result: " + xorResult + " -> serverStarts? " + serverStarts + " -> weStart? "
+                                + weStart + " (isServer? " + this.isServer + ")"
+                );
+                if (weStart) {
+                    this.logger.log(Level.INFO, "We start the game.");
+                } else {
+                    this.logger.log(Level.INFO, "The peer starts the game.");
+                }
+                this.timings.mark(HandshakePhase.GAME_STARTED);
+                this.changeTurn(weStart ? TurnStatus.MY_TURN_FIRST_TURN : TurnStatus.YOUR_TURN_FIRST_TURN);
+                this.observer.onGameStarted(weStart);
+            }
+        } catch (final Exception e) {
+            this.logger.log(Level.SEVERE, "Error when starting the game.", e);
+            this.stopGame(GameEndStatus.GAME_PREPARATION_OR_START_FAILED);
+        }
+    }
+
+    /**
+     * Bricht ein Spiel zum schnellstmöglich nächstmöglichen (von Locks abhängig)
+     * Zeitpunkt ab.
+     *
+     * @param status Status, mit welchem das Spiel abgebrochen werden soll. Dieser
+     *               Wert wird später dem GameExitHandler übergeben.
+     */
+    private void stopGame(final GameEndStatus status) {
+        if (this.isRunning.compareAndSet(true, false)) {
+            this.logger.log(Level.FINE, "Stop current game with status {0}.", status);
+            final MoveCache cache = this.moveCache;
+            if (cache != null) {
+                this.logger.log(Level.FINE, () -> "Move cache: " + cache);
+            }
+            this.publish(status);
+            this.logger.log(Level.FINE, "Wait for turnlock to stop game.");
+            synchronized (this.turnLock) {
+                this.logger.log(Level.FINE, "Turnlock received.");
+                /* Verwirft alle ausstehenden Vorausberechnungen, bevor das Spielfeld verworfen wird. */
+                this.speculation.clear();
+                this.computerPlays = false;
+
+                try {
+                    this.observer.onGameEnded(status);
+                } catch (final RuntimeException e) {
+                    this.logger.log(Level.SEVERE, "Game observer failed on game end.", e);
+                }
+
+                if (this.readThread != null && this.readThread.isAlive()) {
+                    this.readThread.interrupt();
+                }
+
+                try {
+                    if (this.connection != null) {
+                        this.connection.close();
+                    }
+                } catch (final IOException e) {
+                    this.logger.log(Level.SEVERE, "The connection to the peer could not be closed.", e);
+                    this.notice(Level.SEVERE, "Error while waiting.", "The connection to the peer could not be closed. This should not happen. A restart of the game is recommended. Please report the error to the developers.");
+                }
+
+                this.myCoin = null;
+                this.opposing = null;
+                this.players = null;
+                this.readThread = null;
+                this.connection = null;
+
+                /* Abonnenten erhalten noch alle bisherigen Ereignisse, danach keine mehr. */
+                this.publisher.execute(this.eventBus::close);
+                this.publisher.shutdown();
+
+                this.logger.log(Level.INFO, "Game stopped.");
+
+                if (this.gameexithandler == null) {
+                    this.logger.log(Level.WARNING, "No game exit handler.");
+                } else {
+                    this.logger.log(Level.FINE, "Run game exit handler.");
+                    this.gameexithandler.handle(status);
+                }
+            }
+        } else {
+            this.logger.log(Level.FINE, "Game already stopped.");
+        }
+    }
+}
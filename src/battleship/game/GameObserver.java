@@ -0,0 +1,117 @@
+package battleship.game;
+
+import java.util.logging.Level;
+
+import battleship.network.commands.HitStatus;
+import battleship.opposingthings.OpposingPlayingField;
+import battleship.playersthings.PlayersPlayingField;
+
+/**
+ * Beobachter einer `GameEngine`. Über diese Schnittstelle erfährt eine
+ * Oberfläche (z. B. die Swing-Oberfläche in `GameSession`) von allen
+ * Zustandsänderungen des Spiels. Die Spiellogik selbst hängt damit von keiner
+ * Oberfläche ab.
+ *
+ * Alle Methoden werden im Thread der Spiellogik (meist dem Lese-Thread der
+ * Verbindung) und unter der Sperre des Spiels aufgerufen. Sie sollten daher
+ * schnell zurückkehren und länger dauernde Arbeiten selbst auslagern. Alle
+ * Methoden tun standardmäßig nichts.
+ */
+public interface GameObserver {
+    /**
+     * Das Level ist ausgehandelt und beide Spielbretter sind angelegt. Die
+     * Spielbretter bleiben bis zum Spielende dieselben Objekte.
+     *
+     * @param size     Breite und Höhe der Spielbretter
+     * @param players  Unser Spielbrett mit unseren Schiffen
+     * @param opposing Unser Wissen über das Spielbrett des Gegners
+     */
+    default void onGamePrepared(
+            final int size, final PlayersPlayingField players, final OpposingPlayingField opposing
+    ) {
+        /* Standardmäßig nichts tun */
+    }
+
+    /**
+     * Ein Spieler ist dem Spiel beigetreten.
+     *
+     * @param name Der Name des Spielers
+     */
+    default void onPeerJoined(final String name) {
+        /* Standardmäßig nichts tun */
+    }
+
+    /**
+     * Der Münzwurf ist entschieden und das Spiel beginnt.
+     *
+     * @param weStart true, wenn wir den ersten Zug haben
+     */
+    default void onGameStarted(final boolean weStart) {
+        /* Standardmäßig nichts tun */
+    }
+
+    /**
+     * Der Runden-Status hat sich geändert.
+     *
+     * @param turnstatus Der neue Runden-Status
+     */
+    default void onTurnChanged(final TurnStatus turnstatus) {
+        /* Standardmäßig nichts tun */
+    }
+
+    /**
+     * Der Gegner hat uns das Ergebnis unseres Angriffs mitgeteilt. Das Spielbrett
+     * des Gegners ist bereits aktualisiert.
+     *
+     * @param x         X-Koordinate des Angriffs
+     * @param y         Y-Koordinate des Angriffs
+     * @param hitstatus Das Ergebnis
+     */
+    default void onAttackAnswered(final int x, final int y, final HitStatus hitstatus) {
+        /* Standardmäßig nichts tun */
+    }
+
+    /**
+     * Der Gegner hat uns angegriffen. Unser Spielbrett ist bereits aktualisiert
+     * und das Ergebnis an den Gegner gesendet.
+     *
+     * @param x         X-Koordinate des Angriffs
+     * @param y         Y-Koordinate des Angriffs
+     * @param hitstatus Das Ergebnis
+     */
+    default void onAttackReceived(final int x, final int y, final HitStatus hitstatus) {
+        /* Standardmäßig nichts tun */
+    }
+
+    /**
+     * Der Gegner hat eine Chat-Nachricht gesendet.
+     *
+     * @param name    Der Name des Gegners
+     * @param message Die Nachricht
+     */
+    default void onChatMessage(final String name, final String message) {
+        /* Standardmäßig nichts tun */
+    }
+
+    /**
+     * Ein Hinweis für den Nutzer, z. B. über ein fehlerhaftes Paket des Gegners.
+     * Die Spiellogik hat den Hinweis bereits protokolliert.
+     *
+     * @param level   Schwere des Hinweises (`Level.INFO`, `Level.WARNING` oder
+     *                `Level.SEVERE`)
+     * @param title   Kurze Überschrift
+     * @param message Ausführliche Beschreibung
+     */
+    default void onNotice(final Level level, final String title, final String message) {
+        /* Standardmäßig nichts tun */
+    }
+
+    /**
+     * Das Spiel wurde beendet. Wird vor dem `GameExitHandler` aufgerufen.
+     *
+     * @param status Der Grund des Spielendes
+     */
+    default void onGameEnded(final GameEndStatus status) {
+        /* Standardmäßig nichts tun */
+    }
+}
@@ -0,0 +1,32 @@
+package battleship.game;
+
+/**
+ * Phasen vom Beginn einer Spiele-Sitzung bis zum ersten Schuss. Wird von
+ * `HandshakeTimings` gemessen.
+ */
+enum HandshakePhase {
+    /**
+     * Unsere Handshake-Pakete (VERSION, IAM, IAMU und ggf. COIN) wurden gesendet.
+     */
+    HANDSHAKE_SENT,
+
+    /**
+     * Das IAM-Paket des Gegners wurde empfangen.
+     */
+    PEER_IAM_RECEIVED,
+
+    /**
+     * Unsere Schiffe sind für das ausgehandelte Level platziert.
+     */
+    SHIPS_PLACED,
+
+    /**
+     * Das COIN-Paket des Gegners wurde empfangen und das Spiel hat begonnen.
+     */
+    GAME_STARTED,
+
+    /**
+     * Der erste Schuss wurde abgegeben oder empfangen.
+     */
+    FIRST_SHOT
+}
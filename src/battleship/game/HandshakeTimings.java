@@ -0,0 +1,79 @@
+package battleship.game;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import battleship.Constants;
+
+/**
+ * Misst, wann die einzelnen Phasen des Spielstarts (siehe `HandshakePhase`)
+ * nach dem Beginn der Spiele-Sitzung erreicht wurden. Sobald der erste Schuss
+ * gefallen ist, werden alle Zeiten geloggt.
+ *
+ * Die Phasen können von beliebigen Threads markiert werden. Gezählt wird jeweils
+ * nur die erste Markierung einer Phase.
+ */
+final class HandshakeTimings {
+    private static final long UNSET = -1;
+    private static final HandshakePhase[] PHASES = HandshakePhase.values();
+
+    private final long start;
+    private final AtomicLongArray elapsed;
+    private final Logger logger;
+
+    /**
+     * Beginnt die Messung.
+     */
+    HandshakeTimings() {
+        this.logger = Logger.getLogger(HandshakeTimings.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+
+        this.start = System.nanoTime();
+        this.elapsed = new AtomicLongArray(PHASES.length);
+        for (int i = 0; i < PHASES.length; i++) {
+            this.elapsed.set(i, UNSET);
+        }
+    }
+
+    /**
+     * Markiert, dass eine Phase erreicht wurde.
+     *
+     * @param phase Die erreichte Phase
+     */
+    void mark(final HandshakePhase phase) {
+        if (this.elapsed.compareAndSet(phase.ordinal(), UNSET, System.nanoTime() - this.start)
+                && phase == HandshakePhase.FIRST_SHOT) {
+            this.logger.log(Level.INFO, "Handshake timings: {0}", this);
+        }
+    }
+
+    /**
+     * Gibt die Zeit vom Beginn der Sitzung bis zum Erreichen einer Phase zurück.
+     *
+     * @param phase Die Phase
+     * @return Zeit in Nanosekunden oder -1, wenn die Phase noch nicht erreicht
+     *         wurde
+     */
+    long getElapsedNanos(final HandshakePhase phase) {
+        return this.elapsed.get(phase.ordinal());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (final HandshakePhase phase : PHASES) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(phase).append('=');
+            final long nanos = this.getElapsedNanos(phase);
+            if (nanos == UNSET) {
+                builder.append('-');
+            } else {
+                builder.append(nanos / 1_000).append(" us");
+            }
+        }
+        return builder.toString();
+    }
+}
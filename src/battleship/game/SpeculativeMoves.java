@@ -0,0 +1,249 @@
+package battleship.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import battleship.Constants;
+import battleship.board.Coordinates;
+import battleship.opposingthings.Deadline;
+import battleship.opposingthings.Difficulty;
+import battleship.opposingthings.OpposingFieldStatus;
+import battleship.opposingthings.OpposingPlayingField;
+
+/**
+ * Berechnet die Züge des Computers im Hintergrund voraus (siehe
+ * `Constants.SPECULATIVE_MOVES`). Während wir auf die Antwort zu unserem Schuss
+ * warten, wird für jede mögliche Antwort (Wasser, Treffer, versenkt) auf einer
+ * Kopie des `OpposingPlayingField` der folgende Zug berechnet. Ist der Gegner am
+ * Zug, wird der nächste Zug für den aktuellen Stand berechnet. Trifft die
+ * Antwort ein bzw. sind wir wieder am Zug, steht der Zug meist schon fest.
+ * Die `GameEngine` rechnet nur voraus, solange der Computer unsere Züge spielt.
+ *
+ * Die Antworten auf einen Schuss teilen sich die Bedenkzeit eines Zuges,
+ * zusammen rechnen sie also nicht länger als der Zug selbst. Ein
+ * vorausberechneter Zug wird nur verwendet, wenn auf der Kopie genau dieselben
+ * Felder bekannt sind wie auf dem echten Spielfeld. Verworfene Berechnungen
+ * werden über ihre Frist abgebrochen (siehe `Deadline.cancelledBy()`), noch
+ * nicht gestartete laufen gar nicht erst.
+ *
+ * Alle Methoden werden unter der Sperre der `GameEngine` aufgerufen.
+ */
+final class SpeculativeMoves {
+    /* Die möglichen Antworten auf einen Schuss, welche nicht das Spiel beenden. */
+    private static final OpposingFieldStatus[] OUTCOMES = {
+            OpposingFieldStatus.WATER, OpposingFieldStatus.SHIP, OpposingFieldStatus.SUNK
+    };
+
+    /* Anzahl der Threads für Vorausberechnungen aller Spiele. */
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Gemeinsamer Executor aller Vorausberechnungen. Er ist begrenzt, damit
+     * Vorausberechnungen vieler Spiele nicht die Züge verdrängen, welche
+     * tatsächlich gespielt werden. Virtuelle Threads scheiden aus: `take()` wartet
+     * unter der Sperre der `GameEngine` auf das Ergebnis und würde dabei den
+     * Träger-Thread blockieren.
+     */
+    private static final ThreadPoolExecutor THINKER = new ThreadPoolExecutor(
+            THREADS, THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            Thread.ofPlatform().daemon().name("battleship-speculation-", 0).factory()
+    );
+
+    static {
+        THINKER.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Ein im Hintergrund berechneter Zug für einen angenommenen Spielstand.
+     */
+    private static final class Speculation {
+        /* Die angenommene Antwort auf den letzten Schuss, null wenn keine angenommen wurde. */
+        private final OpposingFieldStatus outcome;
+        /* Das Spielfeld, für welches der Zug berechnet wird. */
+        private final OpposingPlayingField snapshot;
+        /* Wird gesetzt, sobald der Zug nicht mehr benötigt wird. */
+        private final AtomicBoolean cancelled;
+        /* Wird gesetzt, sobald die Berechnung begonnen hat. */
+        private volatile boolean started;
+        /* Der Zug als gepackte Koordinaten. */
+        private CompletableFuture<Integer> move;
+
+        private Speculation(final OpposingFieldStatus outcome, final OpposingPlayingField snapshot) {
+            this.outcome = outcome;
+            this.snapshot = snapshot;
+            this.cancelled = new AtomicBoolean();
+        }
+
+        /**
+         * Bricht die Berechnung ab. Eine noch nicht gestartete Berechnung läuft
+         * nicht mehr, eine laufende endet bei der nächsten Prüfung ihrer Frist.
+         */
+        private void cancel() {
+            this.cancelled.set(true);
+            this.move.cancel(false);
+        }
+    }
+
+    private final Logger logger;
+    /* Die Züge je möglicher Antwort auf den noch unbeantworteten Schuss. */
+    private final List<Speculation> pending;
+    /* Der Zug für den aktuellen Spielstand, null wenn keiner berechnet wird. */
+    private Speculation ready;
+
+    SpeculativeMoves() {
+        this.logger = Logger.getLogger(SpeculativeMoves.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+        this.pending = new ArrayList<>(OUTCOMES.length);
+    }
+
+    /**
+     * Beginnt für jede mögliche Antwort auf einen gerade abgegebenen Schuss mit
+     * der Berechnung des folgenden Zuges. Bisherige Berechnungen werden
+     * verworfen.
+     *
+     * @param opposing   Das Spielfeld vor der Antwort
+     * @param x          X-Koordinate des Schusses
+     * @param y          Y-Koordinate des Schusses
+     * @param difficulty Die Stufe, mit welcher der Computer spielt
+     */
+    void speculate(final OpposingPlayingField opposing, final int x, final int y, final Difficulty difficulty) {
+        this.clear();
+        if (!Constants.SPECULATIVE_MOVES) {
+            return;
+        }
+        for (final OpposingFieldStatus outcome : OUTCOMES) {
+            final OpposingPlayingField snapshot = opposing.copy();
+            try {
+                snapshot.hit(x, y, outcome);
+            } catch (final RuntimeException e) {
+                /* Diese Antwort ist mit den bekannten Feldern nicht vereinbar. */
+                this.logger.log(Level.FINEST, () -> "Outcome " + outcome + " is impossible: " + e.getMessage());
+                continue;
+            }
+            this.pending.add(new Speculation(outcome, snapshot));
+        }
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        /* Nur eine der Antworten wird gebraucht, daher teilen sie sich die Bedenkzeit. */
+        final long budgetNanos = difficulty.getBudgetMillis() * 1_000_000 / this.pending.size();
+        for (final Speculation speculation : this.pending) {
+            this.start(speculation, budgetNanos);
+        }
+    }
+
+    /**
+     * Übernimmt die Berechnung für die eingetroffene Antwort und verwirft die
+     * übrigen.
+     *
+     * @param outcome Die Antwort des Gegners
+     */
+    void resolve(final OpposingFieldStatus outcome) {
+        for (final Speculation speculation : this.pending) {
+            if (speculation.outcome == outcome) {
+                this.ready = speculation;
+            } else {
+                speculation.cancel();
+            }
+        }
+        this.pending.clear();
+    }
+
+    /**
+     * Beginnt mit der Berechnung des nächsten Zuges für den aktuellen Stand,
+     * sofern dieser nicht bereits berechnet wird.
+     *
+     * @param opposing   Das aktuelle Spielfeld
+     * @param difficulty Die Stufe, mit welcher der Computer spielt
+     */
+    void prewarm(final OpposingPlayingField opposing, final Difficulty difficulty) {
+        if (!Constants.SPECULATIVE_MOVES || this.ready != null && this.ready.snapshot.hasSameFields(opposing)) {
+            return;
+        }
+        this.cancelReady();
+        this.ready = new Speculation(null, opposing.copy());
+        this.start(this.ready, difficulty.getBudgetMillis() * 1_000_000);
+    }
+
+    /**
+     * Gibt den vorausberechneten Zug für den aktuellen Stand zurück und wartet
+     * dafür ggf. auf das Ende seiner Berechnung, welche durch ihre Frist begrenzt
+     * ist. Hat die Berechnung noch nicht begonnen, wird nicht gewartet.
+     *
+     * @param opposing Das aktuelle Spielfeld
+     * @return Der Zug als gepackte Koordinaten oder `Coordinates.NONE`, wenn kein
+     *         passender Zug vorausberechnet wurde
+     */
+    int take(final OpposingPlayingField opposing) {
+        final Speculation speculation = this.ready;
+        this.ready = null;
+        if (speculation == null) {
+            return Coordinates.NONE;
+        }
+        if (!speculation.snapshot.hasSameFields(opposing)) {
+            speculation.cancel();
+            this.logger.log(Level.FINEST, "Speculative move is outdated.");
+            return Coordinates.NONE;
+        }
+        if (!speculation.started) {
+            /* Alle Threads sind belegt, selbst zu rechnen ist schneller als zu warten. */
+            speculation.cancel();
+            this.logger.log(Level.FINEST, "Speculative move has not started yet.");
+            return Coordinates.NONE;
+        }
+        final int move;
+        try {
+            move = speculation.move.join();
+        } catch (final CancellationException | CompletionException e) {
+            this.logger.log(Level.FINE, "Speculative move failed.", e);
+            return Coordinates.NONE;
+        }
+        if (move == Coordinates.NONE || !opposing.isUnknown(Coordinates.x(move), Coordinates.y(move))) {
+            return Coordinates.NONE;
+        }
+        return move;
+    }
+
+    /**
+     * Verwirft alle Berechnungen.
+     */
+    void clear() {
+        for (final Speculation speculation : this.pending) {
+            speculation.cancel();
+        }
+        this.pending.clear();
+        this.cancelReady();
+    }
+
+    private void cancelReady() {
+        if (this.ready != null) {
+            this.ready.cancel();
+            this.ready = null;
+        }
+    }
+
+    /**
+     * Startet die Berechnung des Zuges einer Vorausberechnung.
+     *
+     * @param speculation Die Vorausberechnung
+     * @param budgetNanos Die Bedenkzeit in Nanosekunden
+     */
+    private void start(final Speculation speculation, final long budgetNanos) {
+        speculation.move = CompletableFuture.supplyAsync(() -> {
+            speculation.started = true;
+            /* Die Frist beginnt erst, wenn die Berechnung tatsächlich startet. */
+            final Deadline deadline = Deadline.after(Difficulty.CLOCK, budgetNanos)
+                    .cancelledBy(speculation.cancelled::get);
+            return speculation.snapshot.getComputerMoveCoordinates(deadline);
+        }, THINKER);
+    }
+}
@@ -0,0 +1,11 @@
+package battleship.network;
+
+/**
+ * Wird vom `SelectorServer` für jede angenommene Verbindung aufgerufen. Der
+ * Aufruf erfolgt wie bei den Event-Handlern außerhalb des Event-Loops, aber vor
+ * dem ersten Ereignis der Verbindung. Hier sollte also der Event-Handler
+ * gesetzt werden.
+ */
+public interface AcceptHandler {
+    void handle(Connection connection);
+}
@@ -0,0 +1,210 @@
+package battleship.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import battleship.Constants;
+
+/**
+ * Übertragung über einen nicht-blockierenden `SocketChannel`, welcher von einem
+ * `EventLoop` bedient wird. Es existiert kein eigener Lese-Thread: Sobald Daten
+ * vorliegen, verarbeitet der Event-Loop die empfangenen Befehle und ruft damit
+ * die Event-Handler der Verbindung auf.
+ *
+ * Zu sendende Bytes werden in einem Puffer gesammelt und vom Event-Loop
+ * geschrieben. Kann der Kanal nicht alles auf einmal aufnehmen, wartet der
+ * Event-Loop auf `OP_WRITE`, ohne dabei andere Verbindungen aufzuhalten.
+ * Liest der Peer nicht mehr, wächst der Puffer nur bis `MAX_OUTBOUND_SIZE`,
+ * danach wird die Verbindung abgebrochen. Ist alles gesendet, wird ein
+ * gewachsener Puffer wieder freigegeben.
+ */
+final class ChannelTransport implements Transport, SelectionHandler {
+    /**
+     * Anfangsgröße des Sendepuffers. Bewusst klein gehalten, damit ruhende
+     * Verbindungen kaum Speicher belegen.
+     */
+    private static final int INITIAL_OUTBOUND_SIZE = 256;
+    /**
+     * Maximale Größe des Sendepuffers. Ein Spiel sendet nur wenige kurze Befehle
+     * pro Runde, so viele ungesendete Bytes entstehen nur, wenn der Peer nicht
+     * mehr liest.
+     */
+    static final int MAX_OUTBOUND_SIZE = 256 * 1024;
+
+    private final SocketChannel channel;
+    private final EventLoop loop;
+    private final Object outboundLock;
+    /* Sendepuffer im Schreibmodus. Wird erst beim ersten Senden angelegt. */
+    private ByteBuffer outbound;
+    private final AtomicBoolean flushScheduled;
+    private SelectionKey key;
+    private Connection connection;
+    private final Logger logger;
+
+    /**
+     * Erstellt eine Übertragung über einen nicht-blockierenden Kanal.
+     *
+     * @param channel Der Kanal (muss nicht-blockierend sein)
+     * @param loop    Der Event-Loop, welcher den Kanal bedient
+     */
+    ChannelTransport(final SocketChannel channel, final EventLoop loop) {
+        this.logger = Logger.getLogger(ChannelTransport.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+
+        this.channel = channel;
+        this.loop = loop;
+        this.outboundLock = new Object();
+        this.flushScheduled = new AtomicBoolean(false);
+    }
+
+    /**
+     * Verknüpft die Übertragung mit ihrer Spiele-Verbindung und registriert den
+     * Kanal am Event-Loop. Muss im Event-Loop aufgerufen werden.
+     *
+     * @param connection Die Spiele-Verbindung, welche diese Übertragung nutzt
+     * @throws IOException
+     */
+    void register(final Connection connection) throws IOException {
+        this.connection = connection;
+        this.key = this.loop.register(this.channel, SelectionKey.OP_READ, this);
+        this.flushPending();
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        return this.channel.read(dst);
+    }
+
+    @Override
+    public void write(final byte[] data, final int offset, final int length) throws IOException {
+        if (!this.channel.isOpen()) {
+            throw new IOException("Channel is closed.");
+        }
+        synchronized (this.outboundLock) {
+            final int buffered = this.outbound == null ? 0 : this.outbound.position();
+            if (buffered + length > MAX_OUTBOUND_SIZE) {
+                final IOException e = new IOException("Send buffer overflow, the peer does not read.");
+                /* Nicht direkt abbrechen, der Aufrufer leert gerade die Sende-Warteschlange. */
+                this.loop.execute(() -> this.handleFailure(e));
+                throw e;
+            }
+            if (this.outbound == null) {
+                this.outbound = ByteBuffer.allocate(Math.max(INITIAL_OUTBOUND_SIZE, length));
+            } else if (this.outbound.remaining() < length) {
+                final ByteBuffer larger = ByteBuffer.allocate(
+                        Math.min(MAX_OUTBOUND_SIZE, Math.max(this.outbound.capacity() * 2, buffered + length))
+                );
+                this.outbound.flip();
+                larger.put(this.outbound);
+                this.outbound = larger;
+            }
+            this.outbound.put(data, offset, length);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (this.loop.inEventLoop()) {
+            this.flushPending();
+        } else if (this.flushScheduled.compareAndSet(false, true)) {
+            this.loop.execute(() -> {
+                this.flushScheduled.set(false);
+                try {
+                    this.flushPending();
+                } catch (final IOException e) {
+                    this.handleFailure(e);
+                }
+            });
+        }
+    }
+
+    @Override
+    public Executor getWriteExecutor() {
+        return this.loop;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return this.channel.isOpen() && this.channel.isConnected();
+    }
+
+    @Override
+    public boolean isDrivenByEventLoop() {
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.key != null) {
+            this.key.cancel();
+        }
+        this.channel.close();
+    }
+
+    /**
+     * Gibt die aktuelle Größe des Sendepuffers zurück.
+     *
+     * @return Größe in Bytes, 0 wenn kein Puffer angelegt ist
+     */
+    int getOutboundCapacity() {
+        synchronized (this.outboundLock) {
+            return this.outbound == null ? 0 : this.outbound.capacity();
+        }
+    }
+
+    @Override
+    public void handleSelection(final SelectionKey selectedKey) throws IOException {
+        if (selectedKey.isWritable()) {
+            this.flushPending();
+        }
+        if (selectedKey.isValid() && selectedKey.isReadable() && !this.connection.readAvailableCommands()) {
+            this.close();
+        }
+    }
+
+    @Override
+    public void handleFailure(final Exception e) {
+        this.logger.log(Level.SEVERE, "Error on event-driven connection.", e);
+        this.connection.abort();
+    }
+
+    /**
+     * Schreibt so viel des Sendepuffers wie möglich in den Kanal und meldet,
+     * abhängig vom Rest, Interesse an `OP_WRITE` an oder ab. Muss im Event-Loop
+     * aufgerufen werden.
+     *
+     * @throws IOException
+     */
+    private void flushPending() throws IOException {
+        if (this.key == null || !this.key.isValid()) {
+            /* Noch nicht registriert. `register()` holt das Senden nach. */
+            return;
+        }
+        final boolean pending;
+        synchronized (this.outboundLock) {
+            if (this.outbound == null || this.outbound.position() == 0) {
+                pending = false;
+            } else {
+                this.outbound.flip();
+                this.channel.write(this.outbound);
+                this.outbound.compact();
+                pending = this.outbound.position() > 0;
+                if (!pending && this.outbound.capacity() > INITIAL_OUTBOUND_SIZE) {
+                    /* Der gewachsene Puffer wird erst beim nächsten Senden neu angelegt. */
+                    this.outbound = null;
+                }
+            }
+        }
+        if (pending) {
+            this.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } else {
+            this.key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+}
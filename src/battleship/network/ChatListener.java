@@ -0,0 +1,10 @@
+package battleship.network;
+
+/**
+ * Listener für `CHAT_COMMAND_RECEIVED`.
+ */
+@FunctionalInterface
+public interface ChatListener extends ConnectionListener {
+    @Override
+    void onChat(String message);
+}
@@ -0,0 +1,10 @@
+package battleship.network;
+
+/**
+ * Listener für `COIN_COMMAND_RECEIVED`.
+ */
+@FunctionalInterface
+public interface CoinListener extends ConnectionListener {
+    @Override
+    void onCoin(String coin);
+}
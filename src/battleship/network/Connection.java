@@ -1,19 +1,24 @@
 package battleship.network;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.InterruptedIOException;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import battleship.Constants;
+import battleship.eventbus.EventBus;
 import battleship.network.commands.Chat;
 import battleship.network.commands.Coin;
 import battleship.network.commands.Command;
+import battleship.network.commands.CommandDecoder;
+import battleship.network.commands.CommandKeyword;
 import battleship.network.commands.Hit;
 import battleship.network.commands.HitStatus;
 import battleship.network.commands.IAM;
@@ -24,18 +29,73 @@ import battleship.network.commands.Withdraw;
 import battleship.utils.Utils;
 
 public final class Connection {
-    private final Socket socket;
-    private final BufferedWriter writer;
-    private final BufferedReader reader;
+    /**
+     * Anfangsgröße des Empfangspuffers. Bewusst klein gehalten, damit ruhende
+     * Verbindungen kaum Speicher belegen. Für längere Zeilen wächst der Puffer.
+     */
+    private static final int INITIAL_INBOUND_SIZE = 256;
+    /**
+     * Maximale Länge einer empfangenen Zeile in Bytes.
+     */
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    /**
+     * Ergebnis von `flush()`, wenn nichts mehr zu senden ist.
+     */
+    private static final CompletableFuture<Void> FLUSHED = CompletableFuture.completedFuture(null);
+    /**
+     * Ruft die Listener direkt im lesenden bzw. sendenden Thread auf.
+     */
+    private static final Executor DIRECT = Runnable::run;
+    /**
+     * Ereignisse nach dem Senden eines einzelnen Befehls, nach Ordinal des
+     * Ereignisses. Geteilt, damit das Senden nichts allokiert.
+     */
+    private static final ConnectionEvent[][] SENT_EVENTS = new ConnectionEvent[ConnectionEvent.values().length][];
+    /**
+     * Ereignisse nach dem Senden des gebündelten Handshakes in dessen Reihenfolge.
+     */
+    private static final ConnectionEvent[] HANDSHAKE_SENT_EVENTS = {
+            ConnectionEvent.VERSION_COMMAND_SENT, ConnectionEvent.IAM_COMMAND_SENT, ConnectionEvent.IAMU_COMMAND_SENT,
+            ConnectionEvent.COIN_COMMAND_SENT
+    };
+
+    static {
+        for (final ConnectionEvent event : ConnectionEvent.values()) {
+            SENT_EVENTS[event.ordinal()] = new ConnectionEvent[] { event };
+        }
+    }
+
+    private final Transport transport;
+    private final TransportProfile profile;
+    /* Warteschlange der zu sendenden Befehle. Schreibende Aufrufer blockieren nie. */
+    private final OutboundQueue outboundQueue;
+    /* Empfangspuffer im Schreibmodus: [0, position) enthält empfangene Bytes. */
+    private ByteBuffer inbound;
+    /* Bis hierhin wurde der Empfangspuffer bereits erfolglos nach '\n' durchsucht. */
+    private int inboundScanned;
+    /* Dekodiert die häufigen Befehle ohne Allokationen direkt aus `inbound`. */
+    private final CommandDecoder decoder;
     private String peerImplementation;
     private String peersName;
     private String peersUnicodeName;
     private String peersLevel;
-    private EventHandler eventhandler;
+    /*
+     * Listener pro Ereignis. Wird bei jeder Änderung kopiert, sodass der lesende
+     * Thread ohne Sperre darauf zugreifen kann.
+     */
+    private volatile EnumMap<ConnectionEvent, ConnectionListener> listeners;
+    /* Bus, auf welchem zusätzlich alle Ereignisse veröffentlicht werden. */
+    private volatile EventBus<? super ConnectionEvent> eventBus;
+    /*
+     * Führt die Listener nacheinander aus. Bei einem Event-Loop außerhalb von
+     * diesem, damit blockierende Spiellogik keine anderen Verbindungen aufhält.
+     */
+    private final Executor handlerExecutor;
     private final Logger logger;
 
     /**
-     * Baut eine Verbindung als Client zu einem Server auf.
+     * Baut eine Verbindung als Client zu einem Server auf. Es wird das Profil
+     * `TransportProfile.LATENCY` verwendet.
      *
      * @param host Hostname des Servers
      * @param port Port des Servers
@@ -43,13 +103,53 @@ public final class Connection {
      * @throws IOException
      */
     public static Connection connectTo(final String host, final int port) throws IOException {
+        return connectTo(host, port, TransportProfile.LATENCY);
+    }
+
+    /**
+     * Baut eine Verbindung als Client zu einem Server auf.
+     *
+     * @param host    Hostname des Servers
+     * @param port    Port des Servers
+     * @param profile Das Profil der Verbindung
+     * @return Liefert eine Spiele-Verbindung zurück
+     * @throws IOException
+     */
+    public static Connection connectTo(final String host, final int port, final TransportProfile profile)
+            throws IOException {
         final Logger logger = Logger.getLogger(Connection.class.getName());
         logger.setLevel(Constants.LOG_LEVEL);
 
-        logger.log(Level.INFO, () -> "Connect to " + host + ":" + port);
+        logger.log(Level.INFO, () -> "Connect to " + host + ":" + port + " (" + profile + ")");
         final Socket socket = new Socket(host, port);
         logger.log(Level.INFO, "Connected.");
-        return new Connection(socket);
+        return new Connection(socket, profile);
+    }
+
+    /**
+     * Erstellt zwei miteinander verbundene Spiele-Verbindungen innerhalb
+     * derselben JVM, ohne Socket. Es wird das Profil `TransportProfile.LATENCY`
+     * verwendet.
+     *
+     * @return Beide Seiten der Verbindung
+     */
+    public static ConnectionPair createLoopbackPair() {
+        return createLoopbackPair(TransportProfile.LATENCY);
+    }
+
+    /**
+     * Erstellt zwei miteinander verbundene Spiele-Verbindungen innerhalb
+     * derselben JVM, ohne Socket. Beide Seiten sprechen dasselbe Protokoll wie
+     * über TCP, z. B. für Spiele zwischen zwei KIs oder für Simulationen. Gelesen
+     * wird wie gewohnt über `readCommand()`.
+     *
+     * @param profile Das Profil beider Seiten. Verwendet werden das Sendeverhalten
+     *                und der Lese-Timeout.
+     * @return Beide Seiten der Verbindung
+     */
+    public static ConnectionPair createLoopbackPair(final TransportProfile profile) {
+        final LoopbackTransport[] transports = LoopbackTransport.createPair(profile);
+        return new ConnectionPair(new Connection(transports[0], profile), new Connection(transports[1], profile));
     }
 
     /**
@@ -62,24 +162,153 @@ public final class Connection {
      * @throws IOException
      */
     public Connection(final Socket socket) throws IOException {
+        this(socket, TransportProfile.LATENCY);
+    }
+
+    /**
+     * Umhüllt eine Verbindung zu einer anderen Partei in eine Spiele-Verbindung
+     * mit einem bestimmten Profil.
+     *
+     * @param socket  Socket, welcher als Grundlage für diese Verbindung genutzt
+     *                werden soll.
+     * @param profile Das Profil der Verbindung
+     * @throws IOException
+     */
+    public Connection(final Socket socket, final TransportProfile profile) throws IOException {
+        this(new SocketTransport(socket, profile), profile);
+    }
+
+    /**
+     * Erstellt eine Spiele-Verbindung über eine beliebige Übertragung. Die
+     * Listener werden im lesenden bzw. sendenden Thread aufgerufen.
+     *
+     * @param transport Die zu verwendende Übertragung
+     * @param profile   Das Profil der Verbindung
+     */
+    Connection(final Transport transport, final TransportProfile profile) {
+        this(transport, profile, DIRECT);
+    }
+
+    /**
+     * Erstellt eine Spiele-Verbindung über eine beliebige Übertragung.
+     *
+     * @param transport       Die zu verwendende Übertragung
+     * @param profile         Das Profil der Verbindung
+     * @param handlerExecutor Führt die Listener aus. Muss diese nacheinander in
+     *                        der Reihenfolge der Ereignisse ausführen.
+     */
+    Connection(final Transport transport, final TransportProfile profile, final Executor handlerExecutor) {
         this.logger = Logger.getLogger(Connection.class.getName());
         this.logger.setLevel(Constants.LOG_LEVEL);
 
-        this.socket = socket;
-        this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
-        this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.transport = transport;
+        this.profile = profile;
+        this.outboundQueue = new OutboundQueue(transport, profile.isFlushImmediately(), this::fireEvent);
+        this.inbound = ByteBuffer.allocate(INITIAL_INBOUND_SIZE);
+        this.decoder = new CommandDecoder();
+        this.listeners = new EnumMap<>(ConnectionEvent.class);
+        this.handlerExecutor = handlerExecutor;
     }
 
     /**
      * Schließt die Spiele-Verbindung mit dem darunterliegenden Socket sowie die
-     * Reader- und Writer des Sockets.
+     * Reader- und Writer des Sockets. Bereits eingereihte Befehle werden vorher
+     * noch gesendet, wofür höchstens `Constants.CLOSE_TIMEOUT_MILLIS` gewartet
+     * wird. Der Aufrufer blockiert dabei nicht.
      *
      * @throws IOException
      */
     public void close() throws IOException {
-        this.socket.close();
-        this.reader.close();
-        this.writer.close();
+        this.outboundQueue.shutdown()
+                .orTimeout(Constants.CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                .whenComplete((result, e) -> this.closeTransport());
+    }
+
+    /**
+     * Bricht die Verbindung nach einem Fehler ab, welcher nicht von einem
+     * Lese-Thread behandelt werden kann (z. B. im Event-Loop). Die Verbindung wird
+     * sofort geschlossen, noch nicht gesendete Befehle schlagen fehl und der
+     * Event-Handler wird darüber informiert.
+     */
+    void abort() {
+        this.closeTransport();
+        this.outboundQueue.fail(new IOException("Connection aborted."));
+        this.fireEvent(ConnectionEvent.DISCONNECTED_WHILE_WAITING_FOR_COMMAND);
+    }
+
+    /**
+     * Schließt die darunterliegende Übertragung.
+     */
+    private void closeTransport() {
+        try {
+            this.transport.close();
+        } catch (final IOException e) {
+            this.logger.log(Level.WARNING, "Failed to close connection.", e);
+        }
+    }
+
+    /**
+     * Sendet alle bisher eingereihten Befehle. Bei `TransportProfile.THROUGHPUT`
+     * werden Befehle bis hierhin gesammelt, daher sollte dies an jeder
+     * Rundengrenze aufgerufen werden. Bei `TransportProfile.LATENCY` wird ohnehin
+     * jeder Befehl sofort gesendet.
+     *
+     * @return Wird abgeschlossen, sobald alle bisher eingereihten Befehle gesendet
+     *         wurden
+     */
+    public CompletableFuture<Void> flush() {
+        if (this.profile.isFlushImmediately() && this.outboundQueue.getDepth() == 0) {
+            return FLUSHED;
+        }
+        return this.outboundQueue.flush();
+    }
+
+    /**
+     * Gibt das Profil der Verbindung zurück.
+     *
+     * @return Das Profil
+     */
+    public TransportProfile getProfile() {
+        return this.profile;
+    }
+
+    /**
+     * Gibt die Anzahl der eingereihten, aber noch nicht gesendeten Befehle zurück.
+     *
+     * @return Länge der Sende-Warteschlange
+     */
+    public int getOutboundQueueDepth() {
+        return this.outboundQueue.getDepth();
+    }
+
+    /**
+     * Gibt die Anzahl der erfolgreich gesendeten Befehle zurück.
+     *
+     * @return Anzahl der gesendeten Befehle
+     */
+    public long getCompletedWrites() {
+        return this.outboundQueue.getCompletedWrites();
+    }
+
+    /**
+     * Gibt die durchschnittliche Zeit vom Einreihen bis zum Senden eines Befehls
+     * zurück.
+     *
+     * @return Durchschnittliche Latenz in Nanosekunden oder 0, wenn noch nichts
+     *         gesendet wurde
+     */
+    public long getAverageWriteLatencyNanos() {
+        final long writes = this.outboundQueue.getCompletedWrites();
+        return writes == 0 ? 0 : this.outboundQueue.getTotalLatencyNanos() / writes;
+    }
+
+    /**
+     * Gibt die größte Zeit vom Einreihen bis zum Senden eines Befehls zurück.
+     *
+     * @return Maximale Latenz in Nanosekunden
+     */
+    public long getMaxWriteLatencyNanos() {
+        return this.outboundQueue.getMaxLatencyNanos();
     }
 
     /**
@@ -128,7 +357,19 @@ public final class Connection {
      * @return true, wenn eine Verbindung besteht, sonst false
      */
     public boolean isConnected() {
-        return this.socket.isConnected() && !this.socket.isClosed();
+        return this.transport.isConnected();
+    }
+
+    /**
+     * Gibt an, ob die Verbindung von einem Event-Loop angetrieben wird (siehe
+     * `SelectorServer`). In diesem Fall werden empfangene Befehle automatisch
+     * verarbeitet und `readCommand()` darf nicht aufgerufen werden. Die Listener
+     * laufen dann nacheinander in Threads des Servers, nie im Event-Loop.
+     *
+     * @return true, wenn ein Event-Loop die Verbindung liest, sonst false
+     */
+    public boolean isDrivenByEventLoop() {
+        return this.transport.isDrivenByEventLoop();
     }
 
     /**
@@ -141,21 +382,182 @@ public final class Connection {
      * @throws IOException
      */
     public void readCommand() throws IOException {
-        final String line = this.reader.readLine();
+        while (!this.processNextLine()) {
+            this.ensureInboundCapacity();
+            final int read = this.transport.read(this.inbound);
+            if (read < 0) {
+                this.handleEndOfStream();
+                throw new RuntimeException("Null line received.");
+            }
+            if (read == 0 && Thread.currentThread().isInterrupted()) {
+                /* Der Lese-Timeout ist abgelaufen und der Lese-Thread soll beendet werden. */
+                throw new InterruptedIOException("Interrupted while waiting for a command.");
+            }
+        }
+    }
+
+    /**
+     * Liest alle aktuell verfügbaren Bytes ohne zu blockieren und verarbeitet alle
+     * vollständig empfangenen Befehle. Wird vom Event-Loop aufgerufen, sobald die
+     * Verbindung lesbar ist.
+     *
+     * @return false, wenn der Peer die Verbindung beendet hat, sonst true
+     * @throws IOException
+     */
+    boolean readAvailableCommands() throws IOException {
+        this.ensureInboundCapacity();
+        final int read = this.transport.read(this.inbound);
+        while (this.processNextLine()) {
+            /* Alle vollständigen Zeilen verarbeiten */
+        }
+        if (read < 0) {
+            this.handleEndOfStream();
+            return false;
+        }
+        return true;
+    }
 
+    /**
+     * Informiert den Event-Handler darüber, dass der Peer keine Daten mehr sendet.
+     */
+    private void handleEndOfStream() {
         /*
          * Wenn eine "leere" Zeile empfangen wird deutet dies auf Verbindungsprobleme
          * hin.
          */
-        if (line == null) {
-            if (this.isConnected()) {
-                this.runEventHandler(ConnectionEvent.NULL_LINE_RECEIVED);
-            } else {
-                this.runEventHandler(ConnectionEvent.DISCONNECTED_WHILE_WAITING_FOR_COMMAND);
+        if (this.isConnected()) {
+            this.fireEvent(ConnectionEvent.NULL_LINE_RECEIVED);
+        } else {
+            this.fireEvent(ConnectionEvent.DISCONNECTED_WHILE_WAITING_FOR_COMMAND);
+        }
+    }
+
+    /**
+     * Stellt sicher, dass im Empfangspuffer Platz für weitere Bytes ist. Der
+     * Puffer wächst dabei bis zur maximalen Zeilenlänge.
+     */
+    private void ensureInboundCapacity() {
+        if (this.inbound.hasRemaining()) {
+            return;
+        }
+        if (this.inbound.capacity() >= MAX_LINE_LENGTH) {
+            throw new RuntimeException("The peer sent a line that is too long.");
+        }
+        final ByteBuffer larger = ByteBuffer.allocate(Math.min(this.inbound.capacity() * 2, MAX_LINE_LENGTH));
+        this.inbound.flip();
+        larger.put(this.inbound);
+        this.inbound = larger;
+    }
+
+    /**
+     * Sucht im Empfangspuffer nach einer vollständigen Zeile und verarbeitet
+     * diese.
+     *
+     * @return true, wenn eine Zeile verarbeitet wurde, sonst false
+     */
+    private boolean processNextLine() {
+        final int filled = this.inbound.position();
+        for (int i = this.inboundScanned; i < filled; i++) {
+            if (this.inbound.get(i) == '\n') {
+                /* Wie BufferedReader.readLine(): "\r\n" und "\n" beenden eine Zeile */
+                final int end = i > 0 && this.inbound.get(i - 1) == '\r' ? i - 1 : i;
+                /* Häufige Befehle werden direkt aus den Bytes dekodiert */
+                if (this.decoder.decode(this.inbound, 0, end) != CommandKeyword.OTHER) {
+                    this.consumeInbound(i + 1);
+                    this.processDecodedCommand();
+                    return true;
+                }
+                final String line = new String(this.inbound.array(), 0, end, StandardCharsets.UTF_8);
+                this.consumeInbound(i + 1);
+                this.processLine(line);
+                return true;
             }
-            throw new RuntimeException("Null line received.");
         }
+        this.inboundScanned = filled;
+        return false;
+    }
+
+    /**
+     * Entfernt die ersten Bytes aus dem Empfangspuffer.
+     *
+     * @param length Anzahl der zu entfernenden Bytes
+     */
+    private void consumeInbound(final int length) {
+        this.inbound.flip();
+        this.inbound.position(length);
+        this.inbound.compact();
+        this.inboundScanned = 0;
+    }
+
+    /**
+     * Verarbeitet einen vom Decoder aus Bytes dekodierten Befehl (SHOOT, HIT, COIN
+     * oder WITHDRAW). Dabei werden keine Strings erzeugt.
+     */
+    private void processDecodedCommand() {
+        final CommandKeyword keyword = this.decoder.getKeyword();
+        if (this.logger.isLoggable(Level.FINE)) {
+            this.logger.log(Level.FINE, "Receive command from peer: {0}", keyword);
+        }
+
+        /* Alle dekodierten Befehle sind für das Spiel erforderlich */
+        if (!this.decoder.isValid()) {
+            throw new RuntimeException("The peer's " + keyword + " packet appears invalid.");
+        }
+
+        if (this.decoder.isWellStructured()) {
+            this.logger.log(Level.FINE, "The peer's command seems to be well structured.");
+        } else {
+            this.logger.log(Level.WARNING, "The structure of the peer's command differs from ours.");
+        }
+
+        switch (keyword) {
+            case COIN:
+                if (!this.decoder.isWellStructured()) {
+                    this.fireEvent(ConnectionEvent.COIN_COMMAND_NOT_WELL_STRUCTURED);
+                }
+                /* Da validiert, ist keine Reinigung des Strings erforderlich */
+                this.logger.log(Level.FINE, "Peers coin: {0}", this.decoder.getCoin());
+                this.fireCoin(this.decoder.getCoin());
+                break;
+
+            case SHOOT:
+                if (!this.decoder.isWellStructured()) {
+                    this.fireEvent(ConnectionEvent.SHOOT_COMMAND_NOT_WELL_STRUCTURED);
+                }
+                this.logger.log(Level.FINE, "Shoot: {0}", Shoot.of(this.decoder.getX(), this.decoder.getY()));
+                this.fireShoot(this.decoder.getX(), this.decoder.getY());
+                break;
+
+            case HIT:
+                if (!this.decoder.isWellStructured()) {
+                    this.fireEvent(ConnectionEvent.HIT_COMMAND_NOT_WELL_STRUCTURED);
+                }
+                this.logger.log(
+                        Level.FINE, "Hit: {0}",
+                        Hit.of(this.decoder.getX(), this.decoder.getY(), this.decoder.getHitStatus())
+                );
+                this.fireHit(this.decoder.getX(), this.decoder.getY(), this.decoder.getHitStatus());
+                break;
+
+            case WITHDRAW:
+                if (!this.decoder.isWellStructured()) {
+                    this.fireEvent(ConnectionEvent.WITHDRAW_COMMAND_NOT_WELL_STRUCTURED);
+                }
+                this.fireEvent(ConnectionEvent.WITHDRAW_COMMAND_RECEIVED);
+                break;
+
+            default:
+                throw new IllegalStateException("Unexpected decoded command: " + keyword);
+        }
+    }
 
+    /**
+     * Verarbeitet eine empfangene Zeile (ohne Zeilenende), welche nicht vom
+     * Decoder verarbeitet werden konnte.
+     *
+     * @param line Die empfangene Zeile
+     */
+    private void processLine(final String line) {
         /*
          * Der eigentliche Befehle (ohne Paramater) ist das erste Wort (Zeichen bis zum
          * ersten Leerzeichen)
@@ -177,9 +579,13 @@ public final class Connection {
                     throw new RuntimeException("The peer's version packet appears invalid.");
                 }
 
-                if (version.getFullCommand().equals(line)) {
+                /*
+                 * Die Zeile liegt ohne Zeilenende vor, die genormte Form enthält es. Wie
+                 * beim Decoder wird eine Abweichung nur gemeldet.
+                 */
+                if (!version.getFullCommand().equals(line + "\r\n")) {
                     this.logger.log(Level.WARNING, "The structure of the peer's command differs from ours.");
-                    this.runEventHandler(ConnectionEvent.VERSION_COMMAND_NOT_WELL_STRUCTURED);
+                    this.fireEvent(ConnectionEvent.VERSION_COMMAND_NOT_WELL_STRUCTURED);
                 } else {
                     this.logger.log(Level.FINE, "The peer's command seems to be well structured.");
                 }
@@ -194,7 +600,7 @@ public final class Connection {
                         Level.INFO, () -> "Peers implementation: " + Utils.sanitizeString(this.peerImplementation)
                 );
 
-                this.runEventHandler(ConnectionEvent.VERSION_COMMAND_RECEIVED);
+                this.fireEvent(ConnectionEvent.VERSION_COMMAND_RECEIVED);
                 break;
 
             case "IAM":
@@ -204,9 +610,9 @@ public final class Connection {
                     throw new RuntimeException("The peer's IAM packet appears invalid.");
                 }
 
-                if (iam.getFullCommand().equals(line)) {
+                if (!iam.getFullCommand().equals(line + "\r\n")) {
                     this.logger.log(Level.WARNING, "The structure of the peer's command differs from ours.");
-                    this.runEventHandler(ConnectionEvent.IAM_COMMAND_NOT_WELL_STRUCTURED);
+                    this.fireEvent(ConnectionEvent.IAM_COMMAND_NOT_WELL_STRUCTURED);
                 } else {
                     this.logger.log(Level.FINE, "The peer's command seems to be well structured.");
                 }
@@ -216,7 +622,7 @@ public final class Connection {
                 this.logger.log(Level.FINE, () -> "Peers name: " + Utils.sanitizeString(this.peersName));
                 this.logger.log(Level.FINE, () -> "Peers level: " + Utils.sanitizeString(this.peersLevel));
 
-                this.runEventHandler(ConnectionEvent.IAM_COMMAND_RECEIVED);
+                this.fireEvent(ConnectionEvent.IAM_COMMAND_RECEIVED);
                 break;
 
             case "IAMU":
@@ -224,12 +630,12 @@ public final class Connection {
 
                 if (!iamu.isValid()) {
                     this.logger.log(Level.SEVERE, "The peer's IAMU packet appears invalid.");
-                    this.runEventHandler(ConnectionEvent.IAMU_COMMAND_INVALID);
+                    this.fireEvent(ConnectionEvent.IAMU_COMMAND_INVALID);
                 }
 
-                if (iamu.getFullCommand().equals(line)) {
+                if (!iamu.getFullCommand().equals(line + "\r\n")) {
                     this.logger.log(Level.WARNING, "The structure of the peer's command differs from ours.");
-                    this.runEventHandler(ConnectionEvent.IAMU_COMMAND_NOT_WELL_STRUCTURED);
+                    this.fireEvent(ConnectionEvent.IAMU_COMMAND_NOT_WELL_STRUCTURED);
                 } else {
                     this.logger.log(Level.FINE, "The peer's command seems to be well structured.");
                 }
@@ -237,65 +643,7 @@ public final class Connection {
                 this.peersUnicodeName = Utils.sanitizeString(iamu.getName());
                 this.logger.log(Level.FINE, () -> "Peers unicode name: " + Utils.sanitizeString(this.peersUnicodeName));
 
-                this.runEventHandler(ConnectionEvent.IAMU_COMMAND_RECEIVED);
-                break;
-
-            case "COIN":
-                final Coin coin = Coin.fromString(payload);
-
-                if (!coin.isValid()) {
-                    throw new RuntimeException("The peer's COIN packet appears invalid.");
-                }
-
-                if (coin.getFullCommand().equals(line)) {
-                    this.logger.log(Level.WARNING, "The structure of the peer's command differs from ours.");
-                    this.runEventHandler(ConnectionEvent.COIN_COMMAND_NOT_WELL_STRUCTURED);
-                } else {
-                    this.logger.log(Level.FINE, "The peer's command seems to be well structured.");
-                }
-
-                this.logger.log(Level.FINE, "Peers coin: {0}", coin); // Da validiert, ist keine Reinigung des Strings
-                                                                      // erforderlich
-
-                this.runEventHandler(ConnectionEvent.COIN_COMMAND_RECEIVED, coin.getCoin());
-                break;
-
-            case "SHOOT":
-                final Shoot shoot = Shoot.fromString(payload);
-
-                if (!shoot.isValid()) {
-                    throw new RuntimeException("The peer's SHOOT packet appears invalid.");
-                }
-
-                if (shoot.getFullCommand().equals(line)) {
-                    this.logger.log(Level.WARNING, "The structure of the peer's command differs from ours.");
-                    this.runEventHandler(ConnectionEvent.SHOOT_COMMAND_NOT_WELL_STRUCTURED);
-                } else {
-                    this.logger.log(Level.FINE, "The peer's command seems to be well structured.");
-                }
-
-                this.logger.log(Level.FINE, "Shoot: {0}", shoot);
-
-                this.runEventHandler(ConnectionEvent.SHOOT_COMMAND_RECEIVED, shoot);
-                break;
-
-            case "HIT":
-                final Hit hit = Hit.fromString(payload);
-
-                if (!hit.isValid()) {
-                    throw new RuntimeException("The peer's HIT packet appears invalid.");
-                }
-
-                if (hit.getFullCommand().equals(line)) {
-                    this.logger.log(Level.WARNING, "The structure of the peer's command differs from ours.");
-                    this.runEventHandler(ConnectionEvent.HIT_COMMAND_NOT_WELL_STRUCTURED);
-                } else {
-                    this.logger.log(Level.FINE, "The peer's command seems to be well structured.");
-                }
-
-                this.logger.log(Level.FINE, "Hit: {0}", hit);
-
-                this.runEventHandler(ConnectionEvent.HIT_COMMAND_RECEIVED, hit);
+                this.fireEvent(ConnectionEvent.IAMU_COMMAND_RECEIVED);
                 break;
 
             case "CHAT":
@@ -305,37 +653,20 @@ public final class Connection {
                     throw new RuntimeException("The peer's CHAT packet appears invalid.");
                 }
 
-                if (chat.getFullCommand().equals(line)) {
+                if (!chat.getFullCommand().equals(line + "\r\n")) {
                     this.logger.log(Level.WARNING, "The structure of the peer's command differs from ours.");
-                    this.runEventHandler(ConnectionEvent.CHAT_COMMAND_NOT_WELL_STRUCTURED);
+                    this.fireEvent(ConnectionEvent.CHAT_COMMAND_NOT_WELL_STRUCTURED);
                 } else {
                     this.logger.log(Level.FINE, "The peer's command seems to be well structured.");
                 }
 
                 this.logger.log(Level.FINE, "Chat message: {0}", chat);
 
-                this.runEventHandler(ConnectionEvent.CHAT_COMMAND_RECEIVED, chat.getMessage());
-                break;
-
-            case "WITHDRAW":
-                final Withdraw withdraw = Withdraw.fromString(payload);
-
-                if (!withdraw.isValid()) {
-                    throw new RuntimeException("The peer's WITHDRAW packet appears invalid.");
-                }
-
-                if (withdraw.getFullCommand().equals(line)) {
-                    this.logger.log(Level.WARNING, "The structure of the peer's command differs from ours.");
-                    this.runEventHandler(ConnectionEvent.WITHDRAW_COMMAND_NOT_WELL_STRUCTURED);
-                } else {
-                    this.logger.log(Level.FINE, "The peer's command seems to be well structured.");
-                }
-
-                this.runEventHandler(ConnectionEvent.WITHDRAW_COMMAND_RECEIVED);
+                this.fireChat(chat.getMessage());
                 break;
 
             default:
-                this.runEventHandler(ConnectionEvent.UNKNOWN_COMMAND_RECEIVED);
+                this.fireEvent(ConnectionEvent.UNKNOWN_COMMAND_RECEIVED);
                 break;
         }
     }
@@ -345,37 +676,155 @@ public final class Connection {
      * Ein Ereignis kann dabei der Empfang oder das Senden eines Paketes sein (siehe
      * ConnectionEvent).
      *
+     * Der Event-Handler wird über einen Adapter als Listener für alle Ereignisse
+     * registriert. Empfangene SHOOT- und HIT-Pakete werden ihm als (geteilte)
+     * Befehls-Objekte übergeben.
+     *
      * @param eventhandler Der Event-Handler. Falls bereits einer gesetzt ist, wird
-     *                     dieser überschrieben.
+     *                     dieser überschrieben. Alle bisherigen Listener werden
+     *                     ebenfalls ersetzt.
      */
     public void setEventHandler(final EventHandler eventhandler) {
-        this.eventhandler = eventhandler;
+        this.setListener(eventhandler == null ? null : new EventHandlerAdapter(eventhandler));
+    }
+
+    /**
+     * Registriert einen Listener für alle Ereignisse. Bisherige Listener werden
+     * ersetzt.
+     *
+     * @param listener Der Listener oder null, um alle Listener zu entfernen
+     */
+    public synchronized void setListener(final ConnectionListener listener) {
+        final EnumMap<ConnectionEvent, ConnectionListener> updated = new EnumMap<>(ConnectionEvent.class);
+        if (listener != null) {
+            for (final ConnectionEvent event : ConnectionEvent.values()) {
+                updated.put(event, listener);
+            }
+        }
+        this.listeners = updated;
+    }
+
+    /**
+     * Registriert einen Listener für ein einzelnes Ereignis. Ein bisheriger
+     * Listener dieses Ereignisses wird ersetzt.
+     *
+     * @param event    Das Ereignis
+     * @param listener Der Listener oder null, um den Listener zu entfernen
+     */
+    public synchronized void setListener(final ConnectionEvent event, final ConnectionListener listener) {
+        final EnumMap<ConnectionEvent, ConnectionListener> updated = new EnumMap<>(this.listeners);
+        if (listener == null) {
+            updated.remove(event);
+        } else {
+            updated.put(event, listener);
+        }
+        this.listeners = updated;
+    }
+
+    /**
+     * Setzt einen Bus, auf welchem zusätzlich zu den Listenern alle Ereignisse
+     * veröffentlicht werden. Anders als die Listener können dort beliebig viele
+     * Abonnenten in eigenen Threads mitlesen.
+     *
+     * @param eventBus Der Bus oder null
+     */
+    public void setEventBus(final EventBus<? super ConnectionEvent> eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Registriert einen Listener für empfangene SHOOT-Pakete.
+     *
+     * @param listener Der Listener
+     */
+    public void setShootListener(final ShootListener listener) {
+        this.setListener(ConnectionEvent.SHOOT_COMMAND_RECEIVED, listener);
+    }
+
+    /**
+     * Registriert einen Listener für empfangene HIT-Pakete.
+     *
+     * @param listener Der Listener
+     */
+    public void setHitListener(final HitListener listener) {
+        this.setListener(ConnectionEvent.HIT_COMMAND_RECEIVED, listener);
+    }
+
+    /**
+     * Registriert einen Listener für empfangene COIN-Pakete.
+     *
+     * @param listener Der Listener
+     */
+    public void setCoinListener(final CoinListener listener) {
+        this.setListener(ConnectionEvent.COIN_COMMAND_RECEIVED, listener);
+    }
+
+    /**
+     * Registriert einen Listener für empfangene CHAT-Pakete.
+     *
+     * @param listener Der Listener
+     */
+    public void setChatListener(final ChatListener listener) {
+        this.setListener(ConnectionEvent.CHAT_COMMAND_RECEIVED, listener);
     }
 
     /**
      * Sendet ein Chat-Paket.
      *
      * @param message Die Nachricht, welche das Chat-Paket transportieren soll.
-     * @throws IOException
+     * @return Wird abgeschlossen, sobald das Paket gesendet wurde
      */
-    public void writeChat(final String message) throws IOException {
+    public CompletableFuture<Void> writeChat(final String message) {
         this.logger.log(Level.FINE, "Send chat to peer.");
         final Chat chat = new Chat(message);
-        this.write(chat);
-        this.runEventHandler(ConnectionEvent.CHAT_COMMAND_SENT);
+        return this.write(chat, ConnectionEvent.CHAT_COMMAND_SENT);
     }
 
     /**
      * Sendet ein COIN-Paket.
      *
      * @param coinValue Die geworfene Münze, welche gesendet werden soll.
-     * @throws IOException
+     * @return Wird abgeschlossen, sobald das Paket gesendet wurde
      */
-    public void writeCoin(final String coinValue) throws IOException {
+    public CompletableFuture<Void> writeCoin(final String coinValue) {
         final Coin coin = new Coin(coinValue);
         this.logger.log(Level.FINE, "Send coin {0} to peer.", coin);
-        this.write(coin);
-        this.runEventHandler(ConnectionEvent.COIN_COMMAND_SENT);
+        return this.write(coin, ConnectionEvent.COIN_COMMAND_SENT);
+    }
+
+    /**
+     * Sendet VERSION-, IAM-, IAMU- und COIN-Paket gemeinsam in einem Schreibvorgang
+     * (siehe `Constants.PIPELINED_HANDSHAKE`). Die Reihenfolge entspricht dem
+     * einzelnen Senden, der Gegner erhält das IAM-Paket also vor dem COIN-Paket.
+     *
+     * @param name        Name des Spielers für das IAM-Paket (nur ASCII-Zeichen,
+     *                    maximal 32 Zeichen)
+     * @param level       Gewünschtes Level des Spielers
+     * @param unicodeName Name des Spielers für das IAMU-Paket
+     * @param coinValue   Die geworfene Münze
+     * @return Wird abgeschlossen, sobald alle Pakete gesendet wurden
+     */
+    public CompletableFuture<Void> writeHandshake(
+            final String name, final String level, final String unicodeName, final String coinValue
+    ) {
+        this.logger.log(Level.FINE, "Send pipelined handshake to peer.");
+        final byte[][] encoded = {
+                new Version(Constants.IMPLEMENTATION, Constants.PROTOCOL_VERSION).getEncodedCommand(),
+                new IAM(name, level).getEncodedCommand(), new IAMU(unicodeName).getEncodedCommand(),
+                new Coin(coinValue).getEncodedCommand()
+        };
+        int length = 0;
+        for (final byte[] command : encoded) {
+            length += command.length;
+        }
+        final byte[] data = new byte[length];
+        int offset = 0;
+        for (final byte[] command : encoded) {
+            System.arraycopy(command, 0, data, offset, command.length);
+            offset += command.length;
+        }
+
+        return this.outboundQueue.enqueue(data, HANDSHAKE_SENT_EVENTS);
     }
 
     /**
@@ -388,13 +837,12 @@ public final class Connection {
      * @param hitstatus Der Status, welcher übermittelt werden soll. Wenn ein
      *                  unbekannter Status übergeben wird, wird "-1" als Status-Code
      *                  verwendet.
-     * @throws IOException
+     * @return Wird abgeschlossen, sobald das Paket gesendet wurde
      */
-    public void writeHit(final int x, final int y, final HitStatus hitstatus) throws IOException {
-        final Hit hit = new Hit(x, y, hitstatus);
+    public CompletableFuture<Void> writeHit(final int x, final int y, final HitStatus hitstatus) {
+        final Hit hit = Hit.of(x, y, hitstatus);
         this.logger.log(Level.FINE, "Send hit {0} to peer.", hit);
-        this.write(hit);
-        this.runEventHandler(ConnectionEvent.HIT_COMMAND_SENT);
+        return this.write(hit, ConnectionEvent.HIT_COMMAND_SENT);
     }
 
     /**
@@ -405,13 +853,12 @@ public final class Connection {
      *
      * @param name  Name des Spielers, welcher übermittelt werden soll.
      * @param level Gewünschtes Level des Spielers, welches übermittelt werden soll.
-     * @throws IOException
+     * @return Wird abgeschlossen, sobald das Paket gesendet wurde
      */
-    public void writeIAM(final String name, final String level) throws IOException {
+    public CompletableFuture<Void> writeIAM(final String name, final String level) {
         this.logger.log(Level.FINE, "Send IAM to peer.");
         final IAM iam = new IAM(name, level);
-        this.write(iam);
-        this.runEventHandler(ConnectionEvent.IAM_COMMAND_SENT);
+        return this.write(iam, ConnectionEvent.IAM_COMMAND_SENT);
     }
 
     /**
@@ -419,13 +866,12 @@ public final class Connection {
      *
      * @param name Name (darf Unicode-Zeichen beinhalten und beliebig lang sein),
      *             welcher übermittelt werden soll.
-     * @throws IOException
+     * @return Wird abgeschlossen, sobald das Paket gesendet wurde
      */
-    public void writeIAMU(final String name) throws IOException {
+    public CompletableFuture<Void> writeIAMU(final String name) {
         this.logger.log(Level.FINE, "Send IAMU to peer.");
         final IAMU iamu = new IAMU(name);
-        this.write(iamu);
-        this.runEventHandler(ConnectionEvent.IAMU_COMMAND_SENT);
+        return this.write(iamu, ConnectionEvent.IAMU_COMMAND_SENT);
     }
 
     /**
@@ -433,13 +879,12 @@ public final class Connection {
      *
      * @param x X-Koordinate, welche übermittelt werden soll.
      * @param y Y-Koordinate, welche übermittelt werden soll.
-     * @throws IOException
+     * @return Wird abgeschlossen, sobald das Paket gesendet wurde
      */
-    public void writeShoot(final int x, final int y) throws IOException {
-        final Shoot shoot = new Shoot(x, y);
+    public CompletableFuture<Void> writeShoot(final int x, final int y) {
+        final Shoot shoot = Shoot.of(x, y);
         this.logger.log(Level.FINE, "Send shoot {0} to peer.", shoot);
-        this.write(shoot);
-        this.runEventHandler(ConnectionEvent.SHOOT_COMMAND_SENT);
+        return this.write(shoot, ConnectionEvent.SHOOT_COMMAND_SENT);
     }
 
     /**
@@ -448,60 +893,145 @@ public final class Connection {
      * Die aktuelle Version bestehend aus dem Name der verwendeten Implementierung
      * sowie die unterstützt Protokoll-Version wird aus `Constants` gelesen.
      *
-     * @throws IOException
+     * @return Wird abgeschlossen, sobald das Paket gesendet wurde
      */
-    public void writeVersion() throws IOException {
+    public CompletableFuture<Void> writeVersion() {
         this.logger.log(Level.FINE, "Send version to peer.");
         final Version version = new Version(Constants.IMPLEMENTATION, Constants.PROTOCOL_VERSION);
-        this.write(version);
-        this.runEventHandler(ConnectionEvent.VERSION_COMMAND_SENT);
+        return this.write(version, ConnectionEvent.VERSION_COMMAND_SENT);
     }
 
     /**
      * Sendet ein WITHDRAW-Paket.
      *
-     * @throws IOException
+     * @return Wird abgeschlossen, sobald das Paket gesendet wurde
      */
-    public void writeWithdraw() throws IOException {
+    public CompletableFuture<Void> writeWithdraw() {
         this.logger.log(Level.FINE, "Send withdraw to peer.");
         final Withdraw withdraw = new Withdraw();
-        this.write(withdraw);
-        this.runEventHandler(ConnectionEvent.WITHDRAW_COMMAND_SENT);
+        return this.write(withdraw, ConnectionEvent.WITHDRAW_COMMAND_SENT);
     }
 
     /**
-     * Führt den Event-Handler, falls vorhanden, mit einem bestimmten Event aus. Als
-     * Event-Objekt wird `null` übergeben.
+     * Veröffentlicht ein Ereignis auf dem Bus, falls einer gesetzt ist.
      *
-     * @param event Das Event
+     * @param event Das Ereignis
      */
-    private void runEventHandler(final ConnectionEvent event) {
-        if (this.eventhandler != null) {
-            this.eventhandler.handle(event, null);
+    private void publish(final ConnectionEvent event) {
+        final EventBus<? super ConnectionEvent> bus = this.eventBus;
+        if (bus != null) {
+            bus.publish(event);
         }
     }
 
     /**
-     * Führt den Event-Handler, falls vorhanden, mit einem bestimmten Event aus und
-     * übergibt ihm ein Objekt.
+     * Ruft den Listener eines Ereignisses ohne Nutzdaten auf, falls vorhanden.
+     * Ohne eigenen Executor geschieht dies direkt und ohne Allokation.
      *
-     * @param event       Das Event
-     * @param eventObject Das Event-Objekt, was an den Handler übergeben wird.
+     * @param event Das Ereignis
      */
-    private void runEventHandler(final ConnectionEvent event, final Object eventObject) {
-        if (this.eventhandler != null) {
-            this.eventhandler.handle(event, eventObject);
+    private void fireEvent(final ConnectionEvent event) {
+        if (this.handlerExecutor == DIRECT) {
+            this.dispatchEvent(event);
+        } else {
+            this.handlerExecutor.execute(() -> this.dispatchEvent(event));
+        }
+    }
+
+    private void dispatchEvent(final ConnectionEvent event) {
+        this.publish(event);
+        final ConnectionListener listener = this.listeners.get(event);
+        if (listener != null) {
+            listener.onEvent(event);
+        }
+    }
+
+    /**
+     * Ruft den Listener für empfangene SHOOT-Pakete auf, falls vorhanden.
+     */
+    private void fireShoot(final int x, final int y) {
+        if (this.handlerExecutor == DIRECT) {
+            this.dispatchShoot(x, y);
+        } else {
+            this.handlerExecutor.execute(() -> this.dispatchShoot(x, y));
+        }
+    }
+
+    private void dispatchShoot(final int x, final int y) {
+        this.publish(ConnectionEvent.SHOOT_COMMAND_RECEIVED);
+        final ConnectionListener listener = this.listeners.get(ConnectionEvent.SHOOT_COMMAND_RECEIVED);
+        if (listener != null) {
+            listener.onShoot(x, y);
+        }
+    }
+
+    /**
+     * Ruft den Listener für empfangene HIT-Pakete auf, falls vorhanden.
+     */
+    private void fireHit(final int x, final int y, final HitStatus hitstatus) {
+        if (this.handlerExecutor == DIRECT) {
+            this.dispatchHit(x, y, hitstatus);
+        } else {
+            this.handlerExecutor.execute(() -> this.dispatchHit(x, y, hitstatus));
+        }
+    }
+
+    private void dispatchHit(final int x, final int y, final HitStatus hitstatus) {
+        this.publish(ConnectionEvent.HIT_COMMAND_RECEIVED);
+        final ConnectionListener listener = this.listeners.get(ConnectionEvent.HIT_COMMAND_RECEIVED);
+        if (listener != null) {
+            listener.onHit(x, y, hitstatus);
+        }
+    }
+
+    /**
+     * Ruft den Listener für empfangene COIN-Pakete auf, falls vorhanden.
+     */
+    private void fireCoin(final String coin) {
+        if (this.handlerExecutor == DIRECT) {
+            this.dispatchCoin(coin);
+        } else {
+            this.handlerExecutor.execute(() -> this.dispatchCoin(coin));
+        }
+    }
+
+    private void dispatchCoin(final String coin) {
+        this.publish(ConnectionEvent.COIN_COMMAND_RECEIVED);
+        final ConnectionListener listener = this.listeners.get(ConnectionEvent.COIN_COMMAND_RECEIVED);
+        if (listener != null) {
+            listener.onCoin(coin);
         }
     }
 
     /**
-     * Sendet einen Befehl.
+     * Ruft den Listener für empfangene CHAT-Pakete auf, falls vorhanden.
+     */
+    private void fireChat(final String message) {
+        if (this.handlerExecutor == DIRECT) {
+            this.dispatchChat(message);
+        } else {
+            this.handlerExecutor.execute(() -> this.dispatchChat(message));
+        }
+    }
+
+    private void dispatchChat(final String message) {
+        this.publish(ConnectionEvent.CHAT_COMMAND_RECEIVED);
+        final ConnectionListener listener = this.listeners.get(ConnectionEvent.CHAT_COMMAND_RECEIVED);
+        if (listener != null) {
+            listener.onChat(message);
+        }
+    }
+
+    /**
+     * Reiht einen Befehl zum Senden ein. Sobald er gesendet wurde, meldet die
+     * Warteschlange das übergebene Event an den Event-Handler.
      *
-     * @param command Der Befehl, welcher gesendet werden soll.
-     * @throws IOException
+     * @param command   Der Befehl, welcher gesendet werden soll.
+     * @param sentEvent Das Event, welches nach dem Senden ausgelöst wird.
+     * @return Wird abgeschlossen, sobald der Befehl gesendet wurde, bzw.
+     *         ausnahmsweise, wenn das Senden fehlgeschlagen ist.
      */
-    private void write(final Command command) throws IOException {
-        this.writer.write(command.getFullCommand());
-        this.writer.flush();
+    private CompletableFuture<Void> write(final Command command, final ConnectionEvent sentEvent) {
+        return this.outboundQueue.enqueue(command.getEncodedCommand(), SENT_EVENTS[sentEvent.ordinal()]);
     }
 }
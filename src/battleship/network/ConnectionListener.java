@@ -0,0 +1,64 @@
+package battleship.network;
+
+import battleship.network.commands.HitStatus;
+
+/**
+ * Empfängt Ereignisse einer Spiele-Verbindung mit typisierten Parametern. Ein
+ * Listener wird pro `ConnectionEvent` registriert (siehe
+ * `Connection.setListener()`). Für Ereignisse mit Nutzdaten wird die passende
+ * typisierte Methode aufgerufen, für alle anderen `onEvent()`. Die empfangenen
+ * Werte werden dabei direkt übergeben, ohne Befehls-Objekte zu erzeugen.
+ *
+ * Alle Methoden tun standardmäßig nichts. Für einzelne Ereignisse gibt es die
+ * funktionalen Interfaces `ShootListener`, `HitListener`, `CoinListener` und
+ * `ChatListener`.
+ */
+public interface ConnectionListener {
+    /**
+     * Wird für alle Ereignisse ohne Nutzdaten aufgerufen.
+     *
+     * @param event Das Ereignis
+     */
+    default void onEvent(final ConnectionEvent event) {
+        /* Standardmäßig ignoriert */
+    }
+
+    /**
+     * Wird bei `SHOOT_COMMAND_RECEIVED` aufgerufen.
+     *
+     * @param x X-Koordinate, welche der Gegner angreift (beginnend bei 0)
+     * @param y Y-Koordinate, welche der Gegner angreift (beginnend bei 0)
+     */
+    default void onShoot(final int x, final int y) {
+        /* Standardmäßig ignoriert */
+    }
+
+    /**
+     * Wird bei `HIT_COMMAND_RECEIVED` aufgerufen.
+     *
+     * @param x         X-Koordinate des Feldes (beginnend bei 0)
+     * @param y         Y-Koordinate des Feldes (beginnend bei 0)
+     * @param hitstatus Der vom Gegner übermittelte Status
+     */
+    default void onHit(final int x, final int y, final HitStatus hitstatus) {
+        /* Standardmäßig ignoriert */
+    }
+
+    /**
+     * Wird bei `COIN_COMMAND_RECEIVED` aufgerufen.
+     *
+     * @param coin Die Münze des Gegners ("0" oder "1")
+     */
+    default void onCoin(final String coin) {
+        /* Standardmäßig ignoriert */
+    }
+
+    /**
+     * Wird bei `CHAT_COMMAND_RECEIVED` aufgerufen.
+     *
+     * @param message Die Nachricht des Gegners
+     */
+    default void onChat(final String message) {
+        /* Standardmäßig ignoriert */
+    }
+}
@@ -0,0 +1,33 @@
+package battleship.network;
+
+/**
+ * Zwei miteinander verbundene Spiele-Verbindungen innerhalb derselben JVM
+ * (siehe `Connection.createLoopbackPair()`).
+ */
+public final class ConnectionPair {
+    private final Connection server;
+    private final Connection client;
+
+    ConnectionPair(final Connection server, final Connection client) {
+        this.server = server;
+        this.client = client;
+    }
+
+    /**
+     * Gibt die Seite zurück, welche die Rolle des Servers übernimmt.
+     *
+     * @return Die Verbindung des Servers
+     */
+    public Connection getServer() {
+        return this.server;
+    }
+
+    /**
+     * Gibt die Seite zurück, welche die Rolle des Clients übernimmt.
+     *
+     * @return Die Verbindung des Clients
+     */
+    public Connection getClient() {
+        return this.client;
+    }
+}
@@ -0,0 +1,48 @@
+package battleship.network;
+
+import battleship.network.commands.Hit;
+import battleship.network.commands.HitStatus;
+import battleship.network.commands.Shoot;
+
+/**
+ * Leitet typisierte Ereignisse an einen `EventHandler` weiter. Damit bleibt
+ * `Connection.setEventHandler()` erhalten: Koordinaten werden wieder in
+ * (geteilte) Befehls-Objekte verpackt und als Event-Objekt übergeben.
+ */
+final class EventHandlerAdapter implements ConnectionListener {
+    private final EventHandler eventhandler;
+
+    /**
+     * Erstellt einen Adapter.
+     *
+     * @param eventhandler Der Event-Handler, an welchen weitergeleitet wird
+     */
+    EventHandlerAdapter(final EventHandler eventhandler) {
+        this.eventhandler = eventhandler;
+    }
+
+    @Override
+    public void onEvent(final ConnectionEvent event) {
+        this.eventhandler.handle(event, null);
+    }
+
+    @Override
+    public void onShoot(final int x, final int y) {
+        this.eventhandler.handle(ConnectionEvent.SHOOT_COMMAND_RECEIVED, Shoot.of(x, y));
+    }
+
+    @Override
+    public void onHit(final int x, final int y, final HitStatus hitstatus) {
+        this.eventhandler.handle(ConnectionEvent.HIT_COMMAND_RECEIVED, Hit.of(x, y, hitstatus));
+    }
+
+    @Override
+    public void onCoin(final String coin) {
+        this.eventhandler.handle(ConnectionEvent.COIN_COMMAND_RECEIVED, coin);
+    }
+
+    @Override
+    public void onChat(final String message) {
+        this.eventhandler.handle(ConnectionEvent.CHAT_COMMAND_RECEIVED, message);
+    }
+}
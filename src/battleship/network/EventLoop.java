@@ -0,0 +1,169 @@
+package battleship.network;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import battleship.Constants;
+
+/**
+ * Ein Thread mit einem eigenen `Selector`, welcher beliebig viele
+ * nicht-blockierende Kanäle bedient. Aufgaben anderer Threads werden über
+ * `execute()` in den Event-Loop eingereiht, sodass alle Zugriffe auf die Kanäle
+ * dieses Loops von genau einem Thread aus passieren.
+ */
+final class EventLoop implements Executor {
+    private final Selector selector;
+    private final Queue<Runnable> tasks;
+    private final Thread thread;
+    private volatile boolean running;
+    private final Logger logger;
+
+    /**
+     * Erstellt einen neuen Event-Loop. Dieser muss mit `start()` gestartet werden.
+     *
+     * @param name Name des Threads des Event-Loops
+     * @throws IOException
+     */
+    EventLoop(final String name) throws IOException {
+        this.logger = Logger.getLogger(EventLoop.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+
+        this.selector = Selector.open();
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Startet den Thread des Event-Loops.
+     */
+    void start() {
+        this.running = true;
+        this.thread.start();
+    }
+
+    /**
+     * Beendet den Event-Loop und schließt alle von ihm bedienten Kanäle.
+     */
+    void stop() {
+        this.running = false;
+        this.selector.wakeup();
+    }
+
+    /**
+     * Gibt an, ob der aktuelle Thread der Thread dieses Event-Loops ist.
+     *
+     * @return true, wenn der Aufrufer im Event-Loop läuft, sonst false
+     */
+    boolean inEventLoop() {
+        return Thread.currentThread() == this.thread;
+    }
+
+    /**
+     * Gibt die Anzahl der aktuell von diesem Event-Loop bedienten Kanäle zurück.
+     *
+     * @return Anzahl der registrierten Kanäle
+     */
+    int getChannelCount() {
+        return this.selector.keys().size();
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        this.tasks.add(task);
+        if (!this.inEventLoop()) {
+            this.selector.wakeup();
+        }
+    }
+
+    /**
+     * Registriert einen Kanal am Selector dieses Event-Loops. Muss im Event-Loop
+     * aufgerufen werden.
+     *
+     * @param channel Der nicht-blockierende Kanal
+     * @param ops     Die Operationen, für die der Kanal ausgewählt werden soll
+     * @param handler Der Handler, welcher bei Bereitschaft aufgerufen wird
+     * @return Der Schlüssel der Registrierung
+     * @throws IOException
+     */
+    SelectionKey register(final SelectableChannel channel, final int ops, final SelectionHandler handler)
+            throws IOException {
+        return channel.register(this.selector, ops, handler);
+    }
+
+    private void run() {
+        this.logger.log(Level.FINE, "Event loop started.");
+        try {
+            while (this.running) {
+                /*
+                 * Aufgaben, welche im Event-Loop selbst eingereiht wurden, haben keinen
+                 * `wakeup()` ausgelöst. Daher darf in diesem Fall nicht blockiert werden.
+                 */
+                if (this.tasks.isEmpty()) {
+                    this.selector.select();
+                } else {
+                    this.selector.selectNow();
+                }
+                this.runTasks();
+
+                final Iterator<SelectionKey> iterator = this.selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    final SelectionKey key = iterator.next();
+                    iterator.remove();
+                    final SelectionHandler handler = (SelectionHandler) key.attachment();
+                    try {
+                        if (key.isValid()) {
+                            handler.handleSelection(key);
+                        }
+                    } catch (final CancelledKeyException e) {
+                        /* Der Kanal wurde währenddessen geschlossen. Nichts mehr zu tun. */
+                        this.logger.log(Level.FINER, "Key cancelled while handling selection.");
+                    } catch (final Exception e) {
+                        key.cancel();
+                        handler.handleFailure(e);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            this.logger.log(Level.SEVERE, "Event loop failed.", e);
+        } finally {
+            this.closeAll();
+        }
+        this.logger.log(Level.FINE, "Event loop stopped.");
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = this.tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (final Exception e) {
+                this.logger.log(Level.SEVERE, "Task in event loop failed.", e);
+            }
+        }
+    }
+
+    private void closeAll() {
+        for (final SelectionKey key : this.selector.keys()) {
+            try {
+                key.channel().close();
+            } catch (final IOException e) {
+                this.logger.log(Level.WARNING, "Failed to close channel.", e);
+            }
+        }
+        try {
+            this.selector.close();
+        } catch (final IOException e) {
+            this.logger.log(Level.WARNING, "Failed to close selector.", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package battleship.network;
+
+import battleship.network.commands.HitStatus;
+
+/**
+ * Listener für `HIT_COMMAND_RECEIVED`.
+ */
+@FunctionalInterface
+public interface HitListener extends ConnectionListener {
+    @Override
+    void onHit(int x, int y, HitStatus hitstatus);
+}
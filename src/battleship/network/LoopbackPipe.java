@@ -0,0 +1,134 @@
+package battleship.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Eine Richtung einer Loopback-Verbindung: ein wachsender Byte-Puffer im
+ * Speicher. Geschriebene Bytes werden erst mit `flush()` für den Leser
+ * sichtbar, sodass sich das Sendeverhalten der `TransportProfile` genauso wie
+ * über TCP verhält.
+ */
+final class LoopbackPipe {
+    private static final int INITIAL_SIZE = 256;
+
+    private final Object lock;
+    private byte[] buffer;
+    /* Beginn der noch nicht gelesenen Bytes. */
+    private int start;
+    /* Ende der für den Leser sichtbaren Bytes. */
+    private int flushed;
+    /* Ende der geschriebenen Bytes. */
+    private int end;
+    private boolean closed;
+
+    LoopbackPipe() {
+        this.lock = new Object();
+        this.buffer = new byte[INITIAL_SIZE];
+    }
+
+    /**
+     * Hängt Bytes an. Sie sind erst nach `flush()` für den Leser sichtbar.
+     *
+     * @throws IOException Falls die Richtung bereits geschlossen ist
+     */
+    void write(final byte[] data, final int offset, final int length) throws IOException {
+        synchronized (this.lock) {
+            if (this.closed) {
+                throw new IOException("Loopback connection is closed.");
+            }
+            this.ensureCapacity(length);
+            System.arraycopy(data, offset, this.buffer, this.end, length);
+            this.end += length;
+        }
+    }
+
+    /**
+     * Macht alle geschriebenen Bytes für den Leser sichtbar.
+     *
+     * @throws IOException Falls die Richtung bereits geschlossen ist
+     */
+    void flush() throws IOException {
+        synchronized (this.lock) {
+            if (this.closed) {
+                throw new IOException("Loopback connection is closed.");
+            }
+            if (this.flushed != this.end) {
+                this.flushed = this.end;
+                this.lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Liest sichtbare Bytes. Blockiert, bis Bytes vorliegen, die Richtung
+     * geschlossen wurde oder der Timeout abgelaufen ist.
+     *
+     * @param dst           Puffer im Schreibmodus
+     * @param timeoutMillis Maximale Wartezeit, wie `SO_TIMEOUT`
+     * @return Anzahl der gelesenen Bytes, 0 nach Ablauf des Timeouts bzw. wenn
+     *         der Thread unterbrochen wurde, -1 wenn geschlossen und alles gelesen
+     *         ist
+     */
+    int read(final ByteBuffer dst, final long timeoutMillis) {
+        synchronized (this.lock) {
+            final long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+            while (this.start == this.flushed && !this.closed) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return 0;
+                }
+                try {
+                    this.lock.wait(Math.max(1, remaining / 1_000_000L));
+                } catch (final InterruptedException e) {
+                    /* Wie beim Socket: Der Aufrufer prüft selbst, ob er beendet werden soll. */
+                    Thread.currentThread().interrupt();
+                    return 0;
+                }
+            }
+            if (this.start == this.flushed) {
+                return -1;
+            }
+            final int count = Math.min(dst.remaining(), this.flushed - this.start);
+            dst.put(this.buffer, this.start, count);
+            this.start += count;
+            return count;
+        }
+    }
+
+    /**
+     * Schließt die Richtung. Der Leser erhält noch alle bereits sichtbaren Bytes
+     * und danach das Ende des Datenstroms.
+     *
+     * @param discard Ob noch nicht gelesene Bytes verworfen werden sollen
+     */
+    void close(final boolean discard) {
+        synchronized (this.lock) {
+            this.closed = true;
+            if (discard) {
+                this.start = 0;
+                this.flushed = 0;
+                this.end = 0;
+            }
+            this.lock.notifyAll();
+        }
+    }
+
+    /**
+     * Schafft Platz für weitere Bytes. Bereits gelesene Bytes werden dabei
+     * entfernt, der Puffer wächst nur, wenn das nicht reicht.
+     */
+    private void ensureCapacity(final int length) {
+        if (this.buffer.length - this.end >= length) {
+            return;
+        }
+        final int used = this.end - this.start;
+        final byte[] target = used + length <= this.buffer.length ? this.buffer
+                : new byte[Math.max(this.buffer.length * 2, used + length)];
+        System.arraycopy(this.buffer, this.start, target, 0, used);
+        this.flushed -= this.start;
+        this.end = used;
+        this.start = 0;
+        this.buffer = target;
+    }
+}
@@ -0,0 +1,83 @@
+package battleship.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+
+/**
+ * Übertragung zwischen zwei Verbindungen innerhalb derselben JVM, ohne Socket
+ * und ohne Kernel. Jede Richtung ist eine `LoopbackPipe`. Darüber läuft
+ * dasselbe Protokoll wie über TCP, gelesen wird ebenfalls blockierend über
+ * `Connection.readCommand()`.
+ *
+ * Da das Schreiben in den Speicher nie blockiert, wird die
+ * Sende-Warteschlange direkt im aufrufenden Thread geleert.
+ */
+final class LoopbackTransport implements Transport {
+    private static final Executor DIRECT = Runnable::run;
+
+    private final LoopbackPipe inbound;
+    private final LoopbackPipe outbound;
+    private final int readTimeoutMillis;
+    private volatile boolean closed;
+
+    private LoopbackTransport(final LoopbackPipe inbound, final LoopbackPipe outbound, final int readTimeoutMillis) {
+        this.inbound = inbound;
+        this.outbound = outbound;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * Erstellt zwei miteinander verbundene Übertragungen. Was in die eine
+     * geschrieben wird, wird aus der anderen gelesen.
+     *
+     * @param profile Das Profil, dessen Lese-Timeout verwendet wird
+     * @return Beide Enden der Verbindung
+     */
+    static LoopbackTransport[] createPair(final TransportProfile profile) {
+        final LoopbackPipe first = new LoopbackPipe();
+        final LoopbackPipe second = new LoopbackPipe();
+        return new LoopbackTransport[] {
+            new LoopbackTransport(first, second, profile.getReadTimeoutMillis()),
+            new LoopbackTransport(second, first, profile.getReadTimeoutMillis())
+        };
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        return this.inbound.read(dst, this.readTimeoutMillis);
+    }
+
+    @Override
+    public void write(final byte[] data, final int offset, final int length) throws IOException {
+        this.outbound.write(data, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.outbound.flush();
+    }
+
+    @Override
+    public Executor getWriteExecutor() {
+        return DIRECT;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return !this.closed;
+    }
+
+    @Override
+    public boolean isDrivenByEventLoop() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        /* Der Peer liest noch alles bereits Gesendete, wir selbst nichts mehr. */
+        this.outbound.close(false);
+        this.inbound.close(true);
+    }
+}
@@ -0,0 +1,342 @@
+package battleship.network;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import battleship.Constants;
+
+/**
+ * Warteschlange der zu sendenden Befehle einer Verbindung. Aufrufer reihen
+ * Befehle nur ein und erhalten ein `CompletableFuture`, welches abgeschlossen
+ * wird, sobald der Befehl an die Übertragung übergeben und geleert wurde. Sie
+ * blockieren also nie auf das Netzwerk.
+ *
+ * Geleert wird die Warteschlange von genau einem Schreiber zur Zeit, welcher
+ * über den Executor der Übertragung gestartet wird (ein virtueller Thread bzw.
+ * der Event-Loop). Alle in einem Durchlauf vorliegenden Befehle werden
+ * gemeinsam mit nur einem `flush()` gesendet. Ohne sofortiges Senden (siehe
+ * `TransportProfile`) werden die Befehle nur geschrieben und erst mit einer
+ * Markierung von `flush()` gesendet.
+ *
+ * Das Ereignis eines gesendeten Befehls meldet der Schreiber selbst, bevor er
+ * dessen Future abschließt. So kommt pro Befehl keine weitere Stufe am Future
+ * hinzu.
+ */
+final class OutboundQueue {
+    private static final ConnectionEvent[] NO_EVENTS = {};
+
+    private final Transport transport;
+    private final Executor executor;
+    private final boolean flushImmediately;
+    /* Erhält das Ereignis jedes gesendeten Befehls. */
+    private final Consumer<ConnectionEvent> sentListener;
+    private final Queue<Entry> queue;
+    private final AtomicBoolean draining;
+    private final AtomicInteger depth;
+    private final AtomicLong completedWrites;
+    private final AtomicLong totalLatency;
+    private final AtomicLong maxLatency;
+    /*
+     * Geschriebene, aber noch nicht geleerte Befehle. Wird nur vom aktuellen
+     * Schreiber verwendet.
+     */
+    private final List<Entry> unflushed;
+    /* Erster Fehler beim Schreiben. Danach werden keine Befehle mehr gesendet. */
+    private volatile IOException failure;
+    private volatile boolean shutdown;
+    private final Logger logger;
+
+    /**
+     * Ein eingereihter Befehl. Ohne Daten markiert der Eintrag, dass alles davor
+     * gesendet werden soll (siehe `flush()` und `shutdown()`).
+     */
+    private static final class Entry {
+        private final byte[] data;
+        /* Ereignisse nach dem Senden */
+        private final ConnectionEvent[] sentEvents;
+        private final long enqueued;
+        private final CompletableFuture<Void> future;
+
+        private Entry(final byte[] data, final ConnectionEvent[] sentEvents) {
+            this.data = data;
+            this.sentEvents = sentEvents;
+            this.enqueued = System.nanoTime();
+            this.future = new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * Erstellt eine Warteschlange für eine Übertragung.
+     *
+     * @param transport        Die Übertragung, auf welche geschrieben wird
+     * @param flushImmediately Ob jeder Durchlauf sofort sendet oder erst eine
+     *                         Markierung von `flush()`
+     */
+    OutboundQueue(final Transport transport, final boolean flushImmediately) {
+        this(transport, flushImmediately, event -> {
+        });
+    }
+
+    /**
+     * Erstellt eine Warteschlange für eine Übertragung, welche gesendete Befehle
+     * meldet.
+     *
+     * @param transport        Die Übertragung, auf welche geschrieben wird
+     * @param flushImmediately Ob jeder Durchlauf sofort sendet oder erst eine
+     *                         Markierung von `flush()`
+     * @param sentListener     Wird im Schreiber mit dem Ereignis jedes gesendeten
+     *                         Befehls aufgerufen
+     */
+    OutboundQueue(
+            final Transport transport, final boolean flushImmediately, final Consumer<ConnectionEvent> sentListener
+    ) {
+        this.logger = Logger.getLogger(OutboundQueue.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+
+        this.transport = transport;
+        this.executor = transport.getWriteExecutor();
+        this.flushImmediately = flushImmediately;
+        this.sentListener = sentListener;
+        this.unflushed = new ArrayList<>();
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.draining = new AtomicBoolean(false);
+        this.depth = new AtomicInteger();
+        this.completedWrites = new AtomicLong();
+        this.totalLatency = new AtomicLong();
+        this.maxLatency = new AtomicLong();
+    }
+
+    /**
+     * Reiht Bytes zum Senden ein. Das Array wird nicht kopiert und darf daher
+     * nicht mehr verändert werden.
+     *
+     * @param data Die zu sendenden Bytes
+     * @return Wird abgeschlossen, sobald die Bytes gesendet wurden, bzw.
+     *         ausnahmsweise, wenn das Senden fehlgeschlagen ist.
+     */
+    CompletableFuture<Void> enqueue(final byte[] data) {
+        return this.enqueue(data, NO_EVENTS);
+    }
+
+    /**
+     * Reiht Bytes zum Senden ein. Das Array wird nicht kopiert und darf daher
+     * nicht mehr verändert werden.
+     *
+     * @param data       Die zu sendenden Bytes
+     * @param sentEvents Werden nach dem Senden an den Listener gemeldet. Das Array
+     *                   wird nicht kopiert und sollte geteilt sein.
+     * @return Wird abgeschlossen, sobald die Bytes gesendet wurden, bzw.
+     *         ausnahmsweise, wenn das Senden fehlgeschlagen ist.
+     */
+    CompletableFuture<Void> enqueue(final byte[] data, final ConnectionEvent[] sentEvents) {
+        if (this.shutdown) {
+            return CompletableFuture.failedFuture(new IOException("Connection is closed."));
+        }
+        final IOException currentFailure = this.failure;
+        if (currentFailure != null) {
+            return CompletableFuture.failedFuture(currentFailure);
+        }
+        final Entry entry = new Entry(data, sentEvents);
+        this.depth.incrementAndGet();
+        this.queue.add(entry);
+        this.scheduleDrain();
+        return entry.future;
+    }
+
+    /**
+     * Sorgt dafür, dass alle bisher eingereihten Befehle gesendet werden.
+     *
+     * @return Wird abgeschlossen, sobald alle zuvor eingereihten Befehle gesendet
+     *         wurden oder das Senden fehlgeschlagen ist.
+     */
+    CompletableFuture<Void> flush() {
+        final Entry marker = new Entry(null, NO_EVENTS);
+        this.depth.incrementAndGet();
+        this.queue.add(marker);
+        this.scheduleDrain();
+        return marker.future;
+    }
+
+    /**
+     * Nimmt keine weiteren Befehle mehr an. Bereits eingereihte Befehle werden
+     * noch gesendet.
+     *
+     * @return Wird abgeschlossen, sobald alle zuvor eingereihten Befehle gesendet
+     *         wurden oder das Senden fehlgeschlagen ist.
+     */
+    CompletableFuture<Void> shutdown() {
+        this.shutdown = true;
+        return this.flush();
+    }
+
+    /**
+     * Lässt alle noch nicht gesendeten Befehle fehlschlagen. Wird aufgerufen, wenn
+     * die Übertragung ohne Warten geschlossen wurde.
+     *
+     * @param e Der Grund
+     */
+    void fail(final IOException e) {
+        this.shutdown = true;
+        if (this.failure == null) {
+            this.failure = e;
+        }
+        this.scheduleDrain();
+    }
+
+    /**
+     * Gibt die Anzahl der eingereihten, aber noch nicht gesendeten Befehle zurück.
+     *
+     * @return Länge der Warteschlange
+     */
+    int getDepth() {
+        return this.depth.get();
+    }
+
+    /**
+     * Gibt die Anzahl der erfolgreich gesendeten Befehle zurück.
+     *
+     * @return Anzahl der gesendeten Befehle
+     */
+    long getCompletedWrites() {
+        return this.completedWrites.get();
+    }
+
+    /**
+     * Gibt die Summe der Zeiten vom Einreihen bis zum Senden aller gesendeten
+     * Befehle zurück.
+     *
+     * @return Summe der Latenzen in Nanosekunden
+     */
+    long getTotalLatencyNanos() {
+        return this.totalLatency.get();
+    }
+
+    /**
+     * Gibt die größte Zeit vom Einreihen bis zum Senden eines Befehls zurück.
+     *
+     * @return Maximale Latenz in Nanosekunden
+     */
+    long getMaxLatencyNanos() {
+        return this.maxLatency.get();
+    }
+
+    /**
+     * Startet einen Schreiber, falls aktuell keiner läuft.
+     */
+    private void scheduleDrain() {
+        if (this.draining.compareAndSet(false, true)) {
+            this.executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Sendet alle eingereihten Befehle. Läuft im Executor der Übertragung, nie
+     * mehrfach gleichzeitig.
+     */
+    private void drain() {
+        final List<Entry> written = this.unflushed;
+        do {
+            Entry entry;
+            while ((entry = this.queue.poll()) != null) {
+                this.depth.decrementAndGet();
+                if (entry.data == null) {
+                    /* Alles davor muss gesendet sein, bevor die Markierung abgeschlossen wird */
+                    this.flushWritten(written);
+                    if (this.failure == null) {
+                        this.complete(entry);
+                    } else {
+                        /* Ein früherer Befehl wurde nie gesendet, also auch nicht alles davor. */
+                        entry.future.completeExceptionally(this.failure);
+                    }
+                } else if (this.failure == null) {
+                    try {
+                        this.transport.write(entry.data, 0, entry.data.length);
+                        written.add(entry);
+                    } catch (final IOException e) {
+                        this.failure = e;
+                        written.add(entry);
+                        this.failAll(written, e);
+                    }
+                } else {
+                    entry.future.completeExceptionally(this.failure);
+                }
+            }
+            if (this.failure != null) {
+                this.failAll(written, this.failure);
+            } else if (this.flushImmediately) {
+                this.flushWritten(written);
+            }
+            this.draining.set(false);
+            /* Während des Zurücksetzens könnten neue Befehle eingereiht worden sein. */
+        } while (!this.queue.isEmpty() && this.draining.compareAndSet(false, true));
+    }
+
+    /**
+     * Leert die Übertragung und schließt alle bis dahin geschriebenen Befehle ab.
+     *
+     * @param written Die geschriebenen, aber noch nicht abgeschlossenen Befehle
+     */
+    private void flushWritten(final List<Entry> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        try {
+            this.transport.flush();
+        } catch (final IOException e) {
+            this.failure = e;
+            this.failAll(written, e);
+            return;
+        }
+        for (final Entry entry : written) {
+            this.complete(entry);
+        }
+        written.clear();
+    }
+
+    /**
+     * Schließt einen gesendeten Befehl ab, erfasst dessen Latenz und meldet sein
+     * Ereignis.
+     */
+    private void complete(final Entry entry) {
+        if (entry.data != null) {
+            final long latency = System.nanoTime() - entry.enqueued;
+            this.completedWrites.incrementAndGet();
+            this.totalLatency.addAndGet(latency);
+            this.maxLatency.accumulateAndGet(latency, Math::max);
+        }
+        for (final ConnectionEvent event : entry.sentEvents) {
+            try {
+                this.sentListener.accept(event);
+            } catch (final RuntimeException e) {
+                /* Ein fehlerhafter Listener darf den Schreiber nicht beenden. */
+                this.logger.log(Level.WARNING, "Listener for a sent command failed.", e);
+            }
+        }
+        entry.future.complete(null);
+    }
+
+    /**
+     * Lässt alle übergebenen Befehle fehlschlagen.
+     */
+    private void failAll(final List<Entry> written, final IOException e) {
+        if (written.isEmpty()) {
+            return;
+        }
+        this.logger.log(Level.WARNING, "Failed to send commands to peer.", e);
+        for (final Entry entry : written) {
+            entry.future.completeExceptionally(e);
+        }
+        written.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package battleship.network;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+
+/**
+ * Wird als Anhang eines `SelectionKey` gespeichert und vom `EventLoop`
+ * aufgerufen, sobald der zugehörige Kanal bereit ist.
+ */
+interface SelectionHandler {
+    /**
+     * Verarbeitet die bereiten Operationen des Kanals.
+     *
+     * @param key Der ausgewählte Schlüssel
+     * @throws IOException
+     */
+    void handleSelection(SelectionKey key) throws IOException;
+
+    /**
+     * Wird aufgerufen, wenn bei der Verarbeitung ein Fehler aufgetreten ist. Der
+     * Kanal soll danach geschlossen sein.
+     *
+     * @param e Der aufgetretene Fehler
+     */
+    void handleFailure(Exception e);
+}
@@ -0,0 +1,222 @@
+package battleship.network;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import battleship.Constants;
+
+/**
+ * Nicht-blockierender Spiele-Server. Im Gegensatz zu `Server` wird nicht auf
+ * einen einzelnen Client gewartet, sondern es werden beliebig viele Clients
+ * angenommen und auf eine feste Anzahl von Event-Loops verteilt. Jede
+ * Verbindung wird von ihrem Event-Loop gelesen und beschrieben, es gibt also
+ * keinen Thread pro Spiel. Die Anzahl der Threads bleibt damit unabhängig von
+ * der Anzahl der Spiele konstant.
+ *
+ * Der erste Event-Loop nimmt zusätzlich neue Verbindungen an.
+ *
+ * Die Event-Handler der Verbindungen (also die Spiellogik) laufen nicht im
+ * Event-Loop, da sie z. B. auf die Berechnung eines Zuges warten. Sie werden je
+ * Verbindung nacheinander in einem gemeinsamen Pool ausgeführt, welcher nur so
+ * viele Threads hat, wie gerade Ereignisse verarbeitet werden.
+ */
+public final class SelectorServer {
+    private final ServerSocketChannel serverChannel;
+    private final EventLoop[] loops;
+    /*
+     * Führt die Event-Handler aller Verbindungen aus. Virtuelle Threads scheiden
+     * aus, da die Spiellogik unter ihrer Sperre wartet und dabei den
+     * Träger-Thread blockieren würde.
+     */
+    private final ExecutorService handlers;
+    private final AcceptHandler acceptHandler;
+    private final TransportProfile profile;
+    /* Index des Event-Loops, welcher die nächste Verbindung erhält. */
+    private int nextLoop;
+    private final Logger logger;
+
+    /**
+     * Erstellt einen Server auf dem Standard-Port mit einem Event-Loop pro
+     * Prozessor.
+     *
+     * @param acceptHandler Wird für jede angenommene Verbindung aufgerufen
+     * @throws IOException
+     */
+    public SelectorServer(final AcceptHandler acceptHandler) throws IOException {
+        this(Constants.SERVER_PORT, Runtime.getRuntime().availableProcessors(), acceptHandler);
+    }
+
+    /**
+     * Erstellt einen Server mit dem Profil `TransportProfile.LATENCY`. Dieser muss
+     * mit `start()` gestartet werden.
+     *
+     * @param port          Port, auf dem der Server lauschen soll (0 für einen
+     *                      beliebigen freien Port)
+     * @param eventLoops    Anzahl der Event-Loops (und damit Threads)
+     * @param acceptHandler Wird für jede angenommene Verbindung aufgerufen
+     * @throws IOException
+     */
+    public SelectorServer(final int port, final int eventLoops, final AcceptHandler acceptHandler)
+            throws IOException {
+        this(port, eventLoops, TransportProfile.LATENCY, acceptHandler);
+    }
+
+    /**
+     * Erstellt einen Server. Dieser muss mit `start()` gestartet werden.
+     *
+     * @param port          Port, auf dem der Server lauschen soll (0 für einen
+     *                      beliebigen freien Port)
+     * @param eventLoops    Anzahl der Event-Loops (und damit Threads)
+     * @param profile       Profil aller angenommenen Verbindungen
+     * @param acceptHandler Wird für jede angenommene Verbindung aufgerufen
+     * @throws IOException
+     */
+    public SelectorServer(
+            final int port, final int eventLoops, final TransportProfile profile, final AcceptHandler acceptHandler
+    ) throws IOException {
+        if (eventLoops < 1) {
+            throw new IllegalArgumentException("At least one event loop is required.");
+        }
+        this.logger = Logger.getLogger(SelectorServer.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+
+        this.acceptHandler = acceptHandler;
+        this.profile = profile;
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.bind(new InetSocketAddress(port), 50);
+        this.loops = new EventLoop[eventLoops];
+        for (int i = 0; i < eventLoops; i++) {
+            this.loops[i] = new EventLoop("battleship-event-loop-" + i);
+        }
+        this.handlers = Executors
+                .newCachedThreadPool(Thread.ofPlatform().daemon().name("battleship-handler-", 0).factory());
+    }
+
+    /**
+     * Gibt den Port zurück, auf dem der Server lauscht.
+     *
+     * @return Der lokale Port
+     * @throws IOException
+     */
+    public int getLocalPort() throws IOException {
+        return ((InetSocketAddress) this.serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Gibt die Anzahl der aktuell bedienten Verbindungen zurück.
+     *
+     * @return Anzahl der Verbindungen
+     */
+    public int getConnectionCount() {
+        int count = 0;
+        for (final EventLoop loop : this.loops) {
+            count += loop.getChannelCount();
+        }
+        /* Der Server-Kanal selbst ist keine Verbindung. */
+        return count - 1;
+    }
+
+    /**
+     * Startet die Event-Loops und beginnt Verbindungen anzunehmen.
+     */
+    public void start() {
+        for (final EventLoop loop : this.loops) {
+            loop.start();
+        }
+        final EventLoop acceptLoop = this.loops[0];
+        acceptLoop.execute(() -> {
+            try {
+                acceptLoop.register(this.serverChannel, SelectionKey.OP_ACCEPT, new SelectionHandler() {
+                    @Override
+                    public void handleSelection(final SelectionKey key) throws IOException {
+                        SelectorServer.this.acceptAll();
+                    }
+
+                    @Override
+                    public void handleFailure(final Exception e) {
+                        SelectorServer.this.logger.log(Level.SEVERE, "Error when accepting clients.", e);
+                    }
+                });
+                this.logger.log(
+                        Level.INFO, () -> "Server listening on port " + this.serverChannel.socket().getLocalPort()
+                );
+            } catch (final IOException e) {
+                this.logger.log(Level.SEVERE, "Failed to register server channel.", e);
+            }
+        });
+    }
+
+    /**
+     * Beendet den Server. Alle Verbindungen werden dabei geschlossen.
+     *
+     * @throws IOException
+     */
+    public void stop() throws IOException {
+        this.serverChannel.close();
+        for (final EventLoop loop : this.loops) {
+            loop.stop();
+        }
+        this.handlers.shutdown();
+    }
+
+    /**
+     * Nimmt alle wartenden Clients an und verteilt sie reihum auf die Event-Loops.
+     * Läuft im ersten Event-Loop.
+     *
+     * @throws IOException
+     */
+    private void acceptAll() throws IOException {
+        SocketChannel client;
+        while ((client = this.serverChannel.accept()) != null) {
+            client.configureBlocking(false);
+            this.profile.apply(client);
+            final EventLoop loop = this.loops[this.nextLoop];
+            this.nextLoop = (this.nextLoop + 1) % this.loops.length;
+
+            final SocketChannel acceptedClient = client;
+            this.logger.log(Level.INFO, "Incoming connection from client: {0}", client.getRemoteAddress());
+            loop.execute(() -> this.open(acceptedClient, loop));
+        }
+    }
+
+    /**
+     * Umhüllt einen angenommenen Kanal in eine Spiele-Verbindung und übergibt diese
+     * dem AcceptHandler. Läuft im Event-Loop der Verbindung, der AcceptHandler
+     * wird jedoch wie alle Event-Handler außerhalb davon aufgerufen.
+     *
+     * @param client Der angenommene Kanal
+     * @param loop   Der Event-Loop, welcher die Verbindung bedienen soll
+     */
+    private void open(final SocketChannel client, final EventLoop loop) {
+        final ChannelTransport transport = new ChannelTransport(client, loop);
+        final Executor handler = MoreExecutors.newSequentialExecutor(this.handlers);
+        final Connection connection = new Connection(transport, this.profile, handler);
+        try {
+            transport.register(connection);
+        } catch (final IOException e) {
+            this.logger.log(Level.SEVERE, "Failed to register client.", e);
+            connection.abort();
+            return;
+        }
+        /* Vor allen Ereignissen der Verbindung, welche erst danach gelesen werden */
+        handler.execute(() -> {
+            try {
+                this.acceptHandler.handle(connection);
+            } catch (final RuntimeException e) {
+                this.logger.log(Level.SEVERE, "Failed to accept client.", e);
+                loop.execute(connection::abort);
+            }
+        });
+    }
+}
@@ -0,0 +1,10 @@
+package battleship.network;
+
+/**
+ * Listener für `SHOOT_COMMAND_RECEIVED`.
+ */
+@FunctionalInterface
+public interface ShootListener extends ConnectionListener {
+    @Override
+    void onShoot(int x, int y);
+}
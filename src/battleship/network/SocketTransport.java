@@ -0,0 +1,89 @@
+package battleship.network;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Übertragung über einen klassischen, blockierenden Socket. Gelesen wird von dem
+ * Thread, welcher `Connection.readCommand()` aufruft. Geschrieben wird in einem
+ * virtuellen Thread, sodass ein blockierender Socket keinen Aufrufer aufhält.
+ */
+final class SocketTransport implements Transport {
+    /**
+     * Gemeinsamer Executor aller blockierenden Übertragungen. Jeder Durchlauf der
+     * Sende-Warteschlange erhält einen eigenen virtuellen Thread.
+     */
+    private static final Executor WRITER = Executors
+            .newThreadPerTaskExecutor(Thread.ofVirtual().name("battleship-writer-", 0).factory());
+
+    private final Socket socket;
+    private final InputStream input;
+    private final OutputStream output;
+
+    /**
+     * Erstellt eine Übertragung über einen bereits verbundenen Socket.
+     *
+     * @param socket  Der verbundene Socket
+     * @param profile Das Profil, dessen Einstellungen auf den Socket übertragen
+     *                werden
+     * @throws IOException
+     */
+    SocketTransport(final Socket socket, final TransportProfile profile) throws IOException {
+        profile.apply(socket);
+        this.socket = socket;
+        this.input = socket.getInputStream();
+        this.output = new BufferedOutputStream(socket.getOutputStream());
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        final int read;
+        try {
+            read = this.input.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+        } catch (final SocketTimeoutException e) {
+            /* Nichts empfangen. Der Aufrufer entscheidet, ob weiter gewartet wird. */
+            return 0;
+        }
+        if (read > 0) {
+            dst.position(dst.position() + read);
+        }
+        return read;
+    }
+
+    @Override
+    public void write(final byte[] data, final int offset, final int length) throws IOException {
+        this.output.write(data, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.output.flush();
+    }
+
+    @Override
+    public Executor getWriteExecutor() {
+        return WRITER;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return this.socket.isConnected() && !this.socket.isClosed();
+    }
+
+    @Override
+    public boolean isDrivenByEventLoop() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.socket.close();
+    }
+}
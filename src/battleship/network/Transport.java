@@ -0,0 +1,74 @@
+package battleship.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+
+/**
+ * Stellt die Übertragungsschicht unterhalb einer Spiele-Verbindung dar. Eine
+ * `Connection` arbeitet ausschließlich auf Bytes und kümmert sich selbst um das
+ * Zerlegen in Zeilen, sodass dieselbe Protokoll-Logik über einen blockierenden
+ * Socket oder über einen Event-Loop betrieben werden kann.
+ */
+interface Transport {
+    /**
+     * Liest verfügbare Bytes in den übergebenen Puffer.
+     *
+     * @param dst Puffer (im Schreibmodus), in welchen gelesen werden soll.
+     * @return Anzahl der gelesenen Bytes, 0 falls aktuell nichts verfügbar ist
+     *         (bei nicht-blockierenden Übertragungen oder nach Ablauf des
+     *         Lese-Timeouts) oder -1, wenn der Peer die Verbindung beendet hat.
+     * @throws IOException
+     */
+    int read(ByteBuffer dst) throws IOException;
+
+    /**
+     * Übergibt Bytes zum Senden. Die Bytes werden kopiert, das Array darf danach
+     * also wiederverwendet werden.
+     *
+     * @param data   Die zu sendenden Bytes
+     * @param offset Beginn der Bytes im Array
+     * @param length Anzahl der zu sendenden Bytes
+     * @throws IOException
+     */
+    void write(byte[] data, int offset, int length) throws IOException;
+
+    /**
+     * Sorgt dafür, dass alle bisher übergebenen Bytes an den Peer gesendet werden.
+     *
+     * @throws IOException
+     */
+    void flush() throws IOException;
+
+    /**
+     * Gibt den Executor zurück, in welchem die Warteschlange der zu sendenden
+     * Befehle geleert wird. `write()` und `flush()` werden nur von dort aus
+     * aufgerufen.
+     *
+     * @return Der Executor für Schreibvorgänge
+     */
+    Executor getWriteExecutor();
+
+    /**
+     * Überprüft, ob die Übertragung noch offen ist.
+     *
+     * @return true, wenn eine Verbindung besteht, sonst false
+     */
+    boolean isConnected();
+
+    /**
+     * Gibt an, ob die Übertragung von einem Event-Loop angetrieben wird. In diesem
+     * Fall darf `Connection.readCommand()` nicht aufgerufen werden, da der
+     * Event-Loop die empfangenen Befehle selbst verarbeitet.
+     *
+     * @return true, wenn ein Event-Loop die Übertragung antreibt, sonst false
+     */
+    boolean isDrivenByEventLoop();
+
+    /**
+     * Schließt die Übertragung.
+     *
+     * @throws IOException
+     */
+    void close() throws IOException;
+}
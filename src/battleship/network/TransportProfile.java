@@ -0,0 +1,115 @@
+package battleship.network;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Socket-Einstellungen und Sendeverhalten einer Spiele-Verbindung. Das Profil
+ * wird beim Erstellen der Verbindung gewählt.
+ */
+public enum TransportProfile {
+    /**
+     * Für interaktive Spiele: Nagle-Algorithmus aus und jeder Befehl wird sofort
+     * gesendet.
+     */
+    LATENCY(true, 16 * 1024, 16 * 1024, 500, true),
+
+    /**
+     * Für viele Befehle hintereinander (z. B. Bots): Befehle werden gesammelt und
+     * erst an expliziten Rundengrenzen (`Connection.flush()`) gesendet.
+     */
+    THROUGHPUT(false, 128 * 1024, 128 * 1024, 1_000, false);
+
+    private final boolean tcpNoDelay;
+    private final int sendBufferSize;
+    private final int receiveBufferSize;
+    private final int readTimeoutMillis;
+    private final boolean flushImmediately;
+
+    TransportProfile(
+            final boolean tcpNoDelay, final int sendBufferSize, final int receiveBufferSize,
+            final int readTimeoutMillis, final boolean flushImmediately
+    ) {
+        this.tcpNoDelay = tcpNoDelay;
+        this.sendBufferSize = sendBufferSize;
+        this.receiveBufferSize = receiveBufferSize;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.flushImmediately = flushImmediately;
+    }
+
+    /**
+     * Gibt an, ob der Nagle-Algorithmus deaktiviert wird (`TCP_NODELAY`).
+     *
+     * @return true, wenn kleine Pakete sofort gesendet werden
+     */
+    public boolean isTcpNoDelay() {
+        return this.tcpNoDelay;
+    }
+
+    /**
+     * Gibt die Größe des Sendepuffers des Sockets (`SO_SNDBUF`) zurück.
+     *
+     * @return Größe in Bytes
+     */
+    public int getSendBufferSize() {
+        return this.sendBufferSize;
+    }
+
+    /**
+     * Gibt die Größe des Empfangspuffers des Sockets (`SO_RCVBUF`) zurück.
+     *
+     * @return Größe in Bytes
+     */
+    public int getReceiveBufferSize() {
+        return this.receiveBufferSize;
+    }
+
+    /**
+     * Gibt zurück, wie lange ein blockierendes Lesen höchstens wartet
+     * (`SO_TIMEOUT`). Danach prüft der Lese-Thread, ob er beendet werden soll, und
+     * wartet anschließend weiter.
+     *
+     * @return Zeit in Millisekunden
+     */
+    public int getReadTimeoutMillis() {
+        return this.readTimeoutMillis;
+    }
+
+    /**
+     * Gibt an, ob jeder Befehl sofort gesendet wird. Sonst werden Befehle bis zum
+     * nächsten `Connection.flush()` gesammelt.
+     *
+     * @return true, wenn sofort gesendet wird
+     */
+    public boolean isFlushImmediately() {
+        return this.flushImmediately;
+    }
+
+    /**
+     * Überträgt die Einstellungen auf einen blockierenden Socket.
+     *
+     * @param socket Der Socket
+     * @throws IOException
+     */
+    void apply(final Socket socket) throws IOException {
+        socket.setTcpNoDelay(this.tcpNoDelay);
+        socket.setSendBufferSize(this.sendBufferSize);
+        socket.setReceiveBufferSize(this.receiveBufferSize);
+        socket.setSoTimeout(this.readTimeoutMillis);
+    }
+
+    /**
+     * Überträgt die Einstellungen auf einen nicht-blockierenden Kanal. Ein
+     * Lese-Timeout ist dort nicht notwendig.
+     *
+     * @param channel Der Kanal
+     * @throws IOException
+     */
+    void apply(final SocketChannel channel) throws IOException {
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, this.tcpNoDelay);
+        channel.setOption(StandardSocketOptions.SO_SNDBUF, this.sendBufferSize);
+        channel.setOption(StandardSocketOptions.SO_RCVBUF, this.receiveBufferSize);
+    }
+}
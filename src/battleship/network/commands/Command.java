@@ -1,5 +1,7 @@
 package battleship.network.commands;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Repräsentiert einen Spiele-Befehl.
  */
@@ -11,6 +13,17 @@ public interface Command {
      */
     String getFullCommand();
 
+    /**
+     * Liefert den Befehl in seiner genormten Übertragungsform als UTF-8-Bytes.
+     * Befehle können hier vorberechnete, geteilte Arrays zurückgeben. Das Array
+     * darf daher nicht verändert werden.
+     *
+     * @return Der Befehl als UTF-8-Bytes
+     */
+    default byte[] getEncodedCommand() {
+        return this.getFullCommand().getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
      * Überprüft, ob der Befehl die Protokoll-Spezifikation einhält.
      *
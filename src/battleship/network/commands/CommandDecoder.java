@@ -0,0 +1,327 @@
+package battleship.network.commands;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Dekodiert die im Spielverlauf häufigen Befehle (SHOOT, HIT, COIN und
+ * WITHDRAW) direkt aus den empfangenen Bytes, ohne dabei Strings oder
+ * Befehls-Objekte zu erzeugen. Ein Decoder ist für die wiederholte Verwendung
+ * gedacht: Nach jedem Aufruf von `decode()` können die Ergebnisse über die
+ * Getter abgefragt werden, bis zum nächsten Aufruf.
+ *
+ * Die Auswertung entspricht der von `Shoot.fromString()`, `Hit.fromString()`,
+ * `Coin.fromString()` und `Withdraw.fromString()`. Zusätzlich wird geprüft, ob
+ * die empfangene Zeile exakt der genormten Übertragungsform entspricht, ohne
+ * den Befehl dafür erneut zusammenzusetzen.
+ *
+ * Ein Decoder ist nicht threadsicher.
+ */
+public final class CommandDecoder {
+    private static final byte[] SHOOT_KEYWORD = { 'S', 'H', 'O', 'O', 'T' };
+    private static final byte[] HIT_KEYWORD = { 'H', 'I', 'T' };
+    private static final byte[] COIN_KEYWORD = { 'C', 'O', 'I', 'N' };
+    private static final byte[] WITHDRAW_KEYWORD = { 'W', 'I', 'T', 'H', 'D', 'R', 'A', 'W' };
+    /**
+     * Größte Y-Koordinate (beginnend bei 1), welche noch akzeptiert wird. Schützt
+     * vor einem Überlauf bei sehr langen Zahlen.
+     */
+    private static final int MAX_Y_COORDINATE = 1_000_000;
+
+    private CommandKeyword keyword;
+    private int x;
+    private int y;
+    private HitStatus hitstatus;
+    private String coin;
+    private boolean valid;
+    private boolean wellStructured;
+
+    /**
+     * Erstellt einen neuen Decoder.
+     */
+    public CommandDecoder() {
+        this.keyword = CommandKeyword.OTHER;
+        this.hitstatus = HitStatus.UNKNOWN;
+    }
+
+    /**
+     * Dekodiert eine Zeile. Die Position und das Limit des Puffers werden nicht
+     * verändert.
+     *
+     * @param buffer Der Puffer, welcher die Zeile enthält
+     * @param start  Index des ersten Bytes der Zeile
+     * @param end    Index hinter dem letzten Byte der Zeile (ohne Zeilenende)
+     * @return Das Schlüsselwort des Befehls. Bei `OTHER` muss die Zeile auf
+     *         anderem Weg verarbeitet werden.
+     */
+    public CommandKeyword decode(final ByteBuffer buffer, final int start, final int end) {
+        this.x = -1;
+        this.y = -1;
+        this.hitstatus = HitStatus.UNKNOWN;
+        this.coin = null;
+        this.valid = false;
+
+        /* Das Schlüsselwort ist das erste Wort, ohne nachfolgenden Leerraum */
+        final int separator = indexOfSpace(buffer, start, end);
+        final int keywordEnd = trimEnd(buffer, start, separator);
+        this.wellStructured = keywordEnd == separator;
+
+        if (matches(buffer, start, keywordEnd, SHOOT_KEYWORD)) {
+            this.keyword = CommandKeyword.SHOOT;
+            this.decodeShoot(buffer, separator, end);
+        } else if (matches(buffer, start, keywordEnd, HIT_KEYWORD)) {
+            this.keyword = CommandKeyword.HIT;
+            this.decodeHit(buffer, separator, end);
+        } else if (matches(buffer, start, keywordEnd, COIN_KEYWORD)) {
+            this.keyword = CommandKeyword.COIN;
+            this.decodeCoin(buffer, separator, end);
+        } else if (matches(buffer, start, keywordEnd, WITHDRAW_KEYWORD)) {
+            this.keyword = CommandKeyword.WITHDRAW;
+            this.decodeWithdraw(buffer, separator, end);
+        } else {
+            this.keyword = CommandKeyword.OTHER;
+        }
+        return this.keyword;
+    }
+
+    /**
+     * Gibt die geworfene Münze des zuletzt dekodierten COIN-Pakets zurück.
+     *
+     * @return `"0"`, `"1"` oder null, wenn die Münze ungültig war
+     */
+    public String getCoin() {
+        return this.coin;
+    }
+
+    /**
+     * Gibt den Status des zuletzt dekodierten HIT-Pakets zurück.
+     *
+     * @return Status des Feldes
+     */
+    public HitStatus getHitStatus() {
+        return this.hitstatus;
+    }
+
+    /**
+     * Gibt das Schlüsselwort des zuletzt dekodierten Befehls zurück.
+     *
+     * @return Das Schlüsselwort
+     */
+    public CommandKeyword getKeyword() {
+        return this.keyword;
+    }
+
+    /**
+     * Gibt die X-Koordinate des zuletzt dekodierten SHOOT- oder HIT-Pakets zurück.
+     *
+     * @return X-Koordinate, beginnend bei 0.
+     */
+    public int getX() {
+        return this.x;
+    }
+
+    /**
+     * Gibt die Y-Koordinate des zuletzt dekodierten SHOOT- oder HIT-Pakets zurück.
+     *
+     * @return Y-Koordinate, beginnend bei 0.
+     */
+    public int getY() {
+        return this.y;
+    }
+
+    /**
+     * Überprüft, ob der zuletzt dekodierte Befehl die Protokoll-Spezifikation
+     * einhält.
+     *
+     * @return true, wenn der Befehl valide ist, sonst false.
+     */
+    public boolean isValid() {
+        return this.valid;
+    }
+
+    /**
+     * Überprüft, ob die zuletzt dekodierte Zeile exakt der genormten
+     * Übertragungsform entspricht, also keinen zusätzlichen Leerraum oder führende
+     * Nullen enthält.
+     *
+     * @return true, wenn die Zeile der genormten Form entspricht, sonst false.
+     */
+    public boolean isWellStructured() {
+        return this.wellStructured;
+    }
+
+    /**
+     * Dekodiert die Parameter eines SHOOT-Pakets, z. B. `A1`.
+     */
+    private void decodeShoot(final ByteBuffer buffer, final int separator, final int end) {
+        final int payloadStart = trimStart(buffer, Math.min(separator + 1, end), end);
+        final int payloadEnd = trimEnd(buffer, payloadStart, end);
+        this.wellStructured &= payloadStart == separator + 1 && payloadEnd == end;
+        if (payloadEnd - payloadStart < 2) {
+            return;
+        }
+
+        this.x = buffer.get(payloadStart) - 'A';
+        this.y = this.parseYCoordinate(buffer, payloadStart + 1, payloadEnd);
+        this.valid = this.x >= 0 && this.y >= 0;
+    }
+
+    /**
+     * Dekodiert die Parameter eines HIT-Pakets, z. B. `A1 0`.
+     */
+    private void decodeHit(final ByteBuffer buffer, final int separator, final int end) {
+        final int payloadStart = trimStart(buffer, Math.min(separator + 1, end), end);
+        final int payloadEnd = trimEnd(buffer, payloadStart, end);
+        this.wellStructured &= payloadStart == separator + 1 && payloadEnd == end;
+        final int statusSeparator = indexOfSpace(buffer, payloadStart, payloadEnd);
+        if (statusSeparator - payloadStart < 2 || statusSeparator == payloadEnd) {
+            return;
+        }
+
+        this.x = buffer.get(payloadStart) - 'A';
+        this.y = this.parseYCoordinate(buffer, payloadStart + 1, statusSeparator);
+        /* Wie in `Hit.fromString()` muss der Status genau ein Zeichen sein */
+        if (payloadEnd - statusSeparator == 2) {
+            switch (buffer.get(statusSeparator + 1)) {
+                case '0':
+                    this.hitstatus = HitStatus.WATER;
+                    break;
+
+                case '1':
+                    this.hitstatus = HitStatus.HIT;
+                    break;
+
+                case '2':
+                    this.hitstatus = HitStatus.SUNK;
+                    break;
+
+                case '3':
+                    this.hitstatus = HitStatus.SUNK_AND_VICTORY;
+                    break;
+
+                default:
+                    this.hitstatus = HitStatus.UNKNOWN;
+                    break;
+            }
+        }
+        this.valid = this.x >= 0 && this.y >= 0 && this.hitstatus != HitStatus.UNKNOWN;
+    }
+
+    /**
+     * Dekodiert die Parameter eines COIN-Pakets, also `0` oder `1`.
+     */
+    private void decodeCoin(final ByteBuffer buffer, final int separator, final int end) {
+        final int payloadStart = trimStart(buffer, Math.min(separator + 1, end), end);
+        final int payloadEnd = trimEnd(buffer, payloadStart, end);
+        this.wellStructured &= payloadStart == separator + 1 && payloadEnd == end;
+        if (payloadEnd - payloadStart != 1) {
+            return;
+        }
+
+        switch (buffer.get(payloadStart)) {
+            case '0':
+                this.coin = "0";
+                break;
+
+            case '1':
+                this.coin = "1";
+                break;
+
+            default:
+                return;
+        }
+        this.valid = true;
+    }
+
+    /**
+     * Überprüft, dass ein WITHDRAW-Paket keine Parameter hat.
+     */
+    private void decodeWithdraw(final ByteBuffer buffer, final int separator, final int end) {
+        this.wellStructured &= separator == end;
+        this.valid = trimStart(buffer, separator, end) == end;
+    }
+
+    /**
+     * Liest eine Y-Koordinate, welche beginnend bei 1 übertragen wird.
+     *
+     * @return Die Y-Koordinate beginnend bei 0 oder -1, wenn sie ungültig ist.
+     */
+    private int parseYCoordinate(final ByteBuffer buffer, final int start, final int end) {
+        if (start >= end) {
+            return -1;
+        }
+        if (buffer.get(start) == '0') {
+            /* Führende Nullen sind erlaubt, aber nicht Teil der genormten Form */
+            this.wellStructured = false;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+            if (value > MAX_Y_COORDINATE) {
+                return -1;
+            }
+        }
+        return value - 1;
+    }
+
+    /**
+     * Überprüft, ob die Bytes zwischen start und end genau dem Schlüsselwort
+     * entsprechen.
+     */
+    private static boolean matches(final ByteBuffer buffer, final int start, final int end, final byte[] keyword) {
+        if (end - start != keyword.length) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length; i++) {
+            if (buffer.get(start + i) != keyword[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gibt den Index des ersten Leerzeichens zwischen start und end zurück bzw.
+     * end, wenn es keines gibt.
+     */
+    private static int indexOfSpace(final ByteBuffer buffer, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == ' ') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Überspringt Leerraum am Anfang, wie `String.strip()`.
+     */
+    private static int trimStart(final ByteBuffer buffer, final int start, final int end) {
+        int i = start;
+        while (i < end && isWhitespace(buffer.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Überspringt Leerraum am Ende, wie `String.strip()`.
+     */
+    private static int trimEnd(final ByteBuffer buffer, final int start, final int end) {
+        int i = end;
+        while (i > start && isWhitespace(buffer.get(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Entspricht `Character.isWhitespace()` für einzelne ASCII-Bytes.
+     */
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b >= '\t' && b <= '\r' || b >= 0x1C && b <= 0x1F;
+    }
+}
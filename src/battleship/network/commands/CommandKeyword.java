@@ -0,0 +1,34 @@
+package battleship.network.commands;
+
+/**
+ * Schlüsselwort eines vom `CommandDecoder` direkt aus Bytes dekodierten
+ * Befehls.
+ */
+public enum CommandKeyword {
+    /**
+     * Ein SHOOT-Paket. Koordinaten über `getX()` und `getY()` des Decoders.
+     */
+    SHOOT,
+
+    /**
+     * Ein HIT-Paket. Koordinaten über `getX()` und `getY()` und der Status über
+     * `getHitStatus()` des Decoders.
+     */
+    HIT,
+
+    /**
+     * Ein COIN-Paket. Die Münze über `getCoin()` des Decoders.
+     */
+    COIN,
+
+    /**
+     * Ein WITHDRAW-Paket.
+     */
+    WITHDRAW,
+
+    /**
+     * Ein anderer Befehl (VERSION, IAM, IAMU, CHAT oder ein unbekannter Befehl).
+     * Dieser muss weiterhin als String verarbeitet werden.
+     */
+    OTHER
+}
@@ -1,11 +1,40 @@
 package battleship.network.commands;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import battleship.Constants;
 import battleship.utils.Utils;
 
 /**
  * Repräsentiert ein HIT-Paket
  */
 public class Hit implements Command {
+    /**
+     * Größte Seitenlänge eines Spielfeldes. Für alle Koordinaten bis hierhin gibt
+     * es geteilte Instanzen.
+     */
+    private static final int MAX_SIZE = Collections.max(Constants.LEVEL_SIZES);
+    private static final HitStatus[] STATUSES = HitStatus.values();
+    /**
+     * Geteilte Instanzen mit vorberechneter Übertragungsform, indiziert mit
+     * [x][y][Ordinalzahl des Status]
+     */
+    private static final Hit[][][] INTERNED = new Hit[MAX_SIZE][MAX_SIZE][STATUSES.length];
+
+    static {
+        for (int x = 0; x < MAX_SIZE; x++) {
+            for (int y = 0; y < MAX_SIZE; y++) {
+                for (final HitStatus hitstatus : STATUSES) {
+                    final Hit hit = new Hit(x, y, hitstatus, null);
+                    INTERNED[x][y][hitstatus.ordinal()] = new Hit(
+                            x, y, hitstatus, hit.getFullCommand().getBytes(StandardCharsets.UTF_8)
+                    );
+                }
+            }
+        }
+    }
+
     /**
      * X-Koordinate, gespeichert als Zahl beginnend mit 0, übertragen als Buchstabe
      * beginnend mit A
@@ -20,6 +49,10 @@ public class Hit implements Command {
      * Der Status des übermittelten Feldes
      */
     private final HitStatus hitstatus;
+    /**
+     * Vorberechnete Übertragungsform oder null, wenn die Instanz nicht geteilt ist
+     */
+    private final byte[] encoded;
 
     /**
      * Erstellt aus einem HIT-Paket in seiner genormten Übertragungsform als String
@@ -59,7 +92,25 @@ public class Hit implements Command {
                 break;
         }
 
-        return new Hit(xCoordinate.charAt(0) - 'A', Integer.parseInt(yCoordinate) - 1, hitstatus);
+        return Hit.of(xCoordinate.charAt(0) - 'A', Integer.parseInt(yCoordinate) - 1, hitstatus);
+    }
+
+    /**
+     * Liefert eine Repräsentation des HIT-Paketes. Für Koordinaten innerhalb des
+     * größten Spielfeldes wird eine geteilte, unveränderliche Instanz mit
+     * vorberechneter Übertragungsform zurückgegeben, sodass keine Objekte erzeugt
+     * werden.
+     *
+     * @param x         Die X-Koordinate, beginnend bei 0
+     * @param y         Die Y-Koordinate, beginnend bei 0
+     * @param hitstatus Der Status des Feldes
+     * @return Repräsentation des HIT-Pakets
+     */
+    public static Hit of(final int x, final int y, final HitStatus hitstatus) {
+        if (x >= 0 && x < MAX_SIZE && y >= 0 && y < MAX_SIZE && hitstatus != null) {
+            return INTERNED[x][y][hitstatus.ordinal()];
+        }
+        return new Hit(x, y, hitstatus);
     }
 
     /**
@@ -70,9 +121,14 @@ public class Hit implements Command {
      * @param hitstatus
      */
     public Hit(final int x, final int y, final HitStatus hitstatus) {
+        this(x, y, hitstatus, null);
+    }
+
+    private Hit(final int x, final int y, final HitStatus hitstatus, final byte[] encoded) {
         this.x = x;
         this.y = y;
         this.hitstatus = hitstatus;
+        this.encoded = encoded;
     }
 
     @Override
@@ -106,6 +162,14 @@ public class Hit implements Command {
         return builder.toString();
     }
 
+    @Override
+    public byte[] getEncodedCommand() {
+        if (this.encoded != null) {
+            return this.encoded;
+        }
+        return Command.super.getEncodedCommand();
+    }
+
     /**
      * Gibt den Status des Feldes zurück.
      *
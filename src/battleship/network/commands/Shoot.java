@@ -1,9 +1,33 @@
 package battleship.network.commands;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import battleship.Constants;
+
 /**
  * Repräsentiert ein SHOOT-Paket
  */
 public class Shoot implements Command {
+    /**
+     * Größte Seitenlänge eines Spielfeldes. Für alle Koordinaten bis hierhin gibt
+     * es geteilte Instanzen.
+     */
+    private static final int MAX_SIZE = Collections.max(Constants.LEVEL_SIZES);
+    /**
+     * Geteilte Instanzen mit vorberechneter Übertragungsform, indiziert mit [x][y]
+     */
+    private static final Shoot[][] INTERNED = new Shoot[MAX_SIZE][MAX_SIZE];
+
+    static {
+        for (int x = 0; x < MAX_SIZE; x++) {
+            for (int y = 0; y < MAX_SIZE; y++) {
+                final Shoot shoot = new Shoot(x, y, null);
+                INTERNED[x][y] = new Shoot(x, y, shoot.getFullCommand().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
     /**
      * X-Koordinate, gespeichert als Zahl beginnend mit 0, übertragen als Buchstabe
      * beginnend mit A
@@ -14,6 +38,10 @@ public class Shoot implements Command {
      * beginnend mit 1
      */
     private final int y;
+    /**
+     * Vorberechnete Übertragungsform oder null, wenn die Instanz nicht geteilt ist
+     */
+    private final byte[] encoded;
 
     /**
      * Erstellt aus einem SHOOT-Paket in seiner genormten Übertragungsform als
@@ -31,7 +59,24 @@ public class Shoot implements Command {
         }
 
         final String yCoordinate = coordinates.substring(1);
-        return new Shoot(xCoordinate.charAt(0) - 'A', Integer.parseInt(yCoordinate) - 1);
+        return Shoot.of(xCoordinate.charAt(0) - 'A', Integer.parseInt(yCoordinate) - 1);
+    }
+
+    /**
+     * Liefert eine Repräsentation des SHOOT-Paketes. Für Koordinaten innerhalb des
+     * größten Spielfeldes wird eine geteilte, unveränderliche Instanz mit
+     * vorberechneter Übertragungsform zurückgegeben, sodass keine Objekte erzeugt
+     * werden.
+     *
+     * @param x Die X-Koordinate, beginnend bei 0
+     * @param y Die Y-Koordinate, beginnend bei 0
+     * @return Repräsentation des SHOOT-Pakets
+     */
+    public static Shoot of(final int x, final int y) {
+        if (x >= 0 && x < MAX_SIZE && y >= 0 && y < MAX_SIZE) {
+            return INTERNED[x][y];
+        }
+        return new Shoot(x, y);
     }
 
     /**
@@ -41,8 +86,21 @@ public class Shoot implements Command {
      * @param y Die Y-Koordinate, beginnend bei 0
      */
     public Shoot(final int x, final int y) {
+        this(x, y, null);
+    }
+
+    private Shoot(final int x, final int y, final byte[] encoded) {
         this.x = x;
         this.y = y;
+        this.encoded = encoded;
+    }
+
+    @Override
+    public byte[] getEncodedCommand() {
+        if (this.encoded != null) {
+            return this.encoded;
+        }
+        return Command.super.getEncodedCommand();
     }
 
     @Override
@@ -0,0 +1,180 @@
+package battleship.opposingthings;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Frist für die Berechnung eines Zuges des Computers (siehe
+ * `OpposingPlayingField.getComputerMoveCoordinates(Deadline)`). Die Frist
+ * beginnt mit dem Erstellen und wird entweder in Echtzeit oder in CPU-Zeit des
+ * erstellenden Threads gemessen. Eine Berechnung, deren Ergebnis nicht mehr
+ * benötigt wird, lässt sich über `cancelledBy()` vorzeitig beenden: Die Frist
+ * gilt dann als abgelaufen.
+ *
+ * Eine Frist wird nur von dem Thread abgefragt, welcher den Zug berechnet.
+ */
+public final class Deadline {
+    /**
+     * Die Uhr, mit der eine Frist gemessen wird.
+     */
+    public enum Clock {
+        /**
+         * Echtzeit (`System.nanoTime()`). Begrenzt die Wartezeit des Spielers
+         * auch dann, wenn der Rechner ausgelastet ist.
+         */
+        WALL,
+
+        /**
+         * CPU-Zeit des Threads, welcher die Frist erstellt hat. Begrenzt den
+         * Rechenaufwand eines Zuges unabhängig von der Last. Rechenzeit auf
+         * anderen Threads (z. B. im `ForkJoinPool` des `FleetSampler`) wird nicht
+         * mitgezählt, solche Strategien messen daher in Echtzeit (siehe
+         * `onWallClock()`). Kann die JVM die CPU-Zeit nicht messen, wird Echtzeit
+         * verwendet.
+         */
+        CPU
+    }
+
+    /* Eine Frist ohne Abbruch wird nie abgebrochen. */
+    private static final BooleanSupplier NEVER = () -> false;
+    /* Steht für eine Frist, die nie abläuft. */
+    private static final Deadline NONE = new Deadline(Clock.WALL, Long.MAX_VALUE);
+
+    private final Clock clock;
+    private final long budgetNanos;
+    private final long start;
+    /* Beginn der Frist in Echtzeit, unabhängig von der Uhr. */
+    private final long wallStart;
+    /* Liefert true, sobald die Berechnung abgebrochen werden soll. */
+    private final BooleanSupplier cancelled;
+
+    private Deadline(final Clock clock, final long budgetNanos) {
+        this.clock = clock == Clock.CPU && !isCpuTimeSupported() ? Clock.WALL : clock;
+        this.budgetNanos = budgetNanos;
+        this.wallStart = System.nanoTime();
+        this.start = this.clock == Clock.WALL ? this.wallStart : this.now();
+        this.cancelled = NEVER;
+    }
+
+    private Deadline(
+            final Clock clock, final long budgetNanos, final long start, final long wallStart,
+            final BooleanSupplier cancelled
+    ) {
+        this.clock = clock;
+        this.budgetNanos = budgetNanos;
+        this.start = start;
+        this.wallStart = wallStart;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Gibt eine Frist zurück, die nie abläuft. Die Strategien rechnen dann mit
+     * ihrem festen Aufwand (z. B. `FleetSampler.getSamples()` Ziehungen).
+     *
+     * @return Die Frist
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Erstellt eine Frist, welche ab jetzt läuft.
+     *
+     * @param clock       Die Uhr, mit der gemessen wird
+     * @param budgetNanos Die verfügbare Zeit in Nanosekunden
+     * @return Die Frist
+     */
+    public static Deadline after(final Clock clock, final long budgetNanos) {
+        if (budgetNanos < 0) {
+            throw new IllegalArgumentException("The budget of a deadline must not be negative.");
+        }
+        return new Deadline(clock, budgetNanos);
+    }
+
+    /**
+     * Gibt an, ob die Frist nie abläuft.
+     *
+     * @return true für `none()`
+     */
+    public boolean isUnlimited() {
+        return this == NONE;
+    }
+
+    /**
+     * Gibt an, ob die Frist abgelaufen ist.
+     *
+     * @return true, wenn die verfügbare Zeit verbraucht ist oder die Berechnung
+     *         abgebrochen wurde
+     */
+    public boolean isExpired() {
+        return !this.isUnlimited() && (this.cancelled.getAsBoolean() || this.getElapsedNanos() >= this.budgetNanos);
+    }
+
+    /**
+     * Gibt dieselbe Frist zurück, welche zusätzlich abläuft, sobald `cancelled`
+     * true liefert. Die Strategien prüfen dies mit der Frist, eine abgebrochene
+     * Berechnung endet also ebenso schnell wie eine abgelaufene.
+     *
+     * @param cancelled Liefert true, sobald die Berechnung abgebrochen werden
+     *                  soll. Wird von dem rechnenden Thread abgefragt.
+     * @return Die neue Frist
+     */
+    public Deadline cancelledBy(final BooleanSupplier cancelled) {
+        if (this.isUnlimited()) {
+            throw new IllegalStateException("A deadline that never expires cannot be cancelled.");
+        }
+        return new Deadline(this.clock, this.budgetNanos, this.start, this.wallStart, cancelled);
+    }
+
+    /**
+     * Gibt die seit dem Erstellen vergangene Zeit auf der Uhr der Frist zurück.
+     *
+     * @return Zeit in Nanosekunden
+     */
+    public long getElapsedNanos() {
+        return this.now() - this.start;
+    }
+
+    /**
+     * Gibt dieselbe Frist in Echtzeit gemessen zurück. Sie beginnt zum selben
+     * Zeitpunkt wie diese. Wird von Strategien verwendet, welche auf anderen
+     * Threads rechnen, da die CPU-Zeit des wartenden Threads dabei kaum
+     * voranschreitet.
+     *
+     * @return Diese Frist, wenn sie bereits in Echtzeit gemessen wird oder nie
+     *         abläuft, sonst eine neue
+     */
+    public Deadline onWallClock() {
+        if (this.clock == Clock.WALL) {
+            return this;
+        }
+        return new Deadline(Clock.WALL, this.budgetNanos, this.wallStart, this.wallStart, this.cancelled);
+    }
+
+    /**
+     * Gibt die Uhr zurück, mit der die Frist gemessen wird.
+     *
+     * @return Die Uhr
+     */
+    public Clock getClock() {
+        return this.clock;
+    }
+
+    @Override
+    public String toString() {
+        return this.isUnlimited() ? "unlimited" : this.budgetNanos / 1_000_000 + " ms " + this.clock;
+    }
+
+    private long now() {
+        if (this.clock == Clock.CPU) {
+            return ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+        }
+        return System.nanoTime();
+    }
+
+    private static boolean isCpuTimeSupported() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean.isCurrentThreadCpuTimeSupported() && bean.isThreadCpuTimeEnabled();
+    }
+}
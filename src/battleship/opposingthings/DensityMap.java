@@ -0,0 +1,191 @@
+package battleship.opposingthings;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+import battleship.board.Coordinates;
+import battleship.board.PackedBoard;
+
+/**
+ * Zählt für jedes Feld des Gegners, wie viele Lagen der noch schwimmenden
+ * Schiffe mit den bekannten Feldern vereinbar sind (siehe
+ * `TargetingStrategy.PROBABILITY_DENSITY`). Eine Lage ist vereinbar, wenn alle
+ * ihre Felder unbekannt oder angeschossen sind und vor und hinter ihr kein
+ * angeschossenes Feld liegt.
+ *
+ * Waagerechte Lagen hängen nur von ihrer Zeile ab, senkrechte nur von ihrer
+ * Spalte. Die Zählung wird deshalb je Zeile und Spalte gespeichert und nur für
+ * die Zeilen und Spalten wiederholt, in denen sich seit dem letzten Zug ein
+ * Feld geändert hat. Ändert sich die Flotte (ein Schiff wurde versenkt), wird
+ * alles neu gezählt. Die Zählung einer Zeile übernimmt ein `LineCounter`, wenn
+ * möglich mit der Vector API.
+ */
+final class DensityMap {
+    private static final int UNKNOWN = OpposingFieldStatus.UNKNOWN.ordinal();
+    private static final int SHIP = OpposingFieldStatus.SHIP.ordinal();
+
+    private final PackedBoard board;
+    private final FleetInference inference;
+    private final int n;
+    /* Stand des Brettes bei der letzten Zählung. */
+    private final PackedBoard seen;
+    /* Anzahl der schwimmenden Schiffe je Länge bei der letzten Zählung. */
+    private final int[] afloat;
+    /* Anzahl der waagerechten bzw. senkrechten Lagen je Feld. */
+    private final long[] horizontal;
+    private final long[] vertical;
+    /* Wie oben, aber nur Lagen durch angeschossene Felder, gewichtet mit der Anzahl dieser Felder. */
+    private final long[] horizontalHits;
+    private final long[] verticalHits;
+    /* Zeilen und Spalten, welche neu gezählt werden müssen. */
+    private final boolean[] dirtyRows;
+    private final boolean[] dirtyColumns;
+    /* Zählt die Lagen einer Zeile oder Spalte. */
+    private final LineCounter counter;
+    /* Zwischenspeicher für die Zustände und die Zählung einer Zeile oder Spalte. */
+    private final int[] line;
+    private final long[] lineCounts;
+    private final long[] lineHits;
+
+    /**
+     * Erstellt eine Zählung für ein Spielbrett.
+     *
+     * @param board     Das Spielbrett, der Zustand ist die Ordinalzahl des
+     *                  `OpposingFieldStatus`
+     * @param inference Liefert die noch schwimmenden Schiffe
+     */
+    DensityMap(final PackedBoard board, final FleetInference inference) {
+        this.board = board;
+        this.inference = inference;
+        this.n = board.getSize();
+        this.seen = board.copy();
+        this.afloat = new int[this.n + 1];
+        this.horizontal = new long[this.n * this.n];
+        this.vertical = new long[this.n * this.n];
+        this.horizontalHits = new long[this.n * this.n];
+        this.verticalHits = new long[this.n * this.n];
+        this.dirtyRows = new boolean[this.n];
+        this.dirtyColumns = new boolean[this.n];
+        this.counter = LineCounter.create(this.n);
+        this.line = new int[this.n];
+        this.lineCounts = new long[this.n];
+        this.lineHits = new long[this.n];
+        Arrays.fill(this.dirtyRows, true);
+        Arrays.fill(this.dirtyColumns, true);
+    }
+
+    /**
+     * Erstellt eine Kopie einer Zählung für eine Kopie ihres Spielbrettes.
+     *
+     * @param other     Die zu kopierende Zählung
+     * @param board     Die Kopie des Spielbrettes von `other`
+     * @param inference Die Kopie der Ableitung von `other`
+     */
+    DensityMap(final DensityMap other, final PackedBoard board, final FleetInference inference) {
+        this.board = board;
+        this.inference = inference;
+        this.n = other.n;
+        this.seen = other.seen.copy();
+        this.afloat = other.afloat.clone();
+        this.horizontal = other.horizontal.clone();
+        this.vertical = other.vertical.clone();
+        this.horizontalHits = other.horizontalHits.clone();
+        this.verticalHits = other.verticalHits.clone();
+        this.dirtyRows = other.dirtyRows.clone();
+        this.dirtyColumns = other.dirtyColumns.clone();
+        this.counter = LineCounter.create(this.n);
+        this.line = new int[this.n];
+        this.lineCounts = new long[this.n];
+        this.lineHits = new long[this.n];
+    }
+
+    /**
+     * Wählt das unbekannte Feld mit den meisten vereinbaren Lagen. Gibt es
+     * angeschossene Schiffe, zählen nur Lagen durch diese. Unter gleich guten
+     * Feldern wird gleichverteilt gezogen.
+     *
+     * @param random Der zu verwendende Zufallsgenerator
+     * @return Das Feld als gepackte Koordinaten oder `Coordinates.NONE`, wenn
+     *         keine Lage vereinbar ist
+     */
+    int nextMove(final RandomGenerator random) {
+        this.refresh();
+        final boolean target = this.board.count(SHIP) > 0;
+        long best = 0;
+        int choice = -1;
+        int ties = 0;
+        for (int cell = this.board.nextCell(0, UNKNOWN); cell >= 0; cell = this.board.nextCell(cell + 1, UNKNOWN)) {
+            final long score = target
+                    ? this.horizontalHits[cell] + this.verticalHits[cell]
+                    : this.horizontal[cell] + this.vertical[cell];
+            if (score > best) {
+                best = score;
+                choice = cell;
+                ties = 1;
+            } else if (score == best && score > 0 && random.nextInt(++ties) == 0) {
+                choice = cell;
+            }
+        }
+        return choice < 0 ? Coordinates.NONE : Coordinates.pack(choice % this.n, choice / this.n);
+    }
+
+    /**
+     * Zählt die Zeilen und Spalten neu, in denen sich seit der letzten Zählung
+     * etwas geändert hat.
+     */
+    private void refresh() {
+        boolean fleetChanged = false;
+        for (int length = 1; length <= this.n; length++) {
+            final int count = this.inference.countAfloat(length);
+            if (count != this.afloat[length]) {
+                this.afloat[length] = count;
+                fleetChanged = true;
+            }
+        }
+        if (fleetChanged) {
+            Arrays.fill(this.dirtyRows, true);
+            Arrays.fill(this.dirtyColumns, true);
+        }
+
+        for (int cell = this.board.nextDifference(0, this.seen); cell >= 0;
+                cell = this.board.nextDifference(cell + 1, this.seen)) {
+            this.dirtyRows[cell / this.n] = true;
+            this.dirtyColumns[cell % this.n] = true;
+        }
+        this.seen.copyFrom(this.board);
+
+        for (int i = 0; i < this.n; i++) {
+            if (this.dirtyRows[i]) {
+                this.dirtyRows[i] = false;
+                this.countLine(i * this.n, 1, this.horizontal, this.horizontalHits, 1);
+            }
+            if (this.dirtyColumns[i]) {
+                this.dirtyColumns[i] = false;
+                /* Schiffe der Länge 1 wurden bereits waagerecht gezählt. */
+                this.countLine(i, this.n, this.vertical, this.verticalHits, 2);
+            }
+        }
+    }
+
+    /**
+     * Zählt die Lagen in einer Zeile oder Spalte.
+     *
+     * @param first     Index des ersten Feldes
+     * @param step      Abstand zweier Felder (1 für Zeilen, n für Spalten)
+     * @param counts    Ziel der Anzahl aller Lagen
+     * @param hits      Ziel der Anzahl der Lagen durch angeschossene Felder
+     * @param minLength Kürzeste zu zählende Schiffslänge
+     */
+    private void countLine(
+            final int first, final int step, final long[] counts, final long[] hits, final int minLength
+    ) {
+        for (int i = 0; i < this.n; i++) {
+            this.line[i] = this.board.get(first + i * step);
+        }
+        this.counter.count(this.line, this.afloat, minLength, this.lineCounts, this.lineHits);
+        for (int i = 0; i < this.n; i++) {
+            counts[first + i * step] = this.lineCounts[i];
+            hits[first + i * step] = this.lineHits[i];
+        }
+    }
+}
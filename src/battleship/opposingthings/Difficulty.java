@@ -0,0 +1,88 @@
+package battleship.opposingthings;
+
+/**
+ * Schwierigkeitsstufe des Computers. Jede Stufe legt eine Strategie und die
+ * Zeit fest, welche der Computer für einen Zug höchstens nachdenken darf (siehe
+ * `OpposingPlayingField.getComputerMoveCoordinates(Deadline)`). Strategien,
+ * welche ihr Ergebnis schrittweise verbessern, rechnen bis zu dieser Frist und
+ * geben dann den bis dahin besten Zug zurück.
+ */
+public enum Difficulty {
+    /**
+     * Zufällige Schüsse, Treffer werden verfolgt.
+     */
+    EASY(TargetingStrategy.HUNT_AND_TARGET, 5),
+
+    /**
+     * Schüsse nach der Anzahl der möglichen Lagen der Schiffe.
+     */
+    NORMAL(TargetingStrategy.PROBABILITY_DENSITY, 20),
+
+    /**
+     * Schüsse nach gezogenen vollständigen Lagen der Flotte.
+     */
+    HARD(TargetingStrategy.MONTE_CARLO, 100),
+
+    /**
+     * Wie `HARD`, aber mit deutlich mehr Zeit, sodass auch auf großen Feldern
+     * alle Ziehungen eines Zuges fertig werden.
+     */
+    EXPERT(TargetingStrategy.MONTE_CARLO, 500);
+
+    /**
+     * Schwierigkeitsstufe des Computers für Bots und Simulationen ohne eigene
+     * Einstellung. Für diese Stufe sind die Eröffnungsbücher erzeugt.
+     */
+    public static final Difficulty DEFAULT = NORMAL;
+
+    /**
+     * Uhr, mit der die Bedenkzeit des Computers gemessen wird.
+     */
+    public static final Deadline.Clock CLOCK = Deadline.Clock.WALL;
+
+    private final TargetingStrategy strategy;
+    private final long budgetMillis;
+
+    Difficulty(final TargetingStrategy strategy, final long budgetMillis) {
+        this.strategy = strategy;
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * Gibt die Strategie der Stufe zurück.
+     *
+     * @return Die Strategie
+     */
+    public TargetingStrategy getStrategy() {
+        return this.strategy;
+    }
+
+    /**
+     * Gibt die Zeit zurück, welche der Computer je Zug höchstens nachdenkt.
+     *
+     * @return Zeit in Millisekunden
+     */
+    public long getBudgetMillis() {
+        return this.budgetMillis;
+    }
+
+    /**
+     * Erstellt die Frist für einen Zug, welche ab jetzt läuft und mit `CLOCK`
+     * gemessen wird.
+     *
+     * @return Die Frist
+     */
+    public Deadline newDeadline() {
+        return this.newDeadline(CLOCK);
+    }
+
+    /**
+     * Erstellt die Frist für einen Zug, welche ab jetzt läuft.
+     *
+     * @param clock Die Uhr, mit der gemessen wird
+     * @return Die Frist
+     */
+    public Deadline newDeadline(final Deadline.Clock clock) {
+        return Deadline.after(clock, this.budgetMillis * 1_000_000);
+    }
+}
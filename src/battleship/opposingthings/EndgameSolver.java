@@ -0,0 +1,780 @@
+package battleship.opposingthings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+import battleship.Constants;
+import battleship.board.Coordinates;
+import battleship.board.PackedBoard;
+
+/**
+ * Berechnet im Endspiel den optimalen nächsten Schuss. Sind nur noch wenige
+ * Lagen der schwimmenden Schiffe mit den bekannten Feldern vereinbar (höchstens
+ * `Constants.ENDGAME_MAX_PLACEMENTS`), werden alle aufgezählt und der Schuss
+ * gesucht, welcher die erwartete Anzahl der restlichen Schüsse minimiert. Jede
+ * Lage gilt dabei als gleich wahrscheinlich.
+ *
+ * Jedes Schiffsfeld muss ohnehin genau einmal getroffen werden. Die Anzahl der
+ * restlichen Schüsse ist also die Anzahl der noch nicht getroffenen
+ * Schiffsfelder plus die Anzahl der Fehlschüsse, und nur letztere hängt von
+ * der Wahl der Schüsse ab. Ein Spielstand der Suche besteht aus den noch
+ * vereinbaren Lagen und den in der Suche getroffenen Feldern. Ein Schuss teilt
+ * die Lagen nach der Antwort (Wasser, Treffer, versenkt), untersucht werden nur
+ * Schüsse, deren Antwort nicht schon feststeht. Wird die Frist oder eine feste
+ * Anzahl an Spielständen überschritten, wird die Suche abgebrochen und die
+ * Strategie des Spielfeldes übernimmt.
+ *
+ * Die Werte bereits untersuchter Spielstände werden in einer Tabelle fester
+ * Größe gespeichert. Der Schlüssel eines Spielstandes ist das XOR der
+ * Zufallsschlüssel seiner Lagen und getroffenen Felder (Zobrist-Hashing),
+ * Kollisionen werden wie bei Schachprogrammen in Kauf genommen. Ein Solver
+ * gehört zu einem Spielfeld und darf nicht von mehreren Threads gleichzeitig
+ * verwendet werden.
+ */
+final class EndgameSolver {
+    /* Nach so vielen untersuchten Spielständen wird die Frist erneut geprüft. */
+    private static final int DEADLINE_INTERVAL = 1 << 10;
+    /* Maximale Anzahl an untersuchten Spielständen je Zug, auch ohne Frist. */
+    private static final int MAX_STATES = 1 << 16;
+    /* Maximale Anzahl an Schritten beim Aufzählen der Lagen. */
+    private static final int MAX_ENUMERATION_STEPS = 100_000;
+    /* Toleranz beim Vergleich zweier Erwartungswerte. */
+    private static final double EPSILON = 1e-9;
+
+    /* Die möglichen Antworten auf einen Schuss. */
+    private static final int MISS = 0;
+    private static final int HIT = 1;
+    private static final int SUNK = 2;
+    private static final int OUTCOMES = 3;
+
+    private final int maxPlacements;
+    private final int tableSize;
+    /* Verschiebung, welche aus einem gemischten Schlüssel den Index macht. */
+    private final int tableShift;
+    /* Speichert unseren Logger. */
+    private final Logger logger;
+    /* Die Tabelle wird erst im ersten Endspiel angelegt. */
+    private long[] tableKeys;
+    private double[] tableValues;
+
+    /* Zustand der laufenden Suche. */
+    private int n;
+    /* Die vereinbaren Lagen. */
+    private final List<Placement> placements;
+    /* Die vor der Suche angeschossenen Felder je Zeile. */
+    private long[] knownHits;
+    /* Die unbekannten Felder (`y * n + x`), welche in mindestens einer Lage belegt sind. */
+    private int[] cells;
+    /* Zufallsschlüssel je Lage und je Feld. */
+    private long[] placementKeys;
+    private long[] cellKeys;
+    /* Speicher je Tiefe für die Teilmengen eines Schusses und die danach getroffenen Felder. */
+    private long[][][] outcomeSets;
+    private int[][] outcomeSizes;
+    private long[][] hitBuffers;
+    /* Speicher je Tiefe für die von den Lagen belegten Felder und die sortierten Felder. */
+    private long[][] unions;
+    private int[][] orders;
+    private int[][] misses;
+    private Deadline deadline;
+    private int visited;
+    private boolean aborted;
+
+    /**
+     * Erstellt einen Solver.
+     *
+     * @param maxPlacements Höchste Anzahl an vereinbaren Lagen, ab der gesucht
+     *                      wird
+     * @param tableSize     Anzahl der Einträge der Tabelle, eine Zweierpotenz
+     */
+    EndgameSolver(final int maxPlacements, final int tableSize) {
+        if (maxPlacements < 1) {
+            throw new IllegalArgumentException("The endgame solver needs at least one placement.");
+        }
+        if (tableSize < 2 || Integer.bitCount(tableSize) != 1) {
+            throw new IllegalArgumentException(
+                    "The size of the transposition table must be a power of two and at least 2."
+            );
+        }
+        this.logger = Logger.getLogger(EndgameSolver.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+
+        this.maxPlacements = maxPlacements;
+        this.tableSize = tableSize;
+        this.tableShift = Long.SIZE - Integer.numberOfTrailingZeros(tableSize);
+        this.placements = new ArrayList<>();
+    }
+
+    /**
+     * Erstellt einen Solver mit `Constants.ENDGAME_MAX_PLACEMENTS` und
+     * `Constants.ENDGAME_TABLE_SIZE`.
+     */
+    EndgameSolver() {
+        this(Constants.ENDGAME_MAX_PLACEMENTS, Constants.ENDGAME_TABLE_SIZE);
+    }
+
+    /**
+     * Sucht den Schuss, welcher die erwartete Anzahl der restlichen Schüsse
+     * minimiert. Unter gleich guten Feldern wird gleichverteilt gezogen.
+     *
+     * @param board     Das Spielbrett, der Zustand ist die Ordinalzahl des
+     *                  `OpposingFieldStatus`. Höchstens 63 Felder breit.
+     * @param inference Liefert die noch schwimmenden Schiffe
+     * @param random    Der zu verwendende Zufallsgenerator
+     * @param deadline  Die Frist für den Zug
+     * @return Das Feld als gepackte Koordinaten oder `Coordinates.NONE`, wenn
+     *         zu viele (oder keine) Lagen vereinbar sind oder die Suche
+     *         abgebrochen wurde
+     */
+    int nextMove(
+            final PackedBoard board, final FleetInference inference, final RandomGenerator random,
+            final Deadline deadline
+    ) {
+        final List<Integer> remaining = inference.getRemainingShips();
+        if (remaining == null || remaining.isEmpty()) {
+            return Coordinates.NONE;
+        }
+        this.n = board.getSize();
+        this.deadline = deadline;
+        this.aborted = false;
+        this.visited = 0;
+        if (!this.enumerate(board, remaining) || this.placements.isEmpty()) {
+            return Coordinates.NONE;
+        }
+
+        final int count = this.placements.size();
+        if (count == 1) {
+            /* Die Lage steht fest, es bleibt nur, ihre restlichen Felder abzuschießen. */
+            return this.pickCell(board, this.placements.get(0).occupied, random);
+        }
+
+        this.prepare(board, random);
+        final long[] all = new long[this.outcomeSets[0][MISS].length];
+        for (int i = 0; i < count; i++) {
+            all[i >>> 6] |= 1L << i;
+        }
+        final long[] noHits = new long[this.n];
+
+        final int[] order = this.orderCells(all, count, noHits, 0);
+        double best = Double.MAX_VALUE;
+        int choice = -1;
+        int ties = 0;
+        for (int k = 0; k < order.length && order[k] >= 0; k++) {
+            final int cell = order[k];
+            /* Gleich gute Felder dürfen nicht abgeschnitten werden. */
+            final double value = this.evaluate(all, count, noHits, cell, 0, best + EPSILON);
+            if (this.aborted) {
+                this.logger.log(Level.FINE, "Endgame search with " + count + " placements aborted.");
+                return Coordinates.NONE;
+            }
+            if (value < best - EPSILON) {
+                best = value;
+                choice = cell;
+                ties = 1;
+            } else if (value <= best + EPSILON && random.nextInt(++ties) == 0) {
+                choice = cell;
+            }
+        }
+        if (choice < 0) {
+            return Coordinates.NONE;
+        }
+        final double misses = best;
+        this.logger.log(
+                Level.FINE,
+                () -> "Endgame with " + count + " placements solved after " + this.visited
+                        + " states, expected misses " + misses + "."
+        );
+        return Coordinates.pack(choice % this.n, choice / this.n);
+    }
+
+    /**
+     * Zählt die vereinbaren Lagen der schwimmenden Schiffe, ohne einen Schuss zu
+     * suchen.
+     *
+     * @param board     Das Spielbrett (siehe `nextMove()`)
+     * @param inference Liefert die noch schwimmenden Schiffe
+     * @return Anzahl der Lagen oder -1, wenn die Flotte unbekannt ist, mehr als
+     *         `maxPlacements` Lagen vereinbar sind oder die Aufzählung zu lange
+     *         dauert
+     */
+    int countPlacements(final PackedBoard board, final FleetInference inference) {
+        final List<Integer> remaining = inference.getRemainingShips();
+        if (remaining == null) {
+            return -1;
+        }
+        if (remaining.isEmpty()) {
+            return 0;
+        }
+        this.n = board.getSize();
+        return this.enumerate(board, remaining) ? this.placements.size() : -1;
+    }
+
+    /**
+     * Zählt alle vereinbaren Lagen auf.
+     *
+     * @return true, wenn höchstens `maxPlacements` Lagen vereinbar sind und die
+     *         Aufzählung nicht zu lange gedauert hat
+     */
+    private boolean enumerate(final PackedBoard board, final List<Integer> remaining) {
+        final int[] lengths = new int[remaining.size()];
+        /* `remaining` ist aufsteigend sortiert, die längsten Schiffe werden zuerst platziert. */
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = remaining.get(remaining.size() - 1 - i);
+        }
+        final long[] blocked = new long[this.n];
+        this.knownHits = new long[this.n];
+        for (int y = 0; y < this.n; y++) {
+            for (int x = 0; x < this.n; x++) {
+                final int state = board.get(x, y);
+                if (state == OpposingFieldStatus.SHIP.ordinal()) {
+                    this.knownHits[y] |= 1L << x;
+                } else if (state != OpposingFieldStatus.UNKNOWN.ordinal()) {
+                    blocked[y] |= 1L << x;
+                }
+            }
+        }
+        this.placements.clear();
+        final Enumeration enumeration = new Enumeration(lengths, blocked, this.knownHits.clone());
+        return enumeration.run();
+    }
+
+    /**
+     * Sammelt die zu untersuchenden Felder und legt die Zufallsschlüssel, die
+     * Speicher und die Tabelle an.
+     */
+    private void prepare(final PackedBoard board, final RandomGenerator random) {
+        final int count = this.placements.size();
+        final long[] union = new long[this.n];
+        for (final Placement placement : this.placements) {
+            for (int y = 0; y < this.n; y++) {
+                union[y] |= placement.occupied[y];
+            }
+        }
+        final List<Integer> candidates = new ArrayList<>();
+        for (int y = 0; y < this.n; y++) {
+            for (long bits = union[y]; bits != 0; bits &= bits - 1) {
+                final int x = Long.numberOfTrailingZeros(bits);
+                if (board.get(x, y) == OpposingFieldStatus.UNKNOWN.ordinal()) {
+                    candidates.add(y * this.n + x);
+                }
+            }
+        }
+        this.cells = candidates.stream().mapToInt(Integer::intValue).toArray();
+
+        /* Neue Schlüssel machen alle Einträge früherer Suchen ungültig. */
+        final SplittableRandom keyRandom = new SplittableRandom(random.nextLong());
+        this.placementKeys = new long[count];
+        for (int i = 0; i < count; i++) {
+            this.placementKeys[i] = keyRandom.nextLong();
+        }
+        this.cellKeys = new long[this.n * this.n];
+        for (final int cell : this.cells) {
+            this.cellKeys[cell] = keyRandom.nextLong();
+        }
+        if (this.tableKeys == null) {
+            this.tableKeys = new long[this.tableSize];
+            this.tableValues = new double[this.tableSize];
+        }
+        /* Jeder untersuchte Schuss trifft ein neues Feld, tiefer als die Anzahl der Felder wird nicht gesucht. */
+        final int depths = this.cells.length + 1;
+        final int words = (count + Long.SIZE - 1) / Long.SIZE;
+        this.outcomeSets = new long[depths][OUTCOMES][words];
+        this.outcomeSizes = new int[depths][OUTCOMES];
+        this.hitBuffers = new long[depths][this.n];
+        this.unions = new long[depths][this.n];
+        this.orders = new int[depths][this.cells.length];
+        this.misses = new int[depths][this.cells.length];
+    }
+
+    /**
+     * Gibt die erwartete Anzahl an Fehlschüssen bei optimalem Spiel zurück.
+     *
+     * @param set     Die noch vereinbaren Lagen
+     * @param size    Anzahl der Lagen in `set`
+     * @param hits    Die in der Suche getroffenen Felder je Zeile
+     * @param depth   Anzahl der bisherigen Schüsse der Suche
+     * @return Die erwartete Anzahl, `Double.MAX_VALUE` wenn die Suche
+     *         abgebrochen wurde
+     */
+    private double solve(final long[] set, final int size, final long[] hits, final int depth) {
+        if (size <= 1 || this.aborted) {
+            return this.aborted ? Double.MAX_VALUE : 0;
+        }
+        /*
+         * Getroffene Felder außerhalb aller Lagen beeinflussen keine Antwort mehr.
+         * Ohne sie fallen mehr Spielstände zusammen.
+         */
+        final long[] union = this.unions[depth];
+        Arrays.fill(union, 0);
+        long key = 0;
+        for (int w = 0; w < set.length; w++) {
+            for (long bits = set[w]; bits != 0; bits &= bits - 1) {
+                final int i = w << 6 | Long.numberOfTrailingZeros(bits);
+                key ^= this.placementKeys[i];
+                final long[] occupied = this.placements.get(i).occupied;
+                for (int y = 0; y < this.n; y++) {
+                    union[y] |= occupied[y];
+                }
+            }
+        }
+        for (int y = 0; y < this.n; y++) {
+            for (long bits = hits[y] & union[y]; bits != 0; bits &= bits - 1) {
+                key ^= this.cellKeys[y * this.n + Long.numberOfTrailingZeros(bits)];
+            }
+        }
+        /* Der Schlüssel 0 kennzeichnet leere Einträge. */
+        key |= 1;
+        /*
+         * Die Bits des Schlüssels hängen linear von den Lagen ab. Würden sie direkt
+         * als Index dienen, fielen bei linear abhängigen Schlüsseln ganze Familien
+         * von Spielständen auf dieselben Einträge. Die Multiplikation mischt sie.
+         */
+        final int slot = (int) (key * 0x9E3779B97F4A7C15L >>> this.tableShift);
+        if (this.tableKeys[slot] == key) {
+            return this.tableValues[slot];
+        }
+
+        if (++this.visited > MAX_STATES
+                || this.visited % DEADLINE_INTERVAL == 0 && this.deadline.isExpired()) {
+            this.aborted = true;
+            return Double.MAX_VALUE;
+        }
+
+        double best = Double.MAX_VALUE;
+        for (final int cell : this.orderCells(set, size, hits, depth)) {
+            if (cell < 0 || this.aborted) {
+                break;
+            }
+            best = Math.min(best, this.evaluate(set, size, hits, cell, depth, best));
+        }
+        if (!this.aborted) {
+            this.tableKeys[slot] = key;
+            this.tableValues[slot] = best;
+        }
+        return best;
+    }
+
+    /**
+     * Sortiert die noch nicht getroffenen Felder nach der Anzahl der Lagen, in
+     * denen sie nicht belegt sind. Felder mit wenigen Fehlschüssen werden zuerst
+     * untersucht, damit die übrigen früh abgeschnitten werden können.
+     *
+     * @return Die Felder, nach dem letzten folgt -1 (sofern Platz ist)
+     */
+    private int[] orderCells(final long[] set, final int size, final long[] hits, final int depth) {
+        final int[] order = this.orders[depth];
+        final int[] counts = this.misses[depth];
+        int length = 0;
+        for (final int cell : this.cells) {
+            final int x = cell % this.n;
+            final int y = cell / this.n;
+            final long bit = 1L << x;
+            if ((hits[y] & bit) != 0) {
+                continue;
+            }
+            int occupied = 0;
+            for (int w = 0; w < set.length; w++) {
+                for (long bits = set[w]; bits != 0; bits &= bits - 1) {
+                    if ((this.placements.get(w << 6 | Long.numberOfTrailingZeros(bits)).occupied[y] & bit) != 0) {
+                        occupied++;
+                    }
+                }
+            }
+            if (occupied == 0) {
+                continue;
+            }
+            /* Einfügen nach der Anzahl der Fehlschüsse. */
+            final int missed = size - occupied;
+            int k = length++;
+            while (k > 0 && counts[k - 1] > missed) {
+                order[k] = order[k - 1];
+                counts[k] = counts[k - 1];
+                k--;
+            }
+            order[k] = cell;
+            counts[k] = missed;
+        }
+        if (length < order.length) {
+            order[length] = -1;
+        }
+        return order;
+    }
+
+    /**
+     * Gibt die erwartete Anzahl an Fehlschüssen zurück, wenn auf ein Feld
+     * geschossen und danach optimal weitergespielt wird.
+     *
+     * @param set     Die noch vereinbaren Lagen
+     * @param size    Anzahl der Lagen in `set`
+     * @param hits    Die in der Suche getroffenen Felder je Zeile
+     * @param cell    Das Feld, auf welches geschossen wird (`y * n + x`)
+     * @param depth   Anzahl der bisherigen Schüsse der Suche
+     * @param bound   Ist die erwartete Anzahl mindestens so groß, wird die
+     *                Untersuchung abgebrochen
+     * @return Die erwartete Anzahl, `Double.MAX_VALUE` wenn der Schuss keine
+     *         Information gibt, abgeschnitten oder die Suche abgebrochen wurde
+     */
+    private double evaluate(
+            final long[] set, final int size, final long[] hits, final int cell, final int depth, final double bound
+    ) {
+        final int x = cell % this.n;
+        final int y = cell / this.n;
+        if ((hits[y] & 1L << x) != 0) {
+            return Double.MAX_VALUE;
+        }
+        final long[][] sets = this.outcomeSets[depth];
+        final int[] sizes = this.outcomeSizes[depth];
+        for (int outcome = 0; outcome < OUTCOMES; outcome++) {
+            Arrays.fill(sets[outcome], 0);
+            sizes[outcome] = 0;
+        }
+        for (int w = 0; w < set.length; w++) {
+            for (long bits = set[w]; bits != 0; bits &= bits - 1) {
+                final int i = w << 6 | Long.numberOfTrailingZeros(bits);
+                final int outcome = this.placements.get(i).answer(x, y, hits, this.knownHits);
+                sets[outcome][w] |= 1L << i;
+                sizes[outcome]++;
+            }
+        }
+        if (sizes[MISS] == size || sizes[HIT] == size || sizes[SUNK] == size) {
+            /* Die Antwort steht fest, der Schuss gibt keine Information. */
+            return Double.MAX_VALUE;
+        }
+
+        /* Jeder Fehlschuss kostet mindestens diesen Schuss. */
+        final double limit = bound * size;
+        if (sizes[MISS] >= limit) {
+            return Double.MAX_VALUE;
+        }
+
+        /* `solve()` schreibt nur in die Speicher tieferer Ebenen. */
+        double total = 0;
+        if (sizes[MISS] > 0) {
+            total += sizes[MISS] * (1 + this.solve(sets[MISS], sizes[MISS], hits, depth + 1));
+        }
+        if (sizes[HIT] + sizes[SUNK] > 0 && total < limit) {
+            final long[] nextHits = this.hitBuffers[depth];
+            System.arraycopy(hits, 0, nextHits, 0, this.n);
+            nextHits[y] |= 1L << x;
+            for (int outcome = HIT; outcome <= SUNK && total < limit; outcome++) {
+                if (sizes[outcome] > 0) {
+                    total += sizes[outcome] * this.solve(sets[outcome], sizes[outcome], nextHits, depth + 1);
+                }
+            }
+        }
+        return this.aborted || total >= limit ? Double.MAX_VALUE : total / size;
+    }
+
+    /**
+     * Wählt gleichverteilt ein noch unbekanntes Feld aus einer Menge.
+     *
+     * @param cells Die Felder je Zeile
+     * @return Das Feld als gepackte Koordinaten oder `Coordinates.NONE`, wenn
+     *         keines unbekannt ist
+     */
+    private int pickCell(final PackedBoard board, final long[] cells, final RandomGenerator random) {
+        int choice = -1;
+        int seen = 0;
+        for (int y = 0; y < this.n; y++) {
+            for (long bits = cells[y]; bits != 0; bits &= bits - 1) {
+                final int x = Long.numberOfTrailingZeros(bits);
+                if (board.get(x, y) == OpposingFieldStatus.UNKNOWN.ordinal() && random.nextInt(++seen) == 0) {
+                    choice = Coordinates.pack(x, y);
+                }
+            }
+        }
+        return choice < 0 ? Coordinates.NONE : choice;
+    }
+
+    /**
+     * Eine vereinbare Lage der noch schwimmenden Schiffe.
+     */
+    private static final class Placement {
+        /* Die belegten Felder je Zeile. */
+        private final long[] occupied;
+        /* Die Felder jedes Schiffes je Zeile. */
+        private final long[][] ships;
+
+        Placement(final long[] occupied, final long[][] ships) {
+            this.occupied = occupied;
+            this.ships = ships;
+        }
+
+        /**
+         * Gibt die Antwort auf einen Schuss zurück, wenn dies die Lage der
+         * Schiffe ist.
+         *
+         * @param hits      Die in der Suche getroffenen Felder je Zeile
+         * @param knownHits Die vor der Suche angeschossenen Felder je Zeile
+         * @return `MISS`, `HIT` oder `SUNK`
+         */
+        int answer(final int x, final int y, final long[] hits, final long[] knownHits) {
+            final long bit = 1L << x;
+            if ((this.occupied[y] & bit) == 0) {
+                return MISS;
+            }
+            for (final long[] ship : this.ships) {
+                if ((ship[y] & bit) == 0) {
+                    continue;
+                }
+                for (int row = 0; row < ship.length; row++) {
+                    final long shot = hits[row] | knownHits[row] | (row == y ? bit : 0);
+                    if ((ship[row] & ~shot) != 0) {
+                        return HIT;
+                    }
+                }
+                return SUNK;
+            }
+            throw new IllegalStateException("An occupied cell belongs to no ship.");
+        }
+    }
+
+    /**
+     * Zählt alle vereinbaren Lagen Schiff für Schiff auf. Gesperrt sind Wasser,
+     * versenkte Schiffe sowie die Felder und Nachbarn bereits platzierter
+     * Schiffe. Wie bei `FleetSampler` wird zuerst das erste nicht abgedeckte
+     * angeschossene Feld abgedeckt, danach werden die übrigen Schiffe frei
+     * platziert.
+     *
+     * Damit jede Lage nur einmal gezählt wird, deckt von gleich langen Schiffen
+     * nur das erste unbenutzte einen Treffer ab, und frei platzierte gleich
+     * lange Schiffe liegen in aufsteigender Position. Eine Position wird als
+     * `(y * n + x) << 1` kodiert, das unterste Bit ist 1 für senkrechte Schiffe.
+     */
+    private final class Enumeration {
+        private final int[] lengths;
+        private final boolean[] used;
+        private final long[][] forbidden;
+        private final long[][] uncovered;
+        private final long[][] occupied;
+        /* Die Felder des Schiffes je Tiefe. */
+        private final long[][] shipCells;
+        /* Index und Position des Schiffes je Tiefe, die Position ist -1, wenn es einen Treffer abdeckt. */
+        private final int[] ships;
+        private final int[] freePositions;
+        private int steps;
+
+        Enumeration(final int[] lengths, final long[] blocked, final long[] hits) {
+            final int ships = lengths.length;
+            this.lengths = lengths;
+            this.used = new boolean[ships];
+            this.forbidden = new long[ships + 1][];
+            this.uncovered = new long[ships + 1][];
+            this.occupied = new long[ships + 1][];
+            this.shipCells = new long[ships][EndgameSolver.this.n];
+            this.ships = new int[ships];
+            this.freePositions = new int[ships];
+            this.forbidden[0] = blocked;
+            this.uncovered[0] = hits;
+            this.occupied[0] = new long[EndgameSolver.this.n];
+            for (int depth = 1; depth <= ships; depth++) {
+                this.forbidden[depth] = new long[EndgameSolver.this.n];
+                this.uncovered[depth] = new long[EndgameSolver.this.n];
+                this.occupied[depth] = new long[EndgameSolver.this.n];
+            }
+        }
+
+        /**
+         * @return false, wenn abgebrochen wurde, weil zu viele Lagen vereinbar
+         *         sind oder die Aufzählung zu lange dauert
+         */
+        boolean run() {
+            this.steps = 0;
+            return this.place(0);
+        }
+
+        private boolean place(final int depth) {
+            final int n = EndgameSolver.this.n;
+            final long[] uncovered = this.uncovered[depth];
+            int hitRow = -1;
+            for (int y = 0; y < n && hitRow < 0; y++) {
+                if (uncovered[y] != 0) {
+                    hitRow = y;
+                }
+            }
+            if (depth == this.lengths.length) {
+                if (hitRow >= 0) {
+                    return true;
+                }
+                if (EndgameSolver.this.placements.size() >= EndgameSolver.this.maxPlacements) {
+                    return false;
+                }
+                final long[][] ships = new long[depth][];
+                for (int d = 0; d < depth; d++) {
+                    ships[d] = this.shipCells[d].clone();
+                }
+                EndgameSolver.this.placements.add(new Placement(this.occupied[depth].clone(), ships));
+                return true;
+            }
+
+            if (hitRow >= 0) {
+                final int hitColumn = Long.numberOfTrailingZeros(uncovered[hitRow]);
+                int previousLength = -1;
+                for (int i = 0; i < this.lengths.length; i++) {
+                    if (this.used[i] || this.lengths[i] == previousLength) {
+                        continue;
+                    }
+                    previousLength = this.lengths[i];
+                    if (!this.cover(depth, i, hitColumn, hitRow)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            int i = 0;
+            while (this.used[i]) {
+                i++;
+            }
+            final int previous = depth > 0 ? this.freePositions[depth - 1] : -1;
+            final boolean sameAsPrevious = previous >= 0 && this.lengths[i] == this.lengths[this.ships[depth - 1]];
+            for (int position = sameAsPrevious ? previous + 1 : 0; position < 2 * n * n; position++) {
+                if (!this.tryPosition(depth, i, position, position)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Probiert alle Positionen eines Schiffes, welche ein Feld abdecken.
+         *
+         * @return false, wenn abgebrochen wurde
+         */
+        private boolean cover(final int depth, final int i, final int x, final int y) {
+            final int n = EndgameSolver.this.n;
+            final int length = this.lengths[i];
+            for (int sx = Math.max(0, x - length + 1); sx <= Math.min(x, n - length); sx++) {
+                if (!this.tryPosition(depth, i, (y * n + sx) << 1, -1)) {
+                    return false;
+                }
+            }
+            if (length > 1) {
+                for (int sy = Math.max(0, y - length + 1); sy <= Math.min(y, n - length); sy++) {
+                    if (!this.tryPosition(depth, i, (sy * n + x) << 1 | 1, -1)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Platziert ein Schiff, sofern es dort passt, und zählt die restlichen
+         * Schiffe auf.
+         *
+         * @param freePosition Die Position, wenn das Schiff frei platziert wird,
+         *                     sonst -1
+         * @return false, wenn abgebrochen wurde
+         */
+        private boolean tryPosition(final int depth, final int i, final int position, final int freePosition) {
+            if (++this.steps > MAX_ENUMERATION_STEPS) {
+                return false;
+            }
+            final int n = EndgameSolver.this.n;
+            final long[] forbidden = this.forbidden[depth];
+            final int length = this.lengths[i];
+            final boolean vertical = (position & 1) == 1;
+            final int x = (position >>> 1) % n;
+            final int y = (position >>> 1) / n;
+            if (vertical ? length == 1 || y + length > n || !fitsVertically(forbidden, x, y, length)
+                    : x + length > n || (forbidden[y] & ((1L << length) - 1) << x) != 0) {
+                return true;
+            }
+            /* Ein vollständig getroffenes Schiff wäre bereits versenkt. */
+            if (isFullyHit(EndgameSolver.this.knownHits, x, y, length, vertical)) {
+                return true;
+            }
+            if (!this.occupy(depth, x, y, length, vertical)) {
+                return true;
+            }
+            this.used[i] = true;
+            this.ships[depth] = i;
+            this.freePositions[depth] = freePosition;
+            final boolean completed = this.place(depth + 1);
+            this.used[i] = false;
+            return completed;
+        }
+
+        /**
+         * Überträgt den Zustand der Tiefe auf die nächste und platziert dort ein
+         * Schiff.
+         *
+         * @return false, wenn danach ein Treffer nicht mehr abgedeckt werden kann
+         */
+        private boolean occupy(final int depth, final int x, final int y, final int length, final boolean vertical) {
+            final int n = EndgameSolver.this.n;
+            final long[] forbidden = this.forbidden[depth + 1];
+            final long[] uncovered = this.uncovered[depth + 1];
+            final long[] occupied = this.occupied[depth + 1];
+            final long[] ship = this.shipCells[depth];
+            System.arraycopy(this.forbidden[depth], 0, forbidden, 0, n);
+            System.arraycopy(this.uncovered[depth], 0, uncovered, 0, n);
+            System.arraycopy(this.occupied[depth], 0, occupied, 0, n);
+            Arrays.fill(ship, 0);
+            if (vertical) {
+                final long bit = 1L << x;
+                for (int row = y; row < y + length; row++) {
+                    ship[row] = bit;
+                    uncovered[row] &= ~bit;
+                    occupied[row] |= bit;
+                    forbidden[row] |= bit | bit << 1 | bit >>> 1;
+                }
+                if (y > 0) {
+                    forbidden[y - 1] |= bit;
+                }
+                if (y + length < n) {
+                    forbidden[y + length] |= bit;
+                }
+            } else {
+                final long span = ((1L << length) - 1) << x;
+                ship[y] = span;
+                uncovered[y] &= ~span;
+                occupied[y] |= span;
+                forbidden[y] |= span | span << 1 | span >>> 1;
+                if (y > 0) {
+                    forbidden[y - 1] |= span;
+                }
+                if (y + 1 < n) {
+                    forbidden[y + 1] |= span;
+                }
+            }
+            for (int row = 0; row < n; row++) {
+                if ((forbidden[row] & uncovered[row]) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isFullyHit(
+                final long[] hits, final int x, final int y, final int length, final boolean vertical
+        ) {
+            if (!vertical) {
+                return (((1L << length) - 1) << x & ~hits[y]) == 0;
+            }
+            final long bit = 1L << x;
+            for (int row = y; row < y + length; row++) {
+                if ((hits[row] & bit) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean fitsVertically(final long[] forbidden, final int x, final int y, final int length) {
+            final long bit = 1L << x;
+            for (int row = y; row < y + length; row++) {
+                if ((forbidden[row] & bit) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
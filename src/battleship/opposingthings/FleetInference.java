@@ -0,0 +1,311 @@
+package battleship.opposingthings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import battleship.board.PackedBoard;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Leitet aus den bekannten Feldern des Gegners weitere Wasserfelder ab. Es
+ * gelten dieselben Regeln wie beim Platzieren der eigenen Schiffe (siehe
+ * `PlayersPlayingField.isShipSuitable()`): Schiffe sind gerade und berühren
+ * sich nicht über eine Kante.
+ *
+ * Daraus folgt:
+ * - Alle Nachbarn eines versenkten Schiffes sind Wasser.
+ * - Ist die Richtung eines getroffenen Schiffes bekannt, sind die Felder
+ *   seitlich davon Wasser.
+ * - Ist die Flotte bekannt, ist ein Feld Wasser, wenn durch es hindurch weder
+ *   waagerecht noch senkrecht das kürzeste noch schwimmende Schiff passt.
+ *
+ * Die Ableitung geschieht schrittweise nach jedem `OpposingPlayingField.hit()`.
+ * Nur die Zeilen und Spalten, in denen sich etwas geändert hat, werden neu
+ * geprüft.
+ */
+final class FleetInference {
+    private static final int UNKNOWN = OpposingFieldStatus.UNKNOWN.ordinal();
+    private static final int WATER = OpposingFieldStatus.WATER.ordinal();
+    private static final int SHIP = OpposingFieldStatus.SHIP.ordinal();
+    private static final int SUNK = OpposingFieldStatus.SUNK.ordinal();
+
+    private final PackedBoard board;
+    private final int n;
+    /* Anzahl der noch schwimmenden Schiffe je Länge, null wenn die Flotte unbekannt ist. */
+    @Nullable
+    private final int[] afloat;
+    /* Länge des kürzesten noch schwimmenden Schiffes. */
+    private int minLength;
+    /* Zeilen und Spalten, welche noch einmal geprüft werden müssen. */
+    private final boolean[] dirtyRows;
+    private final boolean[] dirtyColumns;
+    private boolean dirty;
+    /* Anzahl der bisher abgeleiteten Wasserfelder. */
+    private int inferred;
+
+    /**
+     * Erstellt eine Ableitung für ein Spielbrett.
+     *
+     * @param board Das Spielbrett, der Zustand ist die Ordinalzahl des
+     *              `OpposingFieldStatus`
+     * @param fleet Die Längen der Schiffe des Gegners, null wenn unbekannt
+     */
+    FleetInference(final PackedBoard board, @Nullable final Iterable<Integer> fleet) {
+        this.board = board;
+        this.n = board.getSize();
+        this.dirtyRows = new boolean[this.n];
+        this.dirtyColumns = new boolean[this.n];
+        if (fleet == null) {
+            this.afloat = null;
+            this.minLength = 1;
+        } else {
+            this.afloat = new int[this.n + 1];
+            for (final Integer length : fleet) {
+                if (length < 1 || length > this.n) {
+                    throw new IllegalArgumentException("The fleet contains a ship of invalid length " + length + ".");
+                }
+                this.afloat[length]++;
+            }
+            this.minLength = this.computeMinLength();
+        }
+    }
+
+    /**
+     * Erstellt eine Kopie einer Ableitung für eine Kopie ihres Spielbrettes.
+     *
+     * @param other Die zu kopierende Ableitung
+     * @param board Die Kopie des Spielbrettes von `other`
+     */
+    FleetInference(final FleetInference other, final PackedBoard board) {
+        this.board = board;
+        this.n = other.n;
+        this.afloat = other.afloat == null ? null : other.afloat.clone();
+        this.minLength = other.minLength;
+        this.dirtyRows = other.dirtyRows.clone();
+        this.dirtyColumns = other.dirtyColumns.clone();
+        this.dirty = other.dirty;
+        this.inferred = other.inferred;
+    }
+
+    /**
+     * Verarbeitet ein neu bekanntes Feld und leitet daraus Wasserfelder ab.
+     *
+     * @param x           X-Koordinate des Feldes
+     * @param y           Y-Koordinate des Feldes
+     * @param fieldStatus Der neue Status des Feldes
+     */
+    void update(final int x, final int y, final OpposingFieldStatus fieldStatus) {
+        switch (fieldStatus) {
+            case WATER:
+                this.markDirty(x, y);
+                break;
+
+            case SHIP:
+                this.markDirty(x, y);
+                this.surroundOpenShip(x, y);
+                break;
+
+            case SUNK:
+                this.surroundSunkShip(x, y);
+                break;
+
+            default:
+                break;
+        }
+        this.propagate();
+    }
+
+    /**
+     * Gibt die Längen der noch schwimmenden Schiffe zurück.
+     *
+     * @return Die Längen, aufsteigend, null wenn die Flotte unbekannt ist
+     */
+    @Nullable
+    List<Integer> getRemainingShips() {
+        if (this.afloat == null) {
+            return null;
+        }
+        final List<Integer> result = new ArrayList<>();
+        for (int length = 1; length < this.afloat.length; length++) {
+            for (int i = 0; i < this.afloat[length]; i++) {
+                result.add(length);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gibt die Anzahl der noch schwimmenden Schiffe einer Länge zurück.
+     *
+     * @param length Die Länge
+     * @return Anzahl der Schiffe, 0 wenn die Flotte unbekannt ist
+     */
+    int countAfloat(final int length) {
+        if (this.afloat == null || length < 1 || length >= this.afloat.length) {
+            return 0;
+        }
+        return this.afloat[length];
+    }
+
+    /**
+     * Gibt die Anzahl der bisher abgeleiteten Wasserfelder zurück.
+     *
+     * @return Anzahl der Felder
+     */
+    int getInferredWater() {
+        return this.inferred;
+    }
+
+    /**
+     * Markiert die Felder seitlich eines getroffenen, aber nicht versenkten
+     * Schiffes als Wasser, sobald seine Richtung bekannt ist.
+     */
+    private void surroundOpenShip(final int x, final int y) {
+        final boolean horizontal = this.is(x - 1, y, SHIP) || this.is(x + 1, y, SHIP);
+        final boolean vertical = this.is(x, y - 1, SHIP) || this.is(x, y + 1, SHIP);
+        if (horizontal == vertical) {
+            /* Richtung unbekannt (oder widersprüchlich): nichts ableiten. */
+            return;
+        }
+        final int dx = horizontal ? 1 : 0;
+        final int dy = 1 - dx;
+        int sx = x;
+        int sy = y;
+        while (this.is(sx - dx, sy - dy, SHIP)) {
+            sx -= dx;
+            sy -= dy;
+        }
+        for (; this.is(sx, sy, SHIP); sx += dx, sy += dy) {
+            this.inferWater(sx - dy, sy - dx);
+            this.inferWater(sx + dy, sy + dx);
+        }
+    }
+
+    /**
+     * Markiert alle Nachbarn eines versenkten Schiffes als Wasser und streicht
+     * es aus der Flotte.
+     */
+    private void surroundSunkShip(final int x, final int y) {
+        /* Versenkte Schiffe berühren sich nicht, die zusammenhängenden Felder sind also dieses Schiff. */
+        final int dx = this.is(x - 1, y, SUNK) || this.is(x + 1, y, SUNK) ? 1 : 0;
+        final int dy = 1 - dx;
+        int sx = x;
+        int sy = y;
+        while (this.is(sx - dx, sy - dy, SUNK)) {
+            sx -= dx;
+            sy -= dy;
+        }
+        int length = 0;
+        for (; this.is(sx, sy, SUNK); sx += dx, sy += dy) {
+            this.inferWater(sx - 1, sy);
+            this.inferWater(sx + 1, sy);
+            this.inferWater(sx, sy - 1);
+            this.inferWater(sx, sy + 1);
+            this.markDirty(sx, sy);
+            length++;
+        }
+
+        if (this.afloat != null && length < this.afloat.length && this.afloat[length] > 0) {
+            this.afloat[length]--;
+            final int previous = this.minLength;
+            this.minLength = this.computeMinLength();
+            if (this.minLength != previous) {
+                /* Das kürzeste Schiff ist länger geworden, jedes Feld muss neu geprüft werden. */
+                for (int i = 0; i < this.n; i++) {
+                    this.dirtyRows[i] = true;
+                }
+                this.dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Prüft die markierten Zeilen und Spalten, bis sich nichts mehr ändert.
+     */
+    private void propagate() {
+        if (this.minLength <= 1) {
+            /* In jedes unbekannte Feld passt ein Schiff der Länge 1. */
+            this.dirty = false;
+            return;
+        }
+        while (this.dirty) {
+            this.dirty = false;
+            for (int i = 0; i < this.n; i++) {
+                if (this.dirtyRows[i]) {
+                    this.dirtyRows[i] = false;
+                    for (int x = 0; x < this.n; x++) {
+                        this.checkCell(x, i);
+                    }
+                }
+                if (this.dirtyColumns[i]) {
+                    this.dirtyColumns[i] = false;
+                    for (int y = 0; y < this.n; y++) {
+                        this.checkCell(i, y);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Markiert ein unbekanntes Feld als Wasser, wenn kein Schiff hineinpasst.
+     */
+    private void checkCell(final int x, final int y) {
+        if (this.board.get(x, y) == UNKNOWN && this.run(x, y, 1, 0) < this.minLength
+                && this.run(x, y, 0, 1) < this.minLength) {
+            this.inferWater(x, y);
+        }
+    }
+
+    /**
+     * Gibt die Länge der Strecke durch ein Feld zurück, auf der ein Schiff
+     * liegen könnte (unbekannte oder getroffene Felder). Bricht ab, sobald sie
+     * lang genug für das kürzeste Schiff ist.
+     */
+    private int run(final int x, final int y, final int dx, final int dy) {
+        int length = 1;
+        for (int i = 1; length < this.minLength && this.isOpen(x - i * dx, y - i * dy); i++) {
+            length++;
+        }
+        for (int i = 1; length < this.minLength && this.isOpen(x + i * dx, y + i * dy); i++) {
+            length++;
+        }
+        return length;
+    }
+
+    private boolean isOpen(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= this.n || y >= this.n) {
+            return false;
+        }
+        final int state = this.board.get(x, y);
+        return state == UNKNOWN || state == SHIP;
+    }
+
+    private boolean is(final int x, final int y, final int state) {
+        return x >= 0 && y >= 0 && x < this.n && y < this.n && this.board.get(x, y) == state;
+    }
+
+    private void inferWater(final int x, final int y) {
+        if (this.is(x, y, UNKNOWN)) {
+            this.board.set(x, y, WATER);
+            this.inferred++;
+            this.markDirty(x, y);
+        }
+    }
+
+    private void markDirty(final int x, final int y) {
+        this.dirtyRows[y] = true;
+        this.dirtyColumns[x] = true;
+        this.dirty = true;
+    }
+
+    private int computeMinLength() {
+        for (int length = 1; length < this.afloat.length; length++) {
+            if (this.afloat[length] > 0) {
+                return length;
+            }
+        }
+        /* Alle Schiffe sind versenkt. */
+        return 1;
+    }
+}
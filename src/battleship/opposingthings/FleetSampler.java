@@ -0,0 +1,564 @@
+package battleship.opposingthings;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+import battleship.Constants;
+import battleship.board.Coordinates;
+import battleship.board.PackedBoard;
+
+/**
+ * Zieht viele vollständige Lagen der noch schwimmenden Schiffe, welche mit den
+ * bekannten Feldern des Gegners vereinbar sind, und zählt, wie oft jedes
+ * unbekannte Feld dabei belegt ist (siehe `TargetingStrategy.MONTE_CARLO`).
+ *
+ * Eine Lage wird wie bei `FleetPlacer` Schiff für Schiff mit Backtracking
+ * gezogen. Solange ein angeschossenes Feld nicht abgedeckt ist, kommen nur
+ * Positionen in Frage, welche dieses Feld abdecken. Wasser und versenkte
+ * Schiffe sind gesperrt, ebenso die Felder und Nachbarn bereits gezogener
+ * Schiffe. Die Lagen sind damit nicht exakt gleichverteilt, aber alle
+ * vereinbar.
+ *
+ * Die Ziehungen werden auf einem `ForkJoinPool` verteilt. Jede Teilaufgabe
+ * erhält mit `SplittableRandom.split()` einen eigenen Zufallsstrom, sodass das
+ * Ergebnis nicht von der Anzahl der Threads abhängt. Ein Sampler kann von
+ * mehreren Spielfeldern gleichzeitig verwendet werden.
+ */
+public final class FleetSampler {
+    /* Ab dieser Anzahl an Ziehungen wird eine Teilaufgabe nicht weiter geteilt. */
+    private static final int SAMPLES_PER_LEAF = 64;
+    /* Maximale Anzahl an ausprobierten Positionen je Ziehung. */
+    private static final int MAX_STEPS = 1_000;
+
+    /* Der Sampler, welcher ohne eigene Einstellung verwendet wird. */
+    private static final FleetSampler DEFAULT = new FleetSampler(Constants.MONTE_CARLO_SAMPLES);
+
+    private final ForkJoinPool pool;
+    /* Höchstzahl der Ziehungen je Zug. */
+    private final int samples;
+    /* Speichert unseren Logger. */
+    private final Logger logger;
+    /* Statistik über alle bisherigen Züge. */
+    private final AtomicLong drawn;
+    private final AtomicLong failed;
+    private final AtomicLong elapsedNanos;
+
+    /**
+     * Erstellt einen Sampler, welcher den gemeinsamen `ForkJoinPool` verwendet.
+     *
+     * @param samples Anzahl der Ziehungen je Zug
+     */
+    public FleetSampler(final int samples) {
+        this(ForkJoinPool.commonPool(), samples);
+    }
+
+    /**
+     * Erstellt einen Sampler.
+     *
+     * @param pool    Der Pool, auf dem gezogen wird
+     * @param samples Höchstzahl der Ziehungen je Zug. Mehr Ziehungen wählen
+     *                genauer, benötigen aber mehr Rechenzeit.
+     */
+    public FleetSampler(final ForkJoinPool pool, final int samples) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("The sampler needs at least one sample per move.");
+        }
+        this.logger = Logger.getLogger(FleetSampler.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+
+        this.pool = pool;
+        this.samples = samples;
+        this.drawn = new AtomicLong();
+        this.failed = new AtomicLong();
+        this.elapsedNanos = new AtomicLong();
+    }
+
+    /**
+     * Gibt den Sampler zurück, welcher ohne eigene Einstellung verwendet wird
+     * (`Constants.MONTE_CARLO_SAMPLES` Ziehungen auf dem gemeinsamen
+     * `ForkJoinPool`).
+     *
+     * @return Der Sampler
+     */
+    public static FleetSampler getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gibt die Anzahl der Ziehungen je Zug zurück.
+     *
+     * @return Anzahl der Ziehungen
+     */
+    public int getSamples() {
+        return this.samples;
+    }
+
+    /**
+     * Gibt die Anzahl aller bisher erfolgreich gezogenen Lagen zurück.
+     *
+     * @return Anzahl der Lagen
+     */
+    public long getDrawnSamples() {
+        return this.drawn.get();
+    }
+
+    /**
+     * Gibt die Anzahl der Ziehungen zurück, welche ohne vereinbare Lage
+     * abgebrochen wurden.
+     *
+     * @return Anzahl der Ziehungen
+     */
+    public long getFailedSamples() {
+        return this.failed.get();
+    }
+
+    /**
+     * Gibt die bisherige Anzahl an Ziehungen (erfolgreich oder nicht) je Sekunde
+     * zurück.
+     *
+     * @return Ziehungen je Sekunde, 0 wenn noch nicht gezogen wurde
+     */
+    public double getSamplesPerSecond() {
+        final long nanos = this.elapsedNanos.get();
+        return nanos == 0 ? 0 : (this.drawn.get() + this.failed.get()) * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "samples=" + this.drawn.get() + " failed=" + this.failed.get() + " samples/s="
+                + Math.round(this.getSamplesPerSecond());
+    }
+
+    /**
+     * Wählt das unbekannte Feld, welches in den gezogenen Lagen am häufigsten
+     * belegt ist. Unter gleich häufigen Feldern wird gleichverteilt gezogen.
+     *
+     * Es werden höchstens `getSamples()` Lagen gezogen. Mit Frist wird in Runden
+     * gezogen, bis diese Anzahl erreicht oder die Frist abgelaufen ist, und die
+     * bis dahin gezogenen Lagen werden ausgewertet. Die Frist wird dabei immer in
+     * Echtzeit gemessen, da der aufrufende Thread während der Ziehungen nur auf
+     * den Pool wartet.
+     *
+     * @param board     Das Spielbrett, der Zustand ist die Ordinalzahl des
+     *                  `OpposingFieldStatus`
+     * @param inference Liefert die noch schwimmenden Schiffe
+     * @param random    Der zu verwendende Zufallsgenerator
+     * @param deadline  Die Frist für den Zug
+     * @return Das Feld als gepackte Koordinaten oder `Coordinates.NONE`, wenn
+     *         keine vereinbare Lage gefunden wurde
+     */
+    int nextMove(
+            final PackedBoard board, final FleetInference inference, final RandomGenerator random,
+            final Deadline deadline
+    ) {
+        final List<Integer> remaining = inference.getRemainingShips();
+        if (remaining == null || remaining.isEmpty()) {
+            return Coordinates.NONE;
+        }
+        final Problem problem = new Problem(board, remaining);
+        final SplittableRandom root = new SplittableRandom(random.nextLong());
+        final long start = System.nanoTime();
+        final Tally tally;
+        int attempted;
+        if (deadline.isUnlimited()) {
+            tally = this.pool.invoke(new SampleTask(problem, this.samples, root));
+            attempted = this.samples;
+        } else {
+            /* Eine Runde beschäftigt jeden Thread des Pools mit einer Teilaufgabe. */
+            final int round = SAMPLES_PER_LEAF * this.pool.getParallelism();
+            tally = new Tally(problem.n);
+            final Deadline wallDeadline = deadline.onWallClock();
+            attempted = 0;
+            while (attempted < this.samples && !wallDeadline.isExpired()) {
+                final int count = Math.min(round, this.samples - attempted);
+                tally.merge(this.pool.invoke(new SampleTask(problem, count, root.split())));
+                attempted += count;
+            }
+        }
+        final int attemptedSamples = attempted;
+        final long elapsed = System.nanoTime() - start;
+        this.drawn.addAndGet(tally.drawn);
+        this.failed.addAndGet(attemptedSamples - tally.drawn);
+        this.elapsedNanos.addAndGet(elapsed);
+        this.logger.log(
+                Level.FINE,
+                () -> "Drew " + tally.drawn + " of " + attemptedSamples + " fleets in " + elapsed / 1_000_000 + " ms."
+        );
+
+        final int unknown = OpposingFieldStatus.UNKNOWN.ordinal();
+        final int n = board.getSize();
+        long best = 0;
+        int choice = -1;
+        int ties = 0;
+        for (int cell = board.nextCell(0, unknown); cell >= 0; cell = board.nextCell(cell + 1, unknown)) {
+            final long score = tally.counts[cell];
+            if (score > best) {
+                best = score;
+                choice = cell;
+                ties = 1;
+            } else if (score == best && score > 0 && random.nextInt(++ties) == 0) {
+                choice = cell;
+            }
+        }
+        return choice < 0 ? Coordinates.NONE : Coordinates.pack(choice % n, choice / n);
+    }
+
+    /**
+     * Die bekannten Felder und die noch schwimmenden Schiffe eines Zuges. Wird
+     * von allen Teilaufgaben nur gelesen.
+     */
+    private static final class Problem {
+        private final int n;
+        /* Die Längen der Schiffe, längste zuerst. */
+        private final int[] lengths;
+        /* Wasser und versenkte Schiffe je Zeile, Bit x für Spalte x. */
+        private final long[] blocked;
+        /* Angeschossene Felder je Zeile. */
+        private final long[] hits;
+
+        Problem(final PackedBoard board, final List<Integer> remaining) {
+            this.n = board.getSize();
+            this.lengths = new int[remaining.size()];
+            /* `remaining` ist aufsteigend sortiert. */
+            for (int i = 0; i < this.lengths.length; i++) {
+                this.lengths[i] = remaining.get(remaining.size() - 1 - i);
+            }
+            this.blocked = new long[this.n];
+            this.hits = new long[this.n];
+            for (int y = 0; y < this.n; y++) {
+                for (int x = 0; x < this.n; x++) {
+                    final int state = board.get(x, y);
+                    if (state == OpposingFieldStatus.SHIP.ordinal()) {
+                        this.hits[y] |= 1L << x;
+                    } else if (state != OpposingFieldStatus.UNKNOWN.ordinal()) {
+                        this.blocked[y] |= 1L << x;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Ergebnis einer Teilaufgabe.
+     */
+    private static final class Tally {
+        /* Wie oft jedes Feld belegt war, Index `y * n + x`. */
+        private final long[] counts;
+        /* Anzahl der erfolgreichen Ziehungen. */
+        private int drawn;
+
+        Tally(final int n) {
+            this.counts = new long[n * n];
+        }
+
+        void merge(final Tally other) {
+            for (int i = 0; i < this.counts.length; i++) {
+                this.counts[i] += other.counts[i];
+            }
+            this.drawn += other.drawn;
+        }
+    }
+
+    /**
+     * Teilaufgabe, welche einen Teil der Ziehungen übernimmt. Große Teile werden
+     * halbiert, kleine direkt gezogen.
+     */
+    private static final class SampleTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Problem problem;
+        private final int samples;
+        private final transient SplittableRandom random;
+
+        SampleTask(final Problem problem, final int samples, final SplittableRandom random) {
+            this.problem = problem;
+            this.samples = samples;
+            this.random = random;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (this.samples > SAMPLES_PER_LEAF) {
+                final int half = this.samples / 2;
+                /* Der abgespaltene Strom ist unabhängig von diesem. */
+                final SampleTask other = new SampleTask(this.problem, this.samples - half, this.random.split());
+                other.fork();
+                final Tally tally = new SampleTask(this.problem, half, this.random).compute();
+                tally.merge(other.join());
+                return tally;
+            }
+
+            final Tally tally = new Tally(this.problem.n);
+            final Search search = new Search(this.problem, this.random);
+            for (int i = 0; i < this.samples; i++) {
+                if (search.draw()) {
+                    search.record(tally.counts);
+                    tally.drawn++;
+                }
+            }
+            return tally;
+        }
+    }
+
+    /**
+     * Zieht eine Lage. Eine Position wird als `(i * n * n + y * n + x) << 1`
+     * kodiert, wobei i der Index des Schiffes ist. Das unterste Bit ist 1 für
+     * senkrechte Schiffe.
+     */
+    private static final class Search {
+        private final Problem problem;
+        private final RandomGenerator random;
+        private final int[] placement;
+        private final boolean[] used;
+        /* Speicher je Tiefe, damit eine Ziehung nichts allokiert. */
+        private final int[][] candidates;
+        private final long[][] forbidden;
+        private final long[][] uncovered;
+        private int steps;
+
+        Search(final Problem problem, final RandomGenerator random) {
+            final int ships = problem.lengths.length;
+            this.problem = problem;
+            this.random = random;
+            this.placement = new int[ships];
+            this.used = new boolean[ships];
+            this.candidates = new int[ships][2 * problem.n * problem.n];
+            this.forbidden = new long[ships + 1][];
+            this.uncovered = new long[ships + 1][];
+            this.forbidden[0] = problem.blocked;
+            this.uncovered[0] = problem.hits;
+            for (int depth = 1; depth <= ships; depth++) {
+                this.forbidden[depth] = new long[problem.n];
+                this.uncovered[depth] = new long[problem.n];
+            }
+        }
+
+        /**
+         * Zieht eine neue Lage.
+         *
+         * @return true, wenn innerhalb der erlaubten Versuche eine vereinbare Lage
+         *         gefunden wurde
+         */
+        boolean draw() {
+            this.steps = 0;
+            Arrays.fill(this.used, false);
+            return this.place(0);
+        }
+
+        /**
+         * Zählt die Felder der zuletzt gezogenen Lage.
+         */
+        void record(final long[] counts) {
+            final int n = this.problem.n;
+            for (final int candidate : this.placement) {
+                final int start = (candidate >>> 1) % (n * n);
+                final int length = this.problem.lengths[(candidate >>> 1) / (n * n)];
+                final int step = (candidate & 1) == 0 ? 1 : n;
+                for (int k = 0; k < length; k++) {
+                    counts[start + k * step]++;
+                }
+            }
+        }
+
+        /**
+         * Platziert die restlichen Schiffe. Die gesperrten Felder und die noch
+         * nicht abgedeckten angeschossenen Felder je Zeile stehen in
+         * `forbidden[depth]` und `uncovered[depth]`.
+         *
+         * @param depth Anzahl der bereits platzierten Schiffe
+         * @return true, wenn alle Schiffe platziert und alle Treffer abgedeckt
+         *         sind
+         */
+        private boolean place(final int depth) {
+            final int n = this.problem.n;
+            final long[] forbidden = this.forbidden[depth];
+            final long[] uncovered = this.uncovered[depth];
+            int hitRow = -1;
+            for (int y = 0; y < n && hitRow < 0; y++) {
+                if (uncovered[y] != 0) {
+                    hitRow = y;
+                }
+            }
+            if (depth == this.placement.length) {
+                return hitRow < 0;
+            }
+
+            final int[] candidates = this.candidates[depth];
+            int count = 0;
+            if (hitRow >= 0) {
+                /* Das erste nicht abgedeckte Feld muss von einem der Schiffe abgedeckt werden. */
+                final int hitColumn = Long.numberOfTrailingZeros(uncovered[hitRow]);
+                int previousLength = -1;
+                for (int i = 0; i < this.placement.length; i++) {
+                    /* Gleich lange Schiffe sind austauschbar, es genügt das erste. */
+                    if (!this.used[i] && this.problem.lengths[i] != previousLength) {
+                        previousLength = this.problem.lengths[i];
+                        count = this.addCovering(candidates, count, forbidden, i, hitColumn, hitRow);
+                    }
+                }
+            } else {
+                int i = 0;
+                while (this.used[i]) {
+                    i++;
+                }
+                count = this.addAll(candidates, count, forbidden, i);
+            }
+
+            while (count > 0) {
+                if (++this.steps > MAX_STEPS) {
+                    return false;
+                }
+                /* Ziehe ohne Zurücklegen. */
+                final int pick = this.random.nextInt(count);
+                final int candidate = candidates[pick];
+                candidates[pick] = candidates[--count];
+
+                final int index = (candidate >>> 1) / (n * n);
+                final long[] nextForbidden = this.forbidden[depth + 1];
+                final long[] nextUncovered = this.uncovered[depth + 1];
+                System.arraycopy(forbidden, 0, nextForbidden, 0, n);
+                System.arraycopy(uncovered, 0, nextUncovered, 0, n);
+                this.occupy(nextForbidden, nextUncovered, candidate);
+                if (this.blocksHit(nextForbidden, nextUncovered)) {
+                    continue;
+                }
+                this.used[index] = true;
+                if (this.place(depth + 1)) {
+                    this.placement[depth] = candidate;
+                    return true;
+                }
+                this.used[index] = false;
+            }
+            return false;
+        }
+
+        /**
+         * Fügt alle Positionen eines Schiffes hinzu, welche ein Feld abdecken. Ein
+         * Schiff, welches nur auf angeschossenen Feldern läge, wäre bereits versenkt
+         * und kommt daher nicht in Frage.
+         *
+         * @return Die neue Anzahl der Positionen in `candidates`
+         */
+        private int addCovering(
+                final int[] candidates, final int count, final long[] forbidden, final int i, final int x,
+                final int y
+        ) {
+            int added = count;
+            final int n = this.problem.n;
+            final int length = this.problem.lengths[i];
+            final long span = (1L << length) - 1;
+            final long[] hits = this.problem.hits;
+            for (int sx = Math.max(0, x - length + 1); sx <= Math.min(x, n - length); sx++) {
+                if ((forbidden[y] & span << sx) == 0 && (span << sx & ~hits[y]) != 0) {
+                    candidates[added++] = (i * n * n + y * n + sx) << 1;
+                }
+            }
+            if (length > 1) {
+                for (int sy = Math.max(0, y - length + 1); sy <= Math.min(y, n - length); sy++) {
+                    if (fitsVertically(forbidden, x, sy, length) && !isFullyHitVertically(hits, x, sy, length)) {
+                        candidates[added++] = (i * n * n + sy * n + x) << 1 | 1;
+                    }
+                }
+            }
+            return added;
+        }
+
+        /**
+         * Fügt alle freien Positionen eines Schiffes hinzu.
+         *
+         * @return Die neue Anzahl der Positionen in `candidates`
+         */
+        private int addAll(final int[] candidates, final int count, final long[] forbidden, final int i) {
+            int added = count;
+            final int n = this.problem.n;
+            final int length = this.problem.lengths[i];
+            final long span = (1L << length) - 1;
+            for (int y = 0; y < n; y++) {
+                for (int x = 0; x < n; x++) {
+                    if (x + length <= n && (forbidden[y] & span << x) == 0) {
+                        candidates[added++] = (i * n * n + y * n + x) << 1;
+                    }
+                    if (length > 1 && y + length <= n && fitsVertically(forbidden, x, y, length)) {
+                        candidates[added++] = (i * n * n + y * n + x) << 1 | 1;
+                    }
+                }
+            }
+            return added;
+        }
+
+        /**
+         * Sperrt die Felder eines Schiffes und ihre Nachbarn und markiert die
+         * abgedeckten Treffer.
+         */
+        private void occupy(final long[] forbidden, final long[] uncovered, final int candidate) {
+            final int n = this.problem.n;
+            final int start = (candidate >>> 1) % (n * n);
+            final int length = this.problem.lengths[(candidate >>> 1) / (n * n)];
+            final int x = start % n;
+            final int y = start / n;
+            if ((candidate & 1) == 0) {
+                final long span = ((1L << length) - 1) << x;
+                uncovered[y] &= ~span;
+                forbidden[y] |= span | span << 1 | span >>> 1;
+                if (y > 0) {
+                    forbidden[y - 1] |= span;
+                }
+                if (y + 1 < n) {
+                    forbidden[y + 1] |= span;
+                }
+            } else {
+                final long bit = 1L << x;
+                for (int row = y; row < y + length; row++) {
+                    uncovered[row] &= ~bit;
+                    forbidden[row] |= bit | bit << 1 | bit >>> 1;
+                }
+                if (y > 0) {
+                    forbidden[y - 1] |= bit;
+                }
+                if (y + length < n) {
+                    forbidden[y + length] |= bit;
+                }
+            }
+        }
+
+        /**
+         * Gibt an, ob ein noch nicht abgedeckter Treffer gesperrt ist, also von
+         * keinem Schiff mehr abgedeckt werden kann.
+         */
+        private boolean blocksHit(final long[] forbidden, final long[] uncovered) {
+            for (int y = 0; y < forbidden.length; y++) {
+                if ((forbidden[y] & uncovered[y]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isFullyHitVertically(final long[] hits, final int x, final int y, final int length) {
+            final long bit = 1L << x;
+            for (int row = y; row < y + length; row++) {
+                if ((hits[row] & bit) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean fitsVertically(final long[] forbidden, final int x, final int y, final int length) {
+            final long bit = 1L << x;
+            for (int row = y; row < y + length; row++) {
+                if ((forbidden[row] & bit) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package battleship.opposingthings;
+
+import battleship.board.VectorSupport;
+
+/**
+ * Zählt die vereinbaren Lagen der schwimmenden Schiffe in einer Zeile oder
+ * Spalte (siehe `DensityMap`). Es gibt eine skalare Variante und eine mit der
+ * Vector API, beide liefern dieselben Zahlen.
+ */
+interface LineCounter {
+    /**
+     * Zählt die Lagen in einer Zeile oder Spalte.
+     *
+     * @param line      Die Zustände der Felder (Ordinalzahl des
+     *                  `OpposingFieldStatus`)
+     * @param afloat    Anzahl der schwimmenden Schiffe je Länge
+     * @param minLength Kürzeste zu zählende Schiffslänge
+     * @param counts    Ziel der Anzahl aller Lagen je Feld
+     * @param hits      Ziel der Anzahl der Lagen durch angeschossene Felder je
+     *                  Feld, gewichtet mit der Anzahl dieser Felder
+     */
+    void count(int[] line, int[] afloat, int minLength, long[] counts, long[] hits);
+
+    /**
+     * Erstellt die passende Variante für Zeilen einer Länge.
+     *
+     * @param n Anzahl der Felder einer Zeile
+     * @return Die Variante mit der Vector API, wenn sie verwendet werden soll
+     *         (siehe `VectorSupport`), sonst die skalare
+     */
+    static LineCounter create(final int n) {
+        if (VectorSupport.isEnabled() && n <= VectorLineCounter.MAX_SIZE) {
+            return new VectorLineCounter(n);
+        }
+        return new ScalarLineCounter(n);
+    }
+}
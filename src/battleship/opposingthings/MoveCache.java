@@ -0,0 +1,148 @@
+package battleship.opposingthings;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import battleship.Constants;
+import battleship.board.Coordinates;
+
+/**
+ * Speichert berechnete Züge des Computers über Spiele hinweg. Gerade zu Beginn
+ * eines Spieles entstehen bei vielen Spielen gegen Bots immer wieder dieselben
+ * Spielstände; für diese wird der Zug dann nicht erneut berechnet. Der
+ * Computer zieht damit bei gleichem Spielstand immer gleich, der Cache ist
+ * daher nur für Spiele gegen Bots und für Simulationen gedacht.
+ *
+ * Schlüssel sind das Level, die Strategie und der Zobrist-Hash des
+ * gegnerischen Spielfeldes (siehe `OpposingPlayingField.getZobristHash()`).
+ * Der Cache ist in der Größe beschränkt und verdrängt die am längsten nicht
+ * verwendeten Einträge. Alle Methoden können von beliebigen Threads
+ * aufgerufen werden.
+ */
+public final class MoveCache {
+    /* Wird von allen Spielen dieser JVM geteilt. */
+    private static final MoveCache GLOBAL = new MoveCache(Constants.MOVE_CACHE_SIZE);
+
+    private final Cache<Key, Integer> moves;
+
+    /**
+     * Erstellt einen leeren Cache.
+     *
+     * @param maximumSize Höchste Anzahl an Einträgen
+     */
+    public MoveCache(final long maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The move cache must hold at least one move.");
+        }
+        this.moves = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Gibt den Cache zurück, welchen der `BotServer` verwendet (siehe
+     * `Constants.MOVE_CACHE`). Er fasst `Constants.MOVE_CACHE_SIZE` Züge.
+     *
+     * @return Der Cache
+     */
+    public static MoveCache getGlobal() {
+        return GLOBAL;
+    }
+
+    /**
+     * Gibt einen gespeicherten Zug zurück.
+     *
+     * @param level    Das Level des Spieles
+     * @param strategy Die Strategie, mit welcher der Zug berechnet wurde
+     * @param hash     Der Zobrist-Hash des Spielfeldes
+     * @return Der Zug als gepackte Koordinaten oder `Coordinates.NONE`, wenn
+     *         keiner gespeichert ist
+     */
+    public int get(final int level, final TargetingStrategy strategy, final long hash) {
+        final Integer move = this.moves.getIfPresent(new Key(level, strategy, hash));
+        return move == null ? Coordinates.NONE : move;
+    }
+
+    /**
+     * Speichert einen Zug.
+     *
+     * @param level    Das Level des Spieles
+     * @param strategy Die Strategie, mit welcher der Zug berechnet wurde
+     * @param hash     Der Zobrist-Hash des Spielfeldes
+     * @param move     Der Zug als gepackte Koordinaten
+     */
+    public void put(final int level, final TargetingStrategy strategy, final long hash, final int move) {
+        if (move == Coordinates.NONE) {
+            throw new IllegalArgumentException("Cannot cache a missing move.");
+        }
+        this.moves.put(new Key(level, strategy, hash), move);
+    }
+
+    /**
+     * Gibt den Anteil der Anfragen zurück, welche aus dem Cache beantwortet
+     * wurden.
+     *
+     * @return Wert zwischen 0 und 1, 1 wenn es noch keine Anfrage gab
+     */
+    public double getHitRatio() {
+        return this.moves.stats().hitRate();
+    }
+
+    /**
+     * Gibt die Anzahl der Einträge zurück, welche wegen der Größe verdrängt
+     * wurden.
+     *
+     * @return Anzahl der Einträge
+     */
+    public long getEvictionCount() {
+        return this.moves.stats().evictionCount();
+    }
+
+    /**
+     * Gibt die ungefähre Anzahl der gespeicherten Züge zurück.
+     *
+     * @return Anzahl der Züge
+     */
+    public long getSize() {
+        return this.moves.size();
+    }
+
+    /**
+     * Verwirft alle gespeicherten Züge. Die Statistik bleibt erhalten.
+     */
+    public void clear() {
+        this.moves.invalidateAll();
+    }
+
+    @Override
+    public String toString() {
+        final CacheStats stats = this.moves.stats();
+        return "size=" + this.getSize() + " hits=" + stats.hitCount() + " misses=" + stats.missCount() + " hitRatio="
+                + String.format("%.3f", stats.hitRate()) + " evictions=" + stats.evictionCount();
+    }
+
+    /**
+     * Schlüssel eines Zuges.
+     */
+    private static final class Key {
+        private final int level;
+        private final TargetingStrategy strategy;
+        private final long hash;
+
+        Key(final int level, final TargetingStrategy strategy, final long hash) {
+            this.level = level;
+            this.strategy = strategy;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof final Key key && key.level == this.level && key.strategy == this.strategy
+                    && key.hash == this.hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * this.level + this.strategy.ordinal()) * 31 + Long.hashCode(this.hash);
+        }
+    }
+}
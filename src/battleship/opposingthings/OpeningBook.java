@@ -0,0 +1,283 @@
+package battleship.opposingthings;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import battleship.Constants;
+import battleship.board.Coordinates;
+
+/**
+ * Ein Eröffnungsbuch: vorab berechnete Züge des Computers für die ersten
+ * Schüsse eines Levels. Auf einem fast leeren Spielfeld kommt bei jedem Spiel
+ * dieselbe Analyse heraus; das Buch liefert sie ohne Berechnung. Erzeugt wird
+ * es offline von `battleship.simulation.OpeningBookGenerator`, welcher je
+ * Level eine Datei `openings/level-N.book` in die Ressourcen schreibt.
+ *
+ * Eine Datei beginnt mit einem Kopf (Kennung, Version, Level, Strategie,
+ * Größe des Spielfeldes, Tiefe, Anzahl der Einträge). Danach folgen die
+ * Zobrist-Hashes der Spielstände aufsteigend sortiert und anschließend in
+ * derselben Reihenfolge die Züge als Index des Feldes (`y * n + x`). Ein Eintrag
+ * belegt damit 10 Byte, gesucht wird binär. Die Datei wird erst beim ersten
+ * Spiel eines Levels geladen und, sofern sie als Datei vorliegt, in den
+ * Speicher abgebildet; aus einem JAR wird sie gelesen.
+ *
+ * Da je Spielstand nur ein Zug gespeichert ist, eröffnet der Computer mit
+ * einem Buch jedes Spiel gleich. Es ist daher nur für Spiele gegen Bots
+ * gedacht.
+ *
+ * Alle Methoden können von beliebigen Threads aufgerufen werden.
+ */
+public final class OpeningBook {
+    /* "BSOB" */
+    private static final int MAGIC = 0x42534F42;
+    private static final int VERSION = 1;
+    /* Kennung, Version, Level, Strategie, Größe, Tiefe und Anzahl der Einträge. */
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + 2 * Byte.BYTES + 2 * Short.BYTES
+            + Integer.BYTES;
+    private static final TargetingStrategy[] STRATEGIES = TargetingStrategy.values();
+
+    /* Ein Buch ohne Einträge für Level ohne Datei. */
+    private static final OpeningBook EMPTY = new OpeningBook(null, 0, TargetingStrategy.HUNT_AND_TARGET, 0, 0, 0);
+    /* Die geladenen Bücher je Level. */
+    private static final AtomicReferenceArray<OpeningBook> BOOKS = new AtomicReferenceArray<>(
+            Constants.NUMBER_OF_LEVELS
+    );
+
+    private final ByteBuffer data;
+    private final int level;
+    private final TargetingStrategy strategy;
+    private final int size;
+    private final int depth;
+    private final int count;
+
+    private OpeningBook(
+            final ByteBuffer data, final int level, final TargetingStrategy strategy, final int size, final int depth,
+            final int count
+    ) {
+        this.data = data;
+        this.level = level;
+        this.strategy = strategy;
+        this.size = size;
+        this.depth = depth;
+        this.count = count;
+    }
+
+    /**
+     * Gibt das Buch eines Levels zurück und lädt es beim ersten Aufruf. Fehlt
+     * die Datei oder ist sie ungültig, wird ein leeres Buch zurückgegeben.
+     *
+     * @param level Level (1 bis `Constants.NUMBER_OF_LEVELS`)
+     * @return Das Buch
+     */
+    public static OpeningBook forLevel(final int level) {
+        if (level < 1 || level > Constants.NUMBER_OF_LEVELS) {
+            throw new IllegalArgumentException("Invalid level " + level + ".");
+        }
+        final OpeningBook book = BOOKS.get(level - 1);
+        if (book != null) {
+            return book;
+        }
+        /* Laden zwei Threads gleichzeitig, wird nur ein Ergebnis übernommen. */
+        BOOKS.compareAndSet(level - 1, null, load(level));
+        return BOOKS.get(level - 1);
+    }
+
+    /**
+     * Gibt den Namen der Ressource eines Levels zurück.
+     *
+     * @param level Level (1 bis `Constants.NUMBER_OF_LEVELS`)
+     * @return Name relativ zur Wurzel der Ressourcen
+     */
+    public static String resourceName(final int level) {
+        return "openings/level-" + level + ".book";
+    }
+
+    /**
+     * Gibt den Zug für einen Spielstand zurück.
+     *
+     * @param strategy Die Strategie des Spielfeldes; Bücher gelten nur für die
+     *                 Strategie, mit der sie erzeugt wurden
+     * @param hash     Der Zobrist-Hash des Spielfeldes
+     * @return Der Zug als gepackte Koordinaten oder `Coordinates.NONE`, wenn
+     *         der Spielstand nicht im Buch steht
+     */
+    public int get(final TargetingStrategy strategy, final long hash) {
+        if (strategy != this.strategy || this.count == 0) {
+            return Coordinates.NONE;
+        }
+        int low = 0;
+        int high = this.count - 1;
+        while (low <= high) {
+            final int middle = low + high >>> 1;
+            /* Nur absolute Zugriffe, die Position des Puffers wird von mehreren Threads geteilt. */
+            final long value = this.data.getLong(HEADER_BYTES + middle * Long.BYTES);
+            if (value < hash) {
+                low = middle + 1;
+            } else if (value > hash) {
+                high = middle - 1;
+            } else {
+                final int cell = this.data.getShort(HEADER_BYTES + this.count * Long.BYTES + middle * Short.BYTES);
+                return Coordinates.pack(cell % this.size, cell / this.size);
+            }
+        }
+        return Coordinates.NONE;
+    }
+
+    /**
+     * Gibt das Level des Buches zurück.
+     *
+     * @return Das Level, 0 für ein leeres Buch
+     */
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Gibt die Anzahl der Schüsse zurück, bis zu der das Buch erzeugt wurde.
+     *
+     * @return Anzahl der Schüsse
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Gibt die Anzahl der Spielstände im Buch zurück.
+     *
+     * @return Anzahl der Spielstände
+     */
+    public int getSize() {
+        return this.count;
+    }
+
+    @Override
+    public String toString() {
+        return "OpeningBook [level=" + this.level + " strategy=" + this.strategy + " depth=" + this.depth
+                + " positions=" + this.count + "]";
+    }
+
+    /**
+     * Schreibt ein Buch.
+     *
+     * @param out      Ziel der Daten, wird nicht geschlossen
+     * @param level    Level des Buches
+     * @param strategy Die Strategie, mit der die Züge berechnet wurden
+     * @param size     Größe des Spielfeldes
+     * @param depth    Anzahl der Schüsse, bis zu der das Buch erzeugt wurde
+     * @param hashes   Die Zobrist-Hashes der Spielstände, aufsteigend sortiert
+     * @param moves    Die Züge in derselben Reihenfolge als gepackte
+     *                 Koordinaten
+     * @throws IOException Falls nicht geschrieben werden kann
+     */
+    public static void write(
+            final OutputStream out, final int level, final TargetingStrategy strategy, final int size,
+            final int depth, final long[] hashes, final int[] moves
+    ) throws IOException {
+        if (hashes.length != moves.length) {
+            throw new IllegalArgumentException("Every position of the opening book needs exactly one move.");
+        }
+        if (size * size > Short.MAX_VALUE + 1) {
+            throw new IllegalArgumentException("The board is too large for an opening book.");
+        }
+        for (int i = 1; i < hashes.length; i++) {
+            if (hashes[i - 1] >= hashes[i]) {
+                throw new IllegalArgumentException("The positions of the opening book must be sorted and unique.");
+            }
+        }
+        final DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeByte(level);
+        data.writeByte(strategy.ordinal());
+        data.writeShort(size);
+        data.writeShort(depth);
+        data.writeInt(hashes.length);
+        for (final long hash : hashes) {
+            data.writeLong(hash);
+        }
+        for (final int move : moves) {
+            data.writeShort(Coordinates.y(move) * size + Coordinates.x(move));
+        }
+        data.flush();
+    }
+
+    /**
+     * Lädt das Buch eines Levels.
+     */
+    private static OpeningBook load(final int level) {
+        final Logger logger = Logger.getLogger(OpeningBook.class.getName());
+        logger.setLevel(Constants.LOG_LEVEL);
+
+        final URL url = OpeningBook.class.getResource("/" + resourceName(level));
+        if (url == null) {
+            logger.log(Level.FINE, "No opening book for level {0}.", level);
+            return EMPTY;
+        }
+        try {
+            final OpeningBook book = parse(map(url), level);
+            logger.log(Level.FINE, "Loaded {0}.", book);
+            return book;
+        } catch (final IOException | URISyntaxException | RuntimeException e) {
+            logger.log(Level.WARNING, "The opening book for level " + level + " could not be loaded.", e);
+            return EMPTY;
+        }
+    }
+
+    /**
+     * Bildet eine Datei in den Speicher ab oder liest sie, wenn sie nicht als
+     * Datei vorliegt (z. B. in einem JAR).
+     */
+    private static ByteBuffer map(final URL url) throws IOException, URISyntaxException {
+        if ("file".equals(url.getProtocol())) {
+            /* Die Abbildung bleibt nach dem Schließen des Kanals gültig. */
+            try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+
+    /**
+     * Liest ein Buch aus den Bytes einer Datei.
+     *
+     * @param data  Die Bytes, beginnend beim Kopf
+     * @param level Das Level, zu dem das Buch gehören muss
+     * @return Das Buch
+     * @throws IllegalArgumentException Falls die Bytes kein gültiges Buch des
+     *                                  Levels sind
+     */
+    static OpeningBook parse(final ByteBuffer data, final int level) {
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not an opening book.");
+        }
+        if (data.getShort(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported opening book version " + data.getShort(4) + ".");
+        }
+        final int bookLevel = data.get(6);
+        final int strategy = data.get(7);
+        final int size = data.getShort(8);
+        final int depth = data.getShort(10);
+        final int count = data.getInt(12);
+        if (bookLevel != level || size != Constants.LEVEL_SIZES.get(level - 1)) {
+            throw new IllegalArgumentException("The opening book belongs to another level.");
+        }
+        if (strategy < 0 || strategy >= STRATEGIES.length || count < 0
+                || data.capacity() != HEADER_BYTES + (long) count * (Long.BYTES + Short.BYTES)) {
+            throw new IllegalArgumentException("The opening book is corrupt.");
+        }
+        return new OpeningBook(data, level, STRATEGIES[strategy], size, depth, count);
+    }
+}
@@ -4,6 +4,15 @@ package battleship.opposingthings;
  * Repräsentiert den Ort eines Feldes vom Gegner
  */
 public class OpposingField {
+    /* Für Koordinaten unterhalb dieser Grenze werden Objekte wiederverwendet. */
+    private static final int CACHE_SIZE = 64;
+    /*
+     * Bereits erstellte Felder, Index `y * CACHE_SIZE + x`. Die Objekte sind
+     * unveränderlich, ein gleichzeitiges Befüllen aus mehreren Threads ist daher
+     * unschädlich.
+     */
+    private static final OpposingField[] CACHE = new OpposingField[CACHE_SIZE * CACHE_SIZE];
+
     /**
      * X-Koordinate des Feldes, beginnend bei 0
      */
@@ -24,6 +33,27 @@ public class OpposingField {
         this.y = y;
     }
 
+    /**
+     * Gibt eine Ortsangabe für ein Feld des Gegners zurück. Für Koordinaten
+     * üblicher Spielfelder wird immer dasselbe Objekt zurückgegeben.
+     *
+     * @param x X-Koordinate des Feldes, beginnend bei 0
+     * @param y Y-Koordinate des Feldes, beginnend bei 0
+     * @return Die Ortsangabe
+     */
+    public static OpposingField of(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= CACHE_SIZE || y >= CACHE_SIZE) {
+            return new OpposingField(x, y);
+        }
+        final int index = y * CACHE_SIZE + x;
+        OpposingField field = CACHE[index];
+        if (field == null) {
+            field = new OpposingField(x, y);
+            CACHE[index] = field;
+        }
+        return field;
+    }
+
     /**
      * Gibt die X-Koordinate des Feldes zurück.
      *
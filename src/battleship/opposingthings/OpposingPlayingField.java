@@ -1,8 +1,13 @@
 package battleship.opposingthings;
 
+import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
-import battleship.ui.playgroundmatrix.PlaygroundMatrix;
+import battleship.board.Coordinates;
+import battleship.board.FieldView;
+import battleship.board.PackedBoard;
 import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
@@ -10,9 +15,14 @@ import edu.umd.cs.findbugs.annotations.Nullable;
  */
 public class OpposingPlayingField {
     /**
-     * Alle Felder vom Spielfeld des Gegners mit ihrem Inhalt
+     * Alle Status in der Reihenfolge ihrer Ordinalzahl.
      */
-    private final OpposingFieldStatus[][] field;
+    private static final OpposingFieldStatus[] STATUSES = OpposingFieldStatus.values();
+    /**
+     * Alle Felder vom Spielfeld des Gegners mit ihrem Inhalt. Der Zustand eines
+     * Feldes ist die Ordinalzahl seines `OpposingFieldStatus`.
+     */
+    private final PackedBoard field;
     /**
      * Die Größe des Spielfelds. Es wird angenommen, dass es immer quadratisch ist.
      */
@@ -21,7 +31,50 @@ public class OpposingPlayingField {
      * Zufallsgenerator. Dieser wird verwendet, wenn der Computer einen zug
      * berechnen soll und dieser entscheidet ein zufälliges Feld zu treffen.
      */
-    private final Random random;
+    private final RandomGenerator random;
+    /**
+     * Leitet nach jedem Treffer Wasserfelder ab, auf denen kein Schiff liegen
+     * kann.
+     */
+    private final FleetInference inference;
+    /**
+     * Die Strategie, nach der der Computer seine Züge wählt.
+     */
+    private final TargetingStrategy strategy;
+    /**
+     * Zählt die möglichen Lagen der Schiffe, null wenn die Strategie sie nicht
+     * benötigt oder die Flotte unbekannt ist.
+     */
+    @Nullable
+    private final DensityMap density;
+    /**
+     * Zieht mögliche Lagen der Schiffe, null wenn die Strategie sie nicht
+     * benötigt oder die Flotte unbekannt ist.
+     */
+    @Nullable
+    private FleetSampler sampler;
+    /**
+     * Berechnet den optimalen Schuss, sobald nur noch wenige Lagen möglich sind,
+     * null wenn die Strategie ihn nicht verwendet oder die Flotte unbekannt ist.
+     */
+    @Nullable
+    private final EndgameSolver endgame;
+    /**
+     * Speichert berechnete Züge über Spiele hinweg, null wenn keine gespeichert
+     * werden sollen.
+     */
+    @Nullable
+    private MoveCache moveCache;
+    /**
+     * Das Level des Spieles, Teil des Schlüssels im `moveCache`.
+     */
+    private int moveCacheLevel;
+    /**
+     * Die Eröffnungen des Levels, null wenn keine verwendet werden oder das
+     * Spiel die bekannten Eröffnungen bereits verlassen hat.
+     */
+    @Nullable
+    private OpeningBook openingBook;
 
     /**
      * Erstellt ein gegnerisches Spielfeld.
@@ -29,18 +82,174 @@ public class OpposingPlayingField {
      * @param n Größe des Spielfeldes. Es ist quadratisch.
      */
     public OpposingPlayingField(final int n) {
-        this.field = new OpposingFieldStatus[n][n];
-        this.n = n;
-        this.random = new Random();
+        this(n, new Random());
+    }
+
+    /**
+     * Erstellt ein gegnerisches Spielfeld mit einem bestimmten Zufallsgenerator
+     * für die Züge des Computers, z. B. für reproduzierbare Simulationen.
+     *
+     * @param n      Größe des Spielfeldes. Es ist quadratisch.
+     * @param random Der zu verwendende Zufallsgenerator
+     */
+    public OpposingPlayingField(final int n, final RandomGenerator random) {
+        this(n, null, random);
+    }
+
+    /**
+     * Erstellt ein gegnerisches Spielfeld, dessen Flotte bekannt ist. Dann
+     * werden zusätzlich Felder als Wasser erkannt, in die kein noch
+     * schwimmendes Schiff mehr passt.
+     *
+     * @param n     Größe des Spielfeldes. Es ist quadratisch.
+     * @param fleet Die Längen der Schiffe des Gegners (siehe `Constants.LEVELS`)
+     */
+    public OpposingPlayingField(final int n, final Iterable<Integer> fleet) {
+        this(n, fleet, new Random());
+    }
+
+    /**
+     * Erstellt ein gegnerisches Spielfeld mit bekannter Flotte und einem
+     * bestimmten Zufallsgenerator.
+     *
+     * @param n      Größe des Spielfeldes. Es ist quadratisch.
+     * @param fleet  Die Längen der Schiffe des Gegners, null wenn unbekannt
+     * @param random Der zu verwendende Zufallsgenerator
+     */
+    public OpposingPlayingField(final int n, @Nullable final Iterable<Integer> fleet, final RandomGenerator random) {
+        this(n, fleet, TargetingStrategy.HUNT_AND_TARGET, random);
+    }
+
+    /**
+     * Erstellt ein gegnerisches Spielfeld mit bekannter Flotte, einer Strategie
+     * für die Züge des Computers und einem bestimmten Zufallsgenerator.
+     *
+     * @param n        Größe des Spielfeldes. Es ist quadratisch.
+     * @param fleet    Die Längen der Schiffe des Gegners, null wenn unbekannt
+     * @param strategy Die Strategie für die Züge des Computers
+     * @param random   Der zu verwendende Zufallsgenerator
+     */
+    public OpposingPlayingField(
+            final int n, @Nullable final Iterable<Integer> fleet, final TargetingStrategy strategy,
+            final RandomGenerator random
+    ) {
         /*
          * Setze alle Felder auf unbekannt. Zum Start des Spieles, wenn der Gegner noch
          * nicht angegriffen wird, ist unbekannt, welchen Inhalt die Felder des Gegners
          * haben.
          */
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                this.field[i][j] = OpposingFieldStatus.UNKNOWN;
-            }
+        this.field = new PackedBoard(n, OpposingFieldStatus.UNKNOWN.ordinal());
+        this.n = n;
+        this.random = random;
+        this.inference = new FleetInference(this.field, fleet);
+        this.strategy = strategy;
+        /* Bei `MONTE_CARLO` dient die Zählung als Rückfall, falls die Frist für keine Ziehung reicht. */
+        if (strategy != TargetingStrategy.HUNT_AND_TARGET && fleet != null) {
+            this.density = new DensityMap(this.field, this.inference);
+        } else {
+            this.density = null;
+        }
+        /* Der Sampler und der Solver speichern jede Zeile in einem `long`. */
+        if (strategy == TargetingStrategy.MONTE_CARLO && fleet != null && n < Long.SIZE) {
+            this.sampler = FleetSampler.getDefault();
+        }
+        if (strategy != TargetingStrategy.HUNT_AND_TARGET && fleet != null && n < Long.SIZE) {
+            this.endgame = new EndgameSolver();
+        } else {
+            this.endgame = null;
+        }
+    }
+
+    private OpposingPlayingField(final OpposingPlayingField other, final RandomGenerator random) {
+        this.field = other.field.copy();
+        this.n = other.n;
+        this.random = random;
+        this.inference = new FleetInference(other.inference, this.field);
+        this.strategy = other.strategy;
+        this.density = other.density == null ? null : new DensityMap(other.density, this.field, this.inference);
+        this.sampler = other.sampler;
+        /* Die Tabelle des Solvers wird nicht geteilt, da er nicht threadsicher ist. */
+        this.endgame = other.endgame == null ? null : new EndgameSolver();
+        this.moveCache = other.moveCache;
+        this.moveCacheLevel = other.moveCacheLevel;
+        this.openingBook = other.openingBook;
+    }
+
+    /**
+     * Erstellt eine unabhängige Kopie des Spielfeldes, z. B. um Züge für einen
+     * angenommenen Spielstand im Hintergrund zu berechnen. Die Kopie erhält
+     * einen eigenen Zufallsgenerator, der Sampler wird geteilt.
+     *
+     * @return Die Kopie
+     */
+    public OpposingPlayingField copy() {
+        return new OpposingPlayingField(this, new SplittableRandom(this.random.nextLong()));
+    }
+
+    /**
+     * Gibt an, ob auf beiden Spielfeldern dieselben Felder bekannt sind.
+     *
+     * @param other Das zu vergleichende Spielfeld
+     * @return true, wenn jedes Feld auf beiden denselben Status hat
+     */
+    public boolean hasSameFields(final OpposingPlayingField other) {
+        return this.field.equals(other.field);
+    }
+
+    /**
+     * Gibt den Zobrist-Hash der bekannten Felder zurück. Er wird bei jedem
+     * `hit()` nachgeführt, auch für abgeleitete Wasserfelder, und hängt nur von
+     * den Feldern ab: Gleiche Spielstände haben auch in verschiedenen Spielen
+     * denselben Hash.
+     *
+     * @return Der Hash
+     */
+    public long getZobristHash() {
+        return this.field.getZobristHash();
+    }
+
+    /**
+     * Setzt den Cache, in dem berechnete Züge über Spiele hinweg gespeichert
+     * werden. Ist zu einem Spielstand bereits ein Zug gespeichert, wird er ohne
+     * Berechnung verwendet. Kopien übernehmen den Cache.
+     *
+     * @param cache Der Cache, null um keine Züge zu speichern
+     * @param level Das Level des Spieles
+     */
+    public void setMoveCache(@Nullable final MoveCache cache, final int level) {
+        this.moveCache = cache;
+        this.moveCacheLevel = level;
+    }
+
+    /**
+     * Setzt das Eröffnungsbuch. Solange der Spielstand darin steht, werden die
+     * Züge ohne Berechnung aus dem Buch genommen.
+     *
+     * @param book Das Buch des Levels, null um keines zu verwenden
+     */
+    public void setOpeningBook(@Nullable final OpeningBook book) {
+        this.openingBook = book;
+    }
+
+    /**
+     * Gibt die Strategie zurück, nach der der Computer seine Züge wählt.
+     *
+     * @return Die Strategie
+     */
+    public TargetingStrategy getStrategy() {
+        return this.strategy;
+    }
+
+    /**
+     * Setzt den Sampler für `TargetingStrategy.MONTE_CARLO`, z. B. um die Anzahl
+     * der Ziehungen je Zug oder den `ForkJoinPool` zu ändern. Bei anderen
+     * Strategien oder unbekannter Flotte wird er nicht verwendet.
+     *
+     * @param sampler Der Sampler
+     */
+    public void setSampler(final FleetSampler sampler) {
+        if (this.sampler != null) {
+            this.sampler = sampler;
         }
     }
 
@@ -61,10 +270,10 @@ public class OpposingPlayingField {
          * sind es also n*n+n*n+n-Zeichen.
          */
         final StringBuilder sb = new StringBuilder(this.n * this.n + this.n * this.n + this.n);
-        for (final OpposingFieldStatus[] row : this.field) {
-            for (final OpposingFieldStatus column : row) {
+        for (int y = 0; y < this.n; y++) {
+            for (int x = 0; x < this.n; x++) {
                 final char symbol;
-                switch (column) {
+                switch (this.statusAt(x, y)) {
                     case SHIP:
                         symbol = 'X';
                         break;
@@ -99,8 +308,8 @@ public class OpposingPlayingField {
         final StringBuilder sb = new StringBuilder();
         for (int y = 0; y < this.n; y++) {
             for (int x = 0; x < this.n; x++) {
-                if (this.field[y][x] != OpposingFieldStatus.UNKNOWN) {
-                    sb.append("x=").append(x).append(" y=").append(y).append(" : ").append(this.field[y][x]);
+                if (this.statusAt(x, y) != OpposingFieldStatus.UNKNOWN) {
+                    sb.append("x=").append(x).append(" y=").append(y).append(" : ").append(this.statusAt(x, y));
                 }
             }
         }
@@ -117,17 +326,17 @@ public class OpposingPlayingField {
         int x = f.getX();
         int y = f.getY();
         OpposingShipDirection direction = OpposingShipDirection.UNKNOWN;
-        if (x + 1 < this.n && this.field[y][x + 1] == OpposingFieldStatus.SHIP) {
+        if (x + 1 < this.n && this.statusAt(x + 1, y) == OpposingFieldStatus.SHIP) {
             /* Verfolge das Schiff nach rechts */
             do {
                 x++;
-            } while (x + 1 < this.n && this.field[y][x + 1] == OpposingFieldStatus.SHIP);
+            } while (x + 1 < this.n && this.statusAt(x + 1, y) == OpposingFieldStatus.SHIP);
             direction = OpposingShipDirection.HORIZONTAL;
-        } else if (y + 1 < this.n && this.field[y + 1][x] == OpposingFieldStatus.SHIP) {
+        } else if (y + 1 < this.n && this.statusAt(x, y + 1) == OpposingFieldStatus.SHIP) {
             /* Verfolge das Schiff nach unten */
             do {
                 y++;
-            } while (y + 1 < this.n && this.field[y + 1][x] == OpposingFieldStatus.SHIP);
+            } while (y + 1 < this.n && this.statusAt(x, y + 1) == OpposingFieldStatus.SHIP);
             direction = OpposingShipDirection.VERTICAL;
         }
         /*
@@ -136,14 +345,14 @@ public class OpposingPlayingField {
          * Schiffsrichtung bestimmten konnten.
          */
         if (direction == OpposingShipDirection.UNKNOWN) {
-            if (x - 1 >= 0 && this.field[y][x - 1] == OpposingFieldStatus.SHIP) {
+            if (x - 1 >= 0 && this.statusAt(x - 1, y) == OpposingFieldStatus.SHIP) {
                 direction = OpposingShipDirection.HORIZONTAL;
-            } else if (y - 1 >= 0 && this.field[y - 1][x] == OpposingFieldStatus.SHIP) {
+            } else if (y - 1 >= 0 && this.statusAt(x, y - 1) == OpposingFieldStatus.SHIP) {
                 direction = OpposingShipDirection.VERTICAL;
             }
         }
 
-        return new OpposingShipEndWithDirection(direction, new OpposingField(x, y));
+        return new OpposingShipEndWithDirection(direction, OpposingField.of(x, y));
     }
 
     /**
@@ -156,17 +365,17 @@ public class OpposingPlayingField {
         int x = f.getX();
         int y = f.getY();
         OpposingShipDirection direction = OpposingShipDirection.UNKNOWN;
-        if (x - 1 >= 0 && this.field[y][x - 1] == OpposingFieldStatus.SHIP) {
+        if (x - 1 >= 0 && this.statusAt(x - 1, y) == OpposingFieldStatus.SHIP) {
             /* Verfolge das Schiff nach links */
             do {
                 x--;
-            } while (x - 1 >= 0 && this.field[y][x - 1] == OpposingFieldStatus.SHIP);
+            } while (x - 1 >= 0 && this.statusAt(x - 1, y) == OpposingFieldStatus.SHIP);
             direction = OpposingShipDirection.HORIZONTAL;
-        } else if (y - 1 >= 0 && this.field[y - 1][x] == OpposingFieldStatus.SHIP) {
+        } else if (y - 1 >= 0 && this.statusAt(x, y - 1) == OpposingFieldStatus.SHIP) {
             /* Verfolge das Schiff nach oben */
             do {
                 y--;
-            } while (y - 1 >= 0 && this.field[y - 1][x] == OpposingFieldStatus.SHIP);
+            } while (y - 1 >= 0 && this.statusAt(x, y - 1) == OpposingFieldStatus.SHIP);
             direction = OpposingShipDirection.VERTICAL;
         }
         /*
@@ -175,17 +384,74 @@ public class OpposingPlayingField {
          * Schiffsrichtung bestimmten konnten.
          */
         if (direction == OpposingShipDirection.UNKNOWN) {
-            if (x + 1 < this.n && this.field[y][x + 1] == OpposingFieldStatus.SHIP) {
+            if (x + 1 < this.n && this.statusAt(x + 1, y) == OpposingFieldStatus.SHIP) {
                 direction = OpposingShipDirection.HORIZONTAL;
-            } else if (y + 1 < this.n && this.field[y + 1][x] == OpposingFieldStatus.SHIP) {
+            } else if (y + 1 < this.n && this.statusAt(x, y + 1) == OpposingFieldStatus.SHIP) {
                 direction = OpposingShipDirection.VERTICAL;
             }
         }
 
-        return new OpposingShipEndWithDirection(direction, new OpposingField(x, y));
+        return new OpposingShipEndWithDirection(direction, OpposingField.of(x, y));
     }
 
     public OpposingField getComputerMove() {
+        final int move = this.getComputerMoveCoordinates();
+        return OpposingField.of(Coordinates.x(move), Coordinates.y(move));
+    }
+
+    /**
+     * Berechnet einen Zug des Computers wie `getComputerMove()`, ohne dabei
+     * Objekte anzulegen.
+     *
+     * @return Das anzugreifende Feld als gepackte Koordinaten (siehe
+     *         `Coordinates`)
+     */
+    public int getComputerMoveCoordinates() {
+        return this.getComputerMoveCoordinates(Deadline.none());
+    }
+
+    /**
+     * Berechnet einen Zug des Computers innerhalb einer Frist. Strategien, welche
+     * ihr Ergebnis schrittweise verbessern (`TargetingStrategy.MONTE_CARLO`),
+     * rechnen bis zur Frist und verwenden dann den bis dahin besten Zug. Die
+     * anderen Strategien sind ohnehin schnell genug und ignorieren die Frist.
+     * Im Endspiel wird der optimale Zug exakt berechnet (siehe
+     * `EndgameSolver`); reicht die Frist dafür nicht, entscheidet die Strategie.
+     * Steht der Spielstand im `OpeningBook` oder ist ein `MoveCache` gesetzt,
+     * in dem ein Zug gespeichert ist, wird dieser ohne Berechnung verwendet.
+     *
+     * @param deadline Die Frist für den Zug
+     * @return Das anzugreifende Feld als gepackte Koordinaten (siehe
+     *         `Coordinates`)
+     */
+    public int getComputerMoveCoordinates(final Deadline deadline) {
+        final long hash = this.field.getZobristHash();
+        if (this.openingBook != null) {
+            final int move = this.openingBook.get(this.strategy, hash);
+            if (move != Coordinates.NONE && this.isUnknown(Coordinates.x(move), Coordinates.y(move))) {
+                return move;
+            }
+            /* Das Spiel hat die bekannten Eröffnungen verlassen und kehrt nicht zurück. */
+            this.openingBook = null;
+        }
+        final MoveCache cache = this.moveCache;
+        if (cache == null) {
+            return this.computeMove(deadline);
+        }
+        final int cached = cache.get(this.moveCacheLevel, this.strategy, hash);
+        /* Bei einer Kollision der Hashes könnte das Feld bereits bekannt sein. */
+        if (cached != Coordinates.NONE && this.isUnknown(Coordinates.x(cached), Coordinates.y(cached))) {
+            return cached;
+        }
+        final int move = this.computeMove(deadline);
+        cache.put(this.moveCacheLevel, this.strategy, hash, move);
+        return move;
+    }
+
+    /**
+     * Berechnet einen Zug des Computers nach der Strategie.
+     */
+    private int computeMove(final Deadline deadline) {
         /*
          * Wenn es Schifffelder (also nicht versenkt) gibt, dann gehe zu einem dieser
          * Felder. Versuche die Richtung des Schiffes zu bestimmen. Wenn keine Richtung
@@ -202,94 +468,158 @@ public class OpposingPlayingField {
          * Schiffes = unten rechts Wenn es keine Schifffelder gibt, gehe solange bis ein
          * unbekanntes Feld existiert und schieße.
          */
-        final OpposingField shipField = this.getNextField(OpposingFieldStatus.SHIP);
-        if (shipField != null) {
-            /* Es gibt ein Schiffsfeld */
-            OpposingShipEndWithDirection fd = this.followShipDownRight(shipField);
-            int x = fd.getEnd().getX();
-            int y = fd.getEnd().getY();
-            if (fd.getDirection() != OpposingShipDirection.UNKNOWN) {
-                /*
-                 * Die Richtung des Schiffes ist bekannt und zusätzlich ist das Schiff mehr als
-                 * ein Feld groß (sonst könnte keine Richtung ermittelt werden
-                 */
-                /*
-                 * Das Schiff wurde nach unten rechts verfolgt. Es könnte sein, dass es dort
-                 * noch unaufgedeckte Schiffsteile gibt (die man treffen könnte). Schaue, ob da
-                 * so ist und wenn dort ein unbekanntes Feld ist, feuere.
-                 */
-                if (fd.getDirection() == OpposingShipDirection.HORIZONTAL) {
-                    if (x + 1 < this.n && this.field[y][x + 1] == OpposingFieldStatus.UNKNOWN) {
-                        return new OpposingField(x + 1, y);
-                    }
-                } else if (fd.getDirection() == OpposingShipDirection.VERTICAL) {
-                    if (y + 1 < this.n && this.field[y + 1][x] == OpposingFieldStatus.UNKNOWN) {
-                        return new OpposingField(x, y + 1);
-                    }
-                }
-                /*
-                 * Unten rechts scheint das Schiff keine unbekannten Teile mehr zu haben. Schaue
-                 * also oben links nach.
-                 */
-                fd = this.followShipUpLeft(shipField);
-                x = fd.getEnd().getX();
-                y = fd.getEnd().getY();
-                if (fd.getDirection() == OpposingShipDirection.HORIZONTAL) {
-                    if (x - 1 >= 0 && this.field[y][x - 1] == OpposingFieldStatus.UNKNOWN) {
-                        return new OpposingField(x - 1, y);
-                    }
-                } else if (fd.getDirection() == OpposingShipDirection.VERTICAL) {
-                    if (y - 1 >= 0 && this.field[y - 1][x] == OpposingFieldStatus.UNKNOWN) {
-                        return new OpposingField(x, y - 1);
-                    }
-                }
-                /*
-                 * Das Schiff ist nicht versunken, hat aber an keinem Ende ein unbekanntes Feld.
-                 * Das ist seltsam und sollte so nicht sein.
-                 */
-                throw new RuntimeException(
-                        "Playing field integrity of the opponent's playing field violated. There is a ship where no fields next to its ends are unknown."
-                );
+        if (this.endgame != null) {
+            /* Sind nur noch wenige Lagen möglich, berechne den optimalen Schuss. */
+            final int move = this.endgame.nextMove(this.field, this.inference, this.random, deadline);
+            if (move != Coordinates.NONE) {
+                return move;
             }
-            /*
-             * Wenn die Richtung des Schiffes unbekannt ist, schieße auf die benachbarten
-             * unbekannten Felder
-             */
-            if (x - 1 >= 0 && this.field[y][x - 1] == OpposingFieldStatus.UNKNOWN) {
-                return new OpposingField(x - 1, y);
-            }
-            if (y - 1 >= 0 && this.field[y - 1][x] == OpposingFieldStatus.UNKNOWN) {
-                return new OpposingField(x, y - 1);
-            }
-            if (x + 1 < this.n && this.field[y][x + 1] == OpposingFieldStatus.UNKNOWN) {
-                return new OpposingField(x + 1, y);
+        }
+        if (this.sampler != null) {
+            /* Schieße auf das Feld, welches in den bis zur Frist gezogenen Lagen am häufigsten belegt ist. */
+            final int move = this.sampler.nextMove(this.field, this.inference, this.random, deadline);
+            if (move != Coordinates.NONE) {
+                return move;
             }
-            if (y + 1 < this.n && this.field[y + 1][x] == OpposingFieldStatus.UNKNOWN) {
-                return new OpposingField(x, y + 1);
+        }
+        if (this.density != null) {
+            /* Schieße auf das Feld, auf dem die meisten Lagen der Schiffe möglich sind. */
+            final int move = this.density.nextMove(this.random);
+            if (move != Coordinates.NONE) {
+                return move;
             }
+        }
 
+        /*
+         * Es kann mehrere angeschossene Schiffe gleichzeitig geben. Ist bei einem kein
+         * Feld mehr offen, wird das nächste versucht.
+         */
+        final int ship = OpposingFieldStatus.SHIP.ordinal();
+        boolean target = false;
+        for (int shipCell = this.field.nextCell(0, ship); shipCell >= 0;
+                shipCell = this.field.nextCell(shipCell + 1, ship)) {
+            target = true;
+            final int move = this.attackTarget(shipCell % this.n, shipCell / this.n);
+            if (move != Coordinates.NONE) {
+                return move;
+            }
+        }
+        if (target) {
             /*
-             * Es gibt ein Schiff, was ein Feld groß ist und nicht nicht versunken, aber
-             * alle benachbarten Felder sind bereits getroffen. Vielleicht ein U-Boot? So
-             * oder so seltsam und sollte nicht passieren.
+             * Es gibt ein Schiff, was nicht versunken ist, aber an keinem Ende ein
+             * unbekanntes Feld hat. Das ist seltsam und sollte so nicht sein.
              */
             throw new RuntimeException(
-                    "Playing field integrity of the opponent's playing field violated. There is a one-field ship that has not sunk."
+                    "Playing field integrity of the opponent's playing field violated. There is a ship that has not sunk, but no field next to it is unknown."
             );
         }
 
-        final int startx = this.random.nextInt(this.n);
-        final int starty = this.random.nextInt(this.n);
-        final OpposingField startField = new OpposingField(startx, starty);
-        final OpposingField result = this.getNextField(startField, OpposingFieldStatus.UNKNOWN);
-
-        if (result == null) {
+        final int unknown = this.field.count(OpposingFieldStatus.UNKNOWN.ordinal());
+        if (unknown == 0) {
             throw new RuntimeException(
                     "Playing field integrity of the opponent's playing field violated. All fields are known and therefore all ships are sunk. However, a computer move has been requested. This makes no sense, as we should have won."
             );
         }
 
-        return result;
+        /* Ziehe gleichverteilt ein unbekanntes Feld. */
+        final int cell = this.field.nthCell(this.random.nextInt(unknown), OpposingFieldStatus.UNKNOWN.ordinal());
+        return Coordinates.pack(cell % this.n, cell / this.n);
+    }
+
+    /**
+     * Sucht ein unbekanntes Feld, an dem ein angeschossenes Schiff weitergehen
+     * könnte.
+     *
+     * @return Das Feld als gepackte Koordinaten oder `Coordinates.NONE`
+     */
+    private int attackTarget(final int sx, final int sy) {
+        final OpposingShipDirection direction = this.getShipDirection(sx, sy);
+        if (direction != OpposingShipDirection.UNKNOWN) {
+            /*
+             * Die Richtung des Schiffes ist bekannt und zusätzlich ist das Schiff mehr als
+             * ein Feld groß (sonst könnte keine Richtung ermittelt werden
+             */
+            final int dx = direction == OpposingShipDirection.HORIZONTAL ? 1 : 0;
+            final int dy = 1 - dx;
+            /*
+             * Verfolge das Schiff nach unten rechts. Es könnte sein, dass es dort noch
+             * unaufgedeckte Schiffsteile gibt (die man treffen könnte). Schaue, ob da so
+             * ist und wenn dort ein unbekanntes Feld ist, feuere.
+             */
+            int end = this.followShip(sx, sy, dx, dy);
+            int x = Coordinates.x(end) + dx;
+            int y = Coordinates.y(end) + dy;
+            if (x < this.n && y < this.n && this.statusAt(x, y) == OpposingFieldStatus.UNKNOWN) {
+                return Coordinates.pack(x, y);
+            }
+            /*
+             * Unten rechts scheint das Schiff keine unbekannten Teile mehr zu haben. Schaue
+             * also oben links nach.
+             */
+            end = this.followShip(sx, sy, -dx, -dy);
+            x = Coordinates.x(end) - dx;
+            y = Coordinates.y(end) - dy;
+            if (x >= 0 && y >= 0 && this.statusAt(x, y) == OpposingFieldStatus.UNKNOWN) {
+                return Coordinates.pack(x, y);
+            }
+            /* Das Schiff hat an keinem Ende ein unbekanntes Feld. */
+            return Coordinates.NONE;
+        }
+        /*
+         * Wenn die Richtung des Schiffes unbekannt ist, schieße auf die benachbarten
+         * unbekannten Felder
+         */
+        if (sx - 1 >= 0 && this.statusAt(sx - 1, sy) == OpposingFieldStatus.UNKNOWN) {
+            return Coordinates.pack(sx - 1, sy);
+        }
+        if (sy - 1 >= 0 && this.statusAt(sx, sy - 1) == OpposingFieldStatus.UNKNOWN) {
+            return Coordinates.pack(sx, sy - 1);
+        }
+        if (sx + 1 < this.n && this.statusAt(sx + 1, sy) == OpposingFieldStatus.UNKNOWN) {
+            return Coordinates.pack(sx + 1, sy);
+        }
+        if (sy + 1 < this.n && this.statusAt(sx, sy + 1) == OpposingFieldStatus.UNKNOWN) {
+            return Coordinates.pack(sx, sy + 1);
+        }
+
+        /* Alle benachbarten Felder sind bereits bekannt. */
+        return Coordinates.NONE;
+    }
+
+    /**
+     * Bestimmt die Richtung des Schiffes, zu dem ein getroffenes Schiffsfeld
+     * gehört, anhand der benachbarten Schiffsfelder.
+     */
+    private OpposingShipDirection getShipDirection(final int x, final int y) {
+        if (x + 1 < this.n && this.statusAt(x + 1, y) == OpposingFieldStatus.SHIP) {
+            return OpposingShipDirection.HORIZONTAL;
+        }
+        if (y + 1 < this.n && this.statusAt(x, y + 1) == OpposingFieldStatus.SHIP) {
+            return OpposingShipDirection.VERTICAL;
+        }
+        if (x - 1 >= 0 && this.statusAt(x - 1, y) == OpposingFieldStatus.SHIP) {
+            return OpposingShipDirection.HORIZONTAL;
+        }
+        if (y - 1 >= 0 && this.statusAt(x, y - 1) == OpposingFieldStatus.SHIP) {
+            return OpposingShipDirection.VERTICAL;
+        }
+        return OpposingShipDirection.UNKNOWN;
+    }
+
+    /**
+     * "Verfolgt" einen Schiffskörper in eine Richtung, ohne Objekte anzulegen.
+     *
+     * @return Das letzte Schiffsfeld in dieser Richtung als gepackte Koordinaten
+     */
+    private int followShip(final int x, final int y, final int dx, final int dy) {
+        int ex = x;
+        int ey = y;
+        while (ex + dx >= 0 && ey + dy >= 0 && ex + dx < this.n && ey + dy < this.n
+                && this.statusAt(ex + dx, ey + dy) == OpposingFieldStatus.SHIP) {
+            ex += dx;
+            ey += dy;
+        }
+        return Coordinates.pack(ex, ey);
     }
 
     /**
@@ -316,38 +646,14 @@ public class OpposingPlayingField {
          * das gesuchte Feld dann noch nicht gefunden wurden ist, soll vom Anfang an
          * gesucht werden - also der Bereich C und D.
          */
-        int x;
-        int y;
-        /* Hier wird der Bereich F und C durchsucht */
-        for (y = f.getY(), x = f.getX(); x < this.n; x++) {
-            if (this.field[y][x] == fieldStatus) {
-                return new OpposingField(x, y);
-            }
-        }
-        /* Hier wird der Bereich D durchsucht */
-        for (y = f.getY() + 1; y < this.n; y++) {
-            for (x = 0; x < this.n; x++) {
-                if (this.field[y][x] == fieldStatus) {
-                    return new OpposingField(x, y);
-                }
-            }
-        }
-
-        /* Hier wird der Bereich A durchsucht */
-        for (y = 0; y < f.getY(); y++) {
-            for (x = 0; x < this.n; x++) {
-                if (this.field[y][x] == fieldStatus) {
-                    return new OpposingField(x, y);
-                }
-            }
+        final int start = f.getY() * this.n + f.getX();
+        /* Hier werden die Bereiche F, C und D durchsucht */
+        int cell = this.field.nextCell(start, fieldStatus.ordinal());
+        if (cell < 0) {
+            /* Hier werden die Bereiche A und B durchsucht */
+            cell = this.field.nextCell(0, fieldStatus.ordinal());
         }
-        /* Hier wird der Bereich B durchsucht */
-        for (y = f.getY(), x = 0; x < f.getX(); x++) {
-            if (this.field[y][x] == fieldStatus) {
-                return new OpposingField(x, y);
-            }
-        }
-        return null;
+        return cell < 0 ? null : OpposingField.of(cell % this.n, cell / this.n);
     }
 
     /**
@@ -359,7 +665,7 @@ public class OpposingPlayingField {
      */
     @Nullable
     public OpposingField getNextField(final OpposingFieldStatus fieldStatus) {
-        return this.getNextField(new OpposingField(0, 0), fieldStatus);
+        return this.getNextField(OpposingField.of(0, 0), fieldStatus);
     }
 
     /**
@@ -369,18 +675,26 @@ public class OpposingPlayingField {
      * @param fieldStatus Der Status des Feldes, welches getroffen wurden ist.
      */
     public void hit(final OpposingField f, final OpposingFieldStatus fieldStatus) {
+        this.hit(f.getX(), f.getY(), fieldStatus);
+    }
+
+    /**
+     * Speichert einen Treffer im gegnerischen Spielfeld ab.
+     *
+     * @param x           X-Koordinate des Feldes, welches getroffen wurden ist
+     * @param y           Y-Koordinate des Feldes, welches getroffen wurden ist
+     * @param fieldStatus Der Status des Feldes, welches getroffen wurden ist.
+     */
+    public void hit(final int x, final int y, final OpposingFieldStatus fieldStatus) {
         /*
          * Wenn Wasser, dann Feld als Wasser markieren Wenn Schiff, dann Feld als Schiff
          * markieren Wenn Versunken, dann Feld und angrenzende Schifffelder als
          * versunken markieren
          */
-        final int x = f.getX();
-        final int y = f.getY();
-
         switch (fieldStatus) {
             case WATER, SHIP:
                 /* Markiere das Feld entsprechend. */
-                this.field[y][x] = fieldStatus;
+                this.setStatus(x, y, fieldStatus);
                 break;
 
             case SUNK:
@@ -388,28 +702,55 @@ public class OpposingPlayingField {
                  * Dieses als Feld versenkt markieren. Dies bedeutet, dass alle angrenzenden
                  * Schiffsfelder nun auch als versunken markiert werden sollen.
                  */
-                this.field[y][x] = fieldStatus;
+                this.setStatus(x, y, fieldStatus);
                 /* Alle Schiffsfelder links als versenkt markieren */
-                for (int i = x - 1; i >= 0 && this.field[y][i] == OpposingFieldStatus.SHIP; i--) {
-                    this.field[y][i] = fieldStatus;
+                for (int i = x - 1; i >= 0 && this.statusAt(i, y) == OpposingFieldStatus.SHIP; i--) {
+                    this.setStatus(i, y, fieldStatus);
                 }
                 /* Alle Schiffsfelder oben als versenkt markieren */
-                for (int i = y - 1; i >= 0 && this.field[i][x] == OpposingFieldStatus.SHIP; i--) {
-                    this.field[i][x] = fieldStatus;
+                for (int i = y - 1; i >= 0 && this.statusAt(x, i) == OpposingFieldStatus.SHIP; i--) {
+                    this.setStatus(x, i, fieldStatus);
                 }
                 /* Alle Schiffsfelder rechts als versenkt markieren */
-                for (int i = x + 1; i <= this.n && this.field[y][i] == OpposingFieldStatus.SHIP; i++) {
-                    this.field[y][i] = fieldStatus;
+                for (int i = x + 1; i < this.n && this.statusAt(i, y) == OpposingFieldStatus.SHIP; i++) {
+                    this.setStatus(i, y, fieldStatus);
                 }
                 /* Alle Schiffsfelder unten als versenkt markieren */
-                for (int i = y + 1; i <= this.n && this.field[i][x] == OpposingFieldStatus.SHIP; i++) {
-                    this.field[i][x] = fieldStatus;
+                for (int i = y + 1; i < this.n && this.statusAt(x, i) == OpposingFieldStatus.SHIP; i++) {
+                    this.setStatus(x, i, fieldStatus);
                 }
                 break;
 
             default:
                 throw new RuntimeException("Unsupported field status passed.");
         }
+        /* Leite weitere Wasserfelder ab. */
+        this.inference.update(x, y, fieldStatus);
+    }
+
+    /**
+     * Gibt die Längen der Schiffe des Gegners zurück, welche noch nicht
+     * versenkt wurden.
+     *
+     * @return Die Längen, aufsteigend, null wenn die Flotte unbekannt ist
+     */
+    @Nullable
+    public List<Integer> getRemainingShips() {
+        return this.inference.getRemainingShips();
+    }
+
+    /**
+     * Gibt den Status eines Feldes zurück.
+     */
+    private OpposingFieldStatus statusAt(final int x, final int y) {
+        return STATUSES[this.field.get(x, y)];
+    }
+
+    /**
+     * Setzt den Status eines Feldes.
+     */
+    private void setStatus(final int x, final int y, final OpposingFieldStatus fieldStatus) {
+        this.field.set(x, y, fieldStatus.ordinal());
     }
 
     /**
@@ -421,19 +762,32 @@ public class OpposingPlayingField {
      *         sonst false.
      */
     public boolean isUnknown(final OpposingField f) {
-        return this.field[f.getY()][f.getX()] == OpposingFieldStatus.UNKNOWN;
+        return this.isUnknown(f.getX(), f.getY());
+    }
+
+    /**
+     * Gibt an, ob ein bestimmtes Feld unbekannt ist - also noch nicht angegriffen
+     * wurden ist.
+     *
+     * @param x X-Koordinate des Feldes
+     * @param y Y-Koordinate des Feldes
+     * @return true, wenn es noch nicht angegriffen wurden ist und unbekannt ist,
+     *         sonst false.
+     */
+    public boolean isUnknown(final int x, final int y) {
+        return this.statusAt(x, y) == OpposingFieldStatus.UNKNOWN;
     }
 
     /**
      * Überträgt das Spielfeld in eine graphische Darstellung in Form einer
-     * `PlaygroundMatrix`.
+     * `FieldView`.
      *
-     * @param pm PlaygroundMatrix auf die das Spielfeld gezeichnet werden soll.
+     * @param pm FieldView, auf die das Spielfeld gezeichnet werden soll.
      */
-    public void print(final PlaygroundMatrix pm) {
-        for (int y = 0; y < this.field.length; y++) {
-            for (int x = 0; x < this.field[y].length; x++) {
-                switch (this.field[y][x]) {
+    public void print(final FieldView pm) {
+        for (int y = 0; y < this.n; y++) {
+            for (int x = 0; x < this.n; x++) {
+                switch (this.statusAt(x, y)) {
                     case SHIP:
                         pm.setShip(x, y);
                         break;
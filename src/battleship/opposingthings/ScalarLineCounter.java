@@ -0,0 +1,55 @@
+package battleship.opposingthings;
+
+import java.util.Arrays;
+
+/**
+ * Zählt die Lagen einer Zeile Start für Start und Feld für Feld.
+ */
+final class ScalarLineCounter implements LineCounter {
+    private static final int UNKNOWN = OpposingFieldStatus.UNKNOWN.ordinal();
+    private static final int SHIP = OpposingFieldStatus.SHIP.ordinal();
+
+    private final int n;
+
+    ScalarLineCounter(final int n) {
+        this.n = n;
+    }
+
+    @Override
+    public void count(
+            final int[] line, final int[] afloat, final int minLength, final long[] counts, final long[] hits
+    ) {
+        Arrays.fill(counts, 0, this.n, 0);
+        Arrays.fill(hits, 0, this.n, 0);
+        for (int length = minLength; length <= this.n; length++) {
+            final int ships = afloat[length];
+            if (ships == 0) {
+                continue;
+            }
+            for (int start = 0; start + length <= this.n; start++) {
+                /* Liegt direkt vor oder hinter der Lage ein Treffer, wäre das Schiff länger. */
+                if (start > 0 && line[start - 1] == SHIP || start + length < this.n && line[start + length] == SHIP) {
+                    continue;
+                }
+                int covered = 0;
+                int k = 0;
+                for (; k < length; k++) {
+                    final int state = line[start + k];
+                    if (state == SHIP) {
+                        covered++;
+                    } else if (state != UNKNOWN) {
+                        break;
+                    }
+                }
+                /* Ein vollständig getroffenes Schiff wäre bereits versenkt. */
+                if (k < length || covered == length) {
+                    continue;
+                }
+                for (k = 0; k < length; k++) {
+                    counts[start + k] += ships;
+                    hits[start + k] += (long) ships * covered;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package battleship.opposingthings;
+
+/**
+ * Legt fest, wie der Computer in `OpposingPlayingField.getComputerMove()` das
+ * nächste anzugreifende Feld wählt.
+ */
+public enum TargetingStrategy {
+    /**
+     * Schießt auf ein zufälliges unbekanntes Feld, bis ein Schiff getroffen
+     * wird, und verfolgt dieses dann entlang seiner Richtung.
+     */
+    HUNT_AND_TARGET,
+
+    /**
+     * Zählt für jedes Feld, wie viele Lagen der noch schwimmenden Schiffe mit
+     * den bekannten Feldern vereinbar sind, und schießt auf das Feld mit den
+     * meisten. Gibt es angeschossene Schiffe, zählen nur Lagen durch diese.
+     * Benötigt die Flotte des Gegners, sonst wird wie bei `HUNT_AND_TARGET`
+     * gespielt.
+     */
+    PROBABILITY_DENSITY,
+
+    /**
+     * Zieht mit einem `FleetSampler` viele vollständige Lagen der noch
+     * schwimmenden Schiffe, welche mit den bekannten Feldern vereinbar sind, und
+     * schießt auf das Feld, welches darin am häufigsten belegt ist. Genauer als
+     * `PROBABILITY_DENSITY`, da sich die Schiffe einer Lage nicht überlappen
+     * oder berühren, benötigt aber deutlich mehr Rechenzeit. Benötigt die Flotte
+     * des Gegners, sonst wird wie bei `HUNT_AND_TARGET` gespielt.
+     */
+    MONTE_CARLO
+}
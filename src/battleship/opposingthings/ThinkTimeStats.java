@@ -0,0 +1,159 @@
+package battleship.opposingthings;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sammelt, wie lange der Computer für seine Züge gebraucht hat, und gibt
+ * daraus Perzentile aus. Damit lässt sich z. B. auf einem Rechner mit vielen
+ * Bots prüfen, ob die Fristen der `Difficulty` eingehalten werden.
+ *
+ * Die Zeiten werden in Mikrosekunden in ein Histogramm einsortiert: Werte
+ * unter 16 exakt, größere in acht Fächer je Zweierpotenz. Ein Perzentil ist
+ * damit auf etwa 12 % genau, das Maximum exakt. Alle Methoden können von
+ * beliebigen Threads aufgerufen werden.
+ */
+public final class ThinkTimeStats {
+    /* Fächer je Zweierpotenz als Zweierlogarithmus. */
+    private static final int SUB_BITS = 3;
+    /* Kleinste Zweierpotenz, welche in Fächer geteilt wird. */
+    private static final int MIN_EXPONENT = SUB_BITS + 1;
+    /* Werte unterhalb dieser Grenze erhalten je ein eigenes Fach. */
+    private static final int LINEAR = 1 << MIN_EXPONENT;
+    private static final int BUCKETS = LINEAR + (Long.SIZE - 1 - MIN_EXPONENT) * (1 << SUB_BITS);
+
+    /* Sammelt die Züge aller Spielfelder dieser JVM. */
+    private static final ThinkTimeStats GLOBAL = new ThinkTimeStats();
+
+    private final AtomicLongArray buckets;
+    private final AtomicLong count;
+    private final AtomicLong totalNanos;
+    private final AtomicLong maxNanos;
+
+    /**
+     * Erstellt eine leere Statistik.
+     */
+    public ThinkTimeStats() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new AtomicLong();
+        this.totalNanos = new AtomicLong();
+        this.maxNanos = new AtomicLong();
+    }
+
+    /**
+     * Gibt die Statistik zurück, in welche die `GameEngine` und der Simulator
+     * jeden Zug des Computers eintragen.
+     *
+     * @return Die Statistik
+     */
+    public static ThinkTimeStats getGlobal() {
+        return GLOBAL;
+    }
+
+    /**
+     * Nimmt die Dauer eines Zuges auf.
+     *
+     * @param nanos Dauer in Nanosekunden
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        this.buckets.incrementAndGet(bucket(value / 1_000));
+        this.count.incrementAndGet();
+        this.totalNanos.addAndGet(value);
+        this.maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Gibt die Anzahl der aufgenommenen Züge zurück.
+     *
+     * @return Anzahl der Züge
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * Gibt die mittlere Dauer eines Zuges zurück.
+     *
+     * @return Dauer in Nanosekunden, 0 wenn noch kein Zug aufgenommen wurde
+     */
+    public double getMeanNanos() {
+        final long moves = this.count.get();
+        return moves == 0 ? 0 : (double) this.totalNanos.get() / moves;
+    }
+
+    /**
+     * Gibt die längste Dauer eines Zuges zurück.
+     *
+     * @return Dauer in Nanosekunden
+     */
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Gibt ein Perzentil der Dauer zurück, z. B. 0.99 für das 99. Perzentil.
+     * Zurückgegeben wird die obere Grenze des Faches, in welches das Perzentil
+     * fällt.
+     *
+     * @param quantile Wert zwischen 0 und 1
+     * @return Dauer in Nanosekunden, 0 wenn noch kein Zug aufgenommen wurde
+     */
+    public long getQuantileNanos(final double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("The quantile must be between 0 and 1.");
+        }
+        long total = 0;
+        final long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = this.buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                /* Das Maximum ist exakt bekannt und nie größer als die Fachgrenze. */
+                return Math.min(upperBound(i) * 1_000 + 999, this.maxNanos.get());
+            }
+        }
+        return this.maxNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return "moves=" + this.getCount() + " thinkTime(mean=" + Math.round(this.getMeanNanos() / 1_000) + " us p50="
+                + this.getQuantileNanos(0.5) / 1_000 + " us p90=" + this.getQuantileNanos(0.9) / 1_000 + " us p99="
+                + this.getQuantileNanos(0.99) / 1_000 + " us max=" + this.getMaxNanos() / 1_000 + " us)";
+    }
+
+    /**
+     * Gibt das Fach eines Wertes zurück.
+     */
+    private static int bucket(final long micros) {
+        if (micros < LINEAR) {
+            return (int) micros;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        /* Die Bits unterhalb des höchsten Bits wählen das Fach innerhalb der Zweierpotenz. */
+        final int sub = (int) (micros >>> exponent - SUB_BITS) & (1 << SUB_BITS) - 1;
+        return LINEAR + (exponent - MIN_EXPONENT) * (1 << SUB_BITS) + sub;
+    }
+
+    /**
+     * Gibt den größten Wert eines Faches zurück.
+     */
+    private static long upperBound(final int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        final int exponent = (bucket - LINEAR >> SUB_BITS) + MIN_EXPONENT;
+        final int sub = bucket - LINEAR & (1 << SUB_BITS) - 1;
+        final long width = 1L << exponent - SUB_BITS;
+        return ((1L << SUB_BITS) + sub) * width + width - 1;
+    }
+}
@@ -0,0 +1,119 @@
+package battleship.opposingthings;
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Zählt die Lagen einer Zeile mit der Vector API. Je Schiffslänge werden so
+ * viele Starts auf einmal geprüft, wie der Vektor Lanes hat (bei AVX2 acht).
+ *
+ * Damit das ohne innere Schleife geht, werden vorab Präfixsummen der Zeile
+ * gebildet: die Anzahl der Wasser- bzw. versenkten Felder und die Anzahl der
+ * angeschossenen Felder vor jedem Feld. Wie viele davon eine Lage überdeckt,
+ * ist dann die Differenz zweier Werte. Eine gültige Lage wird nicht auf jedes
+ * ihrer Felder addiert, sondern als Differenzfeld vermerkt (+ am Start, - hinter
+ * dem Ende); eine Präfixsumme am Schluss ergibt die Zählung je Feld.
+ *
+ * Gezählt wird in `int`. Je Feld sind es höchstens n³ (gewichtete) Lagen, für
+ * größere Zeilen als `MAX_SIZE` wird daher die skalare Variante verwendet.
+ */
+final class VectorLineCounter implements LineCounter {
+    /**
+     * Größte Länge einer Zeile, welche ohne Überlauf gezählt werden kann.
+     */
+    static final int MAX_SIZE = 1024;
+
+    private static final int UNKNOWN = OpposingFieldStatus.UNKNOWN.ordinal();
+    private static final int SHIP = OpposingFieldStatus.SHIP.ordinal();
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private final int n;
+    /* Anzahl der Felder vor Index i, welche weder unbekannt noch angeschossen sind. */
+    private final int[] blockedBefore;
+    /* Anzahl der angeschossenen Felder vor Index i. */
+    private final int[] hitsBefore;
+    /* 1 an Index i, wenn Feld i - 1 angeschossen ist. */
+    private final int[] shipBefore;
+    /* Differenzfelder der Zählung. */
+    private final int[] countDeltas;
+    private final int[] hitDeltas;
+
+    VectorLineCounter(final int n) {
+        if (n > MAX_SIZE) {
+            throw new IllegalArgumentException("Lines longer than " + MAX_SIZE + " fields are not supported.");
+        }
+        this.n = n;
+        /* Ein Vektor darf über das Ende hinaus laden; die Lanes dort werden ausgeblendet. */
+        final int padded = n + SPECIES.length() + 2;
+        this.blockedBefore = new int[padded];
+        this.hitsBefore = new int[padded];
+        this.shipBefore = new int[padded];
+        this.countDeltas = new int[padded];
+        this.hitDeltas = new int[padded];
+    }
+
+    @Override
+    public void count(
+            final int[] line, final int[] afloat, final int minLength, final long[] counts, final long[] hits
+    ) {
+        for (int i = 0; i < this.n; i++) {
+            final int state = line[i];
+            this.blockedBefore[i + 1] = this.blockedBefore[i] + (state != UNKNOWN && state != SHIP ? 1 : 0);
+            this.hitsBefore[i + 1] = this.hitsBefore[i] + (state == SHIP ? 1 : 0);
+            this.shipBefore[i + 1] = state == SHIP ? 1 : 0;
+        }
+        Arrays.fill(this.countDeltas, 0);
+        Arrays.fill(this.hitDeltas, 0);
+
+        for (int length = minLength; length <= this.n; length++) {
+            final int ships = afloat[length];
+            if (ships == 0) {
+                continue;
+            }
+            final int starts = this.n - length + 1;
+            for (int start = 0; start < starts; start += SPECIES.length()) {
+                final int end = start + length;
+                final IntVector covered = IntVector.fromArray(SPECIES, this.hitsBefore, end)
+                        .sub(IntVector.fromArray(SPECIES, this.hitsBefore, start));
+                final IntVector blockers = IntVector.fromArray(SPECIES, this.blockedBefore, end)
+                        .sub(IntVector.fromArray(SPECIES, this.blockedBefore, start));
+                /* Liegt direkt vor oder hinter der Lage ein Treffer, wäre das Schiff länger. */
+                final IntVector neighbours = IntVector.fromArray(SPECIES, this.shipBefore, start)
+                        .add(IntVector.fromArray(SPECIES, this.shipBefore, end + 1));
+                /* Ein vollständig getroffenes Schiff wäre bereits versenkt. */
+                final VectorMask<Integer> valid = SPECIES.indexInRange(start, starts)
+                        .and(blockers.compare(VectorOperators.EQ, 0))
+                        .and(neighbours.compare(VectorOperators.EQ, 0))
+                        .and(covered.compare(VectorOperators.LT, length));
+                if (!valid.anyTrue()) {
+                    continue;
+                }
+                final IntVector weight = IntVector.zero(SPECIES).blend(ships, valid);
+                final IntVector hitWeight = covered.mul(weight);
+                addDelta(this.countDeltas, start, end, weight);
+                addDelta(this.hitDeltas, start, end, hitWeight);
+            }
+        }
+
+        long runningCount = 0;
+        long runningHits = 0;
+        for (int i = 0; i < this.n; i++) {
+            runningCount += this.countDeltas[i];
+            runningHits += this.hitDeltas[i];
+            counts[i] = runningCount;
+            hits[i] = runningHits;
+        }
+    }
+
+    /**
+     * Vermerkt Lagen ab `start` (je Lane eine) als Differenzfeld.
+     */
+    private static void addDelta(final int[] deltas, final int start, final int end, final IntVector weight) {
+        IntVector.fromArray(SPECIES, deltas, start).add(weight).intoArray(deltas, start);
+        IntVector.fromArray(SPECIES, deltas, end).sub(weight).intoArray(deltas, end);
+    }
+}
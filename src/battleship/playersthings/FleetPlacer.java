@@ -0,0 +1,238 @@
+package battleship.playersthings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Platziert eine ganze Flotte zufällig auf einem Spielfeld.
+ *
+ * Für jede Zeile wird in einem `long` gespeichert, welche Felder gesperrt sind:
+ * die Felder der bereits platzierten Schiffe und ihre direkten Nachbarn
+ * (oben, unten, links, rechts). Für jedes Schiff werden alle noch erlaubten
+ * Positionen bestimmt und eine davon gleichverteilt gezogen. Bleibt für ein
+ * Schiff keine Position übrig, wird die Wahl des vorherigen Schiffes
+ * zurückgenommen (Backtracking). Die Anzahl der Versuche je Durchlauf und die
+ * Anzahl der Durchläufe sind begrenzt, sodass auch eine unmögliche Flotte
+ * schnell mit einem Fehler endet.
+ *
+ * Es kommen dieselben Positionen wie bei `PlayersShip.generate()` in Frage.
+ */
+public final class FleetPlacer {
+    /* Maximale Anzahl an ausprobierten Positionen je Durchlauf. */
+    private static final int MAX_STEPS = 10_000;
+    /*
+     * Maximale Anzahl an Durchläufen. Eine festgefahrene Suche mit neuem Zufall
+     * zu beginnen, ist meist schneller, als sie weiter zurückzuverfolgen.
+     */
+    private static final int MAX_RUNS = 10;
+
+    /**
+     * Größe des Spielfeldes.
+     */
+    private final int size;
+
+    /**
+     * Erstellt einen Platzierer für ein quadratisches Spielfeld.
+     *
+     * @param size Größe des Spielfeldes, höchstens 63
+     */
+    public FleetPlacer(final int size) {
+        if (size < 1 || size >= Long.SIZE) {
+            throw new IllegalArgumentException("The fleet placer supports playing fields of size 1 to 63.");
+        }
+        this.size = size;
+    }
+
+    /**
+     * Platziert Schiffe der angegebenen Längen, sodass sie weder überlappen noch
+     * benachbart sind. Längere Schiffe werden zuerst platziert, da für sie am
+     * wenigsten Positionen übrig bleiben.
+     *
+     * @param lengths Die Längen der Schiffe (siehe
+     *                `PlayersPlayingField.generateShips(Iterable)`)
+     * @param random  Der zu verwendende Zufallsgenerator
+     * @return Die Schiffe in der Reihenfolge der Längen
+     * @throws IllegalArgumentException Falls ein Schiff nicht auf das Spielfeld
+     *                                  passt
+     * @throws IllegalStateException    Falls die Flotte nicht oder nicht
+     *                                  innerhalb der erlaubten Versuche platziert
+     *                                  werden kann
+     */
+    public List<PlayersShip> place(final Iterable<Integer> lengths, final RandomGenerator random) {
+        return this.place(lengths, random, new long[this.size]);
+    }
+
+    /**
+     * Platziert Schiffe wie `place(Iterable, RandomGenerator)`, wobei bereits
+     * Felder gesperrt sein können, z. B. durch schon platzierte Schiffe.
+     *
+     * @param forbidden Gesperrte Felder je Zeile, Bit x für Spalte x. Wird nicht
+     *                  verändert.
+     */
+    List<PlayersShip> place(final Iterable<Integer> lengths, final RandomGenerator random, final long[] forbidden) {
+        final List<Integer> list = new ArrayList<>();
+        for (final Integer length : lengths) {
+            if (length < 1) {
+                throw new IllegalArgumentException("There can be no ship that has a length of 0.");
+            }
+            if (length >= this.size) {
+                throw new IllegalArgumentException(
+                        "It is not possible to create a ship without bulges that is larger than the height or width of the playing field."
+                );
+            }
+            list.add(length);
+        }
+
+        Search search = null;
+        for (int run = 0; search == null; run++) {
+            if (run == MAX_RUNS) {
+                throw new IllegalStateException("Placing the fleet " + list + " takes too many attempts.");
+            }
+            final Search attempt = new Search(list, random);
+            if (attempt.place(0, forbidden)) {
+                search = attempt;
+            } else if (!attempt.exhausted) {
+                /* Alle Möglichkeiten wurden ausprobiert. */
+                throw new IllegalStateException("The fleet " + list + " cannot be placed on the playing field.");
+            }
+        }
+
+        final List<PlayersShip> ships = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            final int candidate = search.placement[i];
+            final int start = candidate >>> 1;
+            final int length = list.get(i);
+            final PlayersShipDirection direction;
+            if (length == 1) {
+                direction = PlayersShipDirection.SINGLE_FIELD;
+            } else {
+                direction = (candidate & 1) == 0 ? PlayersShipDirection.HORIZONTAL : PlayersShipDirection.VERTICAL;
+            }
+            ships.add(new PlayersShip(new PlayersField(start % this.size, start / this.size), direction, length));
+        }
+        return ships;
+    }
+
+    /**
+     * Zustand einer Platzierung. Eine Position wird als `(y * size + x) << 1`
+     * kodiert, das unterste Bit ist 1 für senkrechte Schiffe.
+     */
+    private final class Search {
+        private final int[] lengths;
+        /* Reihenfolge der Platzierung, Indizes in `lengths`, längste zuerst. */
+        private final int[] order;
+        private final int[] placement;
+        private final RandomGenerator random;
+        private int steps;
+        /* Gibt an, ob die Suche wegen zu vieler Versuche abgebrochen wurde. */
+        private boolean exhausted;
+
+        Search(final List<Integer> lengths, final RandomGenerator random) {
+            this.lengths = lengths.stream().mapToInt(Integer::intValue).toArray();
+            this.order = new int[this.lengths.length];
+            this.placement = new int[this.lengths.length];
+            this.random = random;
+
+            final Integer[] sorted = new Integer[this.lengths.length];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = i;
+            }
+            Arrays.sort(sorted, (final Integer a, final Integer b) -> this.lengths[b] - this.lengths[a]);
+            for (int i = 0; i < sorted.length; i++) {
+                this.order[i] = sorted[i];
+            }
+        }
+
+        /**
+         * Platziert die Schiffe ab einer Stelle der Reihenfolge.
+         *
+         * @param depth     Stelle in `order`
+         * @param forbidden Gesperrte Felder je Zeile
+         * @return true, wenn alle restlichen Schiffe platziert werden konnten
+         */
+        boolean place(final int depth, final long[] forbidden) {
+            if (depth == this.order.length) {
+                return true;
+            }
+            final int index = this.order[depth];
+            final int length = this.lengths[index];
+            final int range = FleetPlacer.this.size - length;
+            final int[] candidates = new int[2 * range * range];
+            int count = 0;
+            final long span = (1L << length) - 1;
+            for (int y = 0; y < range; y++) {
+                for (int x = 0; x < range; x++) {
+                    final int start = y * FleetPlacer.this.size + x;
+                    if ((forbidden[y] & span << x) == 0) {
+                        candidates[count++] = start << 1;
+                    }
+                    if (length > 1 && this.fitsVertically(forbidden, x, y, length)) {
+                        candidates[count++] = start << 1 | 1;
+                    }
+                }
+            }
+
+            while (count > 0 && !this.exhausted) {
+                if (++this.steps > MAX_STEPS) {
+                    this.exhausted = true;
+                    break;
+                }
+                /* Ziehe ohne Zurücklegen. */
+                final int pick = this.random.nextInt(count);
+                final int candidate = candidates[pick];
+                candidates[pick] = candidates[--count];
+
+                final long[] next = forbidden.clone();
+                this.forbid(next, candidate, length);
+                if (this.place(depth + 1, next)) {
+                    this.placement[index] = candidate;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean fitsVertically(final long[] forbidden, final int x, final int y, final int length) {
+            final long bit = 1L << x;
+            for (int row = y; row < y + length; row++) {
+                if ((forbidden[row] & bit) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Sperrt die Felder eines Schiffes und ihre Nachbarn.
+         */
+        private void forbid(final long[] forbidden, final int candidate, final int length) {
+            final int n = FleetPlacer.this.size;
+            final int start = candidate >>> 1;
+            final int x = start % n;
+            final int y = start / n;
+            if ((candidate & 1) == 0) {
+                final long span = ((1L << length) - 1) << x;
+                forbidden[y] |= span | span << 1 | span >>> 1;
+                if (y > 0) {
+                    forbidden[y - 1] |= span;
+                }
+                if (y + 1 < n) {
+                    forbidden[y + 1] |= span;
+                }
+            } else {
+                final long bit = 1L << x;
+                for (int row = y; row < y + length; row++) {
+                    forbidden[row] |= bit | bit << 1 | bit >>> 1;
+                }
+                if (y > 0) {
+                    forbidden[y - 1] |= bit;
+                }
+                if (y + length < n) {
+                    forbidden[y + length] |= bit;
+                }
+            }
+        }
+    }
+}
@@ -3,12 +3,20 @@ package battleship.playersthings;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
-import battleship.ui.playgroundmatrix.PlaygroundMatrix;
+import battleship.board.FieldView;
+import battleship.board.PackedBoard;
 import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * Repräsentiert ein Spielfeld vom Spieler
+ *
+ * Neben der Liste der Schiffe wird in einem `PackedBoard` für jedes Feld
+ * gespeichert, ob es von einem Schiff belegt ist (oberes Bit) und ob es bereits
+ * beschossen wurde (unteres Bit). Welches Schiff ein Feld belegt, steht
+ * daneben im Index `shipAt`. Ein Treffer und ob alle Schiffe versenkt sind,
+ * lässt sich damit in konstanter Zeit bestimmen.
  */
 public class PlayersPlayingField {
     /**
@@ -21,6 +29,26 @@ public class PlayersPlayingField {
      */
     private final int size;
 
+    /**
+     * Zustände der Felder auf dem `PackedBoard`.
+     */
+    private static final int WATER = 0b00;
+    private static final int WATER_SHOT = 0b01;
+    private static final int SHIP = 0b10;
+    private static final int SHIP_HIT = 0b11;
+    private static final int SHOT_BIT = 0b01;
+
+    /**
+     * Belegung und Beschuss aller Felder.
+     */
+    private final PackedBoard board;
+
+    /**
+     * Index des Schiffes in `ships` plus eins je Feld (Index `y * size + x`), 0
+     * für Wasser.
+     */
+    private final short[] shipAt;
+
     /**
      * Erstellt eine neue Repräsentation eines Spielfeldes.
      *
@@ -29,6 +57,8 @@ public class PlayersPlayingField {
     public PlayersPlayingField(final int size) {
         this.ships = new ArrayList<>();
         this.size = size;
+        this.board = new PackedBoard(size, WATER);
+        this.shipAt = new short[size * size];
     }
 
     /**
@@ -38,7 +68,7 @@ public class PlayersPlayingField {
      * @return true, wenn alle Schiffe versenkt wurden sind, sonst false.
      */
     public boolean allSunk() {
-        return this.ships.stream().allMatch(PlayersShip::isSunk);
+        return this.board.count(SHIP) == 0;
     }
 
     /**
@@ -64,12 +94,30 @@ public class PlayersPlayingField {
      *             sie nicht überlappend oder benachbart sind.
      */
     public void generateShips(final Iterable<Integer> list) {
-        final Random random = new Random();
-        for (final Integer shipSize : list) {
-            PlayersShip ship;
-            do {
-                ship = PlayersShip.generate(random, this.size, shipSize);
-            } while (!this.isShipSuitable(ship));
+        this.generateShips(list, new Random());
+    }
+
+    /**
+     * Generiert und platziert zufällig Schiffe auf dem Spielfeld (siehe
+     * `FleetPlacer`) mit einem bestimmten Zufallsgenerator, z. B. für
+     * reproduzierbare Simulationen.
+     *
+     * @param list   Eine Liste, welche die Größe der Schiffe beinhaltet (siehe
+     *               `generateShips(Iterable)`)
+     * @param random Der zu verwendende Zufallsgenerator
+     */
+    public void generateShips(final Iterable<Integer> list, final RandomGenerator random) {
+        /* Bereits platzierte Schiffe und ihre Nachbarn sind gesperrt. */
+        final long[] forbidden = new long[this.size];
+        for (int y = 0; y < this.size; y++) {
+            for (int x = 0; x < this.size; x++) {
+                if (this.isOccupied(x, y) || this.isOccupied(x - 1, y) || this.isOccupied(x + 1, y)
+                        || this.isOccupied(x, y - 1) || this.isOccupied(x, y + 1)) {
+                    forbidden[y] |= 1L << x;
+                }
+            }
+        }
+        for (final PlayersShip ship : new FleetPlacer(this.size).place(list, random, forbidden)) {
             this.placeShip(ship);
         }
     }
@@ -85,13 +133,58 @@ public class PlayersPlayingField {
      */
     @Nullable
     public PlayersShip hit(final PlayersField field) {
-        for (final PlayersShip ship : this.ships) {
-            if (ship.isOnField(field)) {
-                ship.hit(field);
-                return ship;
-            }
+        return this.hit(field.getX(), field.getY());
+    }
+
+    /**
+     * Überprüft und verarbeitet einen Schuss auf das Spielfeld des Spielers wie
+     * `hit(PlayersField)`, ohne ein Objekt für das Feld zu benötigen.
+     *
+     * @param x X-Koordinate des Feldes, welches angegriffen wurden ist
+     * @param y Y-Koordinate des Feldes, welches angegriffen wurden ist
+     * @return null, wenn kein Schiff getroffen wurden ist, sonst das Schiff,
+     *         welches getroffen wurden ist.
+     */
+    @Nullable
+    public PlayersShip hit(final int x, final int y) {
+        if (!this.isInside(x, y)) {
+            return null;
         }
-        return null;
+        final int state = this.board.get(x, y);
+        this.board.set(x, y, state | SHOT_BIT);
+        if (state == WATER || state == WATER_SHOT) {
+            return null;
+        }
+        final int shipIndex = this.shipAt[y * this.size + x];
+        if (shipIndex == 0) {
+            throw new IllegalStateException(
+                    "The playing field is inconsistent. There is no ship on x=" + x + " y=" + y + "."
+            );
+        }
+        final PlayersShip ship = this.ships.get(shipIndex - 1);
+        ship.hit(x, y);
+        return ship;
+    }
+
+    /**
+     * Überprüft, ob ein Feld bereits beschossen wurden ist.
+     *
+     * @param field Das Feld
+     * @return true, wenn das Feld bereits mit `hit()` beschossen wurden ist
+     */
+    public boolean isShot(final PlayersField field) {
+        return this.isShot(field.getX(), field.getY());
+    }
+
+    /**
+     * Überprüft, ob ein Feld bereits beschossen wurden ist.
+     *
+     * @param x X-Koordinate des Feldes
+     * @param y Y-Koordinate des Feldes
+     * @return true, wenn das Feld bereits mit `hit()` beschossen wurden ist
+     */
+    public boolean isShot(final int x, final int y) {
+        return this.isInside(x, y) && (this.board.get(x, y) & SHOT_BIT) != 0;
     }
 
     /**
@@ -103,8 +196,11 @@ public class PlayersPlayingField {
      * @return true, wenn es konfliktfrei ist, sonst false.
      */
     public boolean isShipSuitable(final PlayersShip ship) {
-        for (final PlayersShip element : this.ships) {
-            if (element.isNeighborOrEqual(ship)) {
+        for (int i = 0; i < ship.getLength(); i++) {
+            final int x = ship.getX(i);
+            final int y = ship.getY(i);
+            if (!this.isInside(x, y) || this.isOccupied(x, y) || this.isOccupied(x - 1, y)
+                    || this.isOccupied(x + 1, y) || this.isOccupied(x, y - 1) || this.isOccupied(x, y + 1)) {
                 return false;
             }
         }
@@ -113,22 +209,54 @@ public class PlayersPlayingField {
 
     /**
      * Platziert ein Schiff. Das zu platzierende Schiff wird nicht auf
-     * Konfliktfreiheit überprüft.
+     * Konfliktfreiheit überprüft. Überlappt es ein bereits platziertes Schiff,
+     * gehören die gemeinsamen Felder weiterhin dem zuerst platzierten.
      *
      * @param ship
      */
     public void placeShip(final PlayersShip ship) {
+        for (int i = 0; i < ship.getLength(); i++) {
+            if (!this.isInside(ship.getX(i), ship.getY(i))) {
+                throw new IllegalArgumentException("The ship " + ship + " does not fit on the playing field.");
+            }
+        }
+        if (this.ships.size() >= Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many ships on the playing field.");
+        }
         this.ships.add(ship);
+        final short shipIndex = (short) this.ships.size();
+        for (int i = 0; i < ship.getLength(); i++) {
+            final int state = this.board.get(ship.getX(i), ship.getY(i));
+            if ((state & SHIP) == 0) {
+                this.board.set(ship.getX(i), ship.getY(i), ship.isHit(i) ? SHIP_HIT : SHIP);
+                this.shipAt[ship.getY(i) * this.size + ship.getX(i)] = shipIndex;
+            }
+        }
+    }
+
+    /**
+     * Gibt an, ob die Koordinaten auf dem Spielfeld liegen.
+     */
+    private boolean isInside(final int x, final int y) {
+        return x >= 0 && y >= 0 && x < this.size && y < this.size;
+    }
+
+    /**
+     * Gibt an, ob ein Feld von einem Schiff belegt ist. Felder außerhalb des
+     * Spielfeldes sind nie belegt.
+     */
+    private boolean isOccupied(final int x, final int y) {
+        return this.isInside(x, y) && (this.board.get(x, y) & SHIP) != 0;
     }
 
     /**
      * Zeichnet das Spielfeld in ein graphisches Element in Form einer
-     * `PlaygroundMatrix` ein.
+     * `FieldView` ein.
      *
-     * @param pm Die `PlaygroundMatrix`, in welche das Spielfeld eingezeichnet
+     * @param pm Die `FieldView`, in welche das Spielfeld eingezeichnet
      *           werden soll.
      */
-    public void print(final PlaygroundMatrix pm) {
+    public void print(final FieldView pm) {
         for (int y = 0; y < this.size; y++) {
             for (int x = 0; x < this.size; x++) {
                 pm.setWater(x, y);
@@ -1,20 +1,21 @@
 package battleship.playersthings;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
-import battleship.ui.playgroundmatrix.PlaygroundMatrix;
+import battleship.board.FieldView;
 
 /**
  * Repräsentiert ein Schiff eines Spielers.
+ *
+ * Die Felder des Schiffes werden nicht einzeln gespeichert, sondern aus Start,
+ * Richtung und Länge berechnet. Welche Felder getroffen wurden, steht in einer
+ * Bitmaske (Bit i für das i-te Feld vom Start aus).
  */
 public class PlayersShip {
     /**
-     * Speichert die Felder des Schiffes und ob diese getroffen wurden sind.
+     * Speichert das erste Feld des Schiffes (oben bzw. links).
      */
-    private final List<PlayersShipField> fields;
+    private final PlayersField start;
 
     /**
      * Speichert die Richtung des Schiffes
@@ -26,16 +27,27 @@ public class PlayersShip {
      */
     private final int length;
 
+    /**
+     * Speichert, welche Felder des Schiffes getroffen wurden sind.
+     */
+    private long hits;
+
+    /**
+     * Speichert die Anzahl der noch nicht getroffenen Schiffsfelder.
+     */
+    private int remaining;
+
     /**
      * Generiert ein neues zufälliges Schiff.
      *
-     * @param random Random-Objekt, welches zur Generierung verwendet werden soll.
+     * @param random Zufallsgenerator, welcher zur Generierung verwendet werden
+     *               soll.
      * @param size   Größe des Spielfeldes, auf welches das Schiff passen soll. Es
      *               wird angenommen, dass das Spielfeld quadratisch ist.
      * @param length Die Länge des Schiffes.
      * @return Das generierte Schiff.
      */
-    public static PlayersShip generate(final Random random, final int size, final int length) {
+    public static PlayersShip generate(final RandomGenerator random, final int size, final int length) {
         /* Es kann kein Schiff generiert werden, welches größer als das Spielfeld ist */
         if (length >= size) {
             throw new RuntimeException(
@@ -71,15 +83,20 @@ public class PlayersShip {
      * @param length    Länge des Schiffes
      */
     public PlayersShip(final PlayersField start, final PlayersShipDirection direction, final int length) {
+        this.start = start;
         this.direction = direction;
         this.length = length;
-        this.fields = new ArrayList<>();
 
         /* Es kann kein Schiff geben, welches weniger als ein Feld einnimmt. */
         if (this.length < 1) {
             throw new IllegalArgumentException("There can be no ship that has a length of 0.");
         }
 
+        /* Die Treffer werden in einem `long` gespeichert. */
+        if (this.length > Long.SIZE) {
+            throw new IllegalArgumentException("There can be no ship that is longer than 64 fields.");
+        }
+
         /*
          * Es kann kein Schiff geben, welches ein Feld groß ist, aber größer als ein
          * Feld ist.
@@ -90,28 +107,36 @@ public class PlayersShip {
             );
         }
 
-        /* Generiere die eigentlichen Schiffsfelder */
-        switch (this.direction) {
-            case HORIZONTAL:
-                for (int i = 0; i < length; i++) {
-                    final int x = start.getX() + i;
-                    final int y = start.getY();
-                    this.fields.add(new PlayersShipField(x, y));
-                }
-                break;
+        this.remaining = length;
+    }
 
-            case VERTICAL:
-                for (int i = 0; i < length; i++) {
-                    final int x = start.getX();
-                    final int y = start.getY() + i;
-                    this.fields.add(new PlayersShipField(x, y));
-                }
-                break;
+    /**
+     * Gibt die Länge des Schiffes zurück.
+     *
+     * @return Die Anzahl der Felder
+     */
+    public int getLength() {
+        return this.length;
+    }
 
-            case SINGLE_FIELD:
-                this.fields.add(new PlayersShipField(start.getX(), start.getY()));
-                break;
-        }
+    /**
+     * Gibt die X-Koordinate des i-ten Feldes vom Start aus zurück.
+     *
+     * @param i Nummer des Feldes, 0 bis `getLength() - 1`
+     * @return Die X-Koordinate
+     */
+    public int getX(final int i) {
+        return this.direction == PlayersShipDirection.HORIZONTAL ? this.start.getX() + i : this.start.getX();
+    }
+
+    /**
+     * Gibt die Y-Koordinate des i-ten Feldes vom Start aus zurück.
+     *
+     * @param i Nummer des Feldes, 0 bis `getLength() - 1`
+     * @return Die Y-Koordinate
+     */
+    public int getY(final int i) {
+        return this.direction == PlayersShipDirection.VERTICAL ? this.start.getY() + i : this.start.getY();
     }
 
     /**
@@ -120,16 +145,7 @@ public class PlayersShip {
      * @return Die größte X-Koordinate.
      */
     public int getMaxX() {
-        return this.fields.stream().mapToInt(PlayersShipField::getX).max().orElseThrow(NoSuchElementException::new); // Wird
-                                                                                                                     // nie
-                                                                                                                     // gewurfen,
-                                                                                                                     // da
-                                                                                                                     // es
-                                                                                                                     // mindentes
-                                                                                                                     // ein
-                                                                                                                     // Element
-                                                                                                                     // geben
-                                                                                                                     // muss.
+        return this.getX(this.length - 1);
     }
 
     /**
@@ -138,16 +154,7 @@ public class PlayersShip {
      * @return Die größte Y-Koordinate.
      */
     public int getMaxY() {
-        return this.fields.stream().mapToInt(PlayersShipField::getY).max().orElseThrow(NoSuchElementException::new); // Wird
-                                                                                                                     // nie
-                                                                                                                     // gewurfen,
-                                                                                                                     // da
-                                                                                                                     // es
-                                                                                                                     // mindentes
-                                                                                                                     // ein
-                                                                                                                     // Element
-                                                                                                                     // geben
-                                                                                                                     // muss.
+        return this.getY(this.length - 1);
     }
 
     /**
@@ -156,7 +163,31 @@ public class PlayersShip {
      * @param field Das Schiffsfeld, welches als getroffen markiert werden soll.
      */
     public void hit(final PlayersField field) {
-        this.fields.stream().filter(f -> f.hasSamePosition(field)).findFirst().ifPresent(PlayersShipField::hit);
+        this.hit(field.getX(), field.getY());
+    }
+
+    /**
+     * Markiert ein Schiffsfeld als getroffen.
+     *
+     * @param x X-Koordinate des Schiffsfeldes
+     * @param y Y-Koordinate des Schiffsfeldes
+     */
+    public void hit(final int x, final int y) {
+        final int i = this.indexOf(x, y);
+        if (i >= 0 && (this.hits & 1L << i) == 0) {
+            this.hits |= 1L << i;
+            this.remaining--;
+        }
+    }
+
+    /**
+     * Gibt an, ob das i-te Feld vom Start aus getroffen wurden ist.
+     *
+     * @param i Nummer des Feldes, 0 bis `getLength() - 1`
+     * @return true, wenn das Feld getroffen wurden ist
+     */
+    public boolean isHit(final int i) {
+        return (this.hits & 1L << i) != 0;
     }
 
     /**
@@ -178,7 +209,16 @@ public class PlayersShip {
      * @return true, wenn es benachbart oder an der gleichen Position ist.
      */
     public boolean isNeighborOrEqual(final PlayersShip other) {
-        return this.fields.stream().anyMatch(f -> other.fields.stream().anyMatch(f::isNeighborOrEqual));
+        for (int i = 0; i < this.length; i++) {
+            final int x = this.getX(i);
+            final int y = this.getY(i);
+            for (int j = 0; j < other.length; j++) {
+                if (Math.abs(x - other.getX(j)) + Math.abs(y - other.getY(j)) <= 1) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
@@ -188,7 +228,18 @@ public class PlayersShip {
      * @return true, wenn das Schiff das Spielfeld abdeckt, sonst false.
      */
     public boolean isOnField(final PlayersField field) {
-        return this.fields.stream().anyMatch(f -> f.hasSamePosition(field));
+        return this.isOnField(field.getX(), field.getY());
+    }
+
+    /**
+     * Überprüft, ob das Schiff ein bestimmtes Spielfeld abdeckt.
+     *
+     * @param x X-Koordinate des Spielfeldes
+     * @param y Y-Koordinate des Spielfeldes
+     * @return true, wenn das Schiff das Spielfeld abdeckt, sonst false.
+     */
+    public boolean isOnField(final int x, final int y) {
+        return this.indexOf(x, y) >= 0;
     }
 
     /**
@@ -197,32 +248,41 @@ public class PlayersShip {
      * @return true, wenn das Schiff versunken ist, sonst false.
      */
     public boolean isSunk() {
-        return this.fields.stream().allMatch(PlayersShipField::isSunk);
+        return this.remaining == 0;
     }
 
     /**
      * Zeichnet das Schiff in ein graphisches Element in Form einer
-     * `PlaygroundMatrix` ein.
+     * `FieldView` ein.
      *
-     * @param pm Die `PlaygroundMatrix`, auf welche das Schiff eingezeichnet werden
+     * @param pm Die `FieldView`, auf welche das Schiff eingezeichnet werden
      *           soll.
      */
-    public void print(final PlaygroundMatrix pm) {
-        for (final PlayersShipField element : this.fields) {
-            final int x = element.getX();
-            final int y = element.getY();
-            final boolean sunk = element.isSunk();
-            if (sunk) {
-                pm.setSunk(x, y);
+    public void print(final FieldView pm) {
+        for (int i = 0; i < this.length; i++) {
+            if (this.isHit(i)) {
+                pm.setSunk(this.getX(i), this.getY(i));
             } else {
-                pm.setShip(x, y);
+                pm.setShip(this.getX(i), this.getY(i));
             }
         }
     }
 
     @Override
     public String toString() {
-        return "PlayersShip [start=" + this.fields.getFirst() + ", direction=" + this.direction + ", length="
-                + this.length + "]";
+        return "PlayersShip [start=" + this.start + ", direction=" + this.direction + ", length=" + this.length
+                + "]";
+    }
+
+    /**
+     * Gibt die Nummer eines Feldes vom Start aus zurück, -1 wenn das Schiff das
+     * Feld nicht abdeckt.
+     */
+    private int indexOf(final int x, final int y) {
+        final int i = this.direction == PlayersShipDirection.VERTICAL ? y - this.start.getY() : x - this.start.getX();
+        if (i < 0 || i >= this.length || this.getX(i) != x || this.getY(i) != y) {
+            return -1;
+        }
+        return i;
     }
 }
@@ -0,0 +1,171 @@
+package battleship.simulation;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+import battleship.Constants;
+import battleship.board.Coordinates;
+import battleship.opposingthings.Difficulty;
+import battleship.opposingthings.OpeningBook;
+import battleship.opposingthings.OpposingFieldStatus;
+import battleship.opposingthings.OpposingPlayingField;
+import battleship.opposingthings.TargetingStrategy;
+import battleship.playersthings.PlayersPlayingField;
+import battleship.playersthings.PlayersShip;
+
+/**
+ * Erzeugt die Eröffnungsbücher (siehe `OpeningBook`). Je Level werden viele
+ * Spiele wie im Simulator gespielt, aber nur die ersten Schüsse. Der Zug für
+ * einen Spielstand wird beim ersten Auftreten berechnet und danach in allen
+ * Spielen wiederverwendet, sodass die Spiele denselben Linien folgen, bis die
+ * Antworten des Gegners sie trennen.
+ *
+ * Ins Buch kommen nur Spielstände, die in mindestens `minGames` Spielen
+ * erreicht wurden. Da jedes Spiel, das einen Spielstand erreicht, auch alle
+ * vorherigen erreicht hat, bleiben die Linien dabei vollständig.
+ */
+public final class OpeningBookGenerator {
+    private final TargetingStrategy strategy;
+    private final int depth;
+    private final int minGames;
+    /* Speichert unseren Logger. */
+    private final Logger logger;
+
+    /**
+     * Erstellt einen Generator.
+     *
+     * @param strategy Die Strategie, mit der die Züge berechnet werden
+     * @param depth    Anzahl der Schüsse je Spiel
+     * @param minGames In wie vielen Spielen ein Spielstand mindestens erreicht
+     *                 werden muss, damit er ins Buch kommt
+     */
+    public OpeningBookGenerator(final TargetingStrategy strategy, final int depth, final int minGames) {
+        if (depth < 1 || minGames < 1) {
+            throw new IllegalArgumentException("Depth and minimum number of games must be positive.");
+        }
+        this.logger = Logger.getLogger(OpeningBookGenerator.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+
+        this.strategy = strategy;
+        this.depth = depth;
+        this.minGames = minGames;
+    }
+
+    /**
+     * Spielt die Eröffnungen eines Levels und schreibt das Buch.
+     *
+     * @param level  Level (1 bis `Constants.NUMBER_OF_LEVELS`)
+     * @param games  Anzahl der Spiele
+     * @param random Der zu verwendende Zufallsgenerator
+     * @param out    Ziel des Buches, wird nicht geschlossen
+     * @throws IOException Falls nicht geschrieben werden kann
+     */
+    public void generate(final int level, final int games, final RandomGenerator random, final OutputStream out)
+            throws IOException {
+        if (level < 1 || level > Constants.NUMBER_OF_LEVELS) {
+            throw new IllegalArgumentException("Invalid level " + level + ".");
+        }
+        final int size = Constants.LEVEL_SIZES.get(level - 1);
+        final List<Integer> ships = Constants.LEVELS.get(level - 1);
+        final Map<Long, Position> positions = new HashMap<>();
+        long requests = 0;
+        for (int game = 0; game < games; game++) {
+            final PlayersPlayingField fleet = new PlayersPlayingField(size);
+            fleet.generateShips(ships, random);
+            final OpposingPlayingField view = new OpposingPlayingField(size, ships, this.strategy, random);
+            for (int shot = 0; shot < this.depth; shot++) {
+                final long hash = view.getZobristHash();
+                Position position = positions.get(hash);
+                if (position == null) {
+                    position = new Position(view.getComputerMoveCoordinates());
+                    positions.put(hash, position);
+                }
+                position.games++;
+                requests++;
+
+                final int x = Coordinates.x(position.move);
+                final int y = Coordinates.y(position.move);
+                final PlayersShip ship = fleet.hit(x, y);
+                if (ship == null) {
+                    view.hit(x, y, OpposingFieldStatus.WATER);
+                } else if (!ship.isSunk()) {
+                    view.hit(x, y, OpposingFieldStatus.SHIP);
+                } else if (!fleet.allSunk()) {
+                    view.hit(x, y, OpposingFieldStatus.SUNK);
+                } else {
+                    break;
+                }
+            }
+        }
+
+        final List<Map.Entry<Long, Position>> kept = new ArrayList<>();
+        long covered = 0;
+        for (final Map.Entry<Long, Position> entry : positions.entrySet()) {
+            if (entry.getValue().games >= this.minGames) {
+                kept.add(entry);
+                covered += entry.getValue().games;
+            }
+        }
+        kept.sort(Map.Entry.comparingByKey());
+        final long[] hashes = new long[kept.size()];
+        final int[] moves = new int[kept.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = kept.get(i).getKey();
+            moves[i] = kept.get(i).getValue().move;
+        }
+        OpeningBook.write(out, level, this.strategy, size, this.depth, hashes, moves);
+
+        final double coverage = requests == 0 ? 0 : (double) covered / requests;
+        this.logger.log(
+                Level.INFO,
+                "Level " + level + ": " + hashes.length + " of " + positions.size() + " positions kept, "
+                        + String.format("%.3f", coverage) + " of the first " + this.depth
+                        + " moves answered by the book."
+        );
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        final long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        final int depth = args.length > 2 ? Integer.parseInt(args[2]) : 12;
+        final TargetingStrategy strategy = args.length > 3
+                ? TargetingStrategy.valueOf(args[3])
+                : Difficulty.DEFAULT.getStrategy();
+        final Path resources = Path.of(args.length > 4 ? args[4] : "resources");
+        final int minGames = args.length > 5 ? Integer.parseInt(args[5]) : Math.max(1, games / 1_000);
+
+        final OpeningBookGenerator generator = new OpeningBookGenerator(strategy, depth, minGames);
+        final SplittableRandom seeds = new SplittableRandom(seed);
+        for (int level = 1; level <= Constants.NUMBER_OF_LEVELS; level++) {
+            final Path file = resources.resolve(OpeningBook.resourceName(level));
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                generator.generate(level, games, seeds.split(), out);
+            }
+        }
+    }
+
+    /**
+     * Ein erreichter Spielstand mit seinem Zug.
+     */
+    private static final class Position {
+        private final int move;
+        /* In wie vielen Spielen der Spielstand erreicht wurde. */
+        private int games;
+
+        Position(final int move) {
+            this.move = move;
+        }
+    }
+}
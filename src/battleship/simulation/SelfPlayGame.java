@@ -0,0 +1,137 @@
+package battleship.simulation;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import battleship.Constants;
+import battleship.board.Coordinates;
+import battleship.opposingthings.MoveCache;
+import battleship.opposingthings.OpposingFieldStatus;
+import battleship.opposingthings.OpposingPlayingField;
+import battleship.opposingthings.TargetingStrategy;
+import battleship.opposingthings.ThinkTimeStats;
+import battleship.playersthings.PlayersPlayingField;
+import battleship.playersthings.PlayersShip;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Ein vollständiges Spiel Computer gegen Computer ohne Netzwerk und ohne
+ * Oberfläche. Beide Seiten verwenden dieselben Klassen wie ein echtes Spiel:
+ * `PlayersPlayingField` für die eigenen Schiffe und
+ * `OpposingPlayingField.getComputerMove()` für die Züge.
+ */
+final class SelfPlayGame {
+    private final int level;
+    private final TargetingStrategy strategy;
+    @Nullable
+    private final MoveCache moveCache;
+    /* Speichert, welche Seite (0 oder 1) den ersten Zug hatte. */
+    private int starter;
+    /* Speichert, welche Seite (0 oder 1) gewonnen hat. */
+    private int winner;
+    /* Speichert die Anzahl der Schüsse der Gewinnerseite. */
+    private int winnerShots;
+    /* Speichert die Anzahl der Schüsse beider Seiten zusammen. */
+    private int totalShots;
+
+    /**
+     * Erstellt ein Spiel.
+     *
+     * @param level     Level des Spieles (1 bis `Constants.NUMBER_OF_LEVELS`)
+     * @param strategy  Die Strategie beider Seiten
+     * @param moveCache Der Cache für die Züge beider Seiten, null für keinen
+     */
+    SelfPlayGame(final int level, final TargetingStrategy strategy, @Nullable final MoveCache moveCache) {
+        this.level = level;
+        this.strategy = strategy;
+        this.moveCache = moveCache;
+    }
+
+    /**
+     * Spielt das Spiel bis zum Ende. Schiffe, Münzwurf und Züge werden alle aus
+     * dem übergebenen Zufallsgenerator gezogen, sodass ein Spiel mit demselben
+     * Startwert reproduzierbar ist.
+     *
+     * @param random Der zu verwendende Zufallsgenerator
+     * @throws RuntimeException Falls die KI ein bekanntes Feld angreift oder mehr
+     *                          Schüsse benötigt, als es Felder gibt
+     */
+    void play(final RandomGenerator random) {
+        final int size = Constants.LEVEL_SIZES.get(this.level - 1);
+        final List<Integer> ships = Constants.LEVELS.get(this.level - 1);
+        final PlayersPlayingField[] fleets = new PlayersPlayingField[2];
+        final OpposingPlayingField[] views = new OpposingPlayingField[2];
+        final int[] shots = new int[2];
+        for (int i = 0; i < 2; i++) {
+            fleets[i] = new PlayersPlayingField(size);
+            fleets[i].generateShips(ships, random);
+            views[i] = new OpposingPlayingField(size, ships, this.strategy, random);
+            views[i].setMoveCache(this.moveCache, this.level);
+        }
+
+        this.starter = random.nextBoolean() ? 0 : 1;
+        int current = this.starter;
+        while (true) {
+            final long start = System.nanoTime();
+            final int move = views[current].getComputerMoveCoordinates();
+            ThinkTimeStats.getGlobal().record(System.nanoTime() - start);
+            final int x = Coordinates.x(move);
+            final int y = Coordinates.y(move);
+            if (!views[current].isUnknown(x, y)) {
+                throw new RuntimeException(
+                        "The computer attacked an already known field " + Coordinates.toString(move) + "."
+                );
+            }
+            shots[current]++;
+            if (shots[current] > size * size) {
+                throw new RuntimeException("The computer needs more shots than there are fields.");
+            }
+
+            final PlayersPlayingField enemy = fleets[1 - current];
+            final PlayersShip ship = enemy.hit(x, y);
+            if (ship == null) {
+                /* Wasser, der Gegner ist am Zug. */
+                views[current].hit(x, y, OpposingFieldStatus.WATER);
+                current = 1 - current;
+            } else if (ship.isSunk()) {
+                if (enemy.allSunk()) {
+                    break;
+                }
+                views[current].hit(x, y, OpposingFieldStatus.SUNK);
+            } else {
+                views[current].hit(x, y, OpposingFieldStatus.SHIP);
+            }
+        }
+
+        this.winner = current;
+        this.winnerShots = shots[current];
+        this.totalShots = shots[0] + shots[1];
+    }
+
+    /**
+     * Gibt an, ob die Seite mit dem ersten Zug gewonnen hat.
+     *
+     * @return true, wenn der Beginner gewonnen hat
+     */
+    boolean hasStarterWon() {
+        return this.starter == this.winner;
+    }
+
+    /**
+     * Gibt die Anzahl der Schüsse zurück, welche die Gewinnerseite benötigt hat.
+     *
+     * @return Anzahl der Schüsse bis zum Sieg
+     */
+    int getWinnerShots() {
+        return this.winnerShots;
+    }
+
+    /**
+     * Gibt die Anzahl der Schüsse beider Seiten zusammen zurück.
+     *
+     * @return Anzahl aller Züge des Spieles
+     */
+    int getTotalShots() {
+        return this.totalShots;
+    }
+}
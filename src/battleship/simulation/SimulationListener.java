@@ -0,0 +1,16 @@
+package battleship.simulation;
+
+/**
+ * Erhält während einer Simulation fortlaufend die Zwischenergebnisse.
+ */
+@FunctionalInterface
+public interface SimulationListener {
+    /**
+     * Wird aufgerufen, nachdem eine Teilaufgabe ihre Spiele beendet hat. Der
+     * Aufruf geschieht im Thread der Teilaufgabe, also gleichzeitig aus mehreren
+     * Threads, und sollte daher schnell zurückkehren.
+     *
+     * @param snapshot Eine Kopie des aktuellen Standes
+     */
+    void onProgress(SimulationStats snapshot);
+}
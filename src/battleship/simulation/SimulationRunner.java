@@ -0,0 +1,256 @@
+package battleship.simulation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import battleship.Constants;
+import battleship.opposingthings.Difficulty;
+import battleship.opposingthings.FleetSampler;
+import battleship.opposingthings.MoveCache;
+import battleship.opposingthings.TargetingStrategy;
+import battleship.opposingthings.ThinkTimeStats;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Lässt die Computer-KI in vielen vollständigen Spielen gegen sich selbst
+ * antreten, verteilt auf alle Kerne eines `ForkJoinPool`. Jede Teilaufgabe
+ * erhält mit `SplittableRandom.split()` einen eigenen Zufallsstrom, sodass eine
+ * Simulation mit demselben Startwert unabhängig von der Anzahl der Threads
+ * dieselben Spiele spielt.
+ *
+ * Damit lässt sich die Auslastung eines Rechners für Bots abschätzen und eine
+ * Verschlechterung der KI (mehr Schüsse bis zum Sieg) erkennen. Mit einem
+ * `MoveCache` hängen die Züge von früheren Spielen ab, die Spiele sind dann
+ * nicht mehr reproduzierbar.
+ */
+public final class SimulationRunner {
+    /* Ab dieser Anzahl an Spielen wird eine Teilaufgabe nicht weiter geteilt. */
+    private static final int GAMES_PER_LEAF = 32;
+
+    private final ForkJoinPool pool;
+    private final TargetingStrategy strategy;
+    @Nullable
+    private final MoveCache moveCache;
+    /* Speichert unseren Logger. */
+    private final Logger logger;
+
+    /**
+     * Erstellt einen Simulator, welcher den gemeinsamen `ForkJoinPool` und die
+     * Strategie von `Difficulty.DEFAULT` verwendet.
+     */
+    public SimulationRunner() {
+        this(ForkJoinPool.commonPool(), Difficulty.DEFAULT.getStrategy());
+    }
+
+    /**
+     * Erstellt einen Simulator.
+     *
+     * @param pool     Der Pool, auf dem die Spiele gespielt werden
+     * @param strategy Die Strategie, mit der die Computer spielen
+     */
+    public SimulationRunner(final ForkJoinPool pool, final TargetingStrategy strategy) {
+        this(pool, strategy, null);
+    }
+
+    /**
+     * Erstellt einen Simulator, dessen Spiele berechnete Züge in einem Cache
+     * teilen.
+     *
+     * @param pool      Der Pool, auf dem die Spiele gespielt werden
+     * @param strategy  Die Strategie, mit der die Computer spielen
+     * @param moveCache Der Cache für die Züge, null für keinen
+     */
+    public SimulationRunner(
+            final ForkJoinPool pool, final TargetingStrategy strategy, @Nullable final MoveCache moveCache
+    ) {
+        this.logger = Logger.getLogger(SimulationRunner.class.getName());
+        this.logger.setLevel(Constants.LOG_LEVEL);
+
+        this.pool = pool;
+        this.strategy = strategy;
+        this.moveCache = moveCache;
+    }
+
+    /**
+     * Spielt eine Anzahl an Spielen in einem Level und wartet auf das Ende.
+     *
+     * @param level    Level (1 bis `Constants.NUMBER_OF_LEVELS`)
+     * @param games    Anzahl der Spiele
+     * @param seed     Startwert des Zufallsgenerators
+     * @param listener Erhält die Zwischenergebnisse, darf null sein
+     * @return Die Ergebnisse aller Spiele
+     */
+    public SimulationStats run(final int level, final int games, final long seed, final SimulationListener listener) {
+        if (level < 1 || level > Constants.NUMBER_OF_LEVELS) {
+            throw new IllegalArgumentException("Invalid level " + level + ".");
+        }
+        if (games < 0) {
+            throw new IllegalArgumentException("Number of games must not be negative.");
+        }
+
+        this.logger.log(
+                Level.FINE, "Simulating " + games + " games in level " + level + " with " + this.strategy + "."
+        );
+        final SimulationStats total = new SimulationStats(level);
+        final long start = System.nanoTime();
+        this.pool.invoke(
+                new SimulationTask(
+                        level, this.strategy, this.moveCache, games, new SplittableRandom(seed), total, start, listener
+                )
+        );
+        return total.snapshot(System.nanoTime() - start);
+    }
+
+    /**
+     * Spielt in jedem Level nacheinander eine Anzahl an Spielen.
+     *
+     * @param gamesPerLevel Anzahl der Spiele je Level
+     * @param seed          Startwert des Zufallsgenerators
+     * @param listener      Erhält die Zwischenergebnisse, darf null sein
+     * @return Die Ergebnisse, ein Eintrag je Level
+     */
+    public List<SimulationStats> runAllLevels(
+            final int gamesPerLevel, final long seed, final SimulationListener listener
+    ) {
+        final SplittableRandom seeds = new SplittableRandom(seed);
+        final List<SimulationStats> results = new ArrayList<>(Constants.NUMBER_OF_LEVELS);
+        for (int level = 1; level <= Constants.NUMBER_OF_LEVELS; level++) {
+            results.add(this.run(level, gamesPerLevel, seeds.nextLong(), listener));
+        }
+        return results;
+    }
+
+    public static void main(final String[] args) {
+        final Logger logger = Logger.getLogger(SimulationRunner.class.getName());
+        logger.setLevel(Constants.LOG_LEVEL);
+
+        final int gamesPerLevel = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        final long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        final TargetingStrategy strategy = args.length > 2
+                ? TargetingStrategy.valueOf(args[2])
+                : Difficulty.DEFAULT.getStrategy();
+        /* Ohne Angabe bleibt die Simulation reproduzierbar. */
+        final long cacheSize = args.length > 3 ? Long.parseLong(args[3]) : 0;
+        final MoveCache moveCache = cacheSize > 0 ? new MoveCache(cacheSize) : null;
+        logger.log(
+                Level.INFO,
+                "Simulating " + gamesPerLevel + " games per level on " + ForkJoinPool.getCommonPoolParallelism()
+                        + " threads with seed " + seed + ", strategy " + strategy + " and move cache size "
+                        + cacheSize + "."
+        );
+
+        /* Etwa alle zehn Prozent eines Levels einen Zwischenstand ausgeben. */
+        final long step = Math.max(GAMES_PER_LEAF, gamesPerLevel / 10);
+        final AtomicLongArray nextReport = new AtomicLongArray(Constants.NUMBER_OF_LEVELS);
+        final SimulationListener progress = (final SimulationStats snapshot) -> {
+            final int index = snapshot.getLevel() - 1;
+            final long reported = nextReport.get(index);
+            if (snapshot.getGames() >= Math.max(step, reported) && snapshot.getGames() < gamesPerLevel
+                    && nextReport.compareAndSet(index, reported, snapshot.getGames() + step)) {
+                logger.log(Level.INFO, "Progress: " + snapshot);
+            }
+        };
+
+        final SimulationRunner runner = new SimulationRunner(ForkJoinPool.commonPool(), strategy, moveCache);
+        for (final SimulationStats stats : runner.runAllLevels(gamesPerLevel, seed, progress)) {
+            logger.log(Level.INFO, "Result: " + stats);
+        }
+        if (strategy == TargetingStrategy.MONTE_CARLO) {
+            logger.log(Level.INFO, "Sampler: " + FleetSampler.getDefault());
+        }
+        logger.log(Level.INFO, "Computer moves: " + ThinkTimeStats.getGlobal());
+        if (moveCache != null) {
+            logger.log(Level.INFO, "Move cache: " + moveCache);
+        }
+    }
+
+    /**
+     * Gibt die bisher auf dem aktuellen Thread allokierten Bytes zurück.
+     *
+     * @return Anzahl der Bytes, -1 wenn die JVM das nicht messen kann
+     */
+    private static long currentThreadAllocatedBytes() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof final com.sun.management.ThreadMXBean sunBean
+                && sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+            return sunBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * Teilaufgabe, welche einen Bereich der Spiele übernimmt. Große Bereiche
+     * werden halbiert, kleine direkt gespielt.
+     */
+    private static final class SimulationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int level;
+        private final TargetingStrategy strategy;
+        @Nullable
+        private final transient MoveCache moveCache;
+        private final int games;
+        private final transient SplittableRandom random;
+        private final transient SimulationStats total;
+        private final long start;
+        private final transient SimulationListener listener;
+
+        SimulationTask(
+                final int level, final TargetingStrategy strategy, @Nullable final MoveCache moveCache,
+                final int games, final SplittableRandom random, final SimulationStats total, final long start,
+                final SimulationListener listener
+        ) {
+            this.level = level;
+            this.strategy = strategy;
+            this.moveCache = moveCache;
+            this.games = games;
+            this.random = random;
+            this.total = total;
+            this.start = start;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.games > GAMES_PER_LEAF) {
+                final int half = this.games / 2;
+                /* Der abgespaltene Strom ist unabhängig von diesem. */
+                final SplittableRandom other = this.random.split();
+                invokeAll(
+                        new SimulationTask(
+                                this.level, this.strategy, this.moveCache, half, this.random, this.total, this.start,
+                                this.listener
+                        ),
+                        new SimulationTask(
+                                this.level, this.strategy, this.moveCache, this.games - half, other, this.total,
+                                this.start, this.listener
+                        )
+                );
+                return;
+            }
+
+            final SimulationStats local = new SimulationStats(this.level);
+            final long allocatedBefore = currentThreadAllocatedBytes();
+            for (int i = 0; i < this.games; i++) {
+                final SelfPlayGame game = new SelfPlayGame(this.level, this.strategy, this.moveCache);
+                game.play(this.random);
+                local.record(game);
+            }
+            final long allocatedAfter = currentThreadAllocatedBytes();
+            local.setAllocatedBytes(allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore);
+
+            this.total.merge(local);
+            if (this.listener != null) {
+                this.listener.onProgress(this.total.snapshot(System.nanoTime() - this.start));
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package battleship.simulation;
+
+import java.util.Locale;
+
+import battleship.Constants;
+
+/**
+ * Gesammelte Ergebnisse der Selbstspiele eines Levels. Die Teilaufgaben des
+ * `SimulationRunner` sammeln zunächst in eigenen Objekten und führen diese
+ * danach mit `merge()` zusammen. Nach außen werden nur unveränderliche Kopien
+ * (siehe `snapshot()`) herausgegeben.
+ */
+public final class SimulationStats {
+    private final int level;
+    /* Häufigkeit der Schüsse bis zum Sieg, der Index ist die Anzahl der Schüsse. */
+    private final long[] shotsToWin;
+    private long games;
+    private long totalShots;
+    private long starterWins;
+    /* Summe der Schüsse bis zum Sieg, für den Mittelwert. */
+    private long winnerShotsSum;
+    /* Auf den Threads der Spiele allokierte Bytes, -1 wenn nicht messbar. */
+    private long allocatedBytes;
+    private long elapsedNanos;
+
+    /**
+     * Erstellt leere Ergebnisse für ein Level.
+     *
+     * @param level Level (1 bis `Constants.NUMBER_OF_LEVELS`)
+     */
+    SimulationStats(final int level) {
+        final int size = Constants.LEVEL_SIZES.get(level - 1);
+        this.level = level;
+        this.shotsToWin = new long[size * size + 1];
+    }
+
+    private SimulationStats(final SimulationStats other, final long elapsedNanos) {
+        this.level = other.level;
+        this.shotsToWin = other.shotsToWin.clone();
+        this.games = other.games;
+        this.totalShots = other.totalShots;
+        this.starterWins = other.starterWins;
+        this.winnerShotsSum = other.winnerShotsSum;
+        this.allocatedBytes = other.allocatedBytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Nimmt ein beendetes Spiel in die Ergebnisse auf.
+     */
+    void record(final SelfPlayGame game) {
+        this.games++;
+        this.totalShots += game.getTotalShots();
+        this.winnerShotsSum += game.getWinnerShots();
+        this.shotsToWin[game.getWinnerShots()]++;
+        if (game.hasStarterWon()) {
+            this.starterWins++;
+        }
+    }
+
+    /**
+     * Setzt die während der aufgenommenen Spiele allokierten Bytes.
+     *
+     * @param bytes Anzahl der Bytes, -1 wenn nicht messbar
+     */
+    void setAllocatedBytes(final long bytes) {
+        this.allocatedBytes = bytes;
+    }
+
+    /**
+     * Führt die Ergebnisse einer Teilaufgabe mit diesen zusammen.
+     */
+    synchronized void merge(final SimulationStats other) {
+        if (other.level != this.level) {
+            throw new IllegalArgumentException("Cannot merge results of different levels.");
+        }
+        for (int i = 0; i < this.shotsToWin.length; i++) {
+            this.shotsToWin[i] += other.shotsToWin[i];
+        }
+        /* Ist eine Messung unbekannt, ist es auch die Summe. */
+        this.allocatedBytes = this.allocatedBytes < 0 || other.allocatedBytes < 0 ? -1
+                : this.allocatedBytes + other.allocatedBytes;
+        this.games += other.games;
+        this.totalShots += other.totalShots;
+        this.starterWins += other.starterWins;
+        this.winnerShotsSum += other.winnerShotsSum;
+    }
+
+    /**
+     * Erstellt eine Kopie des aktuellen Standes.
+     *
+     * @param elapsed Bisherige Laufzeit in Nanosekunden
+     * @return Die Kopie
+     */
+    synchronized SimulationStats snapshot(final long elapsed) {
+        return new SimulationStats(this, elapsed);
+    }
+
+    /**
+     * Gibt das Level zurück.
+     *
+     * @return Das Level
+     */
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Gibt die Anzahl der beendeten Spiele zurück.
+     *
+     * @return Anzahl der Spiele
+     */
+    public long getGames() {
+        return this.games;
+    }
+
+    /**
+     * Gibt die Anzahl aller Züge beider Seiten zurück.
+     *
+     * @return Anzahl der Züge
+     */
+    public long getTotalMoves() {
+        return this.totalShots;
+    }
+
+    /**
+     * Gibt den Anteil der Spiele zurück, welche die Seite mit dem ersten Zug
+     * gewonnen hat.
+     *
+     * @return Anteil zwischen 0 und 1, 0 wenn noch kein Spiel beendet ist
+     */
+    public double getStarterWinRate() {
+        return this.games == 0 ? 0 : (double) this.starterWins / this.games;
+    }
+
+    /**
+     * Gibt die mittlere Anzahl der Schüsse bis zum Sieg zurück.
+     *
+     * @return Mittelwert, 0 wenn noch kein Spiel beendet ist
+     */
+    public double getMeanShotsToWin() {
+        return this.games == 0 ? 0 : (double) this.winnerShotsSum / this.games;
+    }
+
+    /**
+     * Gibt ein Quantil der Schüsse bis zum Sieg zurück.
+     *
+     * @param quantile Quantil zwischen 0 und 1, z. B. 0.9
+     * @return Kleinste Anzahl Schüsse, mit der mindestens dieser Anteil der Spiele
+     *         gewonnen wurde, 0 wenn noch kein Spiel beendet ist
+     */
+    public int getShotsToWinQuantile(final double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1.");
+        }
+        final long target = (long) Math.ceil(quantile * this.games);
+        long count = 0;
+        for (int shots = 0; shots < this.shotsToWin.length; shots++) {
+            count += this.shotsToWin[shots];
+            if (count > 0 && count >= target) {
+                return shots;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gibt die Verteilung der Schüsse bis zum Sieg zurück.
+     *
+     * @return Eine Kopie, der Index ist die Anzahl der Schüsse, der Wert die
+     *         Anzahl der Spiele
+     */
+    public long[] getShotsToWinHistogram() {
+        return this.shotsToWin.clone();
+    }
+
+    /**
+     * Gibt die Laufzeit bis zu diesem Stand zurück.
+     *
+     * @return Laufzeit in Nanosekunden
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Gibt die Anzahl der Züge pro Sekunde über alle Threads zurück.
+     *
+     * @return Züge pro Sekunde, 0 wenn keine Zeit vergangen ist
+     */
+    public double getMovesPerSecond() {
+        return this.elapsedNanos <= 0 ? 0 : this.totalShots * 1e9 / this.elapsedNanos;
+    }
+
+    /**
+     * Gibt die mittlere Anzahl der allokierten Bytes pro Spiel zurück.
+     *
+     * @return Bytes pro Spiel, -1 wenn die JVM das nicht messen kann
+     */
+    public long getAllocatedBytesPerGame() {
+        if (this.allocatedBytes < 0) {
+            return -1;
+        }
+        return this.games == 0 ? 0 : this.allocatedBytes / this.games;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                Locale.ROOT,
+                "level=%d games=%d shotsToWin(mean=%.2f p50=%d p90=%d p99=%d max=%d) starterWins=%.3f"
+                        + " moves/s=%.0f bytes/game=%d",
+                this.level, this.games, this.getMeanShotsToWin(), this.getShotsToWinQuantile(0.5),
+                this.getShotsToWinQuantile(0.9), this.getShotsToWinQuantile(0.99), this.getShotsToWinQuantile(1),
+                this.getStarterWinRate(), this.getMovesPerSecond(), this.getAllocatedBytesPerGame()
+        );
+    }
+}
@@ -14,10 +14,12 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 
+import battleship.board.FieldView;
+
 /**
  * Graphisches Spielfeld.
  */
-public class PlaygroundMatrix extends JPanel {
+public class PlaygroundMatrix extends JPanel implements FieldView {
     private static final long serialVersionUID = -4425085031052165829L;
 
     /*
@@ -158,6 +160,7 @@ public class PlaygroundMatrix extends JPanel {
      * @param col Zeilennummer des Feldes (beginnend bei 0)
      * @param row Spaltennummer des Feldes (beginnend bei 0)
      */
+    @Override
     public void setShip(final int col, final int row) {
         this.setFieldColor(col, row, Color.DARK_GRAY);
     }
@@ -168,6 +171,7 @@ public class PlaygroundMatrix extends JPanel {
      * @param col Zeilennummer des Feldes (beginnend bei 0)
      * @param row Spaltennummer des Feldes (beginnend bei 0)
      */
+    @Override
     public void setSunk(final int col, final int row) {
         this.setFieldColor(col, row, new Color(0, 0, 153));
     }
@@ -178,6 +182,7 @@ public class PlaygroundMatrix extends JPanel {
      * @param col Zeilennummer des Feldes (beginnend bei 0)
      * @param row Spaltennummer des Feldes (beginnend bei 0)
      */
+    @Override
     public void setUnknown(final int col, final int row) {
         this.setFieldColor(col, row, Color.WHITE);
     }
@@ -188,6 +193,7 @@ public class PlaygroundMatrix extends JPanel {
      * @param col Zeilennummer des Feldes (beginnend bei 0)
      * @param row Spaltennummer des Feldes (beginnend bei 0)
      */
+    @Override
     public void setWater(final int col, final int row) {
         this.setFieldColor(col, row, new Color(0, 102, 255));
     }
@@ -0,0 +1,122 @@
+package battleship.board;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Vergleicht `PackedBoard` mit einem einfachen Array als Referenz. Die Größen
+ * decken Bretter ab, deren Felder genau ein Vielfaches eines Wortes (16) sind
+ * oder das letzte Wort nur teilweise füllen.
+ */
+class PackedBoardTest {
+    private static final int[] SIZES = { 1, 2, 5, 8, 10, 14, 16, 17, 19 };
+
+    private static int nextCell(final int[] cells, final int from, final int state) {
+        for (int cell = Math.max(0, from); cell < cells.length; cell++) {
+            if (cells[cell] == state) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    private static void assertMatches(final int[] cells, final PackedBoard board) {
+        final int[] counts = new int[PackedBoard.STATES];
+        for (int cell = 0; cell < cells.length; cell++) {
+            assertEquals(cells[cell], board.get(cell), "cell " + cell);
+            counts[cells[cell]]++;
+        }
+        for (int state = 0; state < PackedBoard.STATES; state++) {
+            assertEquals(counts[state], board.count(state));
+            for (int from = 0; from <= cells.length; from++) {
+                assertEquals(nextCell(cells, from, state), board.nextCell(from, state), "from " + from);
+            }
+            for (int n = 0, cell = nextCell(cells, 0, state); cell >= 0; n++, cell = nextCell(cells, cell + 1, state)) {
+                assertEquals(cell, board.nthCell(n, state));
+            }
+        }
+    }
+
+    @Test
+    void agreesWithArrayForRandomChanges() {
+        final SplittableRandom random = new SplittableRandom(7);
+        for (final int size : SIZES) {
+            for (int initial = 0; initial < PackedBoard.STATES; initial++) {
+                final PackedBoard board = new PackedBoard(size, initial);
+                final int[] cells = new int[size * size];
+                Arrays.fill(cells, initial);
+                assertMatches(cells, board);
+                for (int step = 0; step < 3 * cells.length; step++) {
+                    final int cell = random.nextInt(cells.length);
+                    final int state = random.nextInt(PackedBoard.STATES);
+                    assertEquals(cells[cell], board.set(cell, state));
+                    cells[cell] = state;
+                }
+                assertMatches(cells, board);
+            }
+        }
+    }
+
+    @Test
+    void findsDifferencesToACopy() {
+        final SplittableRandom random = new SplittableRandom(11);
+        for (final int size : SIZES) {
+            final PackedBoard board = new PackedBoard(size, 0);
+            final PackedBoard copy = board.copy();
+            assertEquals(-1, board.nextDifference(0, copy));
+            final boolean[] changed = new boolean[size * size];
+            for (int i = 0; i < size; i++) {
+                final int cell = random.nextInt(changed.length);
+                board.set(cell, 1 + random.nextInt(PackedBoard.STATES - 1));
+                changed[cell] = true;
+            }
+            /* Die Kopie ist unabhängig vom Original. */
+            assertEquals(changed.length, copy.count(0));
+            int expected = -1;
+            for (int from = changed.length - 1; from >= 0; from--) {
+                if (changed[from]) {
+                    expected = from;
+                }
+                assertEquals(expected, board.nextDifference(from, copy), "from " + from);
+            }
+            copy.copyFrom(board);
+            assertEquals(board, copy);
+            assertEquals(-1, board.nextDifference(0, copy));
+        }
+    }
+
+    @Test
+    void hashDependsOnlyOnTheFields() {
+        final PackedBoard first = new PackedBoard(10, 0);
+        final PackedBoard second = new PackedBoard(10, 0);
+        first.set(3, 4, 1);
+        first.set(7, 2, 2);
+        second.set(7, 2, 3);
+        second.set(7, 2, 2);
+        assertNotEquals(first.getZobristHash(), second.getZobristHash());
+        second.set(3, 4, 1);
+        /* Die Reihenfolge und Zwischenstände der Änderungen spielen keine Rolle. */
+        assertEquals(first.getZobristHash(), second.getZobristHash());
+        assertEquals(first, second);
+
+        first.set(3, 4, 0);
+        first.set(7, 2, 0);
+        assertEquals(new PackedBoard(10, 0).getZobristHash(), first.getZobristHash());
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        final PackedBoard board = new PackedBoard(5, 0);
+        assertThrows(IllegalArgumentException.class, () -> new PackedBoard(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> board.set(0, PackedBoard.STATES));
+        assertThrows(IndexOutOfBoundsException.class, () -> board.get(5, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> board.nthCell(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> board.nextDifference(0, new PackedBoard(6, 0)));
+    }
+}
@@ -0,0 +1,178 @@
+package battleship.eventbus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(10)
+class EventBusTest {
+    private static final int CAPACITY = 4;
+    private static final int EVENTS = 20;
+
+    /**
+     * Abonnent, welcher alle Ereignisse sammelt und beim ersten Ereignis wartet,
+     * bis er freigegeben wird. So lässt sich ein langsamer Abonnent nachstellen.
+     */
+    private static final class SlowSubscriber implements EventSubscriber<Integer> {
+        private final List<Integer> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void onEvent(final Integer event, final long sequence) {
+            assertEquals(event.longValue(), sequence);
+            this.events.add(event);
+            this.entered.countDown();
+            try {
+                this.released.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Schließt den Bus und wartet, bis der Abonnent alles zugestellt bekommen hat.
+     */
+    private static void closeAndAwait(final EventBus<Integer> bus, final Subscription<Integer> subscription)
+            throws InterruptedException {
+        bus.close();
+        while (subscription.isActive()) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertEquals(8, new EventBus<Integer>("test", 5).getCapacity());
+        assertEquals(4, new EventBus<Integer>("test", 4).getCapacity());
+    }
+
+    @Test
+    void deliversAllEventsInOrderAcrossWrapAround() throws InterruptedException {
+        final EventBus<Integer> bus = new EventBus<>("test", CAPACITY);
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+        final Subscription<Integer> subscription = bus.subscribe(
+                "fast", BackpressurePolicy.BLOCK, (event, sequence) -> received.add(event)
+        );
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(bus.publish(i));
+        }
+        closeAndAwait(bus, subscription);
+
+        assertEquals(1000, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i, received.get(i));
+        }
+        assertEquals(1000, subscription.getDelivered());
+        assertEquals(0, subscription.getDropped());
+    }
+
+    @Test
+    void dropSkipsOverwrittenEventsWithoutBlocking() throws InterruptedException {
+        final EventBus<Integer> bus = new EventBus<>("test", CAPACITY);
+        final SlowSubscriber subscriber = new SlowSubscriber();
+        final Subscription<Integer> subscription = bus.subscribe("drop", BackpressurePolicy.DROP, subscriber);
+
+        bus.publish(0);
+        subscriber.entered.await();
+        /* Der Abonnent hängt, der Veröffentlichende darf trotzdem nicht warten. */
+        for (int i = 1; i < EVENTS; i++) {
+            assertTrue(bus.publish(i));
+        }
+        subscriber.released.countDown();
+        closeAndAwait(bus, subscription);
+
+        /* Nach dem ersten Ereignis sind nur noch die letzten CAPACITY vorhanden. */
+        assertEquals(List.of(0, 16, 17, 18, 19), subscriber.events);
+        assertEquals(EVENTS - 1 - CAPACITY, subscription.getDropped());
+        assertEquals(1 + CAPACITY, subscription.getDelivered());
+    }
+
+    @Test
+    void coalesceDeliversOnlyTheNewestEvent() throws InterruptedException {
+        final EventBus<Integer> bus = new EventBus<>("test", CAPACITY);
+        final SlowSubscriber subscriber = new SlowSubscriber();
+        final Subscription<Integer> subscription = bus.subscribe("coalesce", BackpressurePolicy.COALESCE, subscriber);
+
+        bus.publish(0);
+        subscriber.entered.await();
+        for (int i = 1; i < EVENTS; i++) {
+            assertTrue(bus.publish(i));
+        }
+        subscriber.released.countDown();
+        closeAndAwait(bus, subscription);
+
+        assertEquals(List.of(0, EVENTS - 1), subscriber.events);
+        assertEquals(EVENTS - 2, subscription.getDropped());
+    }
+
+    @Test
+    void blockHoldsThePublisherUntilTheSubscriberCatchesUp() throws InterruptedException {
+        final EventBus<Integer> bus = new EventBus<>("test", CAPACITY);
+        final SlowSubscriber subscriber = new SlowSubscriber();
+        final Subscription<Integer> subscription = bus.subscribe("block", BackpressurePolicy.BLOCK, subscriber);
+
+        bus.publish(0);
+        subscriber.entered.await();
+        final CountDownLatch published = new CountDownLatch(1);
+        final Thread publisher = Thread.ofVirtual().start(() -> {
+            for (int i = 1; i < EVENTS; i++) {
+                bus.publish(i);
+            }
+            published.countDown();
+        });
+
+        /* Das erste Ereignis ist noch nicht verarbeitet, der Ring ist danach voll. */
+        assertFalse(published.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(CAPACITY, bus.getPublished());
+
+        subscriber.released.countDown();
+        published.await();
+        publisher.join();
+        closeAndAwait(bus, subscription);
+
+        assertEquals(EVENTS, subscriber.events.size());
+        for (int i = 0; i < EVENTS; i++) {
+            assertEquals(i, subscriber.events.get(i));
+        }
+        assertEquals(0, subscription.getDropped());
+    }
+
+    @Test
+    void cancelledBlockingSubscriberReleasesThePublisher() throws InterruptedException {
+        final EventBus<Integer> bus = new EventBus<>("test", CAPACITY);
+        final SlowSubscriber subscriber = new SlowSubscriber();
+        final Subscription<Integer> subscription = bus.subscribe("block", BackpressurePolicy.BLOCK, subscriber);
+
+        bus.publish(0);
+        subscriber.entered.await();
+        final Thread publisher = Thread.ofVirtual().start(() -> {
+            for (int i = 1; i < EVENTS; i++) {
+                bus.publish(i);
+            }
+        });
+        subscription.cancel();
+        publisher.join();
+
+        assertEquals(EVENTS, bus.getPublished());
+        subscriber.released.countDown();
+        bus.close();
+    }
+
+    @Test
+    void rejectsEventsAfterClose() {
+        final EventBus<Integer> bus = new EventBus<>("test", CAPACITY);
+        bus.close();
+        assertFalse(bus.publish(1));
+        assertEquals(0, bus.getPublished());
+    }
+}
@@ -0,0 +1,84 @@
+package battleship.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import battleship.network.Connection;
+import battleship.opposingthings.Difficulty;
+
+@Timeout(60)
+class BotServerTest {
+    private static final int CLIENTS = 4;
+    private static final int LEVEL = 1;
+
+    /**
+     * Beobachter eines Clients, welcher jeden Zug vom Computer spielen lässt.
+     */
+    private static final class AutoPlayer implements GameObserver {
+        private final ExecutorService moves;
+        private GameEngine engine;
+
+        private AutoPlayer(final ExecutorService moves) {
+            this.moves = moves;
+        }
+
+        @Override
+        public void onTurnChanged(final TurnStatus turnstatus) {
+            if (turnstatus == TurnStatus.MY_TURN_FIRST_TURN || turnstatus == TurnStatus.MY_TURN
+                    || turnstatus == TurnStatus.MY_TURN_AFTER_HIT) {
+                this.moves.execute(this.engine::computerMove);
+            }
+        }
+    }
+
+    @Test
+    void playsConcurrentGamesAgainstBlockingClients() throws IOException, InterruptedException {
+        final BotServer server = new BotServer(0, 1, LEVEL, Difficulty.EASY);
+        final ExecutorService moves = Executors.newCachedThreadPool();
+        server.start();
+        try {
+            final List<GameEndStatus> results = new CopyOnWriteArrayList<>();
+            final CountDownLatch ended = new CountDownLatch(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                final AutoPlayer player = new AutoPlayer(moves);
+                player.engine = new GameEngine(
+                        Connection.connectTo("localhost", server.getLocalPort()), false, "client" + i, LEVEL, player,
+                        (final GameEndStatus status) -> {
+                            results.add(status);
+                            ended.countDown();
+                        }
+                );
+                player.engine.begin();
+            }
+            ended.await();
+
+            for (final GameEndStatus status : results) {
+                assertTrue(
+                        status == GameEndStatus.SUCCESSFUL_WON || status == GameEndStatus.SUCCESSFUL_LOST, status::name
+                );
+            }
+            /* Der Server beendet seine Spiele unabhängig von den Clients. */
+            while (server.getResults(GameEndStatus.SUCCESSFUL_WON) + server.getResults(GameEndStatus.SUCCESSFUL_LOST)
+                    < CLIENTS) {
+                Thread.sleep(1);
+            }
+            final long clientWins = results.stream().filter(status -> status == GameEndStatus.SUCCESSFUL_WON).count();
+            assertEquals(CLIENTS - clientWins, server.getResults(GameEndStatus.SUCCESSFUL_WON));
+            /* Jedes Spiel endet erst, nachdem der Computer des Servers mindestens einmal gezogen hat. */
+            assertTrue(server.getThinkTimeStats().getCount() >= CLIENTS);
+        } finally {
+            moves.shutdown();
+            server.stop();
+        }
+    }
+}
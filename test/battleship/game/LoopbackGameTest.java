@@ -0,0 +1,94 @@
+package battleship.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import battleship.Constants;
+import battleship.network.Connection;
+import battleship.network.ConnectionPair;
+import battleship.network.TransportProfile;
+
+/**
+ * Spielt vollständige Spiele zweier `GameEngine`s über eine Verbindung
+ * innerhalb der JVM (siehe `Connection.createLoopbackPair()`).
+ */
+@Timeout(60)
+class LoopbackGameTest {
+    private static final int GAMES = 5;
+
+    private final ExecutorService moves = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        this.moves.shutdown();
+    }
+
+    /**
+     * Beobachter, welcher jeden Zug vom Computer spielen lässt.
+     */
+    private final class AutoPlayer implements GameObserver {
+        private GameEngine engine;
+
+        @Override
+        public void onTurnChanged(final TurnStatus turnstatus) {
+            if (turnstatus == TurnStatus.MY_TURN_FIRST_TURN || turnstatus == TurnStatus.MY_TURN
+                    || turnstatus == TurnStatus.MY_TURN_AFTER_HIT) {
+                LoopbackGameTest.this.moves.execute(this.engine::computerMove);
+            }
+        }
+    }
+
+    /**
+     * Spielt ein Spiel und gibt zurück, wie oft es mit welchem Status endete.
+     */
+    private Map<GameEndStatus, Integer> play(final TransportProfile profile, final int level)
+            throws InterruptedException {
+        final ConnectionPair pair = Connection.createLoopbackPair(profile);
+        final Map<GameEndStatus, Integer> results = new EnumMap<>(GameEndStatus.class);
+        final CountDownLatch ended = new CountDownLatch(2);
+        final GameEngine[] engines = new GameEngine[2];
+        for (int i = 0; i < 2; i++) {
+            final boolean isServer = i == 0;
+            final AutoPlayer player = new AutoPlayer();
+            player.engine = new GameEngine(
+                    isServer ? pair.getServer() : pair.getClient(), isServer, "player" + i, level, player,
+                    (final GameEndStatus status) -> {
+                        synchronized (results) {
+                            results.merge(status, 1, Integer::sum);
+                        }
+                        ended.countDown();
+                    }
+            );
+            engines[i] = player.engine;
+        }
+        engines[0].begin();
+        engines[1].begin();
+        ended.await();
+        synchronized (results) {
+            return new EnumMap<>(results);
+        }
+    }
+
+    @Test
+    void playsGamesOverBothProfiles() throws InterruptedException {
+        for (final TransportProfile profile : TransportProfile.values()) {
+            for (int game = 0; game < GAMES; game++) {
+                final int level = 1 + game % Constants.NUMBER_OF_LEVELS;
+                final Map<GameEndStatus, Integer> results = this.play(profile, level);
+                assertEquals(
+                        Map.of(GameEndStatus.SUCCESSFUL_WON, 1, GameEndStatus.SUCCESSFUL_LOST, 1), results,
+                        profile + ", level " + level
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package battleship.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(10)
+class ChannelTransportTest {
+    @Test
+    void rejectsWritesBeyondTheMaximumBufferSize() throws IOException {
+        /* Ohne Registrierung wird nie gesendet, der Puffer läuft also voll. */
+        try (SocketChannel channel = SocketChannel.open()) {
+            final ChannelTransport transport = new ChannelTransport(channel, new EventLoop("test"));
+            final byte[] chunk = new byte[1000];
+            int written = 0;
+            while (written + chunk.length <= ChannelTransport.MAX_OUTBOUND_SIZE) {
+                transport.write(chunk, 0, chunk.length);
+                written += chunk.length;
+            }
+            assertThrows(IOException.class, () -> transport.write(chunk, 0, chunk.length));
+            assertEquals(ChannelTransport.MAX_OUTBOUND_SIZE, transport.getOutboundCapacity());
+        }
+    }
+
+    @Test
+    void releasesGrownBufferOnceDrained() throws Exception {
+        final EventLoop loop = new EventLoop("test");
+        loop.start();
+        try (
+                ServerSocketChannel server = ServerSocketChannel
+                        .open()
+                        .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                SocketChannel client = SocketChannel.open(server.getLocalAddress());
+                SocketChannel accepted = server.accept()
+        ) {
+            accepted.configureBlocking(false);
+            final ChannelTransport transport = new ChannelTransport(accepted, loop);
+            final Connection connection = new Connection(transport, TransportProfile.LATENCY);
+            final CompletableFuture<Void> registered = new CompletableFuture<>();
+            loop.execute(() -> {
+                try {
+                    transport.register(connection);
+                    registered.complete(null);
+                } catch (final IOException e) {
+                    registered.completeExceptionally(e);
+                }
+            });
+            registered.join();
+
+            final byte[] data = new byte[10_000];
+            transport.write(data, 0, data.length);
+            assertTrue(transport.getOutboundCapacity() >= data.length);
+            transport.flush();
+
+            final ByteBuffer received = ByteBuffer.allocate(data.length);
+            while (received.hasRemaining()) {
+                client.read(received);
+            }
+            while (transport.getOutboundCapacity() != 0) {
+                Thread.sleep(1);
+            }
+        } finally {
+            loop.stop();
+        }
+    }
+}
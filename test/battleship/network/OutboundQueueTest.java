@@ -0,0 +1,180 @@
+package battleship.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+
+class OutboundQueueTest {
+    /**
+     * Übertragung, welche direkt im aufrufenden Thread schreibt und auf Wunsch
+     * beim Schreiben oder Leeren fehlschlägt.
+     */
+    private static final class RecordingTransport implements Transport {
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        private IOException writeFailure;
+        private IOException flushFailure;
+        private int flushes;
+
+        @Override
+        public int read(final ByteBuffer dst) {
+            return 0;
+        }
+
+        @Override
+        public void write(final byte[] data, final int offset, final int length) throws IOException {
+            if (this.writeFailure != null) {
+                throw this.writeFailure;
+            }
+            this.pending.write(data, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (this.flushFailure != null) {
+                throw this.flushFailure;
+            }
+            this.flushes++;
+            this.pending.writeTo(this.sent);
+            this.pending.reset();
+        }
+
+        @Override
+        public Executor getWriteExecutor() {
+            return Runnable::run;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public boolean isDrivenByEventLoop() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private String sent() {
+            return this.sent.toString(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static byte[] bytes(final String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static IOException failureOf(final CompletableFuture<Void> future) {
+        assertTrue(future.isCompletedExceptionally());
+        final CompletionException e = assertThrows(CompletionException.class, future::join);
+        return (IOException) e.getCause();
+    }
+
+    @Test
+    void sendsEachCommandImmediately() {
+        final RecordingTransport transport = new RecordingTransport();
+        final OutboundQueue queue = new OutboundQueue(transport, true);
+
+        final CompletableFuture<Void> first = queue.enqueue(bytes("A\r\n"));
+        final CompletableFuture<Void> second = queue.enqueue(bytes("B\r\n"));
+
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        assertTrue(second.isDone() && !second.isCompletedExceptionally());
+        assertEquals("A\r\nB\r\n", transport.sent());
+        assertEquals(2, queue.getCompletedWrites());
+        assertEquals(0, queue.getDepth());
+    }
+
+    @Test
+    void reportsSentEventsBeforeCompletingTheCommand() {
+        final RecordingTransport transport = new RecordingTransport();
+        final List<ConnectionEvent> events = new ArrayList<>();
+        final OutboundQueue queue = new OutboundQueue(transport, false, events::add);
+        final ConnectionEvent[] sentEvents = { ConnectionEvent.IAM_COMMAND_SENT, ConnectionEvent.COIN_COMMAND_SENT };
+
+        final CompletableFuture<Void> written = queue.enqueue(bytes("A\r\n"), sentEvents);
+        /* Wer auf das Future wartet, sieht die Ereignisse bereits gemeldet. */
+        final CompletableFuture<Void> observed = written.thenRun(() -> assertEquals(List.of(sentEvents), events));
+        assertTrue(events.isEmpty());
+
+        queue.flush();
+        assertTrue(written.isDone() && !written.isCompletedExceptionally());
+        assertEquals(List.of(sentEvents), events);
+        observed.join();
+    }
+
+    @Test
+    void holdsCommandsUntilFlushWithoutImmediateSending() {
+        final RecordingTransport transport = new RecordingTransport();
+        final OutboundQueue queue = new OutboundQueue(transport, false);
+
+        final CompletableFuture<Void> first = queue.enqueue(bytes("A\r\n"));
+        final CompletableFuture<Void> second = queue.enqueue(bytes("B\r\n"));
+        assertTrue(!first.isDone() && !second.isDone());
+        assertEquals("", transport.sent());
+
+        final CompletableFuture<Void> flushed = queue.flush();
+        assertTrue(first.isDone() && second.isDone() && flushed.isDone());
+        assertEquals("A\r\nB\r\n", transport.sent());
+        assertEquals(1, transport.flushes);
+    }
+
+    @Test
+    void failsLaterCommandsAndMarkersAfterWriteFailure() {
+        final RecordingTransport transport = new RecordingTransport();
+        final OutboundQueue queue = new OutboundQueue(transport, false);
+        final IOException broken = new IOException("broken pipe");
+        transport.writeFailure = broken;
+
+        final CompletableFuture<Void> failed = queue.enqueue(bytes("A\r\n"));
+        assertSame(broken, failureOf(failed));
+
+        /* Die Markierung darf nicht melden, dass alles davor gesendet wurde. */
+        assertSame(broken, failureOf(queue.flush()));
+        assertSame(broken, failureOf(queue.enqueue(bytes("B\r\n"))));
+        assertSame(broken, failureOf(queue.shutdown()));
+        assertEquals(0, queue.getCompletedWrites());
+    }
+
+    @Test
+    void failsMarkerWhenFlushFails() {
+        final RecordingTransport transport = new RecordingTransport();
+        final OutboundQueue queue = new OutboundQueue(transport, false);
+        final IOException broken = new IOException("connection reset");
+        transport.flushFailure = broken;
+
+        final CompletableFuture<Void> written = queue.enqueue(bytes("A\r\n"));
+        final CompletableFuture<Void> flushed = queue.flush();
+
+        assertSame(broken, failureOf(written));
+        assertSame(broken, failureOf(flushed));
+    }
+
+    @Test
+    void rejectsCommandsAfterShutdown() {
+        final RecordingTransport transport = new RecordingTransport();
+        final OutboundQueue queue = new OutboundQueue(transport, false);
+
+        queue.enqueue(bytes("A\r\n"));
+        final CompletableFuture<Void> closed = queue.shutdown();
+        assertTrue(closed.isDone() && !closed.isCompletedExceptionally());
+        assertEquals("A\r\n", transport.sent());
+        assertTrue(queue.enqueue(bytes("B\r\n")).isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,118 @@
+package battleship.network.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import battleship.utils.Utils;
+
+class CommandDecoderTest {
+    private final CommandDecoder decoder = new CommandDecoder();
+
+    /**
+     * Dekodiert eine Zeile, welche wie im Empfangspuffer hinter anderen Bytes
+     * steht.
+     */
+    private CommandKeyword decode(final String line) {
+        final byte[] bytes = ("XX" + line + "\r\n").getBytes(StandardCharsets.UTF_8);
+        return this.decoder.decode(ByteBuffer.wrap(bytes), 2, bytes.length - 2);
+    }
+
+    /**
+     * Wertet eine Zeile wie `Connection.processLine()` aus und gibt zurück, ob sie
+     * der genormten Übertragungsform entspricht.
+     */
+    private static boolean isWellStructuredAsString(final String line) {
+        final String keyword = Utils.getFirstWordOrLine(line).strip();
+        final String payload = Utils.getStringAfterFirstSpace(line);
+        final Command command;
+        switch (keyword) {
+            case "SHOOT":
+                command = Shoot.fromString(payload);
+                break;
+
+            case "HIT":
+                command = Hit.fromString(payload);
+                break;
+
+            case "COIN":
+                command = Coin.fromString(payload);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unexpected keyword: " + keyword);
+        }
+        return command.getFullCommand().equals(line + "\r\n");
+    }
+
+    @Test
+    void decodesCanonicalCommands() {
+        assertEquals(CommandKeyword.SHOOT, this.decode(Shoot.of(2, 9).getFullCommand().strip()));
+        assertTrue(this.decoder.isValid());
+        assertTrue(this.decoder.isWellStructured());
+        assertEquals(2, this.decoder.getX());
+        assertEquals(9, this.decoder.getY());
+
+        assertEquals(CommandKeyword.HIT, this.decode(Hit.of(0, 18, HitStatus.SUNK).getFullCommand().strip()));
+        assertTrue(this.decoder.isValid());
+        assertTrue(this.decoder.isWellStructured());
+        assertEquals(0, this.decoder.getX());
+        assertEquals(18, this.decoder.getY());
+        assertEquals(HitStatus.SUNK, this.decoder.getHitStatus());
+
+        assertEquals(CommandKeyword.COIN, this.decode("COIN 1"));
+        assertTrue(this.decoder.isValid());
+        assertTrue(this.decoder.isWellStructured());
+        assertEquals("1", this.decoder.getCoin());
+
+        assertEquals(CommandKeyword.WITHDRAW, this.decode("WITHDRAW"));
+        assertTrue(this.decoder.isValid());
+        assertTrue(this.decoder.isWellStructured());
+    }
+
+    @Test
+    void toleratesDeviationsButReportsThem() {
+        final String[] lines = { "SHOOT  B3", "SHOOT B03", "SHOOT B3 ", "HIT  B3 1", "HIT B3 1 ", "COIN  0" };
+        for (final String line : lines) {
+            assertTrue(this.decode(line) != CommandKeyword.OTHER, line);
+            assertTrue(this.decoder.isValid(), line);
+            assertFalse(this.decoder.isWellStructured(), line);
+        }
+        assertEquals(CommandKeyword.WITHDRAW, this.decode("WITHDRAW "));
+        assertTrue(this.decoder.isValid());
+        assertFalse(this.decoder.isWellStructured());
+    }
+
+    @Test
+    void rejectsInvalidCommands() {
+        final String[] lines = { "SHOOT", "SHOOT B", "SHOOT Bx", "HIT B3", "HIT B3 4", "HIT B3  1", "COIN 2",
+                "WITHDRAW now" };
+        for (final String line : lines) {
+            this.decode(line);
+            assertFalse(this.decoder.isValid(), line);
+        }
+    }
+
+    @Test
+    void leavesOtherCommandsToTheStringPath() {
+        assertEquals(CommandKeyword.OTHER, this.decode("CHAT hello"));
+        assertEquals(CommandKeyword.OTHER, this.decode("SHOOTING A1"));
+        assertEquals(CommandKeyword.OTHER, this.decode("IAM name 1"));
+    }
+
+    @Test
+    void agreesWithTheStringPathOnStructure() {
+        final String[] lines = { "SHOOT A1", "SHOOT S19", "SHOOT  A1", "SHOOT A01", "SHOOT A1 ", "HIT C4 0", "HIT C4 3",
+                "HIT C04 2", "HIT  C4 1", "HIT C4 1 ", "COIN 0", "COIN 1 ", "COIN  1" };
+        for (final String line : lines) {
+            this.decode(line);
+            assertTrue(this.decoder.isValid(), line);
+            assertEquals(isWellStructuredAsString(line), this.decoder.isWellStructured(), line);
+        }
+    }
+}
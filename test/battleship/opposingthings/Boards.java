@@ -0,0 +1,70 @@
+package battleship.opposingthings;
+
+import battleship.board.PackedBoard;
+
+/**
+ * Erstellt Spielbretter für die Tests.
+ */
+final class Boards {
+    private Boards() {
+    }
+
+    /**
+     * Erstellt ein quadratisches Spielbrett aus Zeilen: `~` ist Wasser, `X`
+     * angeschossen, `#` versenkt und `.` unbekannt.
+     *
+     * @param rows Die Zeilen, von oben nach unten
+     * @return Das Spielbrett, der Zustand ist die Ordinalzahl des
+     *         `OpposingFieldStatus`
+     */
+    static PackedBoard parse(final String... rows) {
+        final PackedBoard board = new PackedBoard(rows.length, OpposingFieldStatus.UNKNOWN.ordinal());
+        for (int y = 0; y < rows.length; y++) {
+            for (int x = 0; x < rows.length; x++) {
+                final OpposingFieldStatus status;
+                switch (rows[y].charAt(x)) {
+                    case '~':
+                        status = OpposingFieldStatus.WATER;
+                        break;
+
+                    case 'X':
+                        status = OpposingFieldStatus.SHIP;
+                        break;
+
+                    case '#':
+                        status = OpposingFieldStatus.SUNK;
+                        break;
+
+                    case '.':
+                        status = OpposingFieldStatus.UNKNOWN;
+                        break;
+
+                    default:
+                        throw new IllegalArgumentException("Unknown field: " + rows[y].charAt(x));
+                }
+                board.set(x, y, status.ordinal());
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Gibt ein Spielbrett in derselben Schreibweise wie `parse()` aus.
+     *
+     * @param board Das Spielbrett
+     * @return Die Zeilen, getrennt durch Zeilenumbrüche
+     */
+    static String format(final PackedBoard board) {
+        final StringBuilder result = new StringBuilder();
+        for (int y = 0; y < board.getSize(); y++) {
+            if (y > 0) {
+                result.append('\n');
+            }
+            for (int x = 0; x < board.getSize(); x++) {
+                /* Der Zustand ist die Ordinalzahl: UNKNOWN, WATER, SHIP, SUNK */
+                result.append(".~X#".charAt(board.get(x, y)));
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package battleship.opposingthings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class DeadlineTest {
+    @Test
+    void noneNeverExpires() {
+        final Deadline deadline = Deadline.none();
+        assertTrue(deadline.isUnlimited());
+        assertFalse(deadline.isExpired());
+        assertSame(deadline, deadline.onWallClock());
+    }
+
+    @Test
+    void wallClockDeadlineExpires() throws InterruptedException {
+        final Deadline deadline = Deadline.after(Deadline.Clock.WALL, 10_000_000);
+        assertSame(deadline, deadline.onWallClock());
+        Thread.sleep(20);
+        assertTrue(deadline.isExpired());
+    }
+
+    @Test
+    void cpuDeadlineIgnoresWaitingButItsWallClockCopyDoesNot() throws InterruptedException {
+        final Deadline deadline = Deadline.after(Deadline.Clock.CPU, 50_000_000);
+        assumeTrue(deadline.getClock() == Deadline.Clock.CPU, "CPU time is not measurable on this JVM.");
+        final Deadline wall = deadline.onWallClock();
+        assertEquals(Deadline.Clock.WALL, wall.getClock());
+
+        /* Beim Warten vergeht Echtzeit, aber kaum CPU-Zeit. */
+        Thread.sleep(100);
+        assertFalse(deadline.isExpired());
+        assertTrue(wall.isExpired());
+        assertTrue(wall.getElapsedNanos() >= 100_000_000);
+    }
+
+    @Test
+    void cancellationExpiresTheDeadlineAndItsWallClockCopy() {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final Deadline deadline = Deadline.after(Deadline.Clock.CPU, 60_000_000_000L).cancelledBy(cancelled::get);
+        final Deadline wall = deadline.onWallClock();
+        assertFalse(deadline.isExpired());
+        assertFalse(wall.isExpired());
+
+        cancelled.set(true);
+        assertTrue(deadline.isExpired());
+        assertTrue(wall.isExpired());
+        assertThrows(IllegalStateException.class, () -> Deadline.none().cancelledBy(cancelled::get));
+    }
+
+    @Test
+    void rejectsNegativeBudget() {
+        assertThrows(IllegalArgumentException.class, () -> Deadline.after(Deadline.Clock.WALL, -1));
+    }
+}
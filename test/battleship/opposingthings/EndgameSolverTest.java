@@ -0,0 +1,140 @@
+package battleship.opposingthings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import battleship.board.Coordinates;
+import battleship.board.PackedBoard;
+
+class EndgameSolverTest {
+    private static final int UNKNOWN = OpposingFieldStatus.UNKNOWN.ordinal();
+    private static final int WATER = OpposingFieldStatus.WATER.ordinal();
+    private static final int SHIP = OpposingFieldStatus.SHIP.ordinal();
+
+    /* Groß genug, dass in den Tests nie abgebrochen wird. */
+    private final EndgameSolver solver = new EndgameSolver(1 << 20, 1 << 10);
+
+    private int countPlacements(final PackedBoard board, final Integer... fleet) {
+        return this.solver.countPlacements(board, new FleetInference(board, List.of(fleet)));
+    }
+
+    @Test
+    void singleHitHasToBeExtended() {
+        final PackedBoard board = Boards.parse(
+                "X.~~~",
+                "~~~~~",
+                "~~~~~",
+                "~~~~~",
+                "~~~~."
+        );
+        /* Ein Schiff der Länge 1 auf dem Treffer wäre bereits versenkt. */
+        assertEquals(0, this.countPlacements(board, 1));
+        assertEquals(1, this.countPlacements(board, 2));
+        assertEquals(1, this.countPlacements(board, 1, 2));
+
+        final int move = this.solver.nextMove(
+                board, new FleetInference(board, List.of(2)), new SplittableRandom(1), Deadline.none()
+        );
+        assertEquals(Coordinates.pack(1, 0), move);
+    }
+
+    @Test
+    void runOfHitsNeedsALongerShip() {
+        final PackedBoard board = Boards.parse(
+                "XX.~~",
+                "~~~~~",
+                "~~~~.",
+                "~~~~.",
+                "~~~~."
+        );
+        /*
+         * Das Schiff der Länge 2 kann nicht auf beiden Treffern liegen, also liegt
+         * dort das der Länge 3 und das der Länge 2 in der rechten Spalte.
+         */
+        assertEquals(2, this.countPlacements(board, 2, 3));
+        assertEquals(0, this.countPlacements(board, 2));
+    }
+
+    @Test
+    void neverShootsAtCellsWithAKnownAnswer() {
+        final PackedBoard board = Boards.parse(
+                "X.~~~",
+                ".~~~~",
+                "~~~~~",
+                "~~~~~",
+                "~~~~."
+        );
+        final FleetInference inference = new FleetInference(board, List.of(1, 2));
+        assertEquals(2, this.solver.countPlacements(board, inference));
+        /* Das Feld unten rechts ist in beiden Lagen das Schiff der Länge 1. */
+        for (long seed = 0; seed < 20; seed++) {
+            final int move = this.solver.nextMove(board, inference, new SplittableRandom(seed), Deadline.none());
+            assertNotEquals(Coordinates.pack(4, 4), move);
+            assertTrue(move == Coordinates.pack(1, 0) || move == Coordinates.pack(0, 1));
+        }
+    }
+
+    /**
+     * Vergleicht die Aufzählung eines einzelnen Schiffes mit der Zählung je
+     * Zeile und Spalte von `ScalarLineCounter`. Ohne Treffer ist jede Lage
+     * genau in ihrer Zeile oder Spalte gezählt, mit einem Treffer sind es die
+     * Lagen durch dessen Feld.
+     */
+    @Test
+    void agreesWithScalarLineCounterForSingleShips() {
+        final int n = 8;
+        final SplittableRandom random = new SplittableRandom(42);
+        final LineCounter counter = new ScalarLineCounter(n);
+        final int[] line = new int[n];
+        final long[] counts = new long[n];
+        final long[] hits = new long[n];
+        for (int trial = 0; trial < 300; trial++) {
+            final int length = 1 + random.nextInt(5);
+            final PackedBoard board = new PackedBoard(n, UNKNOWN);
+            for (int cell = 0; cell < n * n; cell++) {
+                if (random.nextInt(10) < 3) {
+                    board.set(cell, WATER);
+                }
+            }
+            int hit = -1;
+            if (random.nextBoolean()) {
+                hit = random.nextInt(n * n);
+                board.set(hit, SHIP);
+            }
+            final int[] afloat = new int[n + 1];
+            afloat[length] = 1;
+
+            long expected = 0;
+            for (int vertical = 0; vertical < 2; vertical++) {
+                for (int i = 0; i < n; i++) {
+                    for (int k = 0; k < n; k++) {
+                        line[k] = vertical == 1 ? board.get(i, k) : board.get(k, i);
+                    }
+                    counter.count(line, afloat, length, counts, hits);
+                    if (hit < 0) {
+                        long sum = 0;
+                        for (int k = 0; k < n; k++) {
+                            sum += counts[k];
+                        }
+                        expected += sum / length;
+                    } else if (vertical == 1 && i == hit % n) {
+                        expected += counts[hit / n];
+                    } else if (vertical == 0 && i == hit / n) {
+                        expected += counts[hit % n];
+                    }
+                }
+            }
+            /* Ein Schiff der Länge 1 wird waagerecht und senkrecht gezählt. */
+            if (length == 1) {
+                expected /= 2;
+            }
+            assertEquals(expected, this.countPlacements(board, length), "trial " + trial + ", length " + length);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package battleship.opposingthings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import battleship.board.PackedBoard;
+
+class FleetInferenceTest {
+    private static void assertBoard(final PackedBoard board, final String... rows) {
+        assertEquals(String.join("\n", rows), Boards.format(board));
+    }
+
+    @Test
+    void surroundsSunkShipsWithWater() {
+        final PackedBoard board = Boards.parse(
+                "......",
+                "......",
+                "..##..",
+                "......",
+                "......",
+                "......"
+        );
+        final FleetInference inference = new FleetInference(board, List.of(2, 2));
+        inference.update(3, 2, OpposingFieldStatus.SUNK);
+
+        /* Diagonal dürfen sich Schiffe berühren. */
+        assertBoard(
+                board,
+                "......",
+                "..~~..",
+                ".~##~.",
+                "..~~..",
+                "......",
+                "......"
+        );
+        assertEquals(6, inference.getInferredWater());
+        assertEquals(List.of(2), inference.getRemainingShips());
+        assertEquals(1, inference.countAfloat(2));
+    }
+
+    @Test
+    void marksTheSidesOfShipsWithKnownDirection() {
+        final PackedBoard board = Boards.parse(
+                ".....",
+                ".....",
+                "..X..",
+                ".....",
+                "....."
+        );
+        final FleetInference inference = new FleetInference(board, null);
+        inference.update(2, 2, OpposingFieldStatus.SHIP);
+        /* Mit einem einzelnen Treffer ist die Richtung noch offen. */
+        assertEquals(0, inference.getInferredWater());
+
+        board.set(2, 3, OpposingFieldStatus.SHIP.ordinal());
+        inference.update(2, 3, OpposingFieldStatus.SHIP);
+        assertBoard(
+                board,
+                ".....",
+                ".....",
+                ".~X~.",
+                ".~X~.",
+                "....."
+        );
+        assertNull(inference.getRemainingShips());
+    }
+
+    @Test
+    void marksCellsWhereTheShortestShipDoesNotFit() {
+        final PackedBoard board = Boards.parse(
+                "~.~..",
+                ".~...",
+                ".....",
+                ".....",
+                "....."
+        );
+        final FleetInference inference = new FleetInference(board, List.of(3, 4));
+        inference.update(1, 1, OpposingFieldStatus.WATER);
+        /* Durch (1, 0) passt kein Schiff der Länge 3, durch (0, 1) senkrecht schon. */
+        assertBoard(
+                board,
+                "~~~..",
+                ".~...",
+                ".....",
+                ".....",
+                "....."
+        );
+        assertEquals(1, inference.getInferredWater());
+    }
+
+    @Test
+    void longerShortestShipRechecksTheWholeBoard() {
+        final PackedBoard board = Boards.parse(
+                "..~..",
+                "~~~..",
+                ".....",
+                ".....",
+                "~.#.~"
+        );
+        final FleetInference inference = new FleetInference(board, List.of(1, 3));
+        inference.update(2, 4, OpposingFieldStatus.SUNK);
+        /* Nach dem Schiff der Länge 1 passt in die Ecken links keines mehr. */
+        assertBoard(
+                board,
+                "~~~..",
+                "~~~..",
+                ".....",
+                "~~~..",
+                "~~#~~"
+        );
+        assertEquals(List.of(3), inference.getRemainingShips());
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        final PackedBoard board = Boards.parse(
+                "....",
+                ".#..",
+                "....",
+                "...."
+        );
+        final FleetInference inference = new FleetInference(board, List.of(1, 2));
+        final PackedBoard copiedBoard = board.copy();
+        final FleetInference copy = new FleetInference(inference, copiedBoard);
+        copy.update(1, 1, OpposingFieldStatus.SUNK);
+
+        assertEquals(List.of(2), copy.getRemainingShips());
+        assertEquals(List.of(1, 2), inference.getRemainingShips());
+        assertEquals(0, inference.getInferredWater());
+        assertEquals(OpposingFieldStatus.UNKNOWN.ordinal(), board.get(1, 0));
+    }
+
+    @Test
+    void rejectsShipsLongerThanTheBoard() {
+        final PackedBoard board = new PackedBoard(4, OpposingFieldStatus.UNKNOWN.ordinal());
+        assertThrows(IllegalArgumentException.class, () -> new FleetInference(board, List.of(2, 5)));
+        assertThrows(IllegalArgumentException.class, () -> new FleetInference(board, List.of(0)));
+    }
+}
@@ -0,0 +1,117 @@
+package battleship.opposingthings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import battleship.board.Coordinates;
+import battleship.board.PackedBoard;
+
+class FleetSamplerTest {
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final FleetSampler sampler = new FleetSampler(this.pool, 1_000);
+
+    @AfterEach
+    void shutdown() {
+        this.pool.shutdown();
+    }
+
+    private int nextMove(final PackedBoard board, final long seed, final Integer... fleet) {
+        return this.sampler.nextMove(
+                board, new FleetInference(board, List.of(fleet)), new SplittableRandom(seed), Deadline.none()
+        );
+    }
+
+    @Test
+    void singleHitHasToBeExtended() {
+        /*
+         * Läge das Schiff der Länge 1 auf dem Treffer, stünde das der Länge 2 rechts
+         * unten und die Felder dort wären häufiger belegt als das neben dem Treffer.
+         */
+        final PackedBoard board = Boards.parse(
+                "X.~..",
+                "~~~~~",
+                "~~~~~",
+                "~~~~~",
+                "~~~~~"
+        );
+        for (long seed = 0; seed < 5; seed++) {
+            assertEquals(Coordinates.pack(1, 0), this.nextMove(board, seed, 1, 2));
+        }
+        assertEquals(1_000 * 5, this.sampler.getDrawnSamples());
+    }
+
+    @Test
+    void findsNoFleetIfOnlyShipsOnHitsRemain() {
+        final PackedBoard board = Boards.parse(
+                "X.~~~",
+                "~~~~~",
+                "~~~~~",
+                "~~~~~",
+                "~~~~."
+        );
+        assertEquals(Coordinates.NONE, this.nextMove(board, 1, 1));
+        assertEquals(0, this.sampler.getDrawnSamples());
+        assertEquals(1_000, this.sampler.getFailedSamples());
+    }
+
+    @Test
+    void dependsOnlyOnTheSeed() {
+        final PackedBoard board = new PackedBoard(10, OpposingFieldStatus.UNKNOWN.ordinal());
+        board.set(4, 4, OpposingFieldStatus.SHIP.ordinal());
+        final FleetSampler other = new FleetSampler(ForkJoinPool.commonPool(), 1_000);
+        for (long seed = 0; seed < 5; seed++) {
+            final FleetInference inference = new FleetInference(board, List.of(2, 3, 3, 4, 5));
+            assertEquals(
+                    this.sampler.nextMove(board, inference, new SplittableRandom(seed), Deadline.none()),
+                    other.nextMove(board, inference, new SplittableRandom(seed), Deadline.none())
+            );
+        }
+    }
+
+    @Test
+    void cpuDeadlineBoundsTheWallClockTime() {
+        final PackedBoard board = new PackedBoard(19, OpposingFieldStatus.UNKNOWN.ordinal());
+        final FleetInference inference = new FleetInference(board, List.of(2, 2, 3, 3, 4, 5, 6));
+        final long budget = 20_000_000;
+        final long start = System.nanoTime();
+        final int move = this.sampler.nextMove(
+                board, inference, new SplittableRandom(1), Deadline.after(Deadline.Clock.CPU, budget)
+        );
+        final long elapsed = System.nanoTime() - start;
+        assertTrue(move != Coordinates.NONE);
+        /* Der aufrufende Thread wartet nur, seine CPU-Zeit darf nicht die Frist sein. */
+        assertTrue(elapsed < 10 * budget, "took " + elapsed / 1_000_000 + " ms");
+    }
+
+    @Test
+    void stopsAtTheSampleBudgetBeforeTheDeadline() {
+        final PackedBoard board = new PackedBoard(10, OpposingFieldStatus.UNKNOWN.ordinal());
+        final FleetInference inference = new FleetInference(board, List.of(2, 3, 3, 4, 5));
+        final FleetSampler small = new FleetSampler(this.pool, 100);
+        final long start = System.nanoTime();
+        final int move = small.nextMove(
+                board, inference, new SplittableRandom(1), Deadline.after(Deadline.Clock.WALL, 10_000_000_000L)
+        );
+        final long elapsed = System.nanoTime() - start;
+        assertTrue(move != Coordinates.NONE);
+        assertEquals(100, small.getDrawnSamples() + small.getFailedSamples());
+        assertTrue(elapsed < 5_000_000_000L, "took " + elapsed / 1_000_000 + " ms");
+    }
+
+    @Test
+    void cancelledDeadlineStopsSampling() {
+        final PackedBoard board = new PackedBoard(10, OpposingFieldStatus.UNKNOWN.ordinal());
+        final FleetInference inference = new FleetInference(board, List.of(2, 3, 3, 4, 5));
+        final FleetSampler large = new FleetSampler(this.pool, 10_000_000);
+        final Deadline cancelled = Deadline.after(Deadline.Clock.WALL, 60_000_000_000L).cancelledBy(() -> true);
+        assertEquals(Coordinates.NONE, large.nextMove(board, inference, new SplittableRandom(1), cancelled));
+        assertEquals(0, large.getDrawnSamples() + large.getFailedSamples());
+    }
+}
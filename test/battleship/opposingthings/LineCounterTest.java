@@ -0,0 +1,81 @@
+package battleship.opposingthings;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import battleship.board.VectorSupport;
+
+class LineCounterTest {
+    private static final int UNKNOWN = OpposingFieldStatus.UNKNOWN.ordinal();
+    private static final int WATER = OpposingFieldStatus.WATER.ordinal();
+    private static final int SHIP = OpposingFieldStatus.SHIP.ordinal();
+    private static final int SUNK = OpposingFieldStatus.SUNK.ordinal();
+
+    /* Längen unter, auf und über den üblichen Vektorbreiten sowie die Größen der Level. */
+    private static final int[] SIZES = { 1, 2, 3, 7, 8, 9, 14, 15, 16, 17, 18, 19, 31, 32, 33, 64, 100 };
+
+    private static long[][] count(
+            final LineCounter counter, final int[] line, final int[] afloat, final int minLength
+    ) {
+        final long[] counts = new long[line.length];
+        final long[] hits = new long[line.length];
+        /* Die Ergebnisse dürfen nicht von vorherigen Inhalten abhängen. */
+        Arrays.fill(counts, -1);
+        Arrays.fill(hits, -1);
+        counter.count(line, afloat, minLength, counts, hits);
+        return new long[][] { counts, hits };
+    }
+
+    @Test
+    void scalarCountsPlacementsThroughHits() {
+        final LineCounter counter = new ScalarLineCounter(3);
+        final int[] oneShipOfLengthTwo = { 0, 0, 1, 0 };
+
+        final long[][] empty = count(counter, new int[] { UNKNOWN, UNKNOWN, UNKNOWN }, oneShipOfLengthTwo, 1);
+        assertArrayEquals(new long[] { 1, 2, 1 }, empty[0]);
+        assertArrayEquals(new long[] { 0, 0, 0 }, empty[1]);
+
+        final long[][] hit = count(counter, new int[] { UNKNOWN, SHIP, UNKNOWN }, oneShipOfLengthTwo, 1);
+        assertArrayEquals(new long[] { 1, 2, 1 }, hit[0]);
+        assertArrayEquals(new long[] { 1, 2, 1 }, hit[1]);
+
+        /* Auf beiden Treffern wäre das Schiff versenkt, daneben wäre es länger. */
+        final long[][] covered = count(counter, new int[] { SHIP, SHIP, UNKNOWN }, oneShipOfLengthTwo, 1);
+        assertArrayEquals(new long[] { 0, 0, 0 }, covered[0]);
+        assertArrayEquals(new long[] { 0, 0, 0 }, covered[1]);
+    }
+
+    @Test
+    void vectorAgreesWithScalar() {
+        assumeTrue(VectorSupport.isEnabled(), "Vector API not loaded");
+        final SplittableRandom random = new SplittableRandom(25);
+        for (final int n : SIZES) {
+            final LineCounter scalar = new ScalarLineCounter(n);
+            final LineCounter vector = new VectorLineCounter(n);
+            for (int trial = 0; trial < 200; trial++) {
+                final int[] line = new int[n];
+                for (int i = 0; i < n; i++) {
+                    final int roll = random.nextInt(10);
+                    line[i] = roll < 6 ? UNKNOWN : roll < 8 ? WATER : roll < 9 ? SHIP : SUNK;
+                }
+                final int[] afloat = new int[n + 1];
+                for (int ships = random.nextInt(5); ships > 0; ships--) {
+                    afloat[1 + random.nextInt(Math.min(n, 6))]++;
+                }
+                final int minLength = 1 + random.nextInt(Math.min(n, 3));
+
+                final long[][] expected = count(scalar, line, afloat, minLength);
+                final long[][] actual = count(vector, line, afloat, minLength);
+                final String message = "n=" + n + " line=" + Arrays.toString(line)
+                        + " afloat=" + Arrays.toString(afloat) + " minLength=" + minLength;
+                assertArrayEquals(expected[0], actual[0], message);
+                assertArrayEquals(expected[1], actual[1], message);
+            }
+        }
+    }
+}
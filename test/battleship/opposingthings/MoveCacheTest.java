@@ -0,0 +1,69 @@
+package battleship.opposingthings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import battleship.board.Coordinates;
+
+class MoveCacheTest {
+    private static final int LEVEL = 1;
+    private static final TargetingStrategy STRATEGY = TargetingStrategy.PROBABILITY_DENSITY;
+
+    private final MoveCache cache = new MoveCache(16);
+
+    private OpposingPlayingField newField(final long seed) {
+        final OpposingPlayingField field = new OpposingPlayingField(
+                10, List.of(2, 3, 4), STRATEGY, new SplittableRandom(seed)
+        );
+        field.setMoveCache(this.cache, LEVEL);
+        return field;
+    }
+
+    @Test
+    void keysMovesByLevelStrategyAndHash() {
+        final int move = Coordinates.pack(3, 4);
+        this.cache.put(LEVEL, STRATEGY, 42, move);
+        assertEquals(move, this.cache.get(LEVEL, STRATEGY, 42));
+        assertEquals(Coordinates.NONE, this.cache.get(LEVEL + 1, STRATEGY, 42));
+        assertEquals(Coordinates.NONE, this.cache.get(LEVEL, TargetingStrategy.HUNT_AND_TARGET, 42));
+        assertEquals(Coordinates.NONE, this.cache.get(LEVEL, STRATEGY, 43));
+    }
+
+    @Test
+    void rejectsMissingMovesAndEmptyCaches() {
+        assertThrows(IllegalArgumentException.class, () -> this.cache.put(LEVEL, STRATEGY, 1, Coordinates.NONE));
+        assertThrows(IllegalArgumentException.class, () -> new MoveCache(0));
+    }
+
+    @Test
+    void reusesTheMoveForTheSameState() {
+        final OpposingPlayingField first = this.newField(1);
+        first.hit(5, 5, OpposingFieldStatus.WATER);
+        final int move = first.getComputerMoveCoordinates();
+        assertEquals(1, this.cache.getSize());
+
+        /* Ein anderer Zufallsgenerator ändert nichts, der Zug kommt aus dem Cache. */
+        final OpposingPlayingField second = this.newField(2);
+        second.hit(5, 5, OpposingFieldStatus.WATER);
+        assertEquals(move, second.getComputerMoveCoordinates());
+        assertEquals(0.5, this.cache.getHitRatio());
+    }
+
+    @Test
+    void ignoresCachedMovesOnKnownFields() {
+        final OpposingPlayingField field = this.newField(1);
+        field.hit(0, 0, OpposingFieldStatus.WATER);
+        /* Wie bei einer Kollision der Hashes zeigt der gespeicherte Zug auf ein bekanntes Feld. */
+        this.cache.put(LEVEL, STRATEGY, field.getZobristHash(), Coordinates.pack(0, 0));
+
+        final int move = field.getComputerMoveCoordinates();
+        assertNotEquals(Coordinates.pack(0, 0), move);
+        assertEquals(move, this.cache.get(LEVEL, STRATEGY, field.getZobristHash()));
+    }
+}
@@ -0,0 +1,85 @@
+package battleship.opposingthings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import battleship.Constants;
+import battleship.board.Coordinates;
+
+class OpeningBookTest {
+    private static final int LEVEL = 1;
+    private static final TargetingStrategy STRATEGY = TargetingStrategy.PROBABILITY_DENSITY;
+
+    private static byte[] write(final long[] hashes, final int[] moves) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OpeningBook.write(out, LEVEL, STRATEGY, Constants.LEVEL_SIZES.get(LEVEL - 1), 3, hashes, moves);
+        return out.toByteArray();
+    }
+
+    private static OpeningBook read(final long[] hashes, final int[] moves) throws IOException {
+        return OpeningBook.parse(ByteBuffer.wrap(write(hashes, moves)), LEVEL);
+    }
+
+    @Test
+    void findsEveryWrittenPosition() throws IOException {
+        final long[] hashes = { Long.MIN_VALUE, -5, 3, 100, Long.MAX_VALUE };
+        final int[] moves = {
+                Coordinates.pack(0, 0), Coordinates.pack(13, 13), Coordinates.pack(2, 7), Coordinates.pack(7, 2),
+                Coordinates.pack(13, 0)
+        };
+        final OpeningBook book = read(hashes, moves);
+        assertEquals(hashes.length, book.getSize());
+        assertEquals(3, book.getDepth());
+        assertEquals(LEVEL, book.getLevel());
+        for (int i = 0; i < hashes.length; i++) {
+            assertEquals(moves[i], book.get(STRATEGY, hashes[i]));
+        }
+        assertEquals(Coordinates.NONE, book.get(STRATEGY, 4));
+        /* Ein Buch gilt nur für die Strategie, mit der es erzeugt wurde. */
+        assertEquals(Coordinates.NONE, book.get(TargetingStrategy.HUNT_AND_TARGET, 3));
+    }
+
+    @Test
+    void rejectsInvalidBooks() throws IOException {
+        final int[] moves = { Coordinates.pack(1, 1), Coordinates.pack(2, 2) };
+        assertThrows(IllegalArgumentException.class, () -> write(new long[] { 2, 1 }, moves));
+        assertThrows(IllegalArgumentException.class, () -> write(new long[] { 1 }, moves));
+
+        final byte[] data = write(new long[] { 1, 2 }, moves);
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.parse(ByteBuffer.wrap(data), LEVEL + 1));
+        final byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.parse(ByteBuffer.wrap(truncated), LEVEL));
+    }
+
+    @Test
+    void loadsTheBundledBooks() {
+        for (int level = 1; level <= Constants.NUMBER_OF_LEVELS; level++) {
+            final OpeningBook book = OpeningBook.forLevel(level);
+            assertEquals(level, book.getLevel());
+            assertTrue(book.getSize() > 0, book::toString);
+        }
+    }
+
+    @Test
+    void fieldPlaysTheBookUntilItLeavesIt() throws IOException {
+        final OpposingPlayingField field = new OpposingPlayingField(
+                Constants.LEVEL_SIZES.get(LEVEL - 1), Constants.LEVELS.get(LEVEL - 1), STRATEGY, new SplittableRandom(1)
+        );
+        final int opening = Coordinates.pack(5, 6);
+        field.setOpeningBook(read(new long[] { field.getZobristHash() }, new int[] { opening }));
+        assertEquals(opening, field.getComputerMoveCoordinates());
+
+        field.hit(5, 6, OpposingFieldStatus.WATER);
+        final int move = field.getComputerMoveCoordinates();
+        assertTrue(field.isUnknown(Coordinates.x(move), Coordinates.y(move)));
+    }
+}
@@ -0,0 +1,53 @@
+package battleship.playersthings;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PlayersPlayingFieldTest {
+    private static PlayersShip ship(final int x, final int y, final PlayersShipDirection direction, final int length) {
+        return new PlayersShip(new PlayersField(x, y), direction, length);
+    }
+
+    @Test
+    void hitsResolveToTheShipOnTheField() {
+        final PlayersPlayingField field = new PlayersPlayingField(6);
+        final PlayersShip horizontal = ship(0, 0, PlayersShipDirection.HORIZONTAL, 3);
+        final PlayersShip vertical = ship(5, 2, PlayersShipDirection.VERTICAL, 2);
+        field.placeShip(horizontal);
+        field.placeShip(vertical);
+
+        assertNull(field.hit(4, 4));
+        assertTrue(field.isShot(4, 4));
+        assertSame(vertical, field.hit(5, 3));
+        assertSame(horizontal, field.hit(1, 0));
+        assertSame(vertical, field.hit(5, 2));
+        assertTrue(vertical.isSunk());
+        assertFalse(field.allSunk());
+
+        assertSame(horizontal, field.hit(0, 0));
+        assertSame(horizontal, field.hit(2, 0));
+        assertTrue(field.allSunk());
+        assertNull(field.hit(6, 0));
+    }
+
+    @Test
+    void overlappingFieldsBelongToTheFirstShip() {
+        final PlayersPlayingField field = new PlayersPlayingField(5);
+        final PlayersShip first = ship(1, 1, PlayersShipDirection.HORIZONTAL, 3);
+        final PlayersShip second = ship(2, 0, PlayersShipDirection.VERTICAL, 3);
+        field.placeShip(first);
+        field.placeShip(second);
+
+        assertSame(first, field.hit(2, 1));
+        assertSame(second, field.hit(2, 2));
+        assertTrue(field.isShipSuitable(ship(4, 4, PlayersShipDirection.SINGLE_FIELD, 1)));
+        assertFalse(field.isShipSuitable(ship(3, 2, PlayersShipDirection.SINGLE_FIELD, 1)));
+        final PlayersShip outside = ship(3, 0, PlayersShipDirection.HORIZONTAL, 3);
+        assertThrows(IllegalArgumentException.class, () -> field.placeShip(outside));
+    }
+}